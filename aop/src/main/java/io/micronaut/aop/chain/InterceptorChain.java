@@ -60,9 +60,11 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
     protected final Interceptor<B, R>[] interceptors;
     protected final B target;
     protected final ExecutableMethod<B, R> executionHandle;
-    protected final MutableConvertibleValues attributes = MutableConvertibleValues.of(new ConcurrentHashMap<>());
-    protected final Map<String, MutableArgumentValue<?>> parameters = new LinkedHashMap<>();
 
+    private final Object[] originalParameters;
+    // created on first access and published safely since the chain may be resumed on another thread
+    private volatile MutableConvertibleValues attributes;
+    private volatile Map<String, MutableArgumentValue<?>> parameters;
     private int index = 0;
 
 
@@ -83,22 +85,10 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
         }
         this.target = target;
         this.executionHandle = method;
-        this.interceptors = new Interceptor[interceptors.length + 1];
-        System.arraycopy(interceptors, 0, this.interceptors, 0, interceptors.length);
-        boolean isIntroduction = target instanceof Introduced;
-        if (isIntroduction) {
-            this.interceptors[this.interceptors.length - 1] = context -> {
-                throw new UnimplementedAdviceException(method);
-            };
-        } else {
-            this.interceptors[this.interceptors.length - 1] = context -> method.invoke(target, getParameterValues());
-        }
-        Argument[] arguments = method.getArguments();
-        for (int i = 0; i < arguments.length; i++) {
-            Argument argument = method.getArguments()[i];
-            Object value = originalParameters[i];
-            parameters.put(argument.getName(), MutableArgumentValue.create(argument, value));
-        }
+        // the interceptors are resolved once per method by the proxy and are not copied, the target
+        // method is invoked by proceed() once the end of the chain is reached
+        this.interceptors = interceptors;
+        this.originalParameters = originalParameters != null ? originalParameters : ArrayUtils.EMPTY_OBJECT_ARRAY;
     }
 
     @Override
@@ -108,6 +98,16 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public MutableConvertibleValues<Object> getAttributes() {
+        MutableConvertibleValues attributes = this.attributes;
+        if (attributes == null) {
+            synchronized (this) {
+                attributes = this.attributes;
+                if (attributes == null) {
+                    attributes = MutableConvertibleValues.of(new ConcurrentHashMap<>(4));
+                    this.attributes = attributes;
+                }
+            }
+        }
         return attributes;
     }
 
@@ -118,9 +118,32 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public Map<String, MutableArgumentValue<?>> getParameters() {
+        Map<String, MutableArgumentValue<?>> parameters = this.parameters;
+        if (parameters == null) {
+            synchronized (this) {
+                parameters = this.parameters;
+                if (parameters == null) {
+                    Argument[] arguments = executionHandle.getArguments();
+                    parameters = new LinkedHashMap<>(arguments.length);
+                    for (int i = 0; i < arguments.length; i++) {
+                        Argument argument = arguments[i];
+                        parameters.put(argument.getName(), MutableArgumentValue.create(argument, originalParameters[i]));
+                    }
+                    this.parameters = parameters;
+                }
+            }
+        }
         return parameters;
     }
 
+    @Override
+    public Object[] getParameterValues() {
+        if (parameters == null) {
+            return originalParameters.clone();
+        }
+        return InvocationContext.super.getParameterValues();
+    }
+
     @Override
     public R invoke(B instance, Object... arguments) {
         return proceed();
@@ -133,17 +156,10 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public R proceed() throws RuntimeException {
-        Interceptor<B, R> interceptor;
-        int len = this.interceptors.length;
-        if (len == 0) {
-            throw new IllegalStateException("At least one interceptor is required when calling proceed on the interceptor chain!");
-        }
-        int size = len - 1;
-        if (index == size) {
-            interceptor = this.interceptors[size];
-        } else {
-            interceptor = this.interceptors[index++];
+        if (index == interceptors.length) {
+            return invokeTarget();
         }
+        Interceptor<B, R> interceptor = this.interceptors[index++];
         if (LOG.isTraceEnabled()) {
             LOG.trace("Proceeded to next interceptor [{}] in chain for method invocation: {}", interceptor, executionHandle);
         }
@@ -164,6 +180,24 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
         throw new IllegalArgumentException("Argument [" + from + "] is not within the interceptor chain");
     }
 
+    /**
+     * Invokes the target method once every interceptor has proceeded. There is no target for {@link Introduction}
+     * advice so reaching the end of the chain is an error.
+     *
+     * @return The result of the method call
+     */
+    private R invokeTarget() {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Proceeded to the end of the chain for method invocation: {}", executionHandle);
+        }
+        if (target instanceof Introduced) {
+            throw new UnimplementedAdviceException(executionHandle);
+        }
+        Map<String, MutableArgumentValue<?>> parameters = this.parameters;
+        Object[] parameterValues = parameters == null ? originalParameters : InvocationContext.super.getParameterValues();
+        return executionHandle.invoke(target, parameterValues);
+    }
+
     /**
      * Resolves the {@link Around} interceptors for a method.
      *
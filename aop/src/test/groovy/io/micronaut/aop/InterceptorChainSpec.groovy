@@ -27,6 +27,7 @@ import java.lang.annotation.Documented
 import java.lang.annotation.ElementType
 import java.lang.annotation.Retention
 import java.lang.annotation.Target
+import java.util.concurrent.CompletableFuture
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME
 
@@ -55,6 +56,52 @@ class InterceptorChainSpec extends Specification {
         chain.getAttributes().get("invoked", List).get() == [1,2,3]
     }
 
+    void "test the target receives the original arguments when no interceptor reads the parameters"() {
+        given:
+        List received = []
+        Interceptor[] interceptors = [new OneInterceptor()]
+        InterceptorChain chain = new InterceptorChain(interceptors, this, method(received), "original")
+
+        when:
+        def result = chain.proceed()
+
+        then:
+        result == "good"
+        received == ["original"]
+
+        and:"the parameters are created on first access"
+        chain.getParameters().get("name").getValue() == "original"
+    }
+
+    void "test parameters mutated on another thread are passed to the target"() {
+        given:
+        List received = []
+        Interceptor[] interceptors = [interceptor]
+        InterceptorChain chain = new InterceptorChain(interceptors, this, method(received), "original")
+
+        when:
+        def result = chain.proceed()
+
+        then:
+        result == "good"
+        received == ["changed"]
+
+        where:
+        interceptor << [new AsyncArgMutating(false), new AsyncArgMutating(true)]
+    }
+
+    private ExecutableMethod method(List received) {
+        [
+            getDeclaringType: { InterceptorChainSpec },
+            getMethodName   : { "test" },
+            getArguments    : { [Argument.of(String, "name")] as Argument[] },
+            invoke          : { Object instance, Object[] arguments ->
+                received.addAll(arguments)
+                "good"
+            }
+        ] as ExecutableMethod
+    }
+
     @CompileStatic
     private sort(Interceptor[] interceptors) {
         OrderUtil.sort((Interceptor[]) interceptors)
@@ -69,6 +116,26 @@ class InterceptorChainSpec extends Specification {
         }
     }
 
+    static class AsyncArgMutating implements Interceptor {
+        final boolean readParametersFirst
+
+        AsyncArgMutating(boolean readParametersFirst) {
+            this.readParametersFirst = readParametersFirst
+        }
+
+        @Override
+        Object intercept(InvocationContext context) {
+            if (readParametersFirst) {
+                // the parameters are created on this thread and mutated on another
+                context.getParameters()
+            }
+            return CompletableFuture.supplyAsync {
+                context.getParameters().get("name").setValue("changed")
+                context.proceed()
+            }.get()
+        }
+    }
+
     static class OneInterceptor implements Interceptor {
 
         @Override
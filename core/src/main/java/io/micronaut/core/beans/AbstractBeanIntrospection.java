@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.reflect.exception.InstantiationException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Base class for the {@link BeanIntrospection} implementations generated at compilation time. The generated
+ * subclasses register each property in their constructor and implement {@link #readInternal(int, Object)} and
+ * {@link #writeInternal(int, Object, Object)} by invoking the getter or setter of the property at the given index
+ * directly.
+ *
+ * @param <T> The bean type
+ * @since 1.0
+ */
+@Internal
+public abstract class AbstractBeanIntrospection<T> implements BeanIntrospection<T> {
+
+    private final Class<T> beanType;
+    private final Map<String, BeanProperty<T, Object>> properties = new LinkedHashMap<>();
+
+    /**
+     * @param beanType The bean type
+     */
+    protected AbstractBeanIntrospection(Class<T> beanType) {
+        this.beanType = beanType;
+    }
+
+    @Override
+    public Class<T> getBeanType() {
+        return beanType;
+    }
+
+    @Override
+    public Collection<BeanProperty<T, Object>> getBeanProperties() {
+        return Collections.unmodifiableCollection(properties.values());
+    }
+
+    @Override
+    public Optional<BeanProperty<T, Object>> getProperty(String name) {
+        return Optional.ofNullable(properties.get(name));
+    }
+
+    @Override
+    public boolean isInstantiable() {
+        return false;
+    }
+
+    @Override
+    public T instantiate() {
+        throw new InstantiationException("Type [" + beanType.getName() + "] has no public no argument constructor");
+    }
+
+    @Override
+    public String toString() {
+        return "BeanIntrospection{" +
+            "beanType=" + beanType +
+            ", properties=" + properties.keySet() +
+            '}';
+    }
+
+    /**
+     * Registers a property. Properties are indexed in the order they are registered.
+     *
+     * @param name     The name of the property
+     * @param type     The type of the property
+     * @param readable Whether the property has a getter
+     * @param writable Whether the property has a setter
+     */
+    protected final void addProperty(String name, Class<?> type, boolean readable, boolean writable) {
+        properties.put(name, new IntrospectedProperty(properties.size(), name, type, readable, writable));
+    }
+
+    /**
+     * Reads the property at the given index.
+     *
+     * @param index The index of the property
+     * @param bean  The bean
+     * @return The value of the property
+     */
+    protected Object readInternal(int index, Object bean) {
+        throw new UnsupportedOperationException("Property at index [" + index + "] of type [" + beanType.getName() + "] is not readable");
+    }
+
+    /**
+     * Writes the property at the given index.
+     *
+     * @param index The index of the property
+     * @param bean  The bean
+     * @param value The value
+     */
+    protected void writeInternal(int index, Object bean, Object value) {
+        throw new UnsupportedOperationException("Property at index [" + index + "] of type [" + beanType.getName() + "] is not writable");
+    }
+
+    /**
+     * A property that delegates to the generated accessors of the introspection.
+     */
+    private final class IntrospectedProperty implements BeanProperty<T, Object> {
+
+        private final int index;
+        private final String name;
+        private final Class<Object> type;
+        private final boolean readable;
+        private final boolean writable;
+
+        @SuppressWarnings("unchecked")
+        IntrospectedProperty(int index, String name, Class<?> type, boolean readable, boolean writable) {
+            this.index = index;
+            this.name = name;
+            this.type = (Class<Object>) type;
+            this.readable = readable;
+            this.writable = writable;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<Object> getType() {
+            return type;
+        }
+
+        @Override
+        public boolean isReadable() {
+            return readable;
+        }
+
+        @Override
+        public boolean isWritable() {
+            return writable;
+        }
+
+        @Override
+        public Object get(T bean) {
+            if (!readable) {
+                throw new UnsupportedOperationException("Property [" + name + "] of type [" + beanType.getName() + "] is not readable");
+            }
+            return readInternal(index, bean);
+        }
+
+        @Override
+        public void set(T bean, Object value) {
+            if (!writable) {
+                throw new UnsupportedOperationException("Property [" + name + "] of type [" + beanType.getName() + "] is not writable");
+            }
+            if (value == null && type.isPrimitive()) {
+                throw new IllegalArgumentException("Property [" + name + "] of type [" + beanType.getName() + "] cannot be set to null");
+            }
+            writeInternal(index, bean, value);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
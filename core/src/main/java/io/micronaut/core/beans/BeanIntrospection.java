@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * A compile time generated introspection of a bean type annotated with
+ * {@link io.micronaut.core.annotation.Introspected}. An introspection reads and writes the properties of a bean and
+ * instantiates it without using reflection.
+ *
+ * @param <T> The bean type
+ * @since 1.0
+ */
+public interface BeanIntrospection<T> {
+
+    /**
+     * @return The bean type
+     */
+    Class<T> getBeanType();
+
+    /**
+     * @return The properties of the bean in the order they are declared
+     */
+    Collection<BeanProperty<T, Object>> getBeanProperties();
+
+    /**
+     * @param name The name of the property
+     * @return The property, if the bean has a property with the given name
+     */
+    Optional<BeanProperty<T, Object>> getProperty(String name);
+
+    /**
+     * @return Whether the bean can be instantiated with {@link #instantiate()}
+     */
+    boolean isInstantiable();
+
+    /**
+     * Instantiates the bean with its public no argument constructor.
+     *
+     * @return The new instance
+     * @throws io.micronaut.core.reflect.exception.InstantiationException If the bean has no public no argument
+     * constructor
+     */
+    T instantiate();
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import java.util.Optional;
+
+/**
+ * Looks up the {@link BeanIntrospection} generated at compilation time for a type.
+ *
+ * @since 1.0
+ */
+public interface BeanIntrospector {
+
+    /**
+     * The shared instance, which finds the introspections registered under {@code META-INF/services}.
+     */
+    BeanIntrospector SHARED = new DefaultBeanIntrospector();
+
+    /**
+     * @param beanType The bean type
+     * @param <T>      The bean type
+     * @return The introspection of the type, if one was generated
+     */
+    <T> Optional<BeanIntrospection<T>> findIntrospection(Class<T> beanType);
+}
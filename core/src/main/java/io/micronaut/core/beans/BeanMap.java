@@ -17,6 +17,7 @@
 package io.micronaut.core.beans;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Simple class that provides a map interface over a bean.
@@ -32,13 +33,21 @@ public interface BeanMap<T> extends Map<String, Object> {
     Class<T> getBeanType();
 
     /**
-     * Creates a {@link BeanMap} for the given bean.
+     * Creates a {@link BeanMap} for the given bean. If a {@link BeanIntrospection} was generated for the type of the
+     * bean the properties are accessed through it, otherwise they are accessed with reflection.
      *
      * @param bean The bean
      * @param <B> type Generic
      * @return The bean map
      */
+    @SuppressWarnings("unchecked")
     static <B> BeanMap<B> of(B bean) {
+        if (bean != null) {
+            Optional<BeanIntrospection<B>> introspection = BeanIntrospector.SHARED.findIntrospection((Class<B>) bean.getClass());
+            if (introspection.isPresent()) {
+                return new IntrospectionBeanMap<>(introspection.get(), bean);
+            }
+        }
         return new ReflectionBeanMap<>(bean);
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+/**
+ * A property of a bean described by a {@link BeanIntrospection}.
+ *
+ * @param <B> The bean type
+ * @param <T> The property type
+ * @since 1.0
+ */
+public interface BeanProperty<B, T> {
+
+    /**
+     * @return The name of the property
+     */
+    String getName();
+
+    /**
+     * @return The type of the property
+     */
+    Class<T> getType();
+
+    /**
+     * @return Whether the property has a getter
+     */
+    boolean isReadable();
+
+    /**
+     * @return Whether the property has a setter
+     */
+    boolean isWritable();
+
+    /**
+     * Reads the property of the given bean.
+     *
+     * @param bean The bean
+     * @return The value of the property
+     * @throws UnsupportedOperationException If the property is not readable
+     */
+    T get(B bean);
+
+    /**
+     * Writes the property of the given bean.
+     *
+     * @param bean  The bean
+     * @param value The value, which has to be an instance of the {@link #getType() type} of the property
+     * @throws UnsupportedOperationException If the property is not writable
+     * @throws IllegalArgumentException If the value is null and the type of the property is primitive
+     */
+    void set(B bean, T value);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micronaut.core.io.service.ServiceDefinition;
+import io.micronaut.core.io.service.SoftServiceLoader;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Default implementation of {@link BeanIntrospector} that loads the introspections listed under
+ * {@code META-INF/services} of the class loader of a bean type the first time an introspection is looked up for
+ * that class loader.
+ *
+ * @since 1.0
+ */
+class DefaultBeanIntrospector implements BeanIntrospector {
+
+    private final Cache<ClassLoader, Map<String, BeanIntrospection<?>>> introspections = Caffeine.newBuilder()
+            .weakKeys()
+            .softValues()
+            .build();
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<BeanIntrospection<T>> findIntrospection(Class<T> beanType) {
+        if (beanType == null) {
+            return Optional.empty();
+        }
+        ClassLoader classLoader = beanType.getClassLoader();
+        if (classLoader == null) {
+            return Optional.empty();
+        }
+        BeanIntrospection<?> introspection = introspections
+                .get(classLoader, DefaultBeanIntrospector::loadIntrospections)
+                .get(beanType.getName());
+        // a class with the same name may have been loaded by another class loader
+        if (introspection == null || introspection.getBeanType() != beanType) {
+            return Optional.empty();
+        }
+        return Optional.of((BeanIntrospection<T>) introspection);
+    }
+
+    private static Map<String, BeanIntrospection<?>> loadIntrospections(ClassLoader classLoader) {
+        Map<String, BeanIntrospection<?>> introspections = new HashMap<>();
+        SoftServiceLoader<BeanIntrospection> loader = SoftServiceLoader.load(BeanIntrospection.class, classLoader);
+        for (ServiceDefinition<BeanIntrospection> definition : loader) {
+            if (definition.isPresent()) {
+                BeanIntrospection<?> introspection = definition.load();
+                introspections.put(introspection.getBeanType().getName(), introspection);
+            }
+        }
+        return Collections.unmodifiableMap(introspections);
+    }
+}
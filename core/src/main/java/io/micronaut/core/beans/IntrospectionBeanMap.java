@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.convert.ConversionService;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link BeanMap} that reads and writes the properties of a bean through its compile time generated
+ * {@link BeanIntrospection}.
+ *
+ * @param <T> type Generic
+ * @since 1.0
+ */
+class IntrospectionBeanMap<T> implements BeanMap<T> {
+
+    private final BeanIntrospection<T> introspection;
+    private final Map<String, BeanProperty<T, Object>> properties;
+    private final T bean;
+
+    /**
+     * @param introspection The introspection of the bean type
+     * @param bean          The bean
+     */
+    IntrospectionBeanMap(BeanIntrospection<T> introspection, T bean) {
+        Objects.requireNonNull(bean, "Bean cannot be null");
+        this.introspection = introspection;
+        this.bean = bean;
+        Collection<BeanProperty<T, Object>> beanProperties = introspection.getBeanProperties();
+        this.properties = new LinkedHashMap<>(beanProperties.size());
+        for (BeanProperty<T, Object> property : beanProperties) {
+            if (property.isReadable()) {
+                properties.put(property.getName(), property);
+            }
+        }
+    }
+
+    @Override
+    public Class<T> getBeanType() {
+        return introspection.getBeanType();
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return properties.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return values().contains(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        BeanProperty<T, Object> property = properties.get(key);
+        if (property != null) {
+            return property.get(bean);
+        }
+        return null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Optional<BeanProperty<T, Object>> property = introspection.getProperty(key);
+        if (property.isPresent() && property.get().isWritable()) {
+            BeanProperty<T, Object> beanProperty = property.get();
+            Optional<Object> converted = ConversionService.SHARED.convert(value, beanProperty.getType());
+            if (converted.isPresent()) {
+                beanProperty.set(bean, converted.get());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        for (Entry<? extends String, ?> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return properties.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return keySet().stream().map(this::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return keySet().stream().map(key -> new Entry<String, Object>() {
+            @Override
+            public String getKey() {
+                return key;
+            }
+
+            @Override
+            public Object getValue() {
+                return get(key);
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                return put(key, value);
+            }
+        }).collect(Collectors.toSet());
+    }
+}
@@ -196,6 +196,45 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
         private Map<String, String> schemes = Collections.emptyMap();
         private Map<String, String> datacenters = Collections.emptyMap();
         private boolean passing = false;
+        private boolean watch = false;
+        private Duration watchWait = Duration.ofMinutes(5);
+
+        /**
+         * Whether the instances of each service are watched with Consul blocking queries once they are first
+         * requested. The instances of watched services are served from memory and changes are published as
+         * {@link io.micronaut.discovery.event.ServiceInstancesChangedEvent} events.
+         *
+         * @return True if services should be watched (defaults to false)
+         */
+        public boolean isWatch() {
+            return watch;
+        }
+
+        /**
+         * @param watch Whether services should be watched
+         */
+        public void setWatch(boolean watch) {
+            this.watch = watch;
+        }
+
+        /**
+         * The maximum time a blocking query waits for a change. The wait is shortened to half of the read timeout
+         * of the client if that is shorter.
+         *
+         * @return The wait time (defaults to 5 minutes)
+         */
+        public Duration getWatchWait() {
+            return watchWait;
+        }
+
+        /**
+         * @param watchWait The maximum time a blocking query waits for a change
+         */
+        public void setWatchWait(Duration watchWait) {
+            if (watchWait != null) {
+                this.watchWait = watchWait;
+            }
+        }
 
         /**
          * Whether services that are not passing health checks should be returned.
@@ -271,6 +310,7 @@ public class ConsulConfiguration extends DiscoveryClientConfiguration {
                 "tags=" + tags +
                 ", datacenters=" + datacenters +
                 ", passing=" + passing +
+                ", watch=" + watch +
                 '}';
         }
     }
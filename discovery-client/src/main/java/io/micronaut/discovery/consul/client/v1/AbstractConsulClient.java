@@ -17,25 +17,38 @@
 package io.micronaut.discovery.consul.client.v1;
 
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.discovery.consul.ConsulConfiguration;
 import io.micronaut.discovery.consul.ConsulServiceInstance;
+import io.micronaut.discovery.event.ServiceInstancesChangedEvent;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.client.Client;
+import io.reactivex.Flowable;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract implementation of {@link ConsulClient} that also implements {@link io.micronaut.discovery.DiscoveryClient}.
  *
+ * <p>If {@link ConsulConfiguration.ConsulDiscoveryConfiguration#isWatch() watching} is enabled, each service is
+ * watched with blocking queries once its instances are first requested. The instances of watched services are then
+ * served from memory and every change is published as a {@link ServiceInstancesChangedEvent}.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -44,8 +57,12 @@ import java.util.Optional;
 @Requires(beans = ConsulConfiguration.class)
 public abstract class AbstractConsulClient implements ConsulClient {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractConsulClient.class);
+    private static final long WATCH_RETRY_DELAY_SECONDS = 1;
 
     private ConsulConfiguration consulConfiguration = new ConsulConfiguration();
+    private ApplicationEventPublisher eventPublisher;
+    private final Map<String, List<ServiceInstance>> watchedServices = new ConcurrentHashMap<>();
+    private volatile boolean watching = true;
 
     /**
      * @param consulConfiguration The Consul configuration
@@ -57,6 +74,22 @@ public abstract class AbstractConsulClient implements ConsulClient {
         }
     }
 
+    /**
+     * @param eventPublisher The publisher of the changes to watched services
+     */
+    @Inject
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Stops watching services.
+     */
+    @PreDestroy
+    public void stopWatching() {
+        watching = false;
+    }
+
     @Override
     public String getDescription() {
         return ConsulClient.SERVICE_ID;
@@ -74,16 +107,101 @@ public abstract class AbstractConsulClient implements ConsulClient {
             boolean passing = discovery.isPassing();
             Optional<String> datacenter = Optional.ofNullable(discovery.getDatacenters().get(serviceId));
             Optional<String> tag = Optional.ofNullable(discovery.getTags().get(serviceId));
-            Optional<String> scheme = Optional.ofNullable(discovery.getSchemes().get(serviceId));
+            String scheme = Optional.ofNullable(discovery.getSchemes().get(serviceId)).orElse("http");
+
+            if (discovery.isWatch()) {
+                List<ServiceInstance> watched = watchedServices.get(serviceId);
+                if (watched != null) {
+                    return Publishers.just(watched);
+                }
+                String id = serviceId;
+                // without an index the blocking query answers immediately
+                Publisher<HttpResponse<List<HealthEntry>>> initial = watchHealthyServices(serviceId, Optional.of(passing), tag, datacenter, Optional.empty(), Optional.empty());
+                return Publishers.map(initial, response -> {
+                    List<ServiceInstance> serviceInstances = toServiceInstances(response.getBody().orElse(Collections.emptyList()), scheme);
+                    if (watchedServices.putIfAbsent(id, serviceInstances) == null) {
+                        publishChange(id, serviceInstances);
+                        watch(id, Optional.of(passing), tag, datacenter, scheme, consulIndex(response));
+                    }
+                    return serviceInstances;
+                });
+            }
 
             Publisher<List<HealthEntry>> healthyServicesPublisher = getHealthyServices(serviceId, Optional.of(passing), tag, datacenter);
-            return Publishers.map(healthyServicesPublisher, healthEntries -> {
-                List<ServiceInstance> serviceInstances = new ArrayList<>();
-                for (HealthEntry healthEntry : healthEntries) {
-                    serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme.orElse("http")));
+            return Publishers.map(healthyServicesPublisher, healthEntries -> toServiceInstances(healthEntries, scheme));
+        }
+    }
+
+    private List<ServiceInstance> toServiceInstances(List<HealthEntry> healthEntries, String scheme) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(healthEntries.size());
+        for (HealthEntry healthEntry : healthEntries) {
+            serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme));
+        }
+        return serviceInstances;
+    }
+
+    private void watch(String serviceId, Optional<Boolean> passing, Optional<String> tag, Optional<String> datacenter, String scheme, long index) {
+        if (!watching) {
+            return;
+        }
+        Flowable.fromPublisher(watchHealthyServices(serviceId, passing, tag, datacenter, Optional.of(index), Optional.of(watchWait())))
+            .firstElement()
+            .subscribe(response -> {
+                long nextIndex = consulIndex(response);
+                if (nextIndex <= 0) {
+                    // without an index every query would answer immediately, back off instead
+                    retryWatch(serviceId, passing, tag, datacenter, scheme, index);
+                    return;
+                }
+                if (nextIndex != index) {
+                    List<ServiceInstance> serviceInstances = toServiceInstances(response.getBody().orElse(Collections.emptyList()), scheme);
+                    watchedServices.put(serviceId, serviceInstances);
+                    publishChange(serviceId, serviceInstances);
                 }
-                return serviceInstances;
-            });
+                // Consul requires the index to be reset if it goes backwards
+                watch(serviceId, passing, tag, datacenter, scheme, nextIndex < index ? 0 : nextIndex);
+            }, throwable -> {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error watching service [" + serviceId + "], retrying: " + throwable.getMessage(), throwable);
+                }
+                retryWatch(serviceId, passing, tag, datacenter, scheme, index);
+            }, () -> retryWatch(serviceId, passing, tag, datacenter, scheme, index));
+    }
+
+    private void retryWatch(String serviceId, Optional<Boolean> passing, Optional<String> tag, Optional<String> datacenter, String scheme, long index) {
+        if (watching) {
+            Flowable.timer(WATCH_RETRY_DELAY_SECONDS, TimeUnit.SECONDS)
+                .subscribe(t -> watch(serviceId, passing, tag, datacenter, scheme, index));
+        }
+    }
+
+    private void publishChange(String serviceId, List<ServiceInstance> serviceInstances) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Instances of watched service [{}] changed: {}", serviceId, serviceInstances);
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new ServiceInstancesChangedEvent(serviceId, serviceInstances));
+            } catch (Exception e) {
+                LOG.error("Error occurred publishing ServiceInstancesChangedEvent: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private String watchWait() {
+        Duration wait = consulConfiguration.getDiscovery().getWatchWait();
+        Optional<Duration> readTimeout = consulConfiguration.getReadTimeout();
+        if (readTimeout.isPresent()) {
+            // Consul adds up to a sixteenth of the wait as jitter, leave room for it and for the response
+            Duration half = readTimeout.get().dividedBy(2);
+            if (half.compareTo(wait) < 0) {
+                wait = half;
+            }
         }
+        return wait.toMillis() + "ms";
+    }
+
+    private long consulIndex(HttpResponse<?> response) {
+        return response.getHeaders().get(CONSUL_INDEX_HEADER, Long.class).orElse(0L);
     }
 }
@@ -18,10 +18,14 @@ package io.micronaut.discovery.consul.client.v1;
 
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Get;
 import org.reactivestreams.Publisher;
 
+import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * A non-blocking HTTP client for consul.
@@ -36,6 +40,33 @@ public interface ConsulClient extends ConsulOperations, DiscoveryClient {
      */
     String SERVICE_ID = "consul";
 
+    /**
+     * The header that contains the index of the result of a blocking query.
+     */
+    String CONSUL_INDEX_HEADER = "X-Consul-Index";
+
+    /**
+     * Gets the health of the given service with a blocking query. Consul answers once the health of the service
+     * changes after the given index or once the wait time has elapsed. The index to pass to the next query is
+     * returned in the {@link #CONSUL_INDEX_HEADER} header. See https://www.consul.io/api/index.html#blocking-queries.
+     *
+     * @param service The service
+     * @param passing Whether only services passing health checks are returned
+     * @param tag     The tag to filter by
+     * @param dc      The data center
+     * @param index   The index returned by the previous query
+     * @param wait    The maximum time to wait, for example {@code 5s}
+     * @return The response containing the {@link HealthEntry} instances
+     */
+    @Get("/health/service/{service}{?passing,tag,dc,index,wait}")
+    Publisher<HttpResponse<List<HealthEntry>>> watchHealthyServices(
+        @NotNull String service,
+        Optional<Boolean> passing,
+        Optional<String> tag,
+        Optional<String> dc,
+        Optional<Long> index,
+        Optional<String> wait);
+
     @Override
     default Publisher<List<String>> getServiceIds() {
         return Publishers.map(getServiceNames(), services -> new ArrayList<>(services.keySet()));
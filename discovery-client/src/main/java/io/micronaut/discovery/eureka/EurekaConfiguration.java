@@ -34,6 +34,7 @@ import io.micronaut.runtime.server.EmbeddedServer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -125,6 +126,45 @@ public class EurekaConfiguration extends DiscoveryClientConfiguration {
      */
     @ConfigurationProperties(DiscoveryConfiguration.PREFIX)
     public static class EurekaDiscoveryConfiguration extends DiscoveryConfiguration {
+
+        private static final int DEFAULT_REGISTRY_FETCH_INTERVAL_SECONDS = 30;
+
+        private boolean fetchRegistry = false;
+        private Duration registryFetchInterval = Duration.ofSeconds(DEFAULT_REGISTRY_FETCH_INTERVAL_SECONDS);
+
+        /**
+         * Whether a replica of the whole Eureka registry is kept in memory. The replica is fetched once the
+         * instances of a service are first requested, is kept up to date in the background with the changes
+         * served by {@code /apps/delta} and serves the instances of all services.
+         *
+         * @return True if the registry should be fetched (defaults to false)
+         */
+        public boolean isFetchRegistry() {
+            return fetchRegistry;
+        }
+
+        /**
+         * @param fetchRegistry Whether the registry should be fetched
+         */
+        public void setFetchRegistry(boolean fetchRegistry) {
+            this.fetchRegistry = fetchRegistry;
+        }
+
+        /**
+         * @return The interval between fetches of the changes to the registry (defaults to 30 seconds)
+         */
+        public Duration getRegistryFetchInterval() {
+            return registryFetchInterval;
+        }
+
+        /**
+         * @param registryFetchInterval The interval between fetches of the changes to the registry
+         */
+        public void setRegistryFetchInterval(Duration registryFetchInterval) {
+            if (registryFetchInterval != null) {
+                this.registryFetchInterval = registryFetchInterval;
+            }
+        }
     }
 
     /**
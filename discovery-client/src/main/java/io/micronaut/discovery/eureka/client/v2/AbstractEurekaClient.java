@@ -39,15 +39,28 @@ import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.jackson.annotation.JacksonFeatures;
 import io.micronaut.validation.Validated;
 import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * Compile time implementation of {@link EurekaClient}.
  *
+ * <p>If {@link EurekaConfiguration.EurekaDiscoveryConfiguration#isFetchRegistry() fetching the registry} is enabled
+ * the whole registry is fetched once the instances of a service are first requested. The registry is then kept up to
+ * date in the background with the changes returned by {@code /apps/delta} and the instances of all services are
+ * served from memory.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -61,14 +74,64 @@ import java.util.stream.Collectors;
 @RequiresEureka
 abstract class AbstractEurekaClient implements EurekaClient {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractEurekaClient.class);
+
+    private final EurekaRegistryReplica registry = new EurekaRegistryReplica();
+    private final AtomicBoolean registryFetchStarted = new AtomicBoolean(false);
+    private EurekaConfiguration eurekaConfiguration;
+    private volatile boolean registryLoaded = false;
+    private volatile boolean fetchingRegistry = true;
+
     @Override
     public String getDescription() {
         return EurekaClient.SERVICE_ID;
     }
 
+    /**
+     * @param eurekaConfiguration The Eureka configuration
+     */
+    @Inject
+    public void setEurekaConfiguration(EurekaConfiguration eurekaConfiguration) {
+        this.eurekaConfiguration = eurekaConfiguration;
+    }
+
+    /**
+     * Stops keeping the replica of the registry up to date.
+     */
+    @PreDestroy
+    public void stopFetchingRegistry() {
+        fetchingRegistry = false;
+    }
+
     @Override
     public Publisher<List<ServiceInstance>> getInstances(String serviceId) {
         serviceId = NameUtils.hyphenate(serviceId);
+        if (eurekaConfiguration != null && eurekaConfiguration.getDiscovery().isFetchRegistry()) {
+            if (registryLoaded) {
+                return Publishers.just(registry.getInstances(serviceId));
+            }
+            if (registryFetchStarted.compareAndSet(false, true)) {
+                String id = serviceId;
+                return Flowable.fromPublisher(getApplicationInfosInternal()).map(applicationInfos -> {
+                    registry.replace(applicationInfos.applications);
+                    registryLoaded = true;
+                    scheduleRegistryFetch();
+                    return registry.getInstances(id);
+                }).onErrorResumeNext(throwable -> {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Error fetching the Eureka registry: " + throwable.getMessage(), throwable);
+                    }
+                    // let the next request try again
+                    registryFetchStarted.set(false);
+                    return Flowable.fromPublisher(getApplicationInstances(id));
+                });
+            }
+            // the registry is being fetched by another request
+        }
+        return getApplicationInstances(serviceId);
+    }
+
+    private Publisher<List<ServiceInstance>> getApplicationInstances(String serviceId) {
         Flowable<List<ServiceInstance>> flowable = Flowable.fromPublisher(getApplicationInfo(serviceId)).map(applicationInfo -> {
             List<InstanceInfo> instances = applicationInfo.getInstances();
             return instances.stream()
@@ -92,6 +155,39 @@ abstract class AbstractEurekaClient implements EurekaClient {
         });
     }
 
+    private void scheduleRegistryFetch() {
+        if (fetchingRegistry) {
+            Duration interval = eurekaConfiguration.getDiscovery().getRegistryFetchInterval();
+            Flowable.timer(interval.toMillis(), TimeUnit.MILLISECONDS)
+                .subscribe(t -> fetchRegistryDelta());
+        }
+    }
+
+    private void fetchRegistryDelta() {
+        if (!fetchingRegistry) {
+            return;
+        }
+        Flowable.fromPublisher(getApplicationDeltasInternal())
+            .firstElement()
+            .flatMap(delta -> {
+                if (registry.applyDelta(delta.applications, delta.getAppsHashCode())) {
+                    return Maybe.just(delta);
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Eureka registry replica is out of sync with hash code [{}], fetching the full registry", delta.getAppsHashCode());
+                }
+                return Flowable.fromPublisher(getApplicationInfosInternal())
+                    .firstElement()
+                    .doOnSuccess(applicationInfos -> registry.replace(applicationInfos.applications));
+            })
+            .subscribe(applicationInfos -> scheduleRegistryFetch(), throwable -> {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error fetching the changes to the Eureka registry: " + throwable.getMessage(), throwable);
+                }
+                scheduleRegistryFetch();
+            }, this::scheduleRegistryFetch);
+    }
+
     @Override
     public Publisher<List<ApplicationInfo>> getApplicationInfos() {
         return Publishers.map(getApplicationInfosInternal(), applicationInfos -> applicationInfos.applications);
@@ -121,6 +217,14 @@ abstract class AbstractEurekaClient implements EurekaClient {
     @Produces(single = true)
     public abstract Publisher<ApplicationInfos> getApplicationInfosInternal();
 
+    /**
+     * @return A {@link Publisher} with the applications whose instances changed recently
+     */
+    @SuppressWarnings("WeakerAccess")
+    @Get("/apps/delta")
+    @Produces(single = true)
+    public abstract Publisher<ApplicationInfos> getApplicationDeltasInternal();
+
     /**
      * @param vipAddress The vip address
      * @return A {@link Publisher} with applications info
@@ -136,6 +240,7 @@ abstract class AbstractEurekaClient implements EurekaClient {
     @JsonRootName("applications")
     static class ApplicationInfos {
         private List<ApplicationInfo> applications;
+        private String appsHashCode;
 
         /**
          * @param applications The list of applications info
@@ -152,5 +257,21 @@ abstract class AbstractEurekaClient implements EurekaClient {
         public List<ApplicationInfo> getApplications() {
             return applications;
         }
+
+        /**
+         * @return The hash code Eureka computed over the status of all instances in the registry
+         */
+        @JsonProperty("apps__hashcode")
+        public String getAppsHashCode() {
+            return appsHashCode;
+        }
+
+        /**
+         * @param appsHashCode The hash code Eureka computed over the status of all instances in the registry
+         */
+        @JsonProperty("apps__hashcode")
+        public void setAppsHashCode(String appsHashCode) {
+            this.appsHashCode = appsHashCode;
+        }
     }
 }
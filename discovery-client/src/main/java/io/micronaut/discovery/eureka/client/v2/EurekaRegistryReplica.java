@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.discovery.eureka.client.v2;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.eureka.EurekaServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An in-memory replica of the Eureka registry. The replica is loaded from the full list of applications and is then
+ * kept up to date by applying the changes returned by {@code /apps/delta}. After each delta the hash code of the
+ * replica is compared with the one Eureka computed over its registry, a mismatch means that changes were missed and
+ * that the full list of applications has to be fetched again.
+ *
+ * <p>Updates are applied by a single thread at a time while the instances of each application are read from an
+ * immutable snapshot that is replaced once an update has been applied.</p>
+ *
+ * @since 1.0
+ */
+final class EurekaRegistryReplica {
+
+    private final Map<String, Map<String, InstanceInfo>> applications = new HashMap<>();
+    private volatile Map<String, List<ServiceInstance>> instances = Collections.emptyMap();
+
+    /**
+     * @param serviceId The service id
+     * @return The instances of the service, which are empty if the registry contains no such application
+     */
+    List<ServiceInstance> getInstances(String serviceId) {
+        return instances.getOrDefault(key(serviceId), Collections.emptyList());
+    }
+
+    /**
+     * Replaces the content of the replica with the full list of applications.
+     *
+     * @param applicationInfos The applications in the registry
+     */
+    synchronized void replace(List<ApplicationInfo> applicationInfos) {
+        applications.clear();
+        for (ApplicationInfo applicationInfo : applicationInfos) {
+            Map<String, InstanceInfo> application = applications.computeIfAbsent(key(applicationInfo.getName()), k -> new LinkedHashMap<>());
+            List<InstanceInfo> instanceInfos = applicationInfo.getInstances();
+            if (instanceInfos != null) {
+                for (InstanceInfo instanceInfo : instanceInfos) {
+                    application.put(instanceInfo.getId(), instanceInfo);
+                }
+            }
+        }
+        Map<String, List<ServiceInstance>> snapshot = new HashMap<>(applications.size());
+        applications.forEach((name, application) -> snapshot.put(name, toServiceInstances(application)));
+        instances = snapshot;
+    }
+
+    /**
+     * Applies the changes returned by {@code /apps/delta} to the replica.
+     *
+     * @param delta    The applications whose instances changed, each instance carries its {@link InstanceInfo.ActionType}
+     * @param hashCode The hash code Eureka computed over its registry after the changes
+     * @return Whether the replica matches the registry after the changes have been applied
+     */
+    synchronized boolean applyDelta(List<ApplicationInfo> delta, String hashCode) {
+        Set<String> changed = new HashSet<>();
+        for (ApplicationInfo applicationInfo : delta) {
+            String name = key(applicationInfo.getName());
+            List<InstanceInfo> instanceInfos = applicationInfo.getInstances();
+            if (instanceInfos == null) {
+                continue;
+            }
+            for (InstanceInfo instanceInfo : instanceInfos) {
+                InstanceInfo.ActionType actionType = instanceInfo.getActionType();
+                if (actionType == InstanceInfo.ActionType.DELETED) {
+                    Map<String, InstanceInfo> application = applications.get(name);
+                    if (application != null && application.remove(instanceInfo.getId()) != null) {
+                        if (application.isEmpty()) {
+                            applications.remove(name);
+                        }
+                        changed.add(name);
+                    }
+                } else if (actionType != null) {
+                    applications.computeIfAbsent(name, k -> new LinkedHashMap<>()).put(instanceInfo.getId(), instanceInfo);
+                    changed.add(name);
+                }
+            }
+        }
+        if (!changed.isEmpty()) {
+            Map<String, List<ServiceInstance>> snapshot = new HashMap<>(instances);
+            for (String name : changed) {
+                Map<String, InstanceInfo> application = applications.get(name);
+                if (application == null) {
+                    snapshot.remove(name);
+                } else {
+                    snapshot.put(name, toServiceInstances(application));
+                }
+            }
+            instances = snapshot;
+        }
+        return Optional.ofNullable(hashCode).map(h -> h.equals(getReconcileHashCode())).orElse(false);
+    }
+
+    /**
+     * Computes the hash code of the replica the same way Eureka does, by counting the instances in each status
+     * and concatenating the counts in the order of the name of the status. For example {@code DOWN_1_UP_3_}.
+     *
+     * @return The hash code of the replica
+     */
+    synchronized String getReconcileHashCode() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map<String, InstanceInfo> application : applications.values()) {
+            for (InstanceInfo instanceInfo : application.values()) {
+                InstanceInfo.Status status = instanceInfo.getStatus();
+                counts.merge(status != null ? status.name() : InstanceInfo.Status.UNKNOWN.name(), 1, Integer::sum);
+            }
+        }
+        StringBuilder hashCode = new StringBuilder();
+        counts.forEach((status, count) -> hashCode.append(status).append('_').append(count).append('_'));
+        return hashCode.toString();
+    }
+
+    private static List<ServiceInstance> toServiceInstances(Map<String, InstanceInfo> application) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(application.size());
+        for (InstanceInfo instanceInfo : application.values()) {
+            serviceInstances.add(new EurekaServiceInstance(instanceInfo));
+        }
+        return Collections.unmodifiableList(serviceInstances);
+    }
+
+    private static String key(String name) {
+        return name != null ? name.toUpperCase(Locale.ENGLISH) : "";
+    }
+}
@@ -77,6 +77,7 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
     private DataCenterInfo dataCenterInfo = () -> DataCenterInfo.Name.MyOwn;
     private LeaseInfo leaseInfo;
     private Map<String, String> metadata = new ConcurrentHashMap<>();
+    private ActionType actionType;
 
     /**
      * Based on https://github.com/Netflix/eureka/blob/master/eureka-client/src/main/java/com/netflix/appinfo/InstanceInfo.java.
@@ -560,6 +561,20 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         }
     }
 
+    /**
+     * @return The change to the registry this instance represents when it is part of a delta, otherwise null
+     */
+    public ActionType getActionType() {
+        return actionType;
+    }
+
+    /**
+     * @param actionType The change to the registry this instance represents
+     */
+    public void setActionType(ActionType actionType) {
+        this.actionType = actionType;
+    }
+
     private String portString() {
         return port > 0 ? ":" + this.port : "";
     }
@@ -583,6 +598,13 @@ public class InstanceInfo implements ConfigurableInstanceInfo {
         UP, DOWN, STARTING, OUT_OF_SERVICE, UNKNOWN;
     }
 
+    /**
+     * The change to the registry an instance in the delta returned by Eureka represents.
+     */
+    public enum ActionType {
+        ADDED, MODIFIED, DELETED
+    }
+
     /**
      * {@link InstanceInfo} JSON and XML format for port information does not follow the usual conventions, which
      * makes its mapping complicated. This class represents the wire format for port information.
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.discovery.consul.client.v1.HealthEntry
+import io.micronaut.discovery.consul.client.v1.NewServiceEntry
+import io.micronaut.discovery.event.ServiceInstancesChangedEvent
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.client.loadbalance.DiscoveryClientLoadBalancerFactory
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.0
+ */
+class ConsulMockWatchSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer, [
+            (MockConsulServer.ENABLED): true
+    ])
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run([
+            'spec.name'                                : 'ConsulMockWatchSpec',
+            'micronaut.caches.discoveryClient.enabled' : false,
+            'consul.client.host'                       : 'localhost',
+            'consul.client.port'                       : consulServer.getPort(),
+            'consul.client.discovery.watch'            : true
+    ])
+
+    void "test changes to a watched service reach the discovery client and the load balancer"() {
+        given:
+        ConsulClient client = context.getBean(ConsulClient)
+        DiscoveryClient discoveryClient = context.getBean(DiscoveryClient)
+        ChangeListener listener = context.getBean(ChangeListener)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+        Flowable.fromPublisher(client.register(new NewServiceEntry("watched-service").address("localhost").port(8080))).blockingFirst()
+
+        when:
+        List<ServiceInstance> instances = Flowable.fromPublisher(discoveryClient.getInstances('watched-service')).blockingFirst()
+        def loadBalancer = context.getBean(DiscoveryClientLoadBalancerFactory).create('watched-service')
+
+        then:
+        instances.size() == 1
+        instances[0].port == 8080
+        conditions.eventually {
+            assert listener.events.any { it.serviceId == 'watched-service' && it.instances.size() == 1 }
+        }
+        Flowable.fromPublisher(loadBalancer.select()).blockingFirst().port == 8080
+
+        when: "the service is deregistered"
+        Flowable.fromPublisher(client.deregister('watched-service')).blockingFirst()
+
+        then: "the watch observes the deregistration"
+        conditions.eventually {
+            assert listener.events.findAll { it.serviceId == 'watched-service' }.last().instances.isEmpty()
+            assert Flowable.fromPublisher(discoveryClient.getInstances('watched-service')).blockingFirst().isEmpty()
+        }
+
+        when: "the service is registered on another port"
+        Flowable.fromPublisher(client.register(new NewServiceEntry("watched-service").address("localhost").port(8081))).blockingFirst()
+
+        then: "the watch observes the registration and the load balancer selects the new instance"
+        conditions.eventually {
+            List<ServiceInstance> current = Flowable.fromPublisher(discoveryClient.getInstances('watched-service')).blockingFirst()
+            assert current.size() == 1
+            assert current[0].port == 8081
+            assert Flowable.fromPublisher(loadBalancer.select()).blockingFirst().port == 8081
+        }
+    }
+
+    void "test the mock answers blocking queries once the index changes"() {
+        given:
+        ConsulClient client = context.getBean(ConsulClient)
+        HttpResponse<List<HealthEntry>> initial = Flowable.fromPublisher(client.watchHealthyServices('blocking-service', Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())).blockingFirst()
+        long index = initial.headers.get(ConsulClient.CONSUL_INDEX_HEADER, Long).get()
+        long start = System.currentTimeMillis()
+
+        when: "a query with the current index waits for the wait time"
+        HttpResponse<List<HealthEntry>> unchanged = Flowable.fromPublisher(client.watchHealthyServices('blocking-service', Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(index), Optional.of('300ms'))).blockingFirst()
+
+        then:
+        System.currentTimeMillis() - start >= 300
+        unchanged.headers.get(ConsulClient.CONSUL_INDEX_HEADER, Long).get() == index
+
+        when: "the index changes while a query waits"
+        Flowable.timer(200, TimeUnit.MILLISECONDS).subscribe({
+            Flowable.fromPublisher(client.register(new NewServiceEntry("blocking-service").address("localhost").port(8082))).blockingFirst()
+        })
+        HttpResponse<List<HealthEntry>> changed = Flowable.fromPublisher(client.watchHealthyServices('blocking-service', Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(index), Optional.of('5s'))).blockingFirst()
+
+        then:
+        changed.headers.get(ConsulClient.CONSUL_INDEX_HEADER, Long).get() > index
+        changed.body().size() == 1
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'ConsulMockWatchSpec')
+    static class ChangeListener implements ApplicationEventListener<ServiceInstancesChangedEvent> {
+        List<ServiceInstancesChangedEvent> events = [].asSynchronized()
+
+        @Override
+        void onApplicationEvent(ServiceInstancesChangedEvent event) {
+            events.add(event)
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.consul
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.consul.client.v1.ConsulClient
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.filter.ServerFilterChain
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Implements Consul blocking queries for the health endpoint of {@link MockConsulServer}. Every response carries
+ * the current index in the {@code X-Consul-Index} header and a query with an index that is still current is only
+ * answered once the index changes or the wait time has elapsed.
+ *
+ * @since 1.0
+ */
+@Filter('/v1/health/service/**')
+@Requires(property = MockConsulServer.ENABLED)
+class MockConsulBlockingQueries implements HttpServerFilter {
+
+    final MockConsulServer consulServer
+
+    MockConsulBlockingQueries(MockConsulServer consulServer) {
+        this.consulServer = consulServer
+    }
+
+    @Override
+    Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        Optional<Long> index = request.parameters.getFirst('index', Long)
+        Flowable<Long> ready
+        if (index.isPresent()) {
+            long waitMillis = request.parameters.getFirst('wait').map({ String wait -> toMillis(wait) }).orElse(TimeUnit.MINUTES.toMillis(5))
+            ready = consulServer.indexChanges
+                    .filter({ Long current -> current != index.get() })
+                    .take(1)
+                    .timeout(waitMillis, TimeUnit.MILLISECONDS, Flowable.just(index.get()))
+        } else {
+            ready = Flowable.just(consulServer.index)
+        }
+        return ready.switchMap({ Long i ->
+            Flowable.fromPublisher(chain.proceed(request)).map({ MutableHttpResponse<?> response ->
+                response.header(ConsulClient.CONSUL_INDEX_HEADER, String.valueOf(consulServer.index))
+            })
+        })
+    }
+
+    private static long toMillis(String wait) {
+        if (wait.endsWith('ms')) {
+            return Long.valueOf(wait[0..-3])
+        } else if (wait.endsWith('s')) {
+            return TimeUnit.SECONDS.toMillis(Long.valueOf(wait[0..-2]))
+        } else if (wait.endsWith('m')) {
+            return TimeUnit.MINUTES.toMillis(Long.valueOf(wait[0..-2]))
+        }
+        return Long.valueOf(wait)
+    }
+}
@@ -26,12 +26,15 @@ import io.micronaut.http.annotation.Get
 import io.micronaut.http.annotation.QueryValue
 import io.micronaut.runtime.server.EmbeddedServer
 import io.reactivex.Flowable
+import io.reactivex.processors.BehaviorProcessor
+import io.reactivex.processors.FlowableProcessor
 import org.reactivestreams.Publisher
 import reactor.core.publisher.Mono
 
 import javax.annotation.Nullable
 import javax.validation.constraints.NotNull
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import java.util.stream.Collectors
 
 /**
@@ -52,6 +55,12 @@ class MockConsulServer implements ConsulOperations {
 
     final CatalogEntry nodeEntry
 
+    /**
+     * The index of the health of the services, which changes whenever a service or its health changes.
+     */
+    private final AtomicLong healthIndex = new AtomicLong(1)
+    final FlowableProcessor<Long> indexChanges = BehaviorProcessor.createDefault(1L).toSerialized()
+
     static NewServiceEntry lastNewEntry
     static List<String> passingReports = []
 
@@ -112,6 +121,7 @@ class MockConsulServer implements ConsulOperations {
         passingReports.add(checkId)
         String service = nameFromCheck(checkId)
         checks.get(service)?.setStatus(Check.Status.PASSING.name().toLowerCase())
+        healthChanged()
 
         return Publishers.just(HttpStatus.OK)
     }
@@ -125,9 +135,21 @@ class MockConsulServer implements ConsulOperations {
     Publisher<HttpStatus> fail(String checkId, @Nullable String  note) {
         String service = nameFromCheck(checkId)
         checks.get(service)?.setStatus(Check.Status.CRITICAL.name().toLowerCase())
+        healthChanged()
         return Publishers.just(HttpStatus.OK)
     }
 
+    /**
+     * @return The current index of the health of the services
+     */
+    long getIndex() {
+        healthIndex.get()
+    }
+
+    private void healthChanged() {
+        indexChanges.onNext(healthIndex.incrementAndGet())
+    }
+
     private String nameFromCheck(String checkId) {
         String service = checkId.substring("service:".length())
         service = service.substring(0, service.indexOf(':'))
@@ -155,6 +177,7 @@ class MockConsulServer implements ConsulOperations {
         def service = entry.getName()
         services.put(service, new ServiceEntry(entry))
         checks.computeIfAbsent(service, { String key -> new MockCheckEntry(service)})
+        healthChanged()
         return Publishers.just(HttpStatus.OK)
     }
 
@@ -168,6 +191,7 @@ class MockConsulServer implements ConsulOperations {
         else {
             services.remove(service)
         }
+        healthChanged()
         return Publishers.just(HttpStatus.OK)
     }
 
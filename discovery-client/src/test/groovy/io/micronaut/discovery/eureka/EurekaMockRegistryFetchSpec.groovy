@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.eureka
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.discovery.eureka.client.v2.EurekaClient
+import io.micronaut.discovery.eureka.client.v2.InstanceInfo
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Stepwise
+import spock.util.concurrent.PollingConditions
+
+/**
+ * @since 1.0
+ */
+@Stepwise
+class EurekaMockRegistryFetchSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer eurekaServer = ApplicationContext.run(EmbeddedServer, [
+            'jackson.serialization.WRAP_ROOT_VALUE': true,
+            (MockEurekaServer.ENABLED): true
+    ])
+
+    @AutoCleanup
+    @Shared
+    ApplicationContext context = ApplicationContext.run([
+            'micronaut.caches.discoveryClient.enabled'        : false,
+            'eureka.client.host'                              : eurekaServer.getHost(),
+            'eureka.client.port'                              : eurekaServer.getPort(),
+            'eureka.client.discovery.fetch-registry'          : true,
+            'eureka.client.discovery.registry-fetch-interval' : '100ms',
+            'jackson.deserialization.UNWRAP_ROOT_VALUE'       : true
+    ])
+
+    @Shared
+    EurekaClient client = context.getBean(EurekaClient)
+
+    @Shared
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setupSpec() {
+        MockEurekaServer.instances.clear()
+        MockEurekaServer.recentlyChanged.clear()
+        MockEurekaServer.appsHashCode = null
+    }
+
+    void cleanupSpec() {
+        MockEurekaServer.instances.clear()
+        MockEurekaServer.recentlyChanged.clear()
+        MockEurekaServer.appsHashCode = null
+    }
+
+    void "test the instances of a service are served from the fetched registry"() {
+        given:
+        Flowable.fromPublisher(client.register('replica-service', new InstanceInfo('localhost', 8081, 'replica-service', 'replica-1'))).blockingFirst()
+        MockEurekaServer.registryFetches.set(0)
+
+        expect:
+        Flowable.fromPublisher(client.getInstances('replica-service')).blockingFirst().size() == 1
+        Flowable.fromPublisher(client.getInstances('other-service')).blockingFirst().isEmpty()
+        MockEurekaServer.registryFetches.get() == 1
+    }
+
+    void "test the registry is kept up to date with deltas"() {
+        when:
+        Flowable.fromPublisher(client.register('replica-service', new InstanceInfo('localhost', 8082, 'replica-service', 'replica-2'))).blockingFirst()
+
+        then:
+        conditions.eventually {
+            Flowable.fromPublisher(client.getInstances('replica-service')).blockingFirst().size() == 2
+        }
+        MockEurekaServer.registryFetches.get() == 1
+
+        when:
+        Flowable.fromPublisher(client.deregister('replica-service', 'replica-1')).blockingFirst()
+
+        then:
+        conditions.eventually {
+            Flowable.fromPublisher(client.getInstances('replica-service')).blockingFirst()*.port == [8082]
+        }
+        MockEurekaServer.registryFetches.get() == 1
+    }
+
+    void "test the full registry is fetched when the hash code does not match"() {
+        when:
+        MockEurekaServer.appsHashCode = 'UP_99_'
+
+        then:
+        conditions.eventually {
+            MockEurekaServer.registryFetches.get() > 1
+        }
+
+        when:
+        MockEurekaServer.appsHashCode = null
+        // let a fetch that is in flight complete
+        sleep(300)
+        int fetches = MockEurekaServer.registryFetches.get()
+        sleep(500)
+
+        then:
+        MockEurekaServer.registryFetches.get() == fetches
+        Flowable.fromPublisher(client.getInstances('replica-service')).blockingFirst().size() == 1
+    }
+}
@@ -29,6 +29,8 @@ import javax.validation.Valid
 import javax.validation.constraints.NotBlank
 import javax.validation.constraints.NotNull
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author graemerocher
@@ -39,19 +41,28 @@ import java.util.concurrent.ConcurrentHashMap
 class MockEurekaServer implements EurekaOperations{
     public static Map<String, Map<String, Boolean>> heartbeats = new ConcurrentHashMap<>()
     public static Map<String, Map<String, InstanceInfo>> instances = new ConcurrentHashMap<>()
+    public static List<InstanceInfo> recentlyChanged = new CopyOnWriteArrayList<>()
+    public static AtomicInteger registryFetches = new AtomicInteger()
+    public static String appsHashCode
     public static final String ENABLED = 'enable.mock.eureka'
 
     @Override
     Publisher<HttpStatus> register(@NotBlank String appId, @Valid @NotNull @Body InstanceInfo instance) {
         instances.computeIfAbsent(appId, { String id -> new ConcurrentHashMap<>()})
                  .put(instance.instanceId, instance)
+        instance.actionType = InstanceInfo.ActionType.ADDED
+        recentlyChanged.add(instance)
         return Publishers.just(HttpStatus.NO_CONTENT)
     }
 
     @Override
     Publisher<HttpStatus> deregister(@NotBlank String appId, @NotBlank String instanceId) {
         def instances = instances.computeIfAbsent(appId, { String id -> new ConcurrentHashMap<>() })
-        instances.remove(instanceId)
+        InstanceInfo removed = instances.remove(instanceId)
+        if(removed != null) {
+            removed.actionType = InstanceInfo.ActionType.DELETED
+            recentlyChanged.add(removed)
+        }
         if(instances.isEmpty()) {
             instances.remove(appId)
         }
@@ -78,11 +89,24 @@ class MockEurekaServer implements EurekaOperations{
     @Get('/apps')
     @Produces(single = true)
     Publisher<MockApplicationInfos> getApplicationInfosInternal() {
+        registryFetches.incrementAndGet()
         return Publishers.just(new MockApplicationInfos(instances.findAll { !it.value.isEmpty() }.collect { it ->
             new MockApplicationInfo(it.key, it.value.values() as List<InstanceInfo>)
         } as List<ApplicationInfo>))
     }
 
+    @Get('/apps/delta')
+    @Produces(single = true)
+    Publisher<MockApplicationInfos> getApplicationDeltasInternal() {
+        MockApplicationInfos delta = new MockApplicationInfos(recentlyChanged.groupBy { it.app }.collect { name, changed ->
+            new MockApplicationInfo(name, changed)
+        } as List<ApplicationInfo>)
+        Map<String, Integer> counts = new TreeMap<>()
+        instances.values().each { it.values().each { counts.merge(it.status.name(), 1, Integer.&sum) } }
+        delta.appsHashCode = appsHashCode ?: counts.collect { "${it.key}_${it.value}_" }.join('')
+        return Publishers.just(delta)
+    }
+
     @Override
     Publisher<List<ApplicationInfo>> getApplicationInfos() {
         // no-op... never called
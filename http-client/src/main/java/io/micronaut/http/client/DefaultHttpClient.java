@@ -52,6 +52,7 @@ import io.micronaut.http.filter.ClientFilterChain;
 import io.micronaut.http.filter.HttpClientFilter;
 import io.micronaut.http.multipart.MultipartException;
 import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.http.netty.channel.EventLoopGroupFactory;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
 import io.micronaut.http.netty.content.HttpContentUtil;
 import io.micronaut.http.netty.stream.HttpStreamsClientHandler;
@@ -66,8 +67,14 @@ import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.*;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.ChannelPoolMap;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.pool.SimpleChannelPool;
 import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.*;
@@ -129,6 +136,10 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     protected static final String HANDLER_CHUNK = "chunk-writer";
     protected static final String HANDLER_STREAM = "stream-handler";
     protected static final String HANDLER_DECODER = "http-decoder";
+    protected static final String HANDLER_READ_TIMEOUT = "read-timeout";
+    protected static final String HANDLER_IDLE_TIMEOUT = "idle-timeout";
+    protected static final String HANDLER_RESPONSE = "http-response-handler";
+    protected static final String HANDLER_HTTP_CLIENT_CODEC = "http-client-codec";
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
     private static final int DEFAULT_HTTP_PORT = 80;
@@ -136,6 +147,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
     protected final Bootstrap bootstrap;
     protected EventLoopGroup group;
+    private final EventLoopGroupFactory eventLoopGroupFactory;
     protected MediaTypeCodecRegistry mediaTypeCodecRegistry;
     protected ByteBufferFactory<ByteBufAllocator, ByteBuf> byteBufferFactory = new NettyByteBufferFactory();
 
@@ -149,6 +161,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
     private final HttpClientFilter[] filters;
     private final Charset defaultCharset;
+    private final ChannelPoolMap<RequestKey, ChannelPool> poolMap;
 
     private Set<String> clientIdentifiers = Collections.emptySet();
 
@@ -180,11 +193,12 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         this.bootstrap = new Bootstrap();
         this.configuration = configuration;
         this.sslContext = nettyClientSslBuilder.build().orElse(null);
+        this.eventLoopGroupFactory = EventLoopGroupFactory.resolve(configuration.isUseNativeTransport());
         this.group = createEventLoopGroup(configuration, threadFactory);
         this.scheduler = Schedulers.from(group);
         this.threadFactory = threadFactory;
         this.bootstrap.group(group)
-            .channel(NioSocketChannel.class)
+            .channel(eventLoopGroupFactory.clientSocketChannelClass())
             .option(ChannelOption.SO_KEEPALIVE, true);
 
         Optional<Duration> connectTimeout = configuration.getConnectTimeout();
@@ -203,6 +217,35 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         this.mediaTypeCodecRegistry = codecRegistry;
         this.filters = filters;
         this.annotationMetadataResolver = annotationMetadataResolver != null ? annotationMetadataResolver : AnnotationMetadataResolver.DEFAULT;
+
+        HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration = configuration.getConnectionPoolConfiguration();
+        if (connectionPoolConfiguration.isEnabled()) {
+            this.poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
+                @Override
+                protected ChannelPool newPool(RequestKey key) {
+                    Bootstrap newBootstrap = bootstrap.clone(group);
+                    newBootstrap.remoteAddress(key.getHost(), key.getPort());
+                    ChannelPoolHandler channelPoolHandler = newPoolHandler(key, connectionPoolConfiguration);
+                    int maxConnections = connectionPoolConfiguration.getMaxConnections();
+                    if (maxConnections > 0) {
+                        long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
+                        return new FixedChannelPool(
+                                newBootstrap,
+                                channelPoolHandler,
+                                ChannelHealthChecker.ACTIVE,
+                                acquireTimeoutMillis > -1 ? FixedChannelPool.AcquireTimeoutAction.FAIL : null,
+                                acquireTimeoutMillis,
+                                maxConnections,
+                                connectionPoolConfiguration.getMaxPendingAcquires()
+                        );
+                    } else {
+                        return new SimpleChannelPool(newBootstrap, channelPoolHandler, ChannelHealthChecker.ACTIVE);
+                    }
+                }
+            };
+        } else {
+            this.poolMap = null;
+        }
     }
 
     /**
@@ -304,6 +347,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     @PreDestroy
     public HttpClient stop() {
         if (isRunning()) {
+            if (poolMap instanceof AbstractChannelPoolMap) {
+                ((AbstractChannelPoolMap<RequestKey, ChannelPool>) poolMap).close();
+            }
             Duration shutdownTimeout = configuration.getShutdownTimeout().orElse(Duration.ofMillis(100));
             Future<?> future = this.group.shutdownGracefully(
                     1,
@@ -802,43 +848,46 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             Flowable<io.micronaut.http.HttpResponse<O>> responsePublisher = Flowable.create(emitter -> {
                 SslContext sslContext = buildSslContext(requestURI);
 
-                ChannelFuture connectionFuture = doConnect(request, requestURI, sslContext, false);
-                connectionFuture.addListener(future -> {
-                    if (future.isSuccess()) {
-                        try {
-                            Channel channel = connectionFuture.channel();
-                            io.micronaut.http.HttpRequest<I> finalRequest = requestWrapper.get();
-                            MediaType requestContentType = finalRequest
-                                .getContentType()
-                                .orElse(MediaType.APPLICATION_JSON_TYPE);
-
-                            boolean permitsBody = io.micronaut.http.HttpMethod.permitsRequestBody(request.getMethod());
-
-                            NettyClientHttpRequest clientHttpRequest = (NettyClientHttpRequest) finalRequest;
-                            NettyRequestWriter requestWriter = buildNettyRequest(clientHttpRequest, requestURI, requestContentType, permitsBody);
-                            io.netty.handler.codec.http.HttpRequest nettyRequest = requestWriter.getNettyRequest();
-
-                            prepareHttpHeaders(requestURI, finalRequest, nettyRequest, permitsBody);
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Sending HTTP Request: {} {}", nettyRequest.method(), nettyRequest.uri());
-                                LOG.debug("Chosen Server: {}({})", requestURI.getHost(), requestURI.getPort());
+                if (poolMap != null) {
+                    RequestKey requestKey = new RequestKey(requestURI, sslContext != null);
+                    ChannelPool channelPool = poolMap.get(requestKey);
+                    Future<Channel> channelFuture = channelPool.acquire();
+                    channelFuture.addListener(future -> {
+                        if (future.isSuccess()) {
+                            Channel channel = channelFuture.getNow();
+                            AcquiredChannel acquiredChannel = new AcquiredChannel(channel, channelPool);
+                            // releases the channel if the request fails or is cancelled before the response is read
+                            emitter.setCancellable(() -> acquiredChannel.release(false));
+                            try {
+                                sendRequestThroughChannel(requestWrapper, bodyType, requestURI, emitter, channel, acquiredChannel);
+                            } catch (Exception e) {
+                                emitter.onError(e);
                             }
-                            if (LOG.isTraceEnabled()) {
-                                traceRequest(finalRequest, nettyRequest);
+                        } else {
+                            Throwable cause = future.cause();
+                            emitter.onError(
+                                new HttpClientException("Connect Error: " + cause.getMessage(), cause)
+                            );
+                        }
+                    });
+                } else {
+                    ChannelFuture connectionFuture = doConnect(request, requestURI, sslContext, false);
+                    connectionFuture.addListener(future -> {
+                        if (future.isSuccess()) {
+                            try {
+                                Channel channel = connectionFuture.channel();
+                                sendRequestThroughChannel(requestWrapper, bodyType, requestURI, emitter, channel, null);
+                            } catch (Exception e) {
+                                emitter.onError(e);
                             }
-
-                            addFullHttpResponseHandler(request, channel, emitter, bodyType);
-                            requestWriter.writeAndClose(channel, emitter);
-                        } catch (Exception e) {
-                            emitter.onError(e);
+                        } else {
+                            Throwable cause = future.cause();
+                            emitter.onError(
+                                new HttpClientException("Connect Error: " + cause.getMessage(), cause)
+                            );
                         }
-                    } else {
-                        Throwable cause = future.cause();
-                        emitter.onError(
-                            new HttpClientException("Connect Error: " + cause.getMessage(), cause)
-                        );
-                    }
-                });
+                    });
+                }
             }, BackpressureStrategy.ERROR);
             Publisher<io.micronaut.http.HttpResponse<O>> finalPublisher = applyFilterToResponsePublisher(request, requestURI, requestWrapper, responsePublisher);
             Flowable<io.micronaut.http.HttpResponse<O>> finalFlowable;
@@ -867,6 +916,54 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         };
     }
 
+    /**
+     * Writes the request to the given channel and registers the handler for the response.
+     *
+     * @param requestWrapper  The request wrapper
+     * @param bodyType        The body type
+     * @param requestURI      The request URI
+     * @param emitter         The emitter
+     * @param channel         The channel
+     * @param acquiredChannel The pooled channel or null if the channel is not pooled
+     * @param <I>             The input type
+     * @param <O>             The output type
+     * @throws HttpPostRequestEncoder.ErrorDataEncoderException if there is an encoder exception
+     */
+    private <I, O> void sendRequestThroughChannel(
+            AtomicReference<io.micronaut.http.HttpRequest> requestWrapper,
+            io.micronaut.core.type.Argument<O> bodyType,
+            URI requestURI,
+            FlowableEmitter<io.micronaut.http.HttpResponse<O>> emitter,
+            Channel channel,
+            @Nullable AcquiredChannel acquiredChannel) throws HttpPostRequestEncoder.ErrorDataEncoderException {
+        io.micronaut.http.HttpRequest<I> finalRequest = requestWrapper.get();
+        MediaType requestContentType = finalRequest
+            .getContentType()
+            .orElse(MediaType.APPLICATION_JSON_TYPE);
+
+        boolean permitsBody = io.micronaut.http.HttpMethod.permitsRequestBody(finalRequest.getMethod());
+
+        NettyClientHttpRequest clientHttpRequest = (NettyClientHttpRequest) finalRequest;
+        NettyRequestWriter requestWriter = buildNettyRequest(clientHttpRequest, requestURI, requestContentType, permitsBody);
+        io.netty.handler.codec.http.HttpRequest nettyRequest = requestWriter.getNettyRequest();
+
+        prepareHttpHeaders(requestURI, finalRequest, nettyRequest, permitsBody, acquiredChannel != null);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Sending HTTP Request: {} {}", nettyRequest.method(), nettyRequest.uri());
+            LOG.debug("Chosen Server: {}({})", requestURI.getHost(), requestURI.getPort());
+        }
+        if (LOG.isTraceEnabled()) {
+            traceRequest(finalRequest, nettyRequest);
+        }
+
+        addFullHttpResponseHandler(finalRequest, channel, acquiredChannel, emitter, bodyType);
+        if (acquiredChannel != null) {
+            requestWriter.write(channel, emitter);
+        } else {
+            requestWriter.writeAndClose(channel, emitter);
+        }
+    }
+
     /**
      * @param channel The channel to close asynchronously
      */
@@ -982,32 +1079,27 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
 
 
     /**
-     * Creates the {@link NioEventLoopGroup} for this client.
+     * Creates the {@link EventLoopGroup} for this client. A native transport is used when available and enabled.
      *
      * @param configuration The configuration
      * @param threadFactory The thread factory
      * @return The group
      */
-    protected NioEventLoopGroup createEventLoopGroup(HttpClientConfiguration configuration, ThreadFactory threadFactory) {
+    protected EventLoopGroup createEventLoopGroup(HttpClientConfiguration configuration, ThreadFactory threadFactory) {
         OptionalInt numOfThreads = configuration.getNumOfThreads();
         Optional<Class<? extends ThreadFactory>> threadFactoryType = configuration.getThreadFactory();
         boolean hasThreads = numOfThreads.isPresent();
         boolean hasFactory = threadFactoryType.isPresent();
-        NioEventLoopGroup group;
+        EventLoopGroup group;
         if (hasThreads && hasFactory) {
-            group = new NioEventLoopGroup(numOfThreads.getAsInt(), InstantiationUtils.instantiate(threadFactoryType.get()));
+            group = eventLoopGroupFactory.createEventLoopGroup(numOfThreads.getAsInt(), InstantiationUtils.instantiate(threadFactoryType.get()), null);
         } else if (hasThreads) {
-            if (threadFactory != null) {
-                group = new NioEventLoopGroup(numOfThreads.getAsInt(), threadFactory);
-            } else {
-                group = new NioEventLoopGroup(numOfThreads.getAsInt());
-            }
+            group = eventLoopGroupFactory.createEventLoopGroup(numOfThreads.getAsInt(), threadFactory, null);
         } else {
             if (threadFactory != null) {
-                group = new NioEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory);
+                group = eventLoopGroupFactory.createEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory, null);
             } else {
-
-                group = new NioEventLoopGroup();
+                group = eventLoopGroupFactory.createEventLoopGroup(0, (ThreadFactory) null, null);
             }
         }
         return group;
@@ -1288,10 +1380,14 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         ).asNativeBuffer();
     }
 
-    private <I> void prepareHttpHeaders(URI requestURI, io.micronaut.http.HttpRequest<I> request, io.netty.handler.codec.http.HttpRequest nettyRequest, boolean permitsBody) {
+    private <I> void prepareHttpHeaders(URI requestURI, io.micronaut.http.HttpRequest<I> request, io.netty.handler.codec.http.HttpRequest nettyRequest, boolean permitsBody, boolean keepAlive) {
         HttpHeaders headers = nettyRequest.headers();
         headers.set(HttpHeaderNames.HOST, requestURI.getHost());
-        headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        if (keepAlive) {
+            headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        } else {
+            headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        }
 
         if (permitsBody) {
             Optional<I> body = request.getBody();
@@ -1314,9 +1410,10 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
     private <O> void addFullHttpResponseHandler(
             io.micronaut.http.HttpRequest<?> request,
             Channel channel,
+            @Nullable AcquiredChannel acquiredChannel,
             Emitter<io.micronaut.http.HttpResponse<O>> emitter,
             io.micronaut.core.type.Argument<O> bodyType) {
-        channel.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+        channel.pipeline().addLast(HANDLER_RESPONSE, new SimpleChannelInboundHandler<FullHttpResponse>() {
 
             AtomicBoolean complete = new AtomicBoolean(false);
 
@@ -1334,6 +1431,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                 int statusCode = status.code();
                 // it is a redirect
                 if (statusCode > 300 && statusCode < 400 && configuration.isFollowRedirects() && headers.contains(HttpHeaderNames.LOCATION)) {
+                    if (acquiredChannel != null && complete.compareAndSet(false, true)) {
+                        acquiredChannel.release(HttpUtil.isKeepAlive(fullResponse));
+                    }
                     String location = headers.get(HttpHeaderNames.LOCATION);
                     Flowable<io.micronaut.http.HttpResponse<O>> redirectedRequest = exchange(io.micronaut.http.HttpRequest.GET(location), bodyType);
                     redirectedRequest.subscribe(new Subscriber<io.micronaut.http.HttpResponse<O>>() {
@@ -1374,7 +1474,11 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                     = new FullNettyClientHttpResponse<>(fullResponse, mediaTypeCodecRegistry, byteBufferFactory, bodyType, errorStatus);
 
                 if (complete.compareAndSet(false, true)) {
-
+                    if (acquiredChannel != null) {
+                        // the response has been fully read so the connection can be returned to the pool
+                        // before the response is emitted
+                        acquiredChannel.release(HttpUtil.isKeepAlive(fullResponse));
+                    }
                     try {
                         if (errorStatus) {
                             emitter.onError(new HttpClientResponseException(status.reasonPhrase(), response));
@@ -1383,7 +1487,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                         }
                         emitter.onComplete();
                     } finally {
-                        closeChannelAsync(channel);
+                        if (acquiredChannel == null) {
+                            closeChannelAsync(channel);
+                        }
                     }
                 }
             }
@@ -1400,6 +1506,9 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                         LOG.trace("HTTP Client exception ({}) occurred for request : {} {}", message, request.getMethod(), request.getUri());
                     }
 
+                    if (acquiredChannel != null) {
+                        acquiredChannel.release(false);
+                    }
                     if (cause instanceof TooLongFrameException) {
                         emitter.onError(new ContentLengthExceededException(configuration.getMaxContentLength()));
                     } else if (cause instanceof io.netty.handler.timeout.ReadTimeoutException) {
@@ -1529,7 +1638,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         NettyClientHttpRequest clientHttpRequest = (NettyClientHttpRequest) request;
         NettyRequestWriter requestWriter = buildNettyRequest(clientHttpRequest, requestURI, requestContentType, permitsBody);
         io.netty.handler.codec.http.HttpRequest nettyRequest = requestWriter.getNettyRequest();
-        prepareHttpHeaders(requestURI, request, nettyRequest, permitsBody);
+        prepareHttpHeaders(requestURI, request, nettyRequest, permitsBody, false);
         return requestWriter;
     }
 
@@ -1618,7 +1727,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                 Optional<Duration> readTimeout = configuration.getReadTimeout();
                 readTimeout.ifPresent(duration -> {
                     if (!duration.isNegative()) {
-                        p.addLast(new ReadTimeoutHandler(duration.toMillis(), TimeUnit.MILLISECONDS));
+                        p.addLast(HANDLER_READ_TIMEOUT, new ReadTimeoutHandler(duration.toMillis(), TimeUnit.MILLISECONDS));
                     }
                 });
             } else {
@@ -1628,7 +1737,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
                     p.addLast(new IdleStateHandler(duration.toMillis(), duration.toMillis(), duration.toMillis(), TimeUnit.MILLISECONDS));
                 }
             }
-            p.addLast("http-client-codec", new HttpClientCodec());
+            p.addLast(HANDLER_HTTP_CLIENT_CODEC, new HttpClientCodec());
 
             p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
 
@@ -1698,7 +1807,7 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         }
 
         private boolean acceptsEventStream() {
-            return request.getHeaders().get(io.micronaut.http.HttpHeaders.ACCEPT, String.class).map(ct -> ct.equals(MediaType.TEXT_EVENT_STREAM)).orElse(false);
+            return request != null && request.getHeaders().get(io.micronaut.http.HttpHeaders.ACCEPT, String.class).map(ct -> ct.equals(MediaType.TEXT_EVENT_STREAM)).orElse(false);
         }
     }
 
@@ -1736,6 +1845,37 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
             closeChannel(channel, emitter, channelFuture);
         }
 
+        /**
+         * Writes the request to a pooled channel. The channel remains open so that it can be reused once the
+         * response has been read.
+         *
+         * @param channel The channel
+         * @param emitter The emitter
+         */
+        protected void write(Channel channel, FlowableEmitter<?> emitter) {
+            ChannelFuture channelFuture;
+            if (encoder != null && encoder.isChunked()) {
+                channel.pipeline().replace(HANDLER_STREAM, HANDLER_CHUNK, new ChunkedWriteHandler());
+                channel.write(nettyRequest);
+                channelFuture = channel.writeAndFlush(encoder);
+            } else {
+                channelFuture = channel.writeAndFlush(nettyRequest);
+            }
+            channelFuture.addListener(f -> {
+                try {
+                    if (!f.isSuccess()) {
+                        emitter.onError(f.cause());
+                    } else {
+                        channel.read();
+                    }
+                } finally {
+                    if (encoder != null) {
+                        encoder.cleanFiles();
+                    }
+                }
+            });
+        }
+
         private void closeChannel(Channel channel, FlowableEmitter<?> emitter, ChannelFuture channelFuture) {
             channelFuture.addListener(f -> {
                 try {
@@ -1761,6 +1901,147 @@ public class DefaultHttpClient implements RxHttpClient, RxStreamingHttpClient, R
         }
     }
 
+    /**
+     * Creates the handler that initializes and maintains the channels of a connection pool.
+     *
+     * @param key                         The request key
+     * @param connectionPoolConfiguration The connection pool configuration
+     * @return The handler
+     */
+    private ChannelPoolHandler newPoolHandler(RequestKey key, HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration) {
+        return new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+                SslContext sslCtx = key.isSecure() ? sslContext : null;
+                // a newly created channel is handed out without a call to channelAcquired so it keeps
+                // the read timeout added by the initializer for its first request
+                new HttpClientInitializer(sslCtx, null, key.getHost(), key.getPort(), false).initChannel(ch);
+            }
+
+            @Override
+            public void channelAcquired(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                if (pipeline.get(HANDLER_IDLE_TIMEOUT) != null) {
+                    pipeline.remove(HANDLER_IDLE_TIMEOUT);
+                }
+                Optional<Duration> readTimeout = configuration.getReadTimeout();
+                readTimeout.ifPresent(duration -> {
+                    if (!duration.isNegative() && pipeline.get(HANDLER_READ_TIMEOUT) == null) {
+                        pipeline.addBefore(HANDLER_HTTP_CLIENT_CODEC, HANDLER_READ_TIMEOUT, new ReadTimeoutHandler(duration.toMillis(), TimeUnit.MILLISECONDS));
+                    }
+                });
+            }
+
+            @Override
+            public void channelReleased(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                if (pipeline.get(HANDLER_READ_TIMEOUT) != null) {
+                    pipeline.remove(HANDLER_READ_TIMEOUT);
+                }
+                if (ch.isOpen()) {
+                    Optional<Duration> idleTimeout = connectionPoolConfiguration.getIdleTimeout();
+                    idleTimeout.ifPresent(duration -> {
+                        if (!duration.isNegative() && !duration.isZero()) {
+                            pipeline.addBefore(HANDLER_HTTP_CLIENT_CODEC, HANDLER_IDLE_TIMEOUT, new IdleStateHandler(0, 0, duration.toMillis(), TimeUnit.MILLISECONDS) {
+                                @Override
+                                protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
+                                    // evict connections that have been unused for too long
+                                    ctx.close();
+                                }
+                            });
+                        }
+                    });
+                }
+            }
+        };
+    }
+
+    /**
+     * The key used to select the connection pool for a request.
+     */
+    private static final class RequestKey {
+        private final String host;
+        private final int port;
+        private final boolean secure;
+
+        /**
+         * @param requestURI The request URI
+         * @param secure     Whether the connection is secured with SSL
+         */
+        RequestKey(URI requestURI, boolean secure) {
+            this.secure = secure;
+            this.host = requestURI.getHost();
+            this.port = requestURI.getPort() > -1 ? requestURI.getPort() : secure ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT;
+        }
+
+        String getHost() {
+            return host;
+        }
+
+        int getPort() {
+            return port;
+        }
+
+        boolean isSecure() {
+            return secure;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            RequestKey that = (RequestKey) o;
+            return port == that.port && secure == that.secure && Objects.equals(host, that.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, secure);
+        }
+    }
+
+    /**
+     * A channel acquired from a {@link ChannelPool} that is released back to the pool exactly once.
+     */
+    private static final class AcquiredChannel {
+        private final Channel channel;
+        private final ChannelPool channelPool;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        /**
+         * @param channel     The channel
+         * @param channelPool The pool the channel was acquired from
+         */
+        AcquiredChannel(Channel channel, ChannelPool channelPool) {
+            this.channel = channel;
+            this.channelPool = channelPool;
+        }
+
+        /**
+         * Releases the channel back to the pool. Channels that cannot be reused are closed first and are then
+         * discarded by the pool.
+         *
+         * @param reusable Whether the connection can be reused for another request
+         */
+        void release(boolean reusable) {
+            if (released.compareAndSet(false, true)) {
+                ChannelPipeline pipeline = channel.pipeline();
+                if (pipeline.get(HANDLER_RESPONSE) != null) {
+                    pipeline.remove(HANDLER_RESPONSE);
+                }
+                // the pipeline of chunked multipart requests is modified so the connection is not reused
+                if (!reusable || pipeline.get(HANDLER_CHUNK) != null) {
+                    channel.close();
+                }
+                channelPool.release(channel);
+            }
+        }
+    }
+
     /**
      * Used as a holder for the current SSE event.
      */
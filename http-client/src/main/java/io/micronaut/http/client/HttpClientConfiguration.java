@@ -17,6 +17,7 @@
 package io.micronaut.http.client;
 
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.ssl.ClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
@@ -74,8 +75,12 @@ public abstract class HttpClientConfiguration {
 
     private boolean followRedirects = true;
 
+    private boolean useNativeTransport = true;
+
     private SslConfiguration sslConfiguration = new ClientSslConfiguration();
 
+    private ConnectionPoolConfiguration connectionPoolConfiguration = new ConnectionPoolConfiguration();
+
     /**
      * Default constructor.
      */
@@ -107,6 +112,24 @@ public abstract class HttpClientConfiguration {
         this.sslConfiguration = sslConfiguration;
     }
 
+    /**
+     * @return The connection pool configuration for the client. Pooling is disabled by default.
+     */
+    public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
+        return connectionPoolConfiguration;
+    }
+
+    /**
+     * Sets the connection pool configuration for the client.
+     *
+     * @param connectionPoolConfiguration The connection pool configuration
+     */
+    public void setConnectionPoolConfiguration(ConnectionPoolConfiguration connectionPoolConfiguration) {
+        if (connectionPoolConfiguration != null) {
+            this.connectionPoolConfiguration = connectionPoolConfiguration;
+        }
+    }
+
     /**
      * @return Whether redirects should be followed
      */
@@ -123,6 +146,23 @@ public abstract class HttpClientConfiguration {
         this.followRedirects = followRedirects;
     }
 
+    /**
+     * @return Whether a native transport is used when available
+     */
+    public boolean isUseNativeTransport() {
+        return useNativeTransport;
+    }
+
+    /**
+     * Sets whether to use a native transport (epoll on Linux, kqueue on macOS and BSD) when it is on the classpath
+     * and can be loaded (defaults to true). The NIO transport is used otherwise.
+     *
+     * @param useNativeTransport Whether to use a native transport
+     */
+    public void setUseNativeTransport(boolean useNativeTransport) {
+        this.useNativeTransport = useNativeTransport;
+    }
+
     /**
      * @return The default charset to use
      */
@@ -346,4 +386,131 @@ public abstract class HttpClientConfiguration {
     public void setProxyPassword(String proxyPassword) {
         this.proxyPassword = proxyPassword;
     }
+
+    /**
+     * Configuration for the pool of HTTP/1.1 keep-alive connections maintained by the client for each remote host.
+     */
+    public static class ConnectionPoolConfiguration implements Toggleable {
+
+        /**
+         * The prefix to use for configuration.
+         */
+        public static final String PREFIX = "pool";
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default max connections value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAXCONNECTIONS = -1;
+
+        private int maxConnections = DEFAULT_MAXCONNECTIONS;
+
+        private int maxPendingAcquires = Integer.MAX_VALUE;
+
+        private Duration acquireTimeout;
+
+        private Duration idleTimeout = Duration.of(60, ChronoUnit.SECONDS);
+
+        private boolean enabled = DEFAULT_ENABLED;
+
+        /**
+         * Whether connection pooling is enabled. Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @return True if connection pooling is enabled
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether connection pooling is enabled.
+         *
+         * @param enabled True if it is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * The maximum number of connections to each host. Default value ({@value #DEFAULT_MAXCONNECTIONS}) which
+         * means unbounded.
+         *
+         * @return The max connections
+         */
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        /**
+         * Sets the maximum number of connections to each host.
+         *
+         * @param maxConnections The count
+         */
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * The maximum number of requests that can wait for a connection once {@link #getMaxConnections()} is
+         * reached. Only applies when the maximum connections are bounded.
+         *
+         * @return The max pending acquires
+         */
+        public int getMaxPendingAcquires() {
+            return maxPendingAcquires;
+        }
+
+        /**
+         * Sets the maximum number of requests that can wait for a connection.
+         *
+         * @param maxPendingAcquires The max pending acquires
+         */
+        public void setMaxPendingAcquires(int maxPendingAcquires) {
+            this.maxPendingAcquires = maxPendingAcquires;
+        }
+
+        /**
+         * The time to wait to acquire a connection once {@link #getMaxConnections()} is reached. Only applies
+         * when the maximum connections are bounded.
+         *
+         * @return The timeout as a duration.
+         */
+        public Optional<Duration> getAcquireTimeout() {
+            return Optional.ofNullable(acquireTimeout);
+        }
+
+        /**
+         * Sets the time to wait to acquire a connection.
+         *
+         * @param acquireTimeout The timeout
+         */
+        public void setAcquireTimeout(@Nullable Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        /**
+         * The amount of time a connection can remain unused in the pool before it is closed. Defaults to 60 seconds.
+         *
+         * @return The idle timeout
+         */
+        public Optional<Duration> getIdleTimeout() {
+            return Optional.ofNullable(idleTimeout);
+        }
+
+        /**
+         * Sets the amount of time a connection can remain unused in the pool before it is closed.
+         *
+         * @param idleTimeout The idle timeout
+         */
+        public void setIdleTimeout(@Nullable Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
 }
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.interceptor;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.CookieValue;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Headers;
+import io.micronaut.http.annotation.HttpMethodMapping;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.client.Client;
+import io.micronaut.http.uri.UriMatchTemplate;
+
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The request template of a declarative client method. Everything {@link HttpClientIntroductionAdvice} needs to
+ * know to build the request of a method and to read its response depends only on the method, so it is resolved once
+ * per method from the annotation metadata: the HTTP method, the parsed URI template, how each argument is bound to
+ * the request and the media types.
+ *
+ * @since 1.0
+ */
+@Internal
+final class ClientRequestTemplate {
+
+    /**
+     * The default Accept-Types.
+     */
+    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
+
+    /**
+     * How an argument of a client method is bound to the request.
+     */
+    enum Binding {
+        /**
+         * The argument is the body.
+         */
+        BODY,
+        /**
+         * The argument is a header.
+         */
+        HEADER,
+        /**
+         * The argument is a cookie.
+         */
+        COOKIE,
+        /**
+         * The argument is a query parameter.
+         */
+        QUERY,
+        /**
+         * The argument is a property of a body that is built from several arguments.
+         */
+        BODY_PART,
+        /**
+         * The argument is only used to expand the URI template.
+         */
+        NONE
+    }
+
+    private final Client clientAnnotation;
+    private final Argument[] arguments;
+    private final boolean[] nullable;
+    private final Binding[] bindings;
+    private final String[] bindingNames;
+    private final boolean mapped;
+    private final HttpMethod httpMethod;
+    private final UriMatchTemplate uriTemplate;
+    private final String resolvedUriTemplate;
+    private final boolean variablesSatisfied;
+    private final boolean bodyParts;
+    private final Map<String, String> headers;
+    private final MediaType[] contentTypes;
+    private final MediaType[] acceptTypes;
+    private final boolean eventStream;
+    private final Class<?> javaReturnType;
+    private final Argument<?> returnArgument;
+    private final Argument<?> firstTypeArgument;
+    private final boolean future;
+    private final boolean reactive;
+    private final boolean single;
+
+    /**
+     * @param context The invocation context of the first call to the method
+     */
+    ClientRequestTemplate(MethodInvocationContext<Object, Object> context) {
+        this.clientAnnotation = context.getAnnotation(Client.class);
+        this.arguments = context.getArguments();
+        this.nullable = new boolean[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            nullable[i] = arguments[i].isAnnotationPresent(Nullable.class);
+        }
+
+        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
+        this.mapped = httpMethodMapping.isPresent();
+        this.bindings = new Binding[arguments.length];
+        this.bindingNames = new String[arguments.length];
+        if (!mapped) {
+            Arrays.fill(bindings, Binding.NONE);
+            this.httpMethod = null;
+            this.uriTemplate = null;
+            this.resolvedUriTemplate = null;
+            this.variablesSatisfied = true;
+            this.bodyParts = false;
+            this.headers = Collections.emptyMap();
+            this.contentTypes = DEFAULT_ACCEPT_TYPES;
+            this.acceptTypes = DEFAULT_ACCEPT_TYPES;
+            this.eventStream = false;
+            this.javaReturnType = null;
+            this.returnArgument = null;
+            this.firstTypeArgument = null;
+            this.future = false;
+            this.reactive = false;
+            this.single = false;
+            return;
+        }
+
+        String uri = context.getValue(HttpMethodMapping.class, String.class).orElse("");
+        if (StringUtils.isEmpty(uri)) {
+            uri = "/" + context.getMethodName();
+        }
+        this.httpMethod = HttpMethod.valueOf(httpMethodMapping.get().getSimpleName().toUpperCase());
+
+        UriMatchTemplate uriTemplate = UriMatchTemplate.of("");
+        if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
+            uriTemplate = uriTemplate.nest(uri);
+        }
+        this.uriTemplate = uriTemplate;
+        this.resolvedUriTemplate = clientAnnotation != null ? resolveTemplate(clientAnnotation, uriTemplate.toString()) : uriTemplate.toString();
+        List<String> uriVariables = uriTemplate.getVariables();
+        boolean satisfied = true;
+        if (!uriVariables.isEmpty()) {
+            for (Argument argument : arguments) {
+                if (!uriVariables.contains(argument.getName())) {
+                    satisfied = false;
+                    break;
+                }
+            }
+        }
+        this.variablesSatisfied = satisfied;
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        Headers headersAnnotation = context.getAnnotation(Headers.class);
+        if (headersAnnotation != null) {
+            for (Header header : headersAnnotation.value()) {
+                headers.put(header.name(), header.value());
+            }
+        }
+        Header headerAnnotation = context.getAnnotation(Header.class);
+        if (headerAnnotation != null) {
+            headers.put(headerAnnotation.name(), headerAnnotation.value());
+        }
+        this.headers = Collections.unmodifiableMap(headers);
+
+        boolean bodyParts = false;
+        boolean body = false;
+        for (int i = 0; i < arguments.length; i++) {
+            Argument argument = arguments[i];
+            String argumentName = argument.getName();
+            if (body) {
+                // arguments after the body are not bound
+                bindings[i] = Binding.NONE;
+            } else if (argument.isAnnotationPresent(Body.class)) {
+                bindings[i] = Binding.BODY;
+                body = true;
+            } else if (argument.isAnnotationPresent(Header.class)) {
+                String headerName = argument.getAnnotation(Header.class).value();
+                bindings[i] = Binding.HEADER;
+                bindingNames[i] = StringUtils.isEmpty(headerName) ? NameUtils.hyphenate(argumentName) : headerName;
+            } else if (argument.isAnnotationPresent(CookieValue.class)) {
+                String cookieName = argument.getAnnotation(CookieValue.class).value();
+                bindings[i] = Binding.COOKIE;
+                bindingNames[i] = StringUtils.isEmpty(cookieName) ? argumentName : cookieName;
+            } else if (argument.isAnnotationPresent(QueryValue.class)) {
+                String parameterName = argument.getAnnotation(QueryValue.class).value();
+                if (StringUtils.isEmpty(parameterName)) {
+                    bindings[i] = Binding.NONE;
+                } else {
+                    bindings[i] = Binding.QUERY;
+                    bindingNames[i] = parameterName;
+                }
+            } else if (!uriVariables.contains(argumentName)) {
+                bindings[i] = Binding.BODY_PART;
+                bodyParts = true;
+            } else {
+                bindings[i] = Binding.NONE;
+            }
+        }
+        this.bodyParts = bodyParts;
+
+        this.contentTypes = context.getValue(Consumes.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
+        this.acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
+        this.eventStream = Arrays.stream(acceptTypes).anyMatch(mediaType -> mediaType.equals(MediaType.TEXT_EVENT_STREAM_TYPE));
+
+        this.javaReturnType = context.getReturnType().getType();
+        this.returnArgument = context.getReturnType().asArgument();
+        this.firstTypeArgument = returnArgument.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+        this.future = CompletableFuture.class.isAssignableFrom(javaReturnType);
+        this.reactive = Publishers.isConvertibleToPublisher(javaReturnType) || future;
+        Class<?> argumentType = firstTypeArgument.getType();
+        this.single = reactive && (Publishers.isSingle(javaReturnType) ||
+            future ||
+            context.getValue(Produces.class, "single", Boolean.class).orElse(false) ||
+            HttpResponse.class.isAssignableFrom(argumentType) ||
+            HttpStatus.class.isAssignableFrom(argumentType));
+    }
+
+    /**
+     * @return The {@link Client} annotation or null if the declaring type is not annotated
+     */
+    Client getClientAnnotation() {
+        return clientAnnotation;
+    }
+
+    /**
+     * @return The arguments of the method
+     */
+    Argument[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @param index The index of the argument
+     * @return Whether the argument may be null
+     */
+    boolean isNullable(int index) {
+        return nullable[index];
+    }
+
+    /**
+     * @param index The index of the argument
+     * @return How the argument is bound to the request
+     */
+    Binding getBinding(int index) {
+        return bindings[index];
+    }
+
+    /**
+     * @param index The index of the argument
+     * @return The name of the header, cookie or query parameter the argument is bound to
+     */
+    String getBindingName(int index) {
+        return bindingNames[index];
+    }
+
+    /**
+     * @return Whether the method is annotated with an HTTP method mapping such as {@link io.micronaut.http.annotation.Get}
+     */
+    boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * @return The HTTP method
+     */
+    HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * @return The URI template
+     */
+    UriMatchTemplate getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * @return The URI template including the path of the client, used for tracing
+     */
+    String getResolvedUriTemplate() {
+        return resolvedUriTemplate;
+    }
+
+    /**
+     * @return Whether all the arguments of the method are variables of the URI template
+     */
+    boolean isVariablesSatisfied() {
+        return variablesSatisfied;
+    }
+
+    /**
+     * @return Whether the body is built from the arguments that are not bound otherwise
+     */
+    boolean hasBodyParts() {
+        return bodyParts;
+    }
+
+    /**
+     * @return The headers declared on the method
+     */
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return The content types of the request
+     */
+    MediaType[] getContentTypes() {
+        return contentTypes;
+    }
+
+    /**
+     * @return The accepted types of the response
+     */
+    MediaType[] getAcceptTypes() {
+        return acceptTypes;
+    }
+
+    /**
+     * @return Whether the response is a stream of server sent events
+     */
+    boolean isEventStream() {
+        return eventStream;
+    }
+
+    /**
+     * @return The return type of the method
+     */
+    Class<?> getJavaReturnType() {
+        return javaReturnType;
+    }
+
+    /**
+     * @return The return type of the method as an argument
+     */
+    Argument<?> getReturnArgument() {
+        return returnArgument;
+    }
+
+    /**
+     * @return The first type variable of the return type, or {@link Argument#OBJECT_ARGUMENT} if there is none
+     */
+    Argument<?> getFirstTypeArgument() {
+        return firstTypeArgument;
+    }
+
+    /**
+     * @return Whether the method returns a future
+     */
+    boolean isFuture() {
+        return future;
+    }
+
+    /**
+     * @return Whether the method returns a reactive type or a future
+     */
+    boolean isReactive() {
+        return reactive;
+    }
+
+    /**
+     * @return Whether the method emits a single result
+     */
+    boolean isSingle() {
+        return single;
+    }
+
+    /**
+     * Resolve the template for the client annotation.
+     *
+     * @param clientAnnotation client annotation reference
+     * @param templateString   template to be applied
+     * @return resolved template contents
+     */
+    private static String resolveTemplate(Client clientAnnotation, String templateString) {
+        String path = clientAnnotation.path();
+        if (StringUtils.isNotEmpty(path)) {
+            return path + templateString;
+        } else {
+            String[] value = clientAnnotation.value();
+            if (ArrayUtils.isNotEmpty(value)) {
+                if (value[0].startsWith("/")) {
+                    return value[0] + templateString;
+                }
+            }
+            return templateString;
+        }
+    }
+}
@@ -23,14 +23,10 @@ import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.codec.CodecConfiguration;
 import io.micronaut.context.BeanContext;
-import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
 import io.micronaut.core.beans.BeanMap;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
-import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpAttributes;
@@ -51,6 +47,7 @@ import io.micronaut.http.codec.MediaTypeCodecRegistry;
 import io.micronaut.http.netty.cookies.NettyCookie;
 import io.micronaut.http.sse.Event;
 import io.micronaut.http.uri.UriMatchTemplate;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.jackson.ObjectMapperFactory;
 import io.micronaut.jackson.annotation.JacksonFeatures;
@@ -62,12 +59,10 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.Nullable;
 import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.io.Closeable;
 import java.io.IOException;
-import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -89,14 +84,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
 
-    /**
-     * The default Accept-Types.
-     */
-    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
-
-    private final int HEADERS_INITIAL_CAPACITY = 3;
     private final BeanContext beanContext;
     private final Map<Integer, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod<?, ?>, ClientRequestTemplate> requestTemplates = new ConcurrentHashMap<>();
     private final ReactiveClientResultTransformer[] transformers;
     private final LoadBalancerResolver loadBalancerResolver;
 
@@ -125,13 +115,16 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
      */
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
-        Client clientAnnotation = context.getAnnotation(Client.class);
+        ClientRequestTemplate template = resolveRequestTemplate(context);
+        Client clientAnnotation = template.getClientAnnotation();
         if (clientAnnotation == null) {
             throw new IllegalStateException("Client advice called from type that is not annotated with @Client: " + context);
         }
 
-        for (MutableArgumentValue<?> argumentValue : context.getParameters().values()) {
-            if (argumentValue.getValue() == null && !argumentValue.isAnnotationPresent(Nullable.class)) {
+        Argument[] arguments = template.getArguments();
+        Object[] parameterValues = context.getParameterValues();
+        for (int i = 0; i < arguments.length; i++) {
+            if (parameterValues[i] == null && !template.isNullable(i)) {
                 throw new IllegalArgumentException(
                     String.format("Null values are not allowed to be passed to client methods (%s). Add @javax.validation.Nullable if that is the desired behavior", context.getTargetMethod().toString())
                 );
@@ -139,99 +132,54 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
 
         HttpClient httpClient = getClient(context, clientAnnotation);
-        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
-        if (httpMethodMapping.isPresent() && httpClient != null) {
-            String uri = context.getValue(HttpMethodMapping.class, String.class).orElse("");
-            if (StringUtils.isEmpty(uri)) {
-                uri = "/" + context.getMethodName();
-            }
-
-            Class<? extends Annotation> annotationType = httpMethodMapping.get();
-
-            HttpMethod httpMethod = HttpMethod.valueOf(annotationType.getSimpleName().toUpperCase());
-
-            ReturnType returnType = context.getReturnType();
-            Class<?> javaReturnType = returnType.getType();
-
-            UriMatchTemplate uriTemplate = UriMatchTemplate.of("");
-            if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
-                uriTemplate = uriTemplate.nest(uri);
+        if (template.isMapped() && httpClient != null) {
+            HttpMethod httpMethod = template.getHttpMethod();
+            Class<?> javaReturnType = template.getJavaReturnType();
+            UriMatchTemplate uriTemplate = template.getUriTemplate();
+
+            Map<String, Object> paramMap = new LinkedHashMap<>(arguments.length);
+            for (int i = 0; i < arguments.length; i++) {
+                paramMap.put(arguments[i].getName(), parameterValues[i]);
             }
 
-            Map<String, Object> paramMap = context.getParameterValueMap();
-            List<String> uriVariables = uriTemplate.getVariables();
-
-            boolean variableSatisfied = uriVariables.isEmpty() || uriVariables.containsAll(paramMap.keySet());
+            boolean variableSatisfied = template.isVariablesSatisfied();
             MutableHttpRequest<Object> request;
             Object body = null;
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-            Argument[] arguments = context.getArguments();
-
-
-            Map<String, String> headers = new LinkedHashMap<>(HEADERS_INITIAL_CAPACITY);
-
-            Headers headersAnnotation = context.getAnnotation(Headers.class);
-            if (headersAnnotation != null) {
-                Header[] headerArray = headersAnnotation.value();
-                for (Header header : headerArray) {
-                    String headerName = header.name();
-                    String headerValue = header.value();
-                    headers.put(headerName, headerValue);
-                }
-            }
-
-            Header headerAnnotation = context.getAnnotation(Header.class);
-            if (headerAnnotation != null) {
-                headers.put(headerAnnotation.name(), headerAnnotation.value());
-            }
+            String uri;
 
+            Map<String, String> headers = new LinkedHashMap<>(template.getHeaders());
             List<NettyCookie> cookies = new ArrayList<>();
-            List<Argument> bodyArguments = new ArrayList<>();
-            for (Argument argument : arguments) {
-                String argumentName = argument.getName();
-                if (argument.isAnnotationPresent(Body.class)) {
-                    body = parameters.get(argumentName).getValue();
-                    break;
-                } else if (argument.isAnnotationPresent(Header.class)) {
-
-                    String headerName = argument.getAnnotation(Header.class).value();
-                    if (StringUtils.isEmpty(headerName)) {
-                        headerName = NameUtils.hyphenate(argumentName);
-                    }
-                    MutableArgumentValue<?> value = parameters.get(argumentName);
-                    String finalHeaderName = headerName;
-                    ConversionService.SHARED.convert(value.getValue(), String.class)
-                        .ifPresent(o -> headers.put(finalHeaderName, o));
-                } else if (argument.isAnnotationPresent(CookieValue.class)) {
-                    Object cookieValue = parameters.get(argumentName).getValue();
-                    String cookieName = argument.getAnnotation(CookieValue.class).value();
-                    if (StringUtils.isEmpty(cookieName)) {
-                        cookieName = argumentName;
-                    }
-                    String finalCookieName = cookieName;
-
-                    ConversionService.SHARED.convert(cookieValue, String.class)
-                        .ifPresent(o -> cookies.add(new NettyCookie(finalCookieName, o)));
-
-                } else if (argument.isAnnotationPresent(QueryValue.class)) {
-                    String parameterName = argument.getAnnotation(QueryValue.class).value();
-                    if (!StringUtils.isEmpty(parameterName)) {
-                        MutableArgumentValue<?> value = parameters.get(argumentName);
-                        ConversionService.SHARED.convert(value.getValue(), String.class)
-                            .ifPresent(o -> paramMap.put(parameterName, o));
-                    }
-                } else if (!uriVariables.contains(argumentName)) {
-                    bodyArguments.add(argument);
+            for (int i = 0; i < arguments.length; i++) {
+                Object value = parameterValues[i];
+                String bindingName = template.getBindingName(i);
+                switch (template.getBinding(i)) {
+                    case BODY:
+                        body = value;
+                        break;
+                    case HEADER:
+                        ConversionService.SHARED.convert(value, String.class)
+                            .ifPresent(o -> headers.put(bindingName, o));
+                        break;
+                    case COOKIE:
+                        ConversionService.SHARED.convert(value, String.class)
+                            .ifPresent(o -> cookies.add(new NettyCookie(bindingName, o)));
+                        break;
+                    case QUERY:
+                        ConversionService.SHARED.convert(value, String.class)
+                            .ifPresent(o -> paramMap.put(bindingName, o));
+                        break;
+                    default:
+                        // bound to the URI template or to the body below
                 }
             }
             if (HttpMethod.permitsRequestBody(httpMethod)) {
-                if (body == null && !bodyArguments.isEmpty()) {
+                if (body == null && template.hasBodyParts()) {
                     Map<String, Object> bodyMap = new LinkedHashMap<>();
 
-                    for (Argument bodyArgument : bodyArguments) {
-                        String argumentName = bodyArgument.getName();
-                        MutableArgumentValue<?> value = parameters.get(argumentName);
-                        bodyMap.put(argumentName, value.getValue());
+                    for (int i = 0; i < arguments.length; i++) {
+                        if (template.getBinding(i) == ClientRequestTemplate.Binding.BODY_PART) {
+                            bodyMap.put(arguments[i].getName(), parameterValues[i]);
+                        }
                     }
                     body = bodyMap;
                 }
@@ -270,7 +218,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
             }
 
             // Set the URI template used to make the request for tracing purposes
-            request.setAttribute(HttpAttributes.URI_TEMPLATE, resolveTemplate(clientAnnotation, uriTemplate.toString()));
+            request.setAttribute(HttpAttributes.URI_TEMPLATE, template.getResolvedUriTemplate());
             String serviceId = clientAnnotation.value()[0];
             request.setAttribute(HttpAttributes.SERVICE_ID, serviceId);
 
@@ -283,23 +231,18 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
 
             cookies.forEach(request::cookie);
 
-            boolean isFuture = CompletableFuture.class.isAssignableFrom(javaReturnType);
+            boolean isFuture = template.isFuture();
             final Class<Object> methodDeclaringType = context.getDeclaringType();
-            if (Publishers.isConvertibleToPublisher(javaReturnType) || isFuture) {
-                boolean isSingle = Publishers.isSingle(javaReturnType) || isFuture || context.getValue(Produces.class, "single", Boolean.class).orElse(false);
-                Argument<?> publisherArgument = returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+            if (template.isReactive()) {
+                boolean isSingle = template.isSingle();
+                Argument<?> publisherArgument = template.getFirstTypeArgument();
 
 
                 Class<?> argumentType = publisherArgument.getType();
 
-                if (HttpResponse.class.isAssignableFrom(argumentType) || HttpStatus.class.isAssignableFrom(argumentType)) {
-                    isSingle = true;
-                }
-
-
                 Publisher<?> publisher;
 
-                MediaType[] contentTypes = context.getValue(Consumes.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
+                MediaType[] contentTypes = template.getContentTypes();
                 if (ArrayUtils.isNotEmpty(contentTypes) && HttpMethod.permitsRequestBody(request.getMethod())) {
                     request.contentType(contentTypes[0]);
                 }
@@ -307,7 +250,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 if (!isSingle && httpClient instanceof StreamingHttpClient) {
                     StreamingHttpClient streamingHttpClient = (StreamingHttpClient) httpClient;
                     if (HttpResponse.class.isAssignableFrom(argumentType)) {
-                        request.accept(context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES));
+                        request.accept(template.getAcceptTypes());
                         publisher = streamingHttpClient.exchangeStream(
                                 request
                         );
@@ -316,12 +259,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 request
                         );
                     } else {
-                        MediaType[] acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
-                        request.accept(acceptTypes);
+                        request.accept(template.getAcceptTypes());
 
-                        boolean isEventStream = Arrays.stream(acceptTypes).anyMatch(mediaType -> mediaType.equals(MediaType.TEXT_EVENT_STREAM_TYPE));
-
-                        if (isEventStream && streamingHttpClient instanceof SseClient) {
+                        if (template.isEventStream() && streamingHttpClient instanceof SseClient) {
                             SseClient sseClient = (SseClient) streamingHttpClient;
                             if (publisherArgument.getType() == Event.class) {
                                 publisher = sseClient.eventStream(
@@ -342,7 +282,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 } else {
 
                     if (HttpResponse.class.isAssignableFrom(argumentType)) {
-                        request.accept(context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES));
+                        request.accept(template.getAcceptTypes());
                         publisher = httpClient.exchange(
                                 request, publisherArgument
                         );
@@ -351,8 +291,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 request
                         );
                     } else {
-                        MediaType[] acceptTypes = context.getValue(Produces.class, MediaType[].class).orElse(DEFAULT_ACCEPT_TYPES);
-                        request.accept(acceptTypes);
+                        request.accept(template.getAcceptTypes());
 
                         publisher = httpClient.retrieve(
                                 request, publisherArgument
@@ -412,7 +351,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 BlockingHttpClient blockingHttpClient = httpClient.toBlocking();
                 if (HttpResponse.class.isAssignableFrom(javaReturnType)) {
                     return blockingHttpClient.exchange(
-                        request, returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT)
+                        request, template.getFirstTypeArgument()
                     );
                 } else if (void.class == javaReturnType) {
                     blockingHttpClient.exchange(request);
@@ -420,7 +359,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 } else {
                     try {
                         return blockingHttpClient.retrieve(
-                            request, returnType.asArgument()
+                            request, template.getReturnArgument()
                         );
                     } catch (RuntimeException t) {
                         if (t instanceof HttpClientResponseException && ((HttpClientResponseException) t).getStatus() == HttpStatus.NOT_FOUND) {
@@ -439,26 +378,17 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         return context.proceed();
     }
 
-    /**
-     * Resolve the template for the client annotation.
-     *
-     * @param clientAnnotation client annotation reference
-     * @param templateString   template to be applied
-     * @return resolved template contents
-     */
-    private String resolveTemplate(Client clientAnnotation, String templateString) {
-        String path = clientAnnotation.path();
-        if (StringUtils.isNotEmpty(path)) {
-            return path + templateString;
-        } else {
-            String[] value = clientAnnotation.value();
-            if (ArrayUtils.isNotEmpty(value)) {
-                if (value[0].startsWith("/")) {
-                    return value[0] + templateString;
-                }
+    private ClientRequestTemplate resolveRequestTemplate(MethodInvocationContext<Object, Object> context) {
+        ExecutableMethod<Object, Object> method = context.getExecutableMethod();
+        ClientRequestTemplate template = requestTemplates.get(method);
+        if (template == null) {
+            template = new ClientRequestTemplate(context);
+            ClientRequestTemplate existing = requestTemplates.putIfAbsent(method, template);
+            if (existing != null) {
+                template = existing;
             }
-            return templateString;
         }
+        return template;
     }
 
     /**
@@ -16,22 +16,32 @@
 
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.event.ServiceInstancesChangedEvent;
 import io.micronaut.http.client.LoadBalancer;
 
 import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory class that can be replaced at runtime for creating {@link LoadBalancer} instances that load balance
  * between available clients provided by the {@link DiscoveryClient}.
  *
+ * <p>The instances of services watched by the {@link DiscoveryClient} are kept up to date from
+ * {@link ServiceInstancesChangedEvent} events and shared by the load balancers of those services.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
 @Singleton
-public class DiscoveryClientLoadBalancerFactory {
+public class DiscoveryClientLoadBalancerFactory implements ApplicationEventListener<ServiceInstancesChangedEvent> {
 
     private final DiscoveryClient discoveryClient;
+    private final Map<String, List<ServiceInstance>> watchedInstances = new ConcurrentHashMap<>();
 
     /**
      * @param discoveryClient The discover client
@@ -47,7 +57,12 @@ public class DiscoveryClientLoadBalancerFactory {
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient, watchedInstances);
+    }
+
+    @Override
+    public void onApplicationEvent(ServiceInstancesChangedEvent event) {
+        watchedInstances.put(event.getServiceId(), event.getInstances());
     }
 
     /**
@@ -21,12 +21,19 @@ import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.discovery.ServiceInstance;
 import org.reactivestreams.Publisher;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * <p>A {@link io.micronaut.http.client.LoadBalancer} that uses the {@link DiscoveryClient} and a
  * {@link ServiceInstance} ID to automatically load balance between discovered clients in a non-blocking manner.</p>
  * <p>
  * <p>Note that the when {@link DiscoveryClient} caching is enabled then this load balancer may not always have the
- * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds)</p>
+ * latest server list from the {@link DiscoveryClient} (the default TTL is 30 seconds), unless the
+ * {@link DiscoveryClient} watches the service. The instances of watched services are pushed to the load balancer
+ * with {@link io.micronaut.discovery.event.ServiceInstancesChangedEvent} events and selected without querying the
+ * {@link DiscoveryClient}.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -35,14 +42,25 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
 
     private final String serviceID;
     private final DiscoveryClient discoveryClient;
+    private final Map<String, List<ServiceInstance>> watchedInstances;
 
     /**
      * @param serviceID       The service ID
      * @param discoveryClient The discovery client
      */
     public DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        this(serviceID, discoveryClient, Collections.emptyMap());
+    }
+
+    /**
+     * @param serviceID        The service ID
+     * @param discoveryClient  The discovery client
+     * @param watchedInstances The current instances of the watched services by service ID
+     */
+    DiscoveryClientRoundRobinLoadBalancer(String serviceID, DiscoveryClient discoveryClient, Map<String, List<ServiceInstance>> watchedInstances) {
         this.serviceID = serviceID;
         this.discoveryClient = discoveryClient;
+        this.watchedInstances = watchedInstances;
     }
 
     /**
@@ -55,6 +73,10 @@ public class DiscoveryClientRoundRobinLoadBalancer extends AbstractRoundRobinLoa
 
     @Override
     public Publisher<ServiceInstance> select(Object discriminator) {
+        List<ServiceInstance> instances = watchedInstances.get(serviceID);
+        if (instances != null) {
+            return Publishers.map(Publishers.just(instances), this::getNextAvailable);
+        }
         return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
     }
 }
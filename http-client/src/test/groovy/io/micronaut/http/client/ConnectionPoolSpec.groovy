@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.exceptions.ReadTimeoutException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import io.reactivex.Single
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * @since 1.0
+ */
+class ConnectionPoolSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(
+            "micronaut.http.client.pool.enabled": true,
+            "micronaut.http.client.pool.max-connections": 2
+    )
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
+
+    @Shared
+    @AutoCleanup
+    HttpClient client = context.createBean(HttpClient, embeddedServer.getURL())
+
+    void "test connection pool configuration"() {
+        given:
+        HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration = context.getBean(DefaultHttpClientConfiguration).connectionPoolConfiguration
+
+        expect:
+        poolConfiguration.enabled
+        poolConfiguration.maxConnections == 2
+    }
+
+    void "test pooled connections are reused for sequential requests"() {
+        when:
+        List<String> results = (1..10).collect {
+            client.toBlocking().retrieve(HttpRequest.GET('/pool/remote-port'), String)
+        }
+
+        then:
+        results.unique().size() == 1
+    }
+
+    void "test connection is released after an error response"() {
+        when:
+        client.toBlocking().retrieve(HttpRequest.GET('/pool/error'), String)
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.INTERNAL_SERVER_ERROR
+
+        when:
+        List<String> results = (1..5).collect {
+            client.toBlocking().retrieve(HttpRequest.GET('/pool/remote-port'), String)
+        }
+
+        then:
+        results.size() == 5
+    }
+
+    void "test the read timeout applies to the first request on a new pooled connection"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                "micronaut.http.client.pool.enabled": true,
+                "micronaut.http.client.read-timeout": "500ms"
+        )
+        EmbeddedServer server = ctx.getBean(EmbeddedServer).start()
+        HttpClient pooledClient = ctx.createBean(HttpClient, server.getURL())
+        long start = System.currentTimeMillis()
+
+        when:
+        pooledClient.toBlocking().retrieve(HttpRequest.GET('/pool/slow/3000'), String)
+
+        then:
+        thrown(ReadTimeoutException)
+        // the publisher level timeout only fires a second after the read timeout
+        System.currentTimeMillis() - start < 1400
+
+        cleanup:
+        pooledClient.close()
+        ctx.close()
+    }
+
+    void "test acquires beyond the max pending acquires are rejected"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                "micronaut.http.client.pool.enabled": true,
+                "micronaut.http.client.pool.max-connections": 1,
+                "micronaut.http.client.pool.max-pending-acquires": 1
+        )
+        EmbeddedServer server = ctx.getBean(EmbeddedServer).start()
+        HttpClient pooledClient = ctx.createBean(HttpClient, server.getURL())
+
+        when:
+        List<Object> results = concurrently(pooledClient, '/pool/slow/500', 3)
+
+        then:
+        results.count { it == 'ok' } == 2
+        results.find { it instanceof HttpClientException }.message.contains('Too many outstanding acquire operations')
+
+        cleanup:
+        pooledClient.close()
+        ctx.close()
+    }
+
+    void "test an acquire that exceeds the acquire timeout fails"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                "micronaut.http.client.pool.enabled": true,
+                "micronaut.http.client.pool.max-connections": 1,
+                "micronaut.http.client.pool.acquire-timeout": "200ms"
+        )
+        EmbeddedServer server = ctx.getBean(EmbeddedServer).start()
+        HttpClient pooledClient = ctx.createBean(HttpClient, server.getURL())
+
+        when:
+        List<Object> results = concurrently(pooledClient, '/pool/slow/1000', 2)
+
+        then:
+        results.count { it == 'ok' } == 1
+        results.find { it instanceof HttpClientException }.cause instanceof TimeoutException
+
+        cleanup:
+        pooledClient.close()
+        ctx.close()
+    }
+
+    void "test idle pooled connections are evicted"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                "micronaut.http.client.pool.enabled": true,
+                "micronaut.http.client.pool.idle-timeout": "300ms"
+        )
+        EmbeddedServer server = ctx.getBean(EmbeddedServer).start()
+        HttpClient pooledClient = ctx.createBean(HttpClient, server.getURL())
+
+        when:
+        String first = pooledClient.toBlocking().retrieve(HttpRequest.GET('/pool/remote-port'), String)
+        String reused = pooledClient.toBlocking().retrieve(HttpRequest.GET('/pool/remote-port'), String)
+        Thread.sleep(1000)
+        String afterIdle = pooledClient.toBlocking().retrieve(HttpRequest.GET('/pool/remote-port'), String)
+
+        then:
+        first == reused
+        first != afterIdle
+
+        cleanup:
+        pooledClient.close()
+        ctx.close()
+    }
+
+    private static List<Object> concurrently(HttpClient httpClient, String uri, int count) {
+        Flowable.merge((1..count).collect {
+            Flowable.fromPublisher(httpClient.retrieve(HttpRequest.GET(uri), String))
+                    .cast(Object)
+                    .onErrorReturn({ Throwable t -> t })
+        }).toList().blockingGet()
+    }
+
+    @Controller("/pool")
+    static class PoolController {
+
+        @Get(value = "/remote-port", produces = "text/plain")
+        String remotePort(HttpRequest<?> request) {
+            request.remoteAddress.port.toString()
+        }
+
+        @Get(value = "/slow/{millis}", produces = "text/plain")
+        Single<String> slow(long millis) {
+            Single.just("ok").delay(millis, TimeUnit.MILLISECONDS)
+        }
+
+        @Get("/error")
+        String error() {
+            throw new RuntimeException("Bad things happened")
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.micronaut.core.reflect.ClassUtils;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Abstracts the Netty transport used by the server and the client. Creates the {@link EventLoopGroup} and supplies
+ * the channel types that correspond to the transport.
+ *
+ * @since 1.0
+ */
+public interface EventLoopGroupFactory {
+
+    /**
+     * Creates an event loop group.
+     *
+     * @param threads       The number of threads or 0 to use the Netty default
+     * @param threadFactory The thread factory, can be null
+     * @param ioRatio       The I/O ratio, can be null
+     * @return The event loop group
+     */
+    EventLoopGroup createEventLoopGroup(int threads, @Nullable ThreadFactory threadFactory, @Nullable Integer ioRatio);
+
+    /**
+     * Creates an event loop group that runs on the given executor.
+     *
+     * @param threads  The number of threads or 0 to use the Netty default
+     * @param executor The executor
+     * @param ioRatio  The I/O ratio, can be null
+     * @return The event loop group
+     */
+    EventLoopGroup createEventLoopGroup(int threads, Executor executor, @Nullable Integer ioRatio);
+
+    /**
+     * @return The server socket channel type for the transport
+     */
+    Class<? extends ServerSocketChannel> serverSocketChannelClass();
+
+    /**
+     * @return The client socket channel type for the transport
+     */
+    Class<? extends SocketChannel> clientSocketChannelClass();
+
+    /**
+     * @return Whether the transport is a native transport
+     */
+    default boolean isNative() {
+        return false;
+    }
+
+    /**
+     * @return Whether the transport supports binding multiple server sockets to the same port with SO_REUSEPORT
+     */
+    default boolean isReusePortSupported() {
+        return false;
+    }
+
+    /**
+     * Applies the transport specific socket options to the server. Options not supported by the transport are ignored.
+     *
+     * @param bootstrap     The server bootstrap
+     * @param reusePort     Whether to enable SO_REUSEPORT
+     * @param tcpFastOpen   The TCP_FASTOPEN queue length or 0 to disable TCP fast open
+     * @param edgeTriggered Whether to use edge-triggered rather than level-triggered I/O
+     */
+    default void configureServer(ServerBootstrap bootstrap, boolean reusePort, int tcpFastOpen, boolean edgeTriggered) {
+        // no-op by default
+    }
+
+    /**
+     * Resolves the factory for the best transport available. A native transport (epoll on Linux, kqueue on macOS and
+     * BSD) is chosen when it is on the classpath and can be loaded, otherwise the NIO transport is used.
+     *
+     * @param preferNative Whether to use a native transport if available
+     * @return The factory
+     */
+    static EventLoopGroupFactory resolve(boolean preferNative) {
+        if (preferNative) {
+            ClassLoader classLoader = EventLoopGroupFactory.class.getClassLoader();
+            if (ClassUtils.isPresent(EpollEventLoopGroupFactory.EPOLL_CLASS, classLoader) && EpollEventLoopGroupFactory.isAvailable()) {
+                return EpollEventLoopGroupFactory.INSTANCE;
+            }
+            if (ClassUtils.isPresent(KQueueEventLoopGroupFactory.KQUEUE_CLASS, classLoader) && KQueueEventLoopGroupFactory.isAvailable()) {
+                return KQueueEventLoopGroupFactory.INSTANCE;
+            }
+        }
+        return NioEventLoopGroupFactory.INSTANCE;
+    }
+}
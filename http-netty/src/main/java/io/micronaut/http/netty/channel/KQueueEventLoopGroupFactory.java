@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An {@link EventLoopGroupFactory} for the native kqueue transport on macOS and BSD. Requires
+ * {@code netty-transport-native-kqueue} to be on the classpath.
+ *
+ * @since 1.0
+ */
+public final class KQueueEventLoopGroupFactory implements EventLoopGroupFactory {
+
+    /**
+     * The shared instance.
+     */
+    public static final KQueueEventLoopGroupFactory INSTANCE = new KQueueEventLoopGroupFactory();
+
+    static final String KQUEUE_CLASS = "io.netty.channel.kqueue.KQueue";
+
+    private KQueueEventLoopGroupFactory() {
+    }
+
+    /**
+     * @return Whether the native library could be loaded for the current platform
+     */
+    public static boolean isAvailable() {
+        return KQueue.isAvailable();
+    }
+
+    @Override
+    public EventLoopGroup createEventLoopGroup(int threads, @Nullable ThreadFactory threadFactory, @Nullable Integer ioRatio) {
+        KQueueEventLoopGroup group = threadFactory != null ? new KQueueEventLoopGroup(threads, threadFactory) : new KQueueEventLoopGroup(threads);
+        if (ioRatio != null) {
+            group.setIoRatio(ioRatio);
+        }
+        return group;
+    }
+
+    @Override
+    public EventLoopGroup createEventLoopGroup(int threads, Executor executor, @Nullable Integer ioRatio) {
+        KQueueEventLoopGroup group = new KQueueEventLoopGroup(threads, executor);
+        if (ioRatio != null) {
+            group.setIoRatio(ioRatio);
+        }
+        return group;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return KQueueServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends SocketChannel> clientSocketChannelClass() {
+        return KQueueSocketChannel.class;
+    }
+
+    @Override
+    public boolean isNative() {
+        return true;
+    }
+}
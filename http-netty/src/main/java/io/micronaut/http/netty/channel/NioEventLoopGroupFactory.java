@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An {@link EventLoopGroupFactory} for the JDK NIO transport, which is available on every platform.
+ *
+ * @since 1.0
+ */
+public final class NioEventLoopGroupFactory implements EventLoopGroupFactory {
+
+    /**
+     * The shared instance.
+     */
+    public static final NioEventLoopGroupFactory INSTANCE = new NioEventLoopGroupFactory();
+
+    private NioEventLoopGroupFactory() {
+    }
+
+    @Override
+    public EventLoopGroup createEventLoopGroup(int threads, @Nullable ThreadFactory threadFactory, @Nullable Integer ioRatio) {
+        NioEventLoopGroup group = threadFactory != null ? new NioEventLoopGroup(threads, threadFactory) : new NioEventLoopGroup(threads);
+        if (ioRatio != null) {
+            group.setIoRatio(ioRatio);
+        }
+        return group;
+    }
+
+    @Override
+    public EventLoopGroup createEventLoopGroup(int threads, Executor executor, @Nullable Integer ioRatio) {
+        NioEventLoopGroup group = new NioEventLoopGroup(threads, executor);
+        if (ioRatio != null) {
+            group.setIoRatio(ioRatio);
+        }
+        return group;
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return NioServerSocketChannel.class;
+    }
+
+    @Override
+    public Class<? extends SocketChannel> clientSocketChannelClass() {
+        return NioSocketChannel.class;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Releases the {@link ConcurrencyLimiter.Permit} of a request once the last content of its response has been
+ * written. {@link RoutingInBoundHandler} tracks a permit for every request it receives, responses are written in
+ * the order of the requests so the permits of a connection are kept in a queue.
+ *
+ * @since 1.0
+ */
+@Internal
+final class ConcurrencyLimitHandler extends ChannelOutboundHandlerAdapter {
+
+    /**
+     * The name of the handler in the pipeline.
+     */
+    static final String ID = "http-concurrency-limit";
+
+    private static final AttributeKey<Deque<ConcurrencyLimiter.Permit>> PERMITS = AttributeKey.valueOf(ConcurrencyLimitHandler.class.getSimpleName());
+
+    private final ConcurrencyLimiter limiter;
+
+    /**
+     * @param limiter The concurrency limiter
+     */
+    ConcurrencyLimitHandler(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Tracks the permit of a request received on the given channel. Must be called on the event loop of the
+     * channel.
+     *
+     * @param channel The channel
+     * @param limiter The concurrency limiter
+     * @param permit  The permit
+     */
+    static void track(Channel channel, ConcurrencyLimiter limiter, ConcurrencyLimiter.Permit permit) {
+        Attribute<Deque<ConcurrencyLimiter.Permit>> attribute = channel.attr(PERMITS);
+        Deque<ConcurrencyLimiter.Permit> permits = attribute.get();
+        if (permits == null) {
+            permits = new ArrayDeque<>();
+            attribute.set(permits);
+            Deque<ConcurrencyLimiter.Permit> pending = permits;
+            // the responses of requests in flight are never written once the connection is closed
+            channel.closeFuture().addListener(future -> {
+                ConcurrencyLimiter.Permit remaining;
+                while ((remaining = pending.poll()) != null) {
+                    limiter.release(remaining, false);
+                }
+            });
+        }
+        permits.add(permit);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof LastHttpContent && !isInformational(msg)) {
+            Deque<ConcurrencyLimiter.Permit> permits = ctx.channel().attr(PERMITS).get();
+            ConcurrencyLimiter.Permit permit = permits != null ? permits.poll() : null;
+            if (permit != null && permit != ConcurrencyLimiter.UNLIMITED) {
+                ChannelPromise writePromise = promise.unvoid();
+                writePromise.addListener(future -> limiter.release(permit, future.isSuccess()));
+                ctx.write(msg, writePromise);
+                return;
+            }
+        }
+        ctx.write(msg, promise);
+    }
+
+    private static boolean isInformational(Object msg) {
+        return msg instanceof HttpResponse && ((HttpResponse) msg).status().codeClass() == HttpStatusClass.INFORMATIONAL;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.PathMatcher;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An adaptive limit of the number of requests the server processes concurrently. The limit follows the gradient
+ * between the long term and the recent latency of requests. While the recent latency stays close to the long
+ * term latency the limit grows by a queue allowance, once requests start to queue up the recent latency rises and
+ * the limit shrinks proportionally.
+ *
+ * @since 1.0
+ */
+@Internal
+final class ConcurrencyLimiter {
+
+    /**
+     * The permit of a request that is not limited, for example because it was rejected.
+     */
+    static final Permit UNLIMITED = new Permit(0, 0);
+
+    private static final double SHORT_RTT_FACTOR = 0.1;
+    private static final double LONG_RTT_FACTOR = 0.01;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_DECAY = 0.95;
+    private static final int LONG_RTT_DRIFT = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double normalRatio;
+    private final double sheddableRatio;
+    private final List<String> criticalPaths;
+    private final List<String> sheddablePaths;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Estimate> estimate;
+
+    /**
+     * @param configuration The concurrency limit configuration
+     */
+    ConcurrencyLimiter(NettyHttpServerConfiguration.ConcurrencyLimit configuration) {
+        this.minLimit = Math.max(1, configuration.getMinLimit());
+        this.maxLimit = Math.max(minLimit, configuration.getMaxLimit());
+        this.smoothing = configuration.getSmoothing();
+        this.normalRatio = configuration.getNormalRatio();
+        this.sheddableRatio = configuration.getSheddableRatio();
+        this.criticalPaths = configuration.getCriticalPaths();
+        this.sheddablePaths = configuration.getSheddablePaths();
+        this.estimate = new AtomicReference<>(
+            new Estimate(0, 0, Math.min(maxLimit, Math.max(minLimit, configuration.getInitialLimit())))
+        );
+    }
+
+    /**
+     * @return The current limit
+     */
+    int getLimit() {
+        return (int) estimate.get().limit;
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Acquires a permit for a request if the share of the limit available to the priority of the request has not
+     * been reached.
+     *
+     * @param path The path of the request
+     * @return The permit or null if the request should be rejected
+     */
+    Permit tryAcquire(String path) {
+        double ratio = ratioFor(path);
+        int allowed = (int) Math.max(1, estimate.get().limit * ratio);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit once the response of a request has been written.
+     *
+     * @param permit The permit
+     * @param sample Whether the latency of the request should be used to adjust the limit
+     */
+    void release(Permit permit, boolean sample) {
+        if (permit == UNLIMITED) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        if (sample) {
+            onSample(System.nanoTime() - permit.startNanos, permit.inFlight);
+        }
+    }
+
+    private void onSample(long rtt, int inFlightAtStart) {
+        while (true) {
+            Estimate current = estimate.get();
+            Estimate next = current.next(rtt, inFlightAtStart);
+            if (estimate.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private double ratioFor(String path) {
+        if (matches(criticalPaths, path)) {
+            return 1.0;
+        }
+        if (matches(sheddablePaths, path)) {
+            return sheddableRatio;
+        }
+        return normalRatio;
+    }
+
+    private static boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PathMatcher.ANT.matches(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An immutable snapshot of the latency estimates and the limit derived from them, replaced as a whole so that
+     * samples can be applied without holding a lock.
+     */
+    private final class Estimate {
+        final double shortRtt;
+        final double longRtt;
+        final double limit;
+
+        /**
+         * @param shortRtt The recent latency
+         * @param longRtt  The long term latency
+         * @param limit    The limit
+         */
+        Estimate(double shortRtt, double longRtt, double limit) {
+            this.shortRtt = shortRtt;
+            this.longRtt = longRtt;
+            this.limit = limit;
+        }
+
+        /**
+         * @param rtt             The latency of the sampled request
+         * @param inFlightAtStart The number of requests in flight when the sampled request started
+         * @return The estimate that results from applying the sample
+         */
+        Estimate next(long rtt, int inFlightAtStart) {
+            if (longRtt == 0) {
+                return new Estimate(rtt, rtt, limit);
+            }
+            double newShortRtt = shortRtt * (1 - SHORT_RTT_FACTOR) + rtt * SHORT_RTT_FACTOR;
+            double newLongRtt = longRtt * (1 - LONG_RTT_FACTOR) + rtt * LONG_RTT_FACTOR;
+            if (newLongRtt / newShortRtt > LONG_RTT_DRIFT) {
+                // recover quickly once a period of high latency is over
+                newLongRtt = newLongRtt * LONG_RTT_DECAY;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * newLongRtt / newShortRtt));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            if (newLimit > limit && inFlightAtStart < limit / 2) {
+                // the limit is not what holds back the requests so there is no evidence that it can grow
+                return new Estimate(newShortRtt, newLongRtt, limit);
+            }
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            return new Estimate(newShortRtt, newLongRtt, Math.min(maxLimit, Math.max(minLimit, newLimit)));
+        }
+    }
+
+    /**
+     * A permit to process a request.
+     */
+    static final class Permit {
+        final long startNanos;
+        final int inFlight;
+
+        /**
+         * @param startNanos The time the permit was acquired
+         * @param inFlight   The number of requests in flight including this one
+         */
+        Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+    }
+}
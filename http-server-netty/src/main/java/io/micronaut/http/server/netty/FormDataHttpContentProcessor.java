@@ -17,6 +17,7 @@
 package io.micronaut.http.server.netty;
 
 import io.micronaut.http.MediaType;
+import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.handler.codec.http.HttpContent;
@@ -29,10 +30,14 @@ import io.netty.handler.codec.http.multipart.InterfaceHttpData;
 import org.reactivestreams.Subscriber;
 
 import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>Decodes {@link MediaType#MULTIPART_FORM_DATA} in a non-blocking manner.</p>
  * <p>
+ * <p>Parts are kept in memory, written to disk or, in mixed mode, written to disk once they exceed the configured
+ * threshold. If memory limits are configured, file uploads that would exceed them are written to disk.</p>
+ * <p>
  * <p>Designed to be used by a single thread</p>
  *
  * @author Graeme Rocher
@@ -48,10 +53,29 @@ public class FormDataHttpContentProcessor extends AbstractHttpContentProcessor<H
      * @param configuration    The {@link NettyHttpServerConfiguration}
      */
     public FormDataHttpContentProcessor(NettyHttpRequest<?> nettyHttpRequest, NettyHttpServerConfiguration configuration) {
+        this(nettyHttpRequest, configuration, new AtomicLong());
+    }
+
+    /**
+     * @param nettyHttpRequest The {@link NettyHttpRequest}
+     * @param configuration    The {@link NettyHttpServerConfiguration}
+     * @param inFlightMemory   The memory held by the file uploads of all requests
+     */
+    public FormDataHttpContentProcessor(NettyHttpRequest<?> nettyHttpRequest, NettyHttpServerConfiguration configuration, AtomicLong inFlightMemory) {
         super(nettyHttpRequest, configuration);
         Charset characterEncoding = nettyHttpRequest.getCharacterEncoding();
-        DefaultHttpDataFactory factory = new DefaultHttpDataFactory(configuration.getMultipart().isDisk(), characterEncoding);
-        factory.setMaxLimit(configuration.getMultipart().getMaxFileSize());
+        HttpServerConfiguration.MultipartConfiguration multipart = configuration.getMultipart();
+        DefaultHttpDataFactory factory;
+        if (multipart.isDisk()) {
+            factory = new DefaultHttpDataFactory(true, characterEncoding);
+        } else if (multipart.getMaxMemory() >= 0 || multipart.getMaxRequestMemory() >= 0) {
+            factory = new FormDataHttpDataFactory(multipart, characterEncoding, inFlightMemory);
+        } else if (multipart.isMixed()) {
+            factory = new DefaultHttpDataFactory(multipart.getThreshold(), characterEncoding);
+        } else {
+            factory = new DefaultHttpDataFactory(false, characterEncoding);
+        }
+        factory.setMaxLimit(multipart.getMaxFileSize());
         this.decoder = new HttpPostRequestDecoder(factory, nettyHttpRequest.getNativeRequest(), characterEncoding);
         this.enabled = nettyHttpRequest.getContentType().map(type -> type.equals(MediaType.APPLICATION_FORM_URLENCODED_TYPE)).orElse(false) ||
             configuration.getMultipart().isEnabled();
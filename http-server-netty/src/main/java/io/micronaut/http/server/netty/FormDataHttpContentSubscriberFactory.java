@@ -21,6 +21,7 @@ import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 
 import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Builds a {@link org.reactivestreams.Subscriber} for {@link MediaType#APPLICATION_FORM_URLENCODED}.
@@ -33,6 +34,7 @@ import javax.inject.Singleton;
 public class FormDataHttpContentSubscriberFactory implements HttpContentSubscriberFactory {
 
     private final NettyHttpServerConfiguration configuration;
+    private final AtomicLong inFlightMemory = new AtomicLong();
 
     /**
      * @param configuration The {@link NettyHttpServerConfiguration}
@@ -43,6 +45,6 @@ public class FormDataHttpContentSubscriberFactory implements HttpContentSubscrib
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
-        return new FormDataHttpContentProcessor(request, configuration);
+        return new FormDataHttpContentProcessor(request, configuration, inFlightMemory);
     }
 }
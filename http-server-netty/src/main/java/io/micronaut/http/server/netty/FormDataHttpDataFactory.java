@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link DefaultHttpDataFactory} that limits the memory held by the file uploads of a request and by the file
+ * uploads of all requests. Each file upload kept in memory reserves the most memory it can hold, which is the
+ * threshold in mixed mode and the maximum file size otherwise. File uploads that cannot reserve their memory are
+ * written to disk instead. The reservation of a file upload is returned once it is released or written to disk,
+ * which may happen after the data of the request has been cleaned.
+ *
+ * @since 1.0
+ */
+class FormDataHttpDataFactory extends DefaultHttpDataFactory {
+
+    private final DefaultHttpDataFactory diskFactory;
+    private final AtomicLong inFlightMemory;
+    private final long maxMemory;
+    private final long maxRequestMemory;
+    private final long uploadMemory;
+    private final AtomicLong requestMemory = new AtomicLong();
+
+    /**
+     * @param multipart      The multipart configuration
+     * @param charset        The character encoding of the request
+     * @param inFlightMemory The memory held by the file uploads of all requests
+     */
+    FormDataHttpDataFactory(HttpServerConfiguration.MultipartConfiguration multipart, Charset charset, AtomicLong inFlightMemory) {
+        // a mixed file upload that never exceeds its limit is kept in memory
+        super(multipart.isMixed() ? multipart.getThreshold() : Long.MAX_VALUE, charset);
+        setMaxLimit(multipart.getMaxFileSize());
+        this.diskFactory = new DefaultHttpDataFactory(true, charset);
+        this.diskFactory.setMaxLimit(multipart.getMaxFileSize());
+        this.inFlightMemory = inFlightMemory;
+        this.maxMemory = multipart.getMaxMemory();
+        this.maxRequestMemory = multipart.getMaxRequestMemory();
+        this.uploadMemory = multipart.isMixed() ? Math.min(multipart.getThreshold(), multipart.getMaxFileSize()) : multipart.getMaxFileSize();
+    }
+
+    @Override
+    public FileUpload createFileUpload(HttpRequest request, String name, String filename, String contentType, String contentTransferEncoding, Charset charset, long size) {
+        if (maxMemory < 0 && maxRequestMemory < 0) {
+            return super.createFileUpload(request, name, filename, contentType, contentTransferEncoding, charset, size);
+        }
+        if (reserve()) {
+            return new ReservedFileUpload(
+                super.createFileUpload(request, name, filename, contentType, contentTransferEncoding, charset, size),
+                this::release
+            );
+        }
+        return diskFactory.createFileUpload(request, name, filename, contentType, contentTransferEncoding, charset, size);
+    }
+
+    @Override
+    public void removeHttpDataFromClean(HttpRequest request, InterfaceHttpData data) {
+        InterfaceHttpData unwrapped = ReservedFileUpload.unwrap(data);
+        super.removeHttpDataFromClean(request, unwrapped);
+        diskFactory.removeHttpDataFromClean(request, unwrapped);
+    }
+
+    @Override
+    public void cleanRequestHttpData(HttpRequest request) {
+        super.cleanRequestHttpData(request);
+        diskFactory.cleanRequestHttpData(request);
+    }
+
+    @Override
+    public void cleanAllHttpData() {
+        super.cleanAllHttpData();
+        diskFactory.cleanAllHttpData();
+    }
+
+    private boolean reserve() {
+        if (!reserve(requestMemory, maxRequestMemory)) {
+            return false;
+        }
+        if (!reserve(inFlightMemory, maxMemory)) {
+            requestMemory.addAndGet(-uploadMemory);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean reserve(AtomicLong memory, long limit) {
+        long current;
+        do {
+            current = memory.get();
+            if (limit >= 0 && current + uploadMemory > limit) {
+                return false;
+            }
+        } while (!memory.compareAndSet(current, current + uploadMemory));
+        return true;
+    }
+
+    private void release() {
+        requestMemory.addAndGet(-uploadMemory);
+        inFlightMemory.addAndGet(-uploadMemory);
+    }
+}
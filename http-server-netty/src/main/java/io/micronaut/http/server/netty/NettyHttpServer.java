@@ -29,6 +29,7 @@ import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.discovery.event.ServiceShutdownEvent;
 import io.micronaut.discovery.event.ServiceStartedEvent;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.netty.channel.EventLoopGroupFactory;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.ServerStartupException;
@@ -48,21 +49,41 @@ import io.micronaut.scheduling.executor.ExecutorSelector;
 import io.micronaut.web.router.Router;
 import io.micronaut.web.router.resource.StaticResourceResolver;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpScheme;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameListener;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
 import io.netty.handler.flow.FlowControlHandler;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.NettyRuntime;
 import io.netty.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -96,12 +117,14 @@ public class NettyHttpServer implements EmbeddedServer {
     public static final String HTTP_STREAMS_CODEC = "http-streams-codec";
     public static final String HTTP_CODEC = "http-codec";
     public static final String HTTP_COMPRESSOR = "http-compressor";
+    public static final String HTTP2_UPGRADE_HANDLER = "http2-upgrade-handler";
     public static final String MICRONAUT_HANDLER = "micronaut-inbound-handler";
     public static final String OUTBOUND_KEY = "-outbound-";
     private static final Logger LOG = LoggerFactory.getLogger(NettyHttpServer.class);
 
     private final ExecutorService ioExecutor;
-    private final ExecutorSelector executorSelector;
+    private final RouteExecutionPlan.Cache routeExecutionPlans;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private final ChannelOutboundHandler[] outboundHandlers;
     private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
     private final NettyCustomizableResponseTypeHandlerRegistry customizableResponseTypeHandlerRegistry;
@@ -117,8 +140,9 @@ public class NettyHttpServer implements EmbeddedServer {
     private final ApplicationContext applicationContext;
     private final Optional<SslContext> sslContext;
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private NioEventLoopGroup workerGroup;
-    private NioEventLoopGroup parentGroup;
+    private final EventLoopGroupFactory eventLoopGroupFactory;
+    private EventLoopGroup workerGroup;
+    private EventLoopGroup parentGroup;
     private EmbeddedServerInstance serviceInstance;
 
     /**
@@ -164,13 +188,18 @@ public class NettyHttpServer implements EmbeddedServer {
         this.ioExecutor = ioExecutor;
         int port = sslConfiguration.isEnabled() ? sslConfiguration.getPort() : serverConfiguration.getPort();
         this.serverPort = port == -1 ? SocketUtils.findAvailableTcpPort() : port;
-        this.executorSelector = executorSelector;
+        this.routeExecutionPlans = new RouteExecutionPlan.Cache(executorSelector);
+        this.concurrencyLimiter = serverConfiguration.isConcurrencyLimitEnabled() ? new ConcurrencyLimiter(serverConfiguration.getConcurrencyLimit()) : null;
         OrderUtil.sort(outboundHandlers);
         this.outboundHandlers = outboundHandlers;
         this.requestArgumentSatisfier = requestArgumentSatisfier;
         this.staticResourceResolver = resourceResolver;
         this.sslContext = nettyServerSslBuilder.build();
         this.threadFactory = threadFactory;
+        this.eventLoopGroupFactory = EventLoopGroupFactory.resolve(serverConfiguration.isUseNativeTransport());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Using Netty transport: {}", eventLoopGroupFactory.serverSocketChannelClass().getSimpleName());
+        }
     }
 
     /**
@@ -194,9 +223,15 @@ public class NettyHttpServer implements EmbeddedServer {
 
             processOptions(serverConfiguration.getOptions(), serverBootstrap::option);
             processOptions(serverConfiguration.getChildOptions(), serverBootstrap::childOption);
+            eventLoopGroupFactory.configureServer(
+                serverBootstrap,
+                isReusePort(),
+                serverConfiguration.getTcpFastOpen(),
+                serverConfiguration.isEdgeTriggered()
+            );
 
             serverBootstrap = serverBootstrap.group(parentGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(eventLoopGroupFactory.serverSocketChannelClass())
                 .childHandler(new ChannelInitializer() {
                     @Override
                     protected void initChannel(Channel ch) throws Exception {
@@ -210,30 +245,16 @@ public class NettyHttpServer implements EmbeddedServer {
                             (int) serverConfiguration.getWriteIdleTime().getSeconds(),
                             (int) serverConfiguration.getIdleTime().getSeconds()));
 
-                        pipeline.addLast(HTTP_CODEC, new HttpServerCodec(
-                                serverConfiguration.getMaxInitialLineLength(),
-                                serverConfiguration.getMaxHeaderSize(),
-                                serverConfiguration.getMaxChunkSize(),
-                                serverConfiguration.isValidateHeaders(),
-                                serverConfiguration.getInitialBufferSize()
-                        ));
-                        pipeline.addLast(new FlowControlHandler());
-                        pipeline.addLast(new HttpServerKeepAliveHandler());
-                        pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor());
-                        pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
-                        pipeline.addLast(HttpRequestDecoder.ID, new HttpRequestDecoder(NettyHttpServer.this, environment, serverConfiguration));
-                        pipeline.addLast(MICRONAUT_HANDLER, new RoutingInBoundHandler(
-                            beanLocator,
-                            router,
-                            mediaTypeCodecRegistry,
-                            customizableResponseTypeHandlerRegistry,
-                            staticResourceResolver,
-                            serverConfiguration,
-                            requestArgumentSatisfier,
-                            executorSelector,
-                            ioExecutor
-                        ));
-                        registerMicronautChannelHandlers(pipeline);
+                        if (serverConfiguration.isHttp2Enabled()) {
+                            if (sslContext.isPresent()) {
+                                // the protocol is selected once ALPN negotiation completes
+                                pipeline.addLast(new Http2OrHttpHandler());
+                            } else {
+                                configureCleartextHttp2(pipeline);
+                            }
+                        } else {
+                            configureHttp1(pipeline);
+                        }
                     }
                 });
 
@@ -256,10 +277,14 @@ public class NettyHttpServer implements EmbeddedServer {
             LOG.debug("Binding server to port: {}", serverPort);
         }
         try {
-            if (host.isPresent()) {
-                serverBootstrap.bind(host.get(), serverPort).sync();
-            } else {
-                serverBootstrap.bind(serverPort).sync();
+            // with SO_REUSEPORT each bound socket is served by its own parent event loop thread
+            int bindCount = isReusePort() ? getAcceptorCount() : 1;
+            for (int i = 0; i < bindCount; i++) {
+                if (host.isPresent()) {
+                    serverBootstrap.bind(host.get(), serverPort).sync();
+                } else {
+                    serverBootstrap.bind(serverPort).sync();
+                }
             }
 
             applicationContext.publishEvent(new ServerStartupEvent(this));
@@ -369,14 +394,14 @@ public class NettyHttpServer implements EmbeddedServer {
     /**
      * @return The parent event loop group
      */
-    protected NioEventLoopGroup createParentEventLoopGroup() {
+    protected EventLoopGroup createParentEventLoopGroup() {
         return newEventLoopGroup(serverConfiguration.getParent());
     }
 
     /**
      * @return The worker event loop group
      */
-    protected NioEventLoopGroup createWorkerEventLoopGroup() {
+    protected EventLoopGroup createWorkerEventLoopGroup() {
         return newEventLoopGroup(serverConfiguration.getWorker());
     }
 
@@ -387,30 +412,133 @@ public class NettyHttpServer implements EmbeddedServer {
         return new ServerBootstrap();
     }
 
-    private NioEventLoopGroup newEventLoopGroup(NettyHttpServerConfiguration.EventLoopConfig config) {
+    private EventLoopGroup newEventLoopGroup(NettyHttpServerConfiguration.EventLoopConfig config) {
         if (config != null) {
             Optional<ExecutorService> executorService = config.getExecutorName().flatMap(name -> beanLocator.findBean(ExecutorService.class, Qualifiers.byName(name)));
-            NioEventLoopGroup group = executorService.map(service ->
-                new NioEventLoopGroup(config.getNumOfThreads(), service)
-            ).orElseGet(() -> {
-                if (threadFactory != null) {
-                    return new NioEventLoopGroup(config.getNumOfThreads(), threadFactory);
-                } else {
-                    return new NioEventLoopGroup(config.getNumOfThreads());
-                }
-            });
-            config.getIoRatio().ifPresent(group::setIoRatio);
-            return group;
+            Integer ioRatio = config.getIoRatio().isPresent() ? config.getIoRatio().getAsInt() : null;
+            return executorService.map(service ->
+                eventLoopGroupFactory.createEventLoopGroup(config.getNumOfThreads(), service, ioRatio)
+            ).orElseGet(() ->
+                eventLoopGroupFactory.createEventLoopGroup(config.getNumOfThreads(), threadFactory, ioRatio)
+            );
         } else {
             if (threadFactory != null) {
-                return new NioEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory);
+                return eventLoopGroupFactory.createEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory, null);
             } else {
-                return new NioEventLoopGroup();
+                return eventLoopGroupFactory.createEventLoopGroup(0, (ThreadFactory) null, null);
             }
         }
     }
 
-    private void registerMicronautChannelHandlers(ChannelPipeline pipeline) {
+    private boolean isReusePort() {
+        return serverConfiguration.isReusePort() && eventLoopGroupFactory.isReusePortSupported();
+    }
+
+    private int getAcceptorCount() {
+        NettyHttpServerConfiguration.Parent parent = serverConfiguration.getParent();
+        if (parent != null && parent.getNumOfThreads() > 0) {
+            return parent.getNumOfThreads();
+        }
+        return NettyRuntime.availableProcessors();
+    }
+
+    /**
+     * Configures the pipeline of an HTTP/1.1 connection.
+     *
+     * @param pipeline The pipeline
+     */
+    private void configureHttp1(ChannelPipeline pipeline) {
+        pipeline.addLast(HTTP_CODEC, newHttpServerCodec());
+        pipeline.addLast(new FlowControlHandler());
+        pipeline.addLast(new HttpServerKeepAliveHandler());
+        addMicronautHandlers(pipeline, HTTP_CODEC);
+    }
+
+    /**
+     * Configures the pipeline of a cleartext connection that supports HTTP/1.1, the h2c upgrade and HTTP/2 with prior
+     * knowledge. Until HTTP/2 is established the connection is handled as HTTP/1.1. The upgrade handler replaces
+     * itself with the HTTP/1.1 codec once added, so the outbound handlers are positioned relative to the
+     * {@link Http2UpgradeListener} instead.
+     *
+     * @param pipeline The pipeline
+     */
+    private void configureCleartextHttp2(ChannelPipeline pipeline) {
+        HttpServerCodec sourceCodec = newHttpServerCodec();
+        HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec, protocol -> {
+            if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+                return new Http2ServerUpgradeCodec(newHttp2Codec());
+            }
+            return null;
+        }, serverConfiguration.getMaxRequestSize() > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) serverConfiguration.getMaxRequestSize());
+        pipeline.addLast(HTTP_CODEC, new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, newHttp2Codec()));
+        pipeline.addLast(HTTP2_UPGRADE_HANDLER, new Http2UpgradeListener());
+        pipeline.addLast(new FlowControlHandler());
+        pipeline.addLast(new HttpServerKeepAliveHandler());
+        addMicronautHandlers(pipeline, HTTP2_UPGRADE_HANDLER);
+    }
+
+    /**
+     * Creates the HTTP/2 codec. Each HTTP/2 stream is served by a child channel whose pipeline translates the stream
+     * frames into HTTP/1.1 messages, so that requests are processed by the same handlers as HTTP/1.1 requests.
+     *
+     * @return The HTTP/2 codec
+     */
+    private Http2MultiplexCodec newHttp2Codec() {
+        NettyHttpServerConfiguration.Http2 http2 = serverConfiguration.getHttp2();
+        Http2Settings settings = Http2Settings.defaultSettings()
+            .maxConcurrentStreams(http2.getMaxConcurrentStreams())
+            .maxHeaderListSize(serverConfiguration.getMaxHeaderSize());
+        http2.getInitialWindowSize().ifPresent(settings::initialWindowSize);
+        return Http2MultiplexCodecBuilder.forServer(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast(HTTP_CODEC, new Http2StreamFrameToHttpObjectCodec(true, serverConfiguration.isValidateHeaders()));
+                pipeline.addLast(new FlowControlHandler());
+                addMicronautHandlers(pipeline, HTTP_CODEC);
+            }
+        }).initialSettings(settings).build();
+    }
+
+    private HttpServerCodec newHttpServerCodec() {
+        return new HttpServerCodec(
+            serverConfiguration.getMaxInitialLineLength(),
+            serverConfiguration.getMaxHeaderSize(),
+            serverConfiguration.getMaxChunkSize(),
+            serverConfiguration.isValidateHeaders(),
+            serverConfiguration.getInitialBufferSize()
+        );
+    }
+
+    /**
+     * Adds the handlers that process HTTP messages to the pipeline of a connection or HTTP/2 stream.
+     *
+     * @param pipeline     The pipeline
+     * @param codecHandler The name of the handler after which the outbound handlers are added
+     */
+    private void addMicronautHandlers(ChannelPipeline pipeline, String codecHandler) {
+        pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor());
+        if (concurrencyLimiter != null) {
+            pipeline.addLast(ConcurrencyLimitHandler.ID, new ConcurrencyLimitHandler(concurrencyLimiter));
+        }
+        pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
+        pipeline.addLast(HttpRequestDecoder.ID, new HttpRequestDecoder(NettyHttpServer.this, environment, serverConfiguration));
+        pipeline.addLast(MICRONAUT_HANDLER, new RoutingInBoundHandler(
+            beanLocator,
+            router,
+            mediaTypeCodecRegistry,
+            customizableResponseTypeHandlerRegistry,
+            staticResourceResolver,
+            serverConfiguration,
+            requestArgumentSatisfier,
+            routeExecutionPlans,
+            concurrencyLimiter,
+            ioExecutor
+        ));
+        registerMicronautChannelHandlers(pipeline, codecHandler);
+    }
+
+    private void registerMicronautChannelHandlers(ChannelPipeline pipeline, String codecHandler) {
         int i = 0;
         for (ChannelHandler outboundHandlerAdapter : outboundHandlers) {
             String name;
@@ -419,7 +547,7 @@ public class NettyHttpServer implements EmbeddedServer {
             } else {
                 name = NettyHttpServer.MICRONAUT_HANDLER + NettyHttpServer.OUTBOUND_KEY + ++i;
             }
-            pipeline.addAfter(NettyHttpServer.HTTP_CODEC, name, outboundHandlerAdapter);
+            pipeline.addAfter(codecHandler, name, outboundHandlerAdapter);
         }
     }
 
@@ -443,4 +571,82 @@ public class NettyHttpServer implements EmbeddedServer {
             }
         }
     }
+
+    /**
+     * Completes the switch of a cleartext connection to HTTP/2. The HTTP/1.1 handlers of the connection are removed,
+     * since requests are now processed by the pipelines of the HTTP/2 streams. After an h2c upgrade the request that
+     * carried the {@code Upgrade} header is delivered to stream 1, which is where the client expects its response.
+     */
+    private final class Http2UpgradeListener extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof HttpServerUpgradeHandler.UpgradeEvent) {
+                HttpServerUpgradeHandler.UpgradeEvent upgradeEvent = (HttpServerUpgradeHandler.UpgradeEvent) evt;
+                try {
+                    removeHttp1Handlers(ctx);
+                    Http2MultiplexCodec codec = ctx.pipeline().get(Http2MultiplexCodec.class);
+                    if (codec != null) {
+                        deliverUpgradeRequest(ctx.pipeline().context(codec), codec, upgradeEvent.upgradeRequest());
+                    }
+                } finally {
+                    upgradeEvent.release();
+                }
+            } else if (evt instanceof CleartextHttp2ServerUpgradeHandler.PriorKnowledgeUpgradeEvent) {
+                removeHttp1Handlers(ctx);
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+
+        private void removeHttp1Handlers(ChannelHandlerContext ctx) {
+            ChannelPipeline pipeline = ctx.pipeline();
+            boolean found = false;
+            for (String name : pipeline.toMap().keySet()) {
+                if (found) {
+                    pipeline.remove(name);
+                } else if (name.equals(ctx.name())) {
+                    found = true;
+                }
+            }
+            pipeline.remove(this);
+        }
+
+        private void deliverUpgradeRequest(ChannelHandlerContext codecContext, Http2MultiplexCodec codec, FullHttpRequest request) throws Http2Exception {
+            // an upgrade is only possible on a cleartext connection
+            request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), HttpScheme.HTTP.name());
+            Http2Headers headers = HttpConversionUtil.toHttp2Headers(request, serverConfiguration.isValidateHeaders());
+            ByteBuf content = request.content();
+            boolean hasContent = content.isReadable();
+            Http2FrameListener listener = codec.decoder().frameListener();
+            listener.onHeadersRead(codecContext, Http2CodecUtil.HTTP_UPGRADE_STREAM_ID, headers, 0, !hasContent);
+            if (hasContent) {
+                listener.onDataRead(codecContext, Http2CodecUtil.HTTP_UPGRADE_STREAM_ID, content, 0, true);
+            }
+        }
+    }
+
+    /**
+     * Configures the pipeline for HTTP/2 or HTTP/1.1 depending on the protocol negotiated with ALPN.
+     */
+    private final class Http2OrHttpHandler extends ApplicationProtocolNegotiationHandler {
+
+        /**
+         * Default constructor.
+         */
+        Http2OrHttpHandler() {
+            super(ApplicationProtocolNames.HTTP_1_1);
+        }
+
+        @Override
+        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                ctx.pipeline().addLast(newHttp2Codec());
+            } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                configureHttp1(ctx.pipeline());
+            } else {
+                throw new IllegalStateException("Unsupported protocol: " + protocol);
+            }
+        }
+    }
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link FileUpload} kept in memory that returns the memory reserved for it by {@link FormDataHttpDataFactory} once
+ * it no longer holds its data in memory, either because it has been released or because it has been written to disk.
+ *
+ * @since 1.0
+ */
+class ReservedFileUpload implements FileUpload {
+
+    private final FileUpload delegate;
+    private final Runnable release;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * @param delegate The file upload
+     * @param release  Returns the reserved memory
+     */
+    ReservedFileUpload(FileUpload delegate, Runnable release) {
+        this.delegate = delegate;
+        this.release = release;
+    }
+
+    /**
+     * @param data The data
+     * @return The file upload the data wraps or the data itself
+     */
+    static InterfaceHttpData unwrap(InterfaceHttpData data) {
+        if (data instanceof ReservedFileUpload) {
+            return ((ReservedFileUpload) data).delegate;
+        }
+        return data;
+    }
+
+    @Override
+    public String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public void setFilename(String filename) {
+        delegate.setFilename(filename);
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+        delegate.setContentType(contentType);
+    }
+
+    @Override
+    public String getContentType() {
+        return delegate.getContentType();
+    }
+
+    @Override
+    public void setContentTransferEncoding(String contentTransferEncoding) {
+        delegate.setContentTransferEncoding(contentTransferEncoding);
+    }
+
+    @Override
+    public String getContentTransferEncoding() {
+        return delegate.getContentTransferEncoding();
+    }
+
+    @Override
+    public long getMaxSize() {
+        return delegate.getMaxSize();
+    }
+
+    @Override
+    public void setMaxSize(long maxSize) {
+        delegate.setMaxSize(maxSize);
+    }
+
+    @Override
+    public void checkSize(long newSize) throws IOException {
+        delegate.checkSize(newSize);
+    }
+
+    @Override
+    public void setContent(ByteBuf buffer) throws IOException {
+        try {
+            delegate.setContent(buffer);
+        } finally {
+            releaseIfOnDisk();
+        }
+    }
+
+    @Override
+    public void addContent(ByteBuf buffer, boolean last) throws IOException {
+        try {
+            delegate.addContent(buffer, last);
+        } finally {
+            releaseIfOnDisk();
+        }
+    }
+
+    @Override
+    public void setContent(File file) throws IOException {
+        try {
+            delegate.setContent(file);
+        } finally {
+            releaseIfOnDisk();
+        }
+    }
+
+    @Override
+    public void setContent(InputStream inputStream) throws IOException {
+        try {
+            delegate.setContent(inputStream);
+        } finally {
+            releaseIfOnDisk();
+        }
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return delegate.isCompleted();
+    }
+
+    @Override
+    public long length() {
+        return delegate.length();
+    }
+
+    @Override
+    public long definedLength() {
+        return delegate.definedLength();
+    }
+
+    @Override
+    public void delete() {
+        try {
+            delegate.delete();
+        } finally {
+            releaseReservation();
+        }
+    }
+
+    @Override
+    public byte[] get() throws IOException {
+        return delegate.get();
+    }
+
+    @Override
+    public ByteBuf getByteBuf() throws IOException {
+        return delegate.getByteBuf();
+    }
+
+    @Override
+    public ByteBuf getChunk(int length) throws IOException {
+        return delegate.getChunk(length);
+    }
+
+    @Override
+    public String getString() throws IOException {
+        return delegate.getString();
+    }
+
+    @Override
+    public String getString(Charset encoding) throws IOException {
+        return delegate.getString(encoding);
+    }
+
+    @Override
+    public void setCharset(Charset charset) {
+        delegate.setCharset(charset);
+    }
+
+    @Override
+    public Charset getCharset() {
+        return delegate.getCharset();
+    }
+
+    @Override
+    public boolean renameTo(File dest) throws IOException {
+        try {
+            return delegate.renameTo(dest);
+        } finally {
+            releaseIfOnDisk();
+        }
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return delegate.isInMemory();
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        return delegate.getFile();
+    }
+
+    @Override
+    public ByteBuf content() {
+        return delegate.content();
+    }
+
+    @Override
+    public FileUpload copy() {
+        return delegate.copy();
+    }
+
+    @Override
+    public FileUpload duplicate() {
+        return delegate.duplicate();
+    }
+
+    @Override
+    public FileUpload retainedDuplicate() {
+        return delegate.retainedDuplicate();
+    }
+
+    @Override
+    public FileUpload replace(ByteBuf content) {
+        return delegate.replace(content);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public HttpDataType getHttpDataType() {
+        return delegate.getHttpDataType();
+    }
+
+    @Override
+    public int refCnt() {
+        return delegate.refCnt();
+    }
+
+    @Override
+    public FileUpload retain() {
+        delegate.retain();
+        return this;
+    }
+
+    @Override
+    public FileUpload retain(int increment) {
+        delegate.retain(increment);
+        return this;
+    }
+
+    @Override
+    public FileUpload touch() {
+        delegate.touch();
+        return this;
+    }
+
+    @Override
+    public FileUpload touch(Object hint) {
+        delegate.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return releaseIfDeallocated(delegate.release());
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return releaseIfDeallocated(delegate.release(decrement));
+    }
+
+    @Override
+    public int compareTo(InterfaceHttpData o) {
+        return delegate.compareTo(unwrap(o));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof InterfaceHttpData && delegate.equals(unwrap((InterfaceHttpData) o));
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private boolean releaseIfDeallocated(boolean deallocated) {
+        if (deallocated) {
+            releaseReservation();
+        }
+        return deallocated;
+    }
+
+    private void releaseIfOnDisk() {
+        if (!delegate.isInMemory()) {
+            releaseReservation();
+        }
+    }
+
+    private void releaseReservation() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
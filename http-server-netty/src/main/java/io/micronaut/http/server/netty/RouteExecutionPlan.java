@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.scheduling.executor.ExecutorSelector;
+import io.micronaut.web.router.MethodBasedRouteMatch;
+import io.micronaut.web.router.RouteMatch;
+import io.micronaut.web.router.UriRoute;
+import io.micronaut.web.router.UriRouteMatch;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The immutable execution plan of a route. Everything that {@link RoutingInBoundHandler} needs to know about how a
+ * route is executed and how its result is written depends only on the route, so it is resolved once per
+ * {@link UriRoute} and shared by all requests and channels.
+ *
+ * @since 1.0
+ */
+@Internal
+final class RouteExecutionPlan {
+
+    private final ExecutorService executor;
+    private final MediaType defaultResponseMediaType;
+    private final Class<?> javaReturnType;
+    private final boolean reactiveReturnType;
+    private final boolean single;
+
+    /**
+     * @param route            The route
+     * @param executorSelector The executor selector
+     */
+    private RouteExecutionPlan(RouteMatch<?> route, ExecutorSelector executorSelector) {
+        if (route instanceof MethodBasedRouteMatch) {
+            this.executor = executorSelector.select((MethodBasedRouteMatch) route).orElse(null);
+        } else {
+            this.executor = null;
+        }
+        this.defaultResponseMediaType = route
+            .getProduces()
+            .stream()
+            .findFirst()
+            .orElse(MediaType.APPLICATION_JSON_TYPE);
+
+        ReturnType<?> genericReturnType = route.getReturnType();
+        this.javaReturnType = genericReturnType.getType();
+        boolean isFuture = CompletableFuture.class.isAssignableFrom(javaReturnType);
+        boolean isPublisher = Publishers.isConvertibleToPublisher(javaReturnType);
+        this.reactiveReturnType = isPublisher || isFuture;
+        boolean isResponsePublisher = isPublisher && genericReturnType
+            .getFirstTypeVariable()
+            .map(arg -> HttpResponse.class.isAssignableFrom(arg.getType()))
+            .orElse(false);
+        this.single = reactiveReturnType && Publishers.isSingle(javaReturnType) ||
+            isResponsePublisher ||
+            isFuture ||
+            route.getAnnotationMetadata().getValue(Produces.class, "single", Boolean.class).orElse(false);
+    }
+
+    /**
+     * @return The executor to run the route on or {@code null} if the route should run on the event loop
+     */
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return The media type of the response if the response does not specify one
+     */
+    MediaType getDefaultResponseMediaType() {
+        return defaultResponseMediaType;
+    }
+
+    /**
+     * @return The return type of the route
+     */
+    Class<?> getJavaReturnType() {
+        return javaReturnType;
+    }
+
+    /**
+     * @return Whether the route returns a reactive type or a future
+     */
+    boolean isReactiveReturnType() {
+        return reactiveReturnType;
+    }
+
+    /**
+     * @return Whether the route emits a single result
+     */
+    boolean isSingle() {
+        return single;
+    }
+
+    /**
+     * @return Whether the result of the route is streamed chunk by chunk
+     */
+    boolean isStreaming() {
+        return reactiveReturnType && !single;
+    }
+
+    /**
+     * Caches the {@link RouteExecutionPlan} of each {@link UriRoute}. A single instance is shared by the
+     * {@link RoutingInBoundHandler} of every channel.
+     */
+    static final class Cache {
+
+        private final ExecutorSelector executorSelector;
+        private final Map<UriRoute, RouteExecutionPlan> plans = new ConcurrentHashMap<>();
+
+        /**
+         * @param executorSelector The executor selector
+         */
+        Cache(ExecutorSelector executorSelector) {
+            this.executorSelector = executorSelector;
+        }
+
+        /**
+         * Resolve the execution plan for the given route. Plans are cached for URI routes, other routes such as
+         * status and error routes are resolved on each call.
+         *
+         * @param route The route
+         * @return The execution plan
+         */
+        RouteExecutionPlan resolve(RouteMatch<?> route) {
+            if (route instanceof UriRouteMatch) {
+                UriRoute uriRoute = ((UriRouteMatch<?>) route).getRoute();
+                RouteExecutionPlan plan = plans.get(uriRoute);
+                if (plan == null) {
+                    plan = new RouteExecutionPlan(route, executorSelector);
+                    RouteExecutionPlan existing = plans.putIfAbsent(uriRoute, plan);
+                    if (existing != null) {
+                        plan = existing;
+                    }
+                }
+                return plan;
+            }
+            return new RouteExecutionPlan(route, executorSelector);
+        }
+    }
+}
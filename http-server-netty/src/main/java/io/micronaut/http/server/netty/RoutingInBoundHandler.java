@@ -25,14 +25,12 @@ import io.micronaut.core.io.Writable;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.StreamUtils;
 import io.micronaut.http.*;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
-import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Status;
 import io.micronaut.http.codec.MediaTypeCodec;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
@@ -56,17 +54,19 @@ import io.micronaut.http.server.netty.multipart.NettyPartData;
 import io.micronaut.http.server.netty.multipart.NettyStreamingFileUpload;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
+import io.micronaut.http.server.netty.types.files.NettyCompressedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettyStreamedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettySystemFileCustomizableResponseType;
+import io.micronaut.http.server.types.CustomizableResponseTypeException;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.inject.MethodExecutionHandle;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.http.codec.TextPlainCodec;
-import io.micronaut.scheduling.executor.ExecutorSelector;
 import io.micronaut.web.router.*;
 import io.micronaut.web.router.exceptions.DuplicateRouteException;
 import io.micronaut.web.router.exceptions.UnsatisfiedRouteException;
 import io.micronaut.web.router.qualifier.ConsumesMediaTypeQualifier;
+import io.micronaut.web.router.resource.CompressedResource;
 import io.micronaut.web.router.resource.StaticResourceResolver;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
@@ -91,6 +91,7 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -125,7 +126,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             "^.*(?:connection.*(?:reset|closed|abort|broken)|broken.*pipe).*$", Pattern.CASE_INSENSITIVE);
 
     private final Router router;
-    private final ExecutorSelector executorSelector;
+    private final RouteExecutionPlan.Cache routeExecutionPlans;
+    private final ConcurrencyLimiter concurrencyLimiter;
     private final StaticResourceResolver staticResourceResolver;
     private final ExecutorService ioExecutor;
     private final BeanLocator beanLocator;
@@ -142,7 +144,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
      * @param staticResourceResolver                  The static resource resolver
      * @param serverConfiguration                     The Netty HTTP server configuration
      * @param requestArgumentSatisfier                The Request argument satisfier
-     * @param executorSelector                        The executor selector
+     * @param routeExecutionPlans                     The cache of route execution plans
+     * @param concurrencyLimiter                      The concurrency limiter or null if requests are not limited
      * @param ioExecutor                              The IO executor
      */
     RoutingInBoundHandler(
@@ -153,7 +156,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         StaticResourceResolver staticResourceResolver,
         NettyHttpServerConfiguration serverConfiguration,
         RequestArgumentSatisfier requestArgumentSatisfier,
-        ExecutorSelector executorSelector,
+        RouteExecutionPlan.Cache routeExecutionPlans,
+        @Nullable ConcurrencyLimiter concurrencyLimiter,
         ExecutorService ioExecutor) {
 
         this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
@@ -161,7 +165,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         this.beanLocator = beanLocator;
         this.staticResourceResolver = staticResourceResolver;
         this.ioExecutor = ioExecutor;
-        this.executorSelector = executorSelector;
+        this.routeExecutionPlans = routeExecutionPlans;
+        this.concurrencyLimiter = concurrencyLimiter;
         this.router = router;
         this.requestArgumentSatisfier = requestArgumentSatisfier;
         this.serverConfiguration = serverConfiguration;
@@ -324,6 +329,19 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         }
 
         NettyHttpRequest nettyHttpRequest = (NettyHttpRequest) request;
+        if (concurrencyLimiter != null && !acquirePermit(ctx, requestPath)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Rejecting request {} - {} as the concurrency limit of {} has been reached", httpMethod, requestPath, concurrencyLimiter.getLimit());
+            }
+            handleStatusError(
+                    ctx,
+                    request,
+                    nettyHttpRequest,
+                    HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE),
+                    HttpStatus.SERVICE_UNAVAILABLE.getReason()
+            );
+            return;
+        }
         io.netty.handler.codec.http.HttpRequest nativeRequest = nettyHttpRequest.getNativeRequest();
         // handle decoding failure
         DecoderResult decoderResult = nativeRequest.decoderResult();
@@ -384,7 +402,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
                         "Method [" + httpMethod + "] not allowed. Allowed methods: " + existingRoutes);
                 return;
             } else {
-                Optional<? extends FileCustomizableResponseType> optionalFile = matchFile(requestPath);
+                Optional<? extends FileCustomizableResponseType> optionalFile = matchFile(request, requestPath);
 
                 if (optionalFile.isPresent()) {
                     route = new BasicObjectRouteMatch(optionalFile.get());
@@ -427,6 +445,20 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         handleRouteMatch(route, nettyHttpRequest, ctx);
     }
 
+    /**
+     * Acquires a permit from the concurrency limiter before the request is routed and its body is read. A permit
+     * is tracked for every request, including rejected ones, so that the permits line up with the responses.
+     *
+     * @param ctx         The channel handler context
+     * @param requestPath The path of the request
+     * @return Whether the request may be processed
+     */
+    private boolean acquirePermit(ChannelHandlerContext ctx, String requestPath) {
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(requestPath);
+        ConcurrencyLimitHandler.track(ctx.channel(), concurrencyLimiter, permit != null ? permit : ConcurrencyLimiter.UNLIMITED);
+        return permit != null;
+    }
+
     private void handleStatusError(
             ChannelHandlerContext ctx,
             HttpRequest<?> request,
@@ -460,19 +492,53 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         }
     }
 
-    private Optional<? extends FileCustomizableResponseType> matchFile(String path) {
+    private Optional<? extends FileCustomizableResponseType> matchFile(HttpRequest<?> request, String path) {
         Optional<URL> optionalUrl = staticResourceResolver.resolve(path);
 
         if (optionalUrl.isPresent()) {
             try {
                 URL url = optionalUrl.get();
+                Optional<CompressedResource> compressed = staticResourceResolver.resolveCompressed(
+                    url,
+                    request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING),
+                    ioExecutor
+                );
+                if (compressed.isPresent()) {
+                    CompressedResource resource = compressed.get();
+                    String name = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+                    try {
+                        return Optional.of(new NettyCompressedFileCustomizableResponseType(resource.getFile(), name, lastModified(url), resource.getEncoding()));
+                    } catch (CustomizableResponseTypeException e) {
+                        // the compressed copy was removed in the meantime, serve the resource itself
+                    }
+                }
+                // the uncompressed representation of a compressible resource varies too
+                boolean vary = staticResourceResolver.isCompressible(url);
                 if (url.getProtocol().equals("file")) {
                     File file = Paths.get(url.toURI()).toFile();
                     if (file.exists() && !file.isDirectory() && file.canRead()) {
+                        if (vary) {
+                            return Optional.of(new NettySystemFileCustomizableResponseType(file) {
+                                @Override
+                                public void process(MutableHttpResponse response) {
+                                    super.process(response);
+                                    response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                                }
+                            });
+                        }
                         return Optional.of(new NettySystemFileCustomizableResponseType(file));
                     }
                 }
 
+                if (vary) {
+                    return Optional.of(new NettyStreamedFileCustomizableResponseType(url) {
+                        @Override
+                        public void process(MutableHttpResponse response) {
+                            super.process(response);
+                            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                        }
+                    });
+                }
                 return Optional.of(new NettyStreamedFileCustomizableResponseType(url));
             } catch (URISyntaxException e) {
                 //no-op
@@ -482,6 +548,17 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         return Optional.empty();
     }
 
+    private static long lastModified(URL url) throws URISyntaxException {
+        if (url.getProtocol().equals("file")) {
+            return Paths.get(url.toURI()).toFile().lastModified();
+        }
+        try {
+            return url.openConnection().getLastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
     private void emitDefaultNotFoundResponse(ChannelHandlerContext ctx, io.micronaut.http.HttpRequest<?> request) {
         MutableHttpResponse<Object> res = newNotFoundError(request);
         AtomicReference<HttpRequest<?>> requestReference = new AtomicReference<>(request);
@@ -773,42 +850,51 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
     private RouteMatch<?> prepareRouteForExecution(RouteMatch<?> route, NettyHttpRequest<?> request) {
         ChannelHandlerContext context = request.getChannelHandlerContext();
+        RouteExecutionPlan plan = routeExecutionPlans.resolve(route);
         // Select the most appropriate Executor
-        ExecutorService executor;
-        if (route instanceof MethodBasedRouteMatch) {
-            executor = executorSelector.select((MethodBasedRouteMatch) route).orElse(context.channel().eventLoop());
-        } else {
-            executor = context.channel().eventLoop();
-        }
+        ExecutorService planExecutor = plan.getExecutor();
+        ExecutorService executor = planExecutor != null ? planExecutor : context.channel().eventLoop();
 
         route = route.decorate(finalRoute -> {
-            MediaType defaultResponseMediaType = finalRoute
-                .getProduces()
-                .stream()
-                .findFirst()
-                .orElse(MediaType.APPLICATION_JSON_TYPE);
-
-
-            ReturnType<?> genericReturnType = finalRoute.getReturnType();
-            Class<?> javaReturnType = genericReturnType.getType();
+            MediaType defaultResponseMediaType = plan.getDefaultResponseMediaType();
+            Class<?> javaReturnType = plan.getJavaReturnType();
 
             AtomicReference<io.micronaut.http.HttpRequest<?>> requestReference = new AtomicReference<>(request);
-            boolean isFuture = CompletableFuture.class.isAssignableFrom(javaReturnType);
-            boolean isReactiveReturnType = Publishers.isConvertibleToPublisher(javaReturnType) || isFuture;
-            boolean isSingle =
-                    isReactiveReturnType && Publishers.isSingle(javaReturnType) ||
-                            isResponsePublisher(genericReturnType, javaReturnType) ||
-                                isFuture ||
-                                    finalRoute.getAnnotationMetadata().getValue(Produces.class, "single", Boolean.class).orElse(false);
-
-            // build the result emitter. This result emitter emits the response from a controller action
-            Flowable<?> resultEmitter = buildResultEmitter(
-                    context,
-                    finalRoute,
-                    requestReference,
-                    isReactiveReturnType,
-                    isSingle
-            );
+            boolean isReactiveReturnType = plan.isReactiveReturnType();
+            boolean isSingle = plan.isSingle();
+            List<HttpFilter> filters = router.findFilters(request);
+
+            Flowable<?> resultEmitter;
+            if (!isReactiveReturnType && planExecutor == null && filters.isEmpty() && context.channel().eventLoop().inEventLoop()) {
+                // a non-blocking route with a non-reactive result and no filters is executed and written directly
+                // from the event loop. Results that need further processing continue with the publisher below
+                MutableHttpResponse<?> directResponse = null;
+                try {
+                    Object message = executeRoute(finalRoute, request, context);
+                    if (message == null) {
+                        resultEmitter = Flowable.empty();
+                    } else {
+                        directResponse = encodeResponseDirectly(finalRoute, message, defaultResponseMediaType, context);
+                        resultEmitter = directResponse == null ? Flowable.just(message) : null;
+                    }
+                } catch (Throwable e) {
+                    resultEmitter = Flowable.error(e);
+                }
+                if (directResponse != null) {
+                    // written outside of the try block, a failure during the write must not produce a second response
+                    writeFinalNettyResponse(directResponse, requestReference, context);
+                    return null;
+                }
+            } else {
+                // build the result emitter. This result emitter emits the response from a controller action
+                resultEmitter = buildResultEmitter(
+                        context,
+                        finalRoute,
+                        requestReference,
+                        isReactiveReturnType,
+                        isSingle
+                );
+            }
 
 
             // here we transform the result of the controller action into a MutableHttpResponse
@@ -858,13 +944,14 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             // process the publisher through the available filters
             Flowable<? extends MutableHttpResponse<?>> filteredPublisher = filterPublisher(
                     requestReference,
+                    filters,
                     routePublisher,
                     executor
             );
 
 
 
-            boolean isStreaming = isReactiveReturnType && !isSingle;
+            boolean isStreaming = plan.isStreaming();
 
             filteredPublisher  = filteredPublisher.switchMap((response) -> {
                 Optional<?> responseBody = response.getBody();
@@ -977,59 +1064,63 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             MediaType defaultResponseMediaType,
             AtomicReference<HttpRequest<?>> requestReference,
             Flowable<? extends MutableHttpResponse<?>> finalPublisher) {
-        finalPublisher =  finalPublisher.map((response) -> {
-            Optional<MediaType> specifiedMediaType = response.getContentType();
-            MediaType responseMediaType = specifiedMediaType.orElse(defaultResponseMediaType);
+        finalPublisher =  finalPublisher.map((response) ->
+            encodeResponse(response, defaultResponseMediaType, context)
+        );
+
+        finalPublisher.subscribe(new ContextCompletionAwareSubscriber<MutableHttpResponse<?>>(context) {
+            @Override
+            protected void onComplete(MutableHttpResponse<?> message) {
+                writeFinalNettyResponse(message, requestReference, context);
+            }
 
-            applyConfiguredHeaders(response.getHeaders());
+            @Override
+            protected void doOnError(Throwable t) {
+                super.doOnError(t);
+            }
+        });
+    }
 
-            Optional<?> responseBody = response.getBody();
-            if (responseBody.isPresent()) {
+    private MutableHttpResponse<?> encodeResponse(MutableHttpResponse<?> response, MediaType defaultResponseMediaType, ChannelHandlerContext context) {
+        Optional<MediaType> specifiedMediaType = response.getContentType();
+        MediaType responseMediaType = specifiedMediaType.orElse(defaultResponseMediaType);
 
-                Object body = responseBody.get();
+        applyConfiguredHeaders(response.getHeaders());
 
-                Optional<NettyCustomizableResponseTypeHandler> typeHandler = customizableResponseTypeHandlerRegistry
-                        .findTypeHandler(body.getClass());
-                if (typeHandler.isPresent()) {
-                    NettyCustomizableResponseTypeHandler th = typeHandler.get();
-                    setBodyContent(response, new NettyCustomizableResponseTypeHandlerInvoker(th, body));
-                    return response;
-                }
+        Optional<?> responseBody = response.getBody();
+        if (responseBody.isPresent()) {
 
-                if (specifiedMediaType.isPresent())  {
+            Object body = responseBody.get();
 
-                    Optional<MediaTypeCodec> registeredCodec = mediaTypeCodecRegistry.findCodec(responseMediaType, body.getClass());
-                    if (registeredCodec.isPresent()) {
-                        MediaTypeCodec codec = registeredCodec.get();
-                        return encodeBodyWithCodec(response, body, codec, responseMediaType, context);
-                    }
-                }
+            Optional<NettyCustomizableResponseTypeHandler> typeHandler = customizableResponseTypeHandlerRegistry
+                    .findTypeHandler(body.getClass());
+            if (typeHandler.isPresent()) {
+                NettyCustomizableResponseTypeHandler th = typeHandler.get();
+                setBodyContent(response, new NettyCustomizableResponseTypeHandlerInvoker(th, body));
+                return response;
+            }
+
+            if (specifiedMediaType.isPresent())  {
 
-                Optional<MediaTypeCodec> registeredCodec = mediaTypeCodecRegistry.findCodec(defaultResponseMediaType, body.getClass());
+                Optional<MediaTypeCodec> registeredCodec = mediaTypeCodecRegistry.findCodec(responseMediaType, body.getClass());
                 if (registeredCodec.isPresent()) {
                     MediaTypeCodec codec = registeredCodec.get();
                     return encodeBodyWithCodec(response, body, codec, responseMediaType, context);
                 }
-
-                MediaTypeCodec defaultCodec = new TextPlainCodec(serverConfiguration.getDefaultCharset());
-
-                return encodeBodyWithCodec(response, body, defaultCodec, responseMediaType,  context);
-            } else {
-                return response;
             }
-        });
 
-        finalPublisher.subscribe(new ContextCompletionAwareSubscriber<MutableHttpResponse<?>>(context) {
-            @Override
-            protected void onComplete(MutableHttpResponse<?> message) {
-                writeFinalNettyResponse(message, requestReference, context);
+            Optional<MediaTypeCodec> registeredCodec = mediaTypeCodecRegistry.findCodec(defaultResponseMediaType, body.getClass());
+            if (registeredCodec.isPresent()) {
+                MediaTypeCodec codec = registeredCodec.get();
+                return encodeBodyWithCodec(response, body, codec, responseMediaType, context);
             }
 
-            @Override
-            protected void doOnError(Throwable t) {
-                super.doOnError(t);
-            }
-        });
+            MediaTypeCodec defaultCodec = new TextPlainCodec(serverConfiguration.getDefaultCharset());
+
+            return encodeBodyWithCodec(response, body, defaultCodec, responseMediaType,  context);
+        } else {
+            return response;
+        }
     }
 
     private void writeFinalNettyResponse(MutableHttpResponse<?> message, AtomicReference<HttpRequest<?>> requestReference, ChannelHandlerContext context) {
@@ -1128,14 +1219,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             // for non-reactive results we build flowable that executes the
             // route
             resultEmitter = Flowable.create((emitter) -> {
-                HttpRequest<?> httpRequest = requestReference.get();
-                RouteMatch<?> routeMatch = finalRoute;
-                if (!routeMatch.isExecutable()) {
-                    routeMatch = requestArgumentSatisfier.fulfillArgumentRequirements(routeMatch, httpRequest, true);
-                }
                 Object result;
                 try {
-                    result = routeMatch.execute();
+                    result = executeRoute(finalRoute, requestReference.get(), context);
                 } catch (Throwable e) {
                     emitter.onError(e);
                     return;
@@ -1146,15 +1232,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
                     emitter.onComplete();
                 } else {
                     // emit the result
-                    if (result instanceof Writable) {
-                        ByteBuf byteBuf = context.alloc().ioBuffer(128);
-                        ByteBufOutputStream outputStream = new ByteBufOutputStream(byteBuf);
-                        Writable writable = (Writable) result;
-                        writable.writeTo(outputStream, requestReference.get().getCharacterEncoding());
-                        emitter.onNext(byteBuf);
-                    } else {
-                        emitter.onNext(result);
-                    }
+                    emitter.onNext(result);
                     emitter.onComplete();
                 }
 
@@ -1164,6 +1242,41 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         return resultEmitter;
     }
 
+    // executes a route with a non-reactive result, a Writable result is written to a buffer
+    private Object executeRoute(RouteMatch<?> finalRoute, HttpRequest<?> httpRequest, ChannelHandlerContext context) throws Exception {
+        RouteMatch<?> routeMatch = finalRoute;
+        if (!routeMatch.isExecutable()) {
+            routeMatch = requestArgumentSatisfier.fulfillArgumentRequirements(routeMatch, httpRequest, true);
+        }
+        Object result = routeMatch.execute();
+        if (result instanceof Writable) {
+            ByteBuf byteBuf = context.alloc().ioBuffer(128);
+            ByteBufOutputStream outputStream = new ByteBufOutputStream(byteBuf);
+            Writable writable = (Writable) result;
+            writable.writeTo(outputStream, httpRequest.getCharacterEncoding());
+            return byteBuf;
+        }
+        return result;
+    }
+
+    // encodes the result of a route so that it can be written without a publisher, returns null if it needs
+    // further processing, such as the re-mapping of an error status or the subscription to a reactive body
+    private MutableHttpResponse<?> encodeResponseDirectly(
+            RouteMatch<?> finalRoute,
+            Object message,
+            MediaType defaultResponseMediaType,
+            ChannelHandlerContext context) {
+        MutableHttpResponse<?> response = messageToResponse(finalRoute, message);
+        if (response.getStatus().getCode() >= HttpStatus.BAD_REQUEST.getCode()) {
+            return null;
+        }
+        Optional<?> body = response.getBody();
+        if (body.isPresent() && Publishers.isConvertibleToPublisher(body.get())) {
+            return null;
+        }
+        return encodeResponse(response, defaultResponseMediaType, context);
+    }
+
     private MutableHttpResponse<?> messageToResponse(RouteMatch<?> finalRoute, Object message) {
         MutableHttpResponse<?> response;
         if (message instanceof HttpResponse) {
@@ -1187,16 +1300,20 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         return response;
     }
 
-    private boolean isResponsePublisher(ReturnType<?> genericReturnType, Class<?> javaReturnType) {
-        return Publishers.isConvertibleToPublisher(javaReturnType) && genericReturnType.getFirstTypeVariable().map(arg -> HttpResponse.class.isAssignableFrom(arg.getType())).orElse(false);
+    private Flowable<? extends MutableHttpResponse<?>> filterPublisher(
+            AtomicReference<HttpRequest<?>> requestReference,
+            Publisher<MutableHttpResponse<?>> routePublisher, ExecutorService executor) {
+        List<HttpFilter> filters = router.findFilters(requestReference.get());
+        return filterPublisher(requestReference, filters, routePublisher, executor);
     }
 
     private Flowable<? extends MutableHttpResponse<?>> filterPublisher(
             AtomicReference<HttpRequest<?>> requestReference,
+            List<HttpFilter> matchedFilters,
             Publisher<MutableHttpResponse<?>> routePublisher, ExecutorService executor) {
         Publisher<? extends io.micronaut.http.MutableHttpResponse<?>> finalPublisher;
-        List<HttpFilter> filters = new ArrayList<>(router.findFilters(requestReference.get()));
-        if (!filters.isEmpty()) {
+        if (!matchedFilters.isEmpty()) {
+            List<HttpFilter> filters = new ArrayList<>(matchedFilters);
             // make the action executor the last filter in the chain
             filters.add((HttpServerFilter) (req, chain) -> routePublisher);
 
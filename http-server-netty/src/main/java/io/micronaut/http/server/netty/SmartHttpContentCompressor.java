@@ -54,12 +54,16 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
     }
 
     /**
-     * Determines if encoding should occur based on the content type and length.
+     * Determines if encoding should occur based on the content type and length. Content that is already encoded,
+     * such as a precompressed static resource, is never encoded again.
      *
-     * @param headers The headers that contain the content type and length
-     * @return True if the content is compressible and larger than 1KB
+     * @param headers The headers that contain the content type, length and encoding
+     * @return True if the content is already encoded, or not compressible or smaller than 1KB
      */
     public static boolean shouldSkip(HttpHeaders headers) {
+        if (headers.contains(HttpHeaderNames.CONTENT_ENCODING)) {
+            return true;
+        }
         return shouldSkip(headers.get(HttpHeaderNames.CONTENT_TYPE), headers.getInt(HttpHeaderNames.CONTENT_LENGTH));
     }
 
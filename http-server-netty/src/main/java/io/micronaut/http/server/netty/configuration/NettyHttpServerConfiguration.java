@@ -18,6 +18,7 @@ package io.micronaut.http.server.netty.configuration;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
@@ -25,6 +26,7 @@ import io.netty.handler.logging.LogLevel;
 
 import javax.inject.Inject;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -42,6 +44,8 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     protected Map<ChannelOption, Object> options = Collections.emptyMap();
     protected Worker worker;
     protected Parent parent;
+    protected Http2 http2;
+    protected ConcurrencyLimit concurrencyLimit;
     @ReadableBytes
     protected int maxInitialLineLength = 4096;
     @ReadableBytes
@@ -52,6 +56,10 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     protected boolean validateHeaders = true;
     protected int initialBufferSize = 128;
     protected LogLevel logLevel;
+    protected boolean useNativeTransport = true;
+    protected boolean reusePort = false;
+    protected int tcpFastOpen = 0;
+    protected boolean edgeTriggered = true;
 
     /**
      * Default empty constructor.
@@ -130,6 +138,46 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return initialBufferSize;
     }
 
+    /**
+     * Whether to use a native transport (epoll on Linux, kqueue on macOS and BSD) when it is on the classpath and
+     * can be loaded. Defaults to true. The NIO transport is used otherwise.
+     *
+     * @return Whether to use a native transport
+     */
+    public boolean isUseNativeTransport() {
+        return useNativeTransport;
+    }
+
+    /**
+     * Whether to enable SO_REUSEPORT. When enabled the server binds one socket per parent event loop thread so that
+     * connections are accepted by several threads. Only supported by the epoll transport. Defaults to false.
+     *
+     * @return Whether to enable SO_REUSEPORT
+     */
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * The length of the TCP_FASTOPEN queue. Only supported by the epoll transport. Defaults to 0, which disables
+     * TCP fast open.
+     *
+     * @return The TCP_FASTOPEN queue length
+     */
+    public int getTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
+    /**
+     * Whether to use edge-triggered rather than level-triggered I/O. Only supported by the epoll transport.
+     * Defaults to true.
+     *
+     * @return Whether to use edge-triggered I/O
+     */
+    public boolean isEdgeTriggered() {
+        return edgeTriggered;
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOptions()
@@ -160,6 +208,34 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return parent;
     }
 
+    /**
+     * @return Configuration for HTTP/2 support, can be null if HTTP/2 is not configured
+     */
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    /**
+     * @return Whether HTTP/2 is enabled
+     */
+    public boolean isHttp2Enabled() {
+        return http2 != null && http2.isEnabled();
+    }
+
+    /**
+     * @return Configuration for the adaptive concurrency limit, can be null if it is not configured
+     */
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * @return Whether the adaptive concurrency limit is enabled
+     */
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimit != null && concurrencyLimit.isEnabled();
+    }
+
     /**
      * Configuration for Netty worker.
      */
@@ -174,6 +250,172 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     public static class Parent extends EventLoopConfig {
     }
 
+    /**
+     * Configuration for HTTP/2. When enabled, HTTP/2 is negotiated with ALPN over TLS and cleartext connections
+     * accept both the h2c upgrade and HTTP/2 with prior knowledge. HTTP/1.1 clients continue to be served.
+     */
+    @ConfigurationProperties("http2")
+    public static class Http2 implements Toggleable {
+
+        /**
+         * The default maximum number of concurrent streams per connection.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+
+        protected boolean enabled;
+        protected long maxConcurrentStreams = DEFAULT_MAX_CONCURRENT_STREAMS;
+        protected Integer initialWindowSize;
+
+        /**
+         * @return Whether HTTP/2 is enabled. Defaults to false.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The maximum number of concurrent streams a client may open on a single connection
+         */
+        public long getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        /**
+         * @return The initial flow control window size of each stream
+         */
+        public OptionalInt getInitialWindowSize() {
+            if (initialWindowSize != null) {
+                return OptionalInt.of(initialWindowSize);
+            }
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Configuration for the adaptive concurrency limit. When enabled, the number of requests that are processed
+     * concurrently is limited and requests beyond the limit are rejected with a 503 response before their body is
+     * read. The limit is adjusted continuously from the observed latency: it grows while latency remains stable and
+     * shrinks as soon as requests start to queue up.
+     *
+     * <p>Requests are assigned a priority from their path. Critical requests may use the whole limit, normal and
+     * sheddable requests only a fraction of it, so that they are shed first.</p>
+     */
+    @ConfigurationProperties("concurrency-limit")
+    public static class ConcurrencyLimit implements Toggleable {
+
+        /**
+         * The default initial limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_INITIAL_LIMIT = 100;
+
+        /**
+         * The default minimum limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MIN_LIMIT = 10;
+
+        /**
+         * The default maximum limit.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_LIMIT = 1000;
+
+        /**
+         * The default smoothing factor.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_SMOOTHING = 0.2;
+
+        /**
+         * The default fraction of the limit available to normal requests.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_NORMAL_RATIO = 0.9;
+
+        /**
+         * The default fraction of the limit available to sheddable requests.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final double DEFAULT_SHEDDABLE_RATIO = 0.5;
+
+        protected boolean enabled;
+        protected int initialLimit = DEFAULT_INITIAL_LIMIT;
+        protected int minLimit = DEFAULT_MIN_LIMIT;
+        protected int maxLimit = DEFAULT_MAX_LIMIT;
+        protected double smoothing = DEFAULT_SMOOTHING;
+        protected double normalRatio = DEFAULT_NORMAL_RATIO;
+        protected double sheddableRatio = DEFAULT_SHEDDABLE_RATIO;
+        protected List<String> criticalPaths = Collections.emptyList();
+        protected List<String> sheddablePaths = Collections.emptyList();
+
+        /**
+         * @return Whether the concurrency limit is enabled. Defaults to false.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The limit before any latency has been observed
+         */
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        /**
+         * @return The lower bound of the limit
+         */
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        /**
+         * @return The upper bound of the limit
+         */
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        /**
+         * @return The weight between 0 and 1 of each new estimate of the limit, higher values adapt faster
+         */
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        /**
+         * @return The fraction of the limit that requests with normal priority may use
+         */
+        public double getNormalRatio() {
+            return normalRatio;
+        }
+
+        /**
+         * @return The fraction of the limit that sheddable requests may use
+         */
+        public double getSheddableRatio() {
+            return sheddableRatio;
+        }
+
+        /**
+         * @return The path patterns of critical requests, such as health checks
+         */
+        public List<String> getCriticalPaths() {
+            return criticalPaths;
+        }
+
+        /**
+         * @return The path patterns of sheddable requests, which are rejected first
+         */
+        public List<String> getSheddablePaths() {
+            return sheddablePaths;
+        }
+    }
+
     /**
      * Abstract class for configuring the Netty event loop.
      */
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty.jackson;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.AbstractHttpContentProcessor;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A JSON content processor that accumulates the chunks of the request body into a {@link CompositeByteBuf} without
+ * copying them and, once the body has been fully received, binds it directly to the type of the
+ * {@link io.micronaut.http.annotation.Body} argument with an {@link ObjectReader}. Unlike {@link JsonContentProcessor}
+ * no intermediate {@link com.fasterxml.jackson.databind.JsonNode} tree is built.
+ *
+ * <p>If the JSON is well formed but cannot be mapped to the target type the body is published as a
+ * {@link com.fasterxml.jackson.databind.JsonNode} instead, so that the usual conversion errors are reported.</p>
+ *
+ * @since 1.0
+ */
+public class JsonBindingContentProcessor extends AbstractHttpContentProcessor<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader objectReader;
+    private CompositeByteBuf body;
+    private boolean requested;
+
+    /**
+     * @param nettyHttpRequest The Netty Http request
+     * @param configuration    The Http server configuration
+     * @param objectMapper     The object mapper
+     * @param objectReader     The object reader for the body argument
+     */
+    public JsonBindingContentProcessor(
+            NettyHttpRequest<?> nettyHttpRequest,
+            HttpServerConfiguration configuration,
+            ObjectMapper objectMapper,
+            ObjectReader objectReader) {
+        super(nettyHttpRequest, configuration);
+        this.objectMapper = objectMapper;
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    protected void doOnSubscribe(Subscription subscription, Subscriber<? super Object> subscriber) {
+        if (parentSubscription == null) {
+            return;
+        }
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public synchronized void request(long n) {
+                // nothing is emitted until the whole body has been received so demand all of it up front
+                if (!requested) {
+                    requested = true;
+                    parentSubscription.request(Long.MAX_VALUE);
+                }
+            }
+
+            @Override
+            public synchronized void cancel() {
+                parentSubscription.cancel();
+            }
+        });
+    }
+
+    @Override
+    protected void onData(ByteBufHolder message) {
+        ByteBuf content = message.content();
+        if (body == null) {
+            body = nettyHttpRequest.getChannelHandlerContext().alloc().compositeBuffer(Integer.MAX_VALUE);
+        }
+        // ownership of the content passes to the composite buffer
+        body.addComponent(true, content);
+    }
+
+    @Override
+    protected void doAfterOnError(Throwable throwable) {
+        releaseBody();
+    }
+
+    @Override
+    protected void doOnComplete() {
+        Subscriber<? super Object> subscriber = getSubscriber();
+        try {
+            if (body != null && body.isReadable()) {
+                subscriber.onNext(readBody());
+            }
+        } catch (IOException e) {
+            subscriber.onError(e);
+            return;
+        } finally {
+            releaseBody();
+        }
+        super.doOnComplete();
+    }
+
+    private Object readBody() throws IOException {
+        try {
+            return objectReader.readValue((InputStream) new ByteBufInputStream(body));
+        } catch (JsonMappingException e) {
+            // fall back to the tree so the binder reports a conversion error for the argument
+            body.readerIndex(0);
+            return objectMapper.readTree((InputStream) new ByteBufInputStream(body));
+        }
+    }
+
+    private void releaseBody() {
+        CompositeByteBuf body = this.body;
+        if (body != null) {
+            this.body = null;
+            body.release();
+        }
+    }
+}
@@ -17,19 +17,40 @@
 package io.micronaut.http.server.netty.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.value.ConvertibleValues;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.HttpContentProcessor;
 import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.jackson.JacksonTypeUtils;
+import io.micronaut.web.router.MethodBasedRouteMatch;
+import io.micronaut.web.router.RouteMatch;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Builds the {@link org.reactivestreams.Subscriber} for JSON requests.
  *
+ * <p>When the whole body is bound to a single {@link Body} argument of a type that Jackson can bind directly, a
+ * {@link JsonBindingContentProcessor} is used so that the body is read straight into the target type. Otherwise the
+ * body is parsed into a {@link JsonNode} tree by a {@link JsonContentProcessor}.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -39,18 +60,83 @@ public class JsonHttpContentSubscriberFactory implements HttpContentSubscriberFa
 
     private final HttpServerConfiguration httpServerConfiguration;
     private final Optional<JsonFactory> jsonFactory;
+    private final ObjectMapper objectMapper;
+    private final Map<Argument<?>, Optional<ObjectReader>> objectReaders = new ConcurrentHashMap<>();
 
     /**
      * @param httpServerConfiguration The Http server configuration
      * @param jsonFactory             The json factory
+     * @param objectMapper            The object mapper used to bind the body directly, if any
      */
-    public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration, Optional<JsonFactory> jsonFactory) {
+    @Inject
+    public JsonHttpContentSubscriberFactory(
+            HttpServerConfiguration httpServerConfiguration,
+            Optional<JsonFactory> jsonFactory,
+            @Nullable ObjectMapper objectMapper) {
         this.httpServerConfiguration = httpServerConfiguration;
         this.jsonFactory = jsonFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param httpServerConfiguration The Http server configuration
+     * @param jsonFactory             The json factory
+     */
+    public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration, Optional<JsonFactory> jsonFactory) {
+        this(httpServerConfiguration, jsonFactory, null);
     }
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
+        Optional<ObjectReader> objectReader = findObjectReader(request.getMatchedRoute());
+        if (objectReader.isPresent()) {
+            return new JsonBindingContentProcessor(request, httpServerConfiguration, objectMapper, objectReader.get());
+        }
         return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory);
     }
+
+    /**
+     * Resolves the {@link ObjectReader} for the body argument of the route if the body can be bound directly. This is
+     * the case when the body argument is bound to the whole body, is not a reactive or language type and is the only
+     * argument of the route still to be satisfied.
+     *
+     * @param route The matched route
+     * @return The object reader
+     */
+    private Optional<ObjectReader> findObjectReader(@Nullable RouteMatch<?> route) {
+        if (objectMapper == null || !(route instanceof MethodBasedRouteMatch)) {
+            return Optional.empty();
+        }
+        Optional<Argument<?>> bodyArgument = route.getBodyArgument();
+        if (!bodyArgument.isPresent()) {
+            return Optional.empty();
+        }
+        Argument<?> argument = bodyArgument.get();
+        Body body = argument.getAnnotation(Body.class);
+        if (body != null && StringUtils.isNotEmpty(body.value())) {
+            return Optional.empty();
+        }
+        for (Argument<?> other : ((MethodBasedRouteMatch<?>) route).getArguments()) {
+            if (other != argument && !route.isSatisfied(other.getName())) {
+                return Optional.empty();
+            }
+        }
+        return objectReaders.computeIfAbsent(argument, this::newObjectReader);
+    }
+
+    private Optional<ObjectReader> newObjectReader(Argument<?> argument) {
+        Class<?> type = argument.getType();
+        boolean bindable = type != Object.class &&
+            !ClassUtils.isJavaLangType(type) &&
+            !Publishers.isConvertibleToPublisher(type) &&
+            !CompletionStage.class.isAssignableFrom(type) &&
+            !Optional.class.isAssignableFrom(type) &&
+            !JsonNode.class.isAssignableFrom(type) &&
+            !ConvertibleValues.class.isAssignableFrom(type) &&
+            !CharSequence.class.isAssignableFrom(type);
+        if (bindable) {
+            return Optional.of(objectMapper.readerFor(JacksonTypeUtils.constructType(argument, objectMapper.getTypeFactory())));
+        }
+        return Optional.empty();
+    }
 }
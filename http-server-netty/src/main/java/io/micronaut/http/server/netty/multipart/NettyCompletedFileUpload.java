@@ -23,6 +23,7 @@ import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.multipart.FileUpload;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -52,11 +53,30 @@ public class NettyCompletedFileUpload implements CompletedFileUpload {
      * <p>The contents of the file will be released when the stream is closed.
      * This method should only be called <strong>once</strong></p>
      *
+     * <p>Contents that were written to disk are read from the file rather than loaded into memory.</p>
+     *
      * @return The content of this part as a <tt>InputStream</tt>
      * @throws IOException If an error occurs in retrieving the content
      */
     @Override
     public InputStream getInputStream() throws IOException {
+        if (!fileUpload.isInMemory()) {
+            return new FileInputStream(fileUpload.getFile()) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (!closed) {
+                            closed = true;
+                            fileUpload.release();
+                        }
+                    }
+                }
+            };
+        }
         return new ByteBufInputStream(fileUpload.getByteBuf(), true);
     }
 
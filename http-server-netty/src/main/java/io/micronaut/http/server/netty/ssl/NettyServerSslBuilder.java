@@ -17,12 +17,20 @@
 package io.micronaut.http.server.netty.ssl;
 
 import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.ssl.*;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLException;
 import java.security.cert.CertificateException;
@@ -39,12 +47,25 @@ import java.util.Optional;
 @Singleton
 public class NettyServerSslBuilder extends SslBuilder<SslContext> {
 
+    private final boolean http2;
+
     /**
      * @param ssl              The SSL configuration
      * @param resourceResolver The resource resolver
      */
     public NettyServerSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver) {
+        this(ssl, resourceResolver, null);
+    }
+
+    /**
+     * @param ssl                 The SSL configuration
+     * @param resourceResolver    The resource resolver
+     * @param serverConfiguration The server configuration used to determine whether HTTP/2 should be negotiated
+     */
+    @Inject
+    public NettyServerSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver, @Nullable NettyHttpServerConfiguration serverConfiguration) {
         super(ssl, resourceResolver);
+        this.http2 = serverConfiguration != null && serverConfiguration.isHttp2Enabled();
     }
 
     /**
@@ -63,7 +84,11 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
         if (ssl.buildSelfSigned()) {
             try {
                 SelfSignedCertificate ssc = new SelfSignedCertificate();
-                return Optional.of(SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build());
+                SslContextBuilder sslBuilder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
+                if (http2) {
+                    configureHttp2(sslBuilder, true);
+                }
+                return Optional.of(sslBuilder.build());
             } catch (CertificateException | SSLException e) {
                 throw new SslConfigurationException("Encountered an error while building a self signed certificate", e);
             }
@@ -78,6 +103,9 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
         if (ssl.getCiphers().isPresent()) {
             sslBuilder = sslBuilder.ciphers(Arrays.asList(ssl.getCiphers().get()));
         }
+        if (http2) {
+            configureHttp2(sslBuilder, !ssl.getCiphers().isPresent());
+        }
         if (ssl.getClientAuthentication().isPresent()) {
             ClientAuthentication clientAuth = ssl.getClientAuthentication().get();
             if (clientAuth == ClientAuthentication.NEED) {
@@ -93,4 +121,26 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
             throw new SslConfigurationException("An error occurred while setting up SSL", ex);
         }
     }
+
+    /**
+     * Configures ALPN so that clients can negotiate HTTP/2, falling back to HTTP/1.1. OpenSSL is used when it
+     * supports ALPN, otherwise the JDK provider is used which requires a JDK with ALPN support.
+     *
+     * @param sslBuilder     The SSL context builder
+     * @param defaultCiphers Whether to restrict the ciphers to those permitted by HTTP/2
+     */
+    private void configureHttp2(SslContextBuilder sslBuilder, boolean defaultCiphers) {
+        SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
+        sslBuilder.sslProvider(provider);
+        if (defaultCiphers) {
+            sslBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+        }
+        sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1
+        ));
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty.types.files;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A satisfiable byte range of a file as requested with the {@code Range} header.
+ *
+ * @since 1.0
+ */
+final class ByteRange {
+
+    /**
+     * The maximum number of ranges served for a single request. Requests for more ranges are served the whole file.
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+
+    /**
+     * @param start The offset of the first byte
+     * @param end   The offset of the last byte, inclusive
+     */
+    ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return The offset of the first byte
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The offset of the last byte, inclusive
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return The number of bytes in the range
+     */
+    long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param length The length of the file
+     * @return The value of the {@code Content-Range} header for this range
+     */
+    String toContentRange(long length) {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+
+    /**
+     * Parses the value of a {@code Range} header. A header that is not a valid byte range set, or that requests
+     * more than {@link #MAX_RANGES} ranges, is ignored as permitted by RFC 7233.
+     *
+     * @param header The value of the header
+     * @param length The length of the file
+     * @return The satisfiable ranges, which are empty if none of the ranges can be satisfied, or an empty optional
+     * if the header should be ignored
+     */
+    static Optional<List<ByteRange>> parse(String header, long length) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return Optional.empty();
+        }
+        String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return Optional.empty();
+        }
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash == -1) {
+                return Optional.empty();
+            }
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            try {
+                if (first.isEmpty()) {
+                    // a suffix range of the last N bytes
+                    if (last.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    long suffixLength = Long.parseLong(last);
+                    if (suffixLength < 0) {
+                        return Optional.empty();
+                    }
+                    if (suffixLength > 0 && length > 0) {
+                        ranges.add(new ByteRange(Math.max(0, length - suffixLength), length - 1));
+                    }
+                } else {
+                    long start = Long.parseLong(first);
+                    long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                    if (start < 0 || end < start) {
+                        return Optional.empty();
+                    }
+                    if (start < length) {
+                        ranges.add(new ByteRange(start, Math.min(end, length - 1)));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        if (ranges.isEmpty()) {
+            return Optional.of(Collections.emptyList());
+        }
+        return Optional.of(ranges);
+    }
+}
@@ -18,8 +18,10 @@ package io.micronaut.http.server.netty.types.files;
 
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpResponse;
@@ -38,10 +40,12 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * Responsible for writing files out to the response in Netty.
+ * Responsible for writing files out to the response in Netty. Files on the file system additionally support
+ * conditional requests with entity tags and byte range requests.
  *
  * @author James Kleeh
  * @since 1.0
@@ -50,6 +54,8 @@ import java.util.Optional;
 public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Object> {
 
     private static final Class<?>[] SUPPORTED_TYPES = new Class[]{File.class, SystemFileCustomizableResponseType.class, StreamedFile.class, NettyFileCustomizableResponseType.class};
+    private static final String BYTES = "bytes";
+    private static final String WEAK_PREFIX = "W/";
     private final FileTypeHandlerConfiguration configuration;
 
     /**
@@ -77,15 +83,35 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
 
         long lastModified = type.getLastModified();
 
+        NettySystemFileCustomizableResponseType systemFile = null;
+        String entityTag = null;
+        if (type instanceof NettySystemFileCustomizableResponseType) {
+            systemFile = (NettySystemFileCustomizableResponseType) type;
+            entityTag = systemFile.getEntityTag();
+        }
+
         // Cache Validation
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
         ZonedDateTime ifModifiedSince = request.getHeaders().getDate(HttpHeaders.IF_MODIFIED_SINCE);
-        if (ifModifiedSince != null) {
+        if (entityTag != null && ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            if (matchesWeakly(ifNoneMatch, entityTag)) {
+                systemFile.closeFile();
+                FullHttpResponse nettyResponse = notModified();
+                nettyResponse.headers().set(HttpHeaders.ETAG, entityTag);
+                context.writeAndFlush(nettyResponse);
+                return;
+            }
+        } else if (ifModifiedSince != null) {
 
             // Only compare up to the second because the datetime format we send to the client
             // does not have milliseconds
             long ifModifiedSinceDateSeconds = ifModifiedSince.toEpochSecond();
             long fileLastModifiedSeconds = lastModified / 1000;
             if (ifModifiedSinceDateSeconds == fileLastModifiedSeconds) {
+                if (systemFile != null) {
+                    systemFile.closeFile();
+                }
                 FullHttpResponse nettyResponse = notModified();
                 context.writeAndFlush(nettyResponse);
                 return;
@@ -97,6 +123,28 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
         }
         setDateAndCacheHeaders(response, lastModified);
 
+        if (systemFile != null) {
+            response.header(HttpHeaders.ETAG, entityTag);
+            response.header(HttpHeaders.ACCEPT_RANGES, BYTES);
+
+            String range = request.getHeaders().get(HttpHeaders.RANGE);
+            if (range != null && request.getMethod() == HttpMethod.GET && isRangeApplicable(request, entityTag, lastModified)) {
+                long length = systemFile.getLength();
+                Optional<List<ByteRange>> ranges = ByteRange.parse(range, length);
+                if (ranges.isPresent()) {
+                    if (ranges.get().isEmpty()) {
+                        systemFile.closeFile();
+                        context.writeAndFlush(rangeNotSatisfiable(length));
+                    } else {
+                        systemFile.process(response);
+                        systemFile.writeRanges(request, response, context, ranges.get());
+                    }
+                    context.read();
+                    return;
+                }
+            }
+        }
+
         type.process(response);
         type.write(request, response, context);
         context.read();
@@ -146,6 +194,41 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
         headers.date(now);
     }
 
+    @SuppressWarnings("MagicNumber")
+    private boolean isRangeApplicable(HttpRequest<?> request, String entityTag, long lastModified) {
+        String ifRange = request.getHeaders().get(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith(WEAK_PREFIX)) {
+            // If-Range requires the strong comparison of entity tags
+            return ifRange.equals(entityTag);
+        }
+        ZonedDateTime ifRangeDate = request.getHeaders().getDate(HttpHeaders.IF_RANGE);
+        return ifRangeDate != null && ifRangeDate.toEpochSecond() == lastModified / 1000;
+    }
+
+    private boolean matchesWeakly(String ifNoneMatch, String entityTag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals("*") || tag.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FullHttpResponse rangeNotSatisfiable(long length) {
+        NettyMutableHttpResponse response = (NettyMutableHttpResponse) HttpResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        setDateHeader(response);
+        response.header(HttpHeaders.CONTENT_RANGE, BYTES + " */" + length);
+        return response.getNativeResponse();
+    }
+
     private FullHttpResponse notModified() {
         NettyMutableHttpResponse response = (NettyMutableHttpResponse) HttpResponse.notModified();
         setDateHeader(response);
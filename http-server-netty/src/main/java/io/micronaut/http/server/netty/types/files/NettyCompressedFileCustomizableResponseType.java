@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.http.server.netty.types.files;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MutableHttpResponse;
+
+import java.io.File;
+
+/**
+ * Writes a compressed representation of a file to the Netty context. The name of the original file determines the
+ * content type of the response and the encoding of the compressed file is sent as the {@code Content-Encoding}, so
+ * that compressed files are written with zero-copy file transfer like any other file. The last modified time is
+ * that of the original file, since the compressed file may be regenerated without the original changing.
+ *
+ * @since 1.0
+ */
+public class NettyCompressedFileCustomizableResponseType extends NettySystemFileCustomizableResponseType {
+
+    private final String name;
+    private final long lastModified;
+    private final String encoding;
+
+    /**
+     * @param compressedFile The compressed file
+     * @param name           The name of the original file
+     * @param lastModified   The last modified time of the original file
+     * @param encoding       The content coding of the compressed file
+     */
+    public NettyCompressedFileCustomizableResponseType(File compressedFile, String name, long lastModified, String encoding) {
+        super(compressedFile);
+        this.name = name;
+        this.lastModified = lastModified;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return The content coding of the compressed file
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    public String getEntityTag() {
+        // each representation needs a distinct entity tag
+        return "\"" + Long.toHexString(getLastModified()) + "-" + Long.toHexString(getLength()) + "-" + encoding + "\"";
+    }
+
+    @Override
+    public void process(MutableHttpResponse response) {
+        super.process(response);
+        response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
@@ -24,13 +24,17 @@ import io.micronaut.http.server.netty.SmartHttpContentCompressor;
 import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
 import io.micronaut.http.server.types.CustomizableResponseTypeException;
 import io.micronaut.http.server.types.files.SystemFileCustomizableResponseType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
@@ -40,7 +44,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Writes a {@link File} to the Netty context.
@@ -52,6 +59,7 @@ import java.util.Optional;
 public class NettySystemFileCustomizableResponseType extends SystemFileCustomizableResponseType implements NettyFileCustomizableResponseType {
 
     private static final int LENGTH_8K = 8192;
+    private static final String MULTIPART_BYTERANGES = "multipart/byteranges";
 
     protected final RandomAccessFile raf;
     protected final long rafLength;
@@ -97,6 +105,15 @@ public class NettySystemFileCustomizableResponseType extends SystemFileCustomiza
         return delegate.map(SystemFileCustomizableResponseType::getName).orElse(super.getName());
     }
 
+    /**
+     * The entity tag of the file, derived from its last modified date and its length.
+     *
+     * @return The entity tag
+     */
+    public String getEntityTag() {
+        return "\"" + Long.toHexString(getLastModified()) + "-" + Long.toHexString(getLength()) + "\"";
+    }
+
     /**
      * @param response The response to modify
      */
@@ -125,10 +142,7 @@ public class NettySystemFileCustomizableResponseType extends SystemFileCustomiza
             if (context.pipeline().get(SslHandler.class) == null && SmartHttpContentCompressor.shouldSkip(headers)) {
                 // SSL not enabled - can use zero-copy file transfer.
                 // Remove the content compressor to prevent incorrect behavior with zero-copy
-                HttpContentCompressor compressor = context.pipeline().get(HttpContentCompressor.class);
-                if (compressor != null) {
-                    context.pipeline().remove(HttpContentCompressor.class);
-                }
+                removeCompressor(context);
 
                 context.write(new DefaultFileRegion(raf.getChannel(), 0, getLength()), context.newProgressivePromise());
                 context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
@@ -147,4 +161,106 @@ public class NettySystemFileCustomizableResponseType extends SystemFileCustomiza
             throw new IllegalArgumentException("Unsupported response type. Not a Netty response: " + response);
         }
     }
+
+    /**
+     * Writes the given ranges of the file as a {@code 206 Partial Content} response. A single range is
+     * written as the body of the response, multiple ranges are written as a {@code multipart/byteranges} body.
+     * Without SSL the ranges are transferred with zero-copy file regions.
+     *
+     * @param request  The request
+     * @param response The response
+     * @param context  The channel handler context
+     * @param ranges   The satisfiable ranges to write
+     */
+    void writeRanges(HttpRequest<?> request, MutableHttpResponse<?> response, ChannelHandlerContext context, List<ByteRange> ranges) {
+        if (!(response instanceof NettyMutableHttpResponse)) {
+            throw new IllegalArgumentException("Unsupported response type. Not a Netty response: " + response);
+        }
+        FullHttpResponse nettyResponse = ((NettyMutableHttpResponse) response).getNativeResponse();
+        HttpHeaders headers = nettyResponse.headers();
+        long length = getLength();
+
+        List<Object> contents = new ArrayList<>(ranges.size() * 2 + 1);
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            headers.set(HttpHeaderNames.CONTENT_RANGE, range.toContentRange(length));
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, range.getLength());
+            contents.add(range);
+        } else {
+            String boundary = UUID.randomUUID().toString().replace("-", "");
+            CharSequence contentType = headers.get(HttpHeaderNames.CONTENT_TYPE);
+            long contentLength = 0;
+            for (int i = 0; i < ranges.size(); i++) {
+                ByteRange range = ranges.get(i);
+                StringBuilder partHeader = new StringBuilder();
+                if (i > 0) {
+                    partHeader.append("\r\n");
+                }
+                partHeader.append("--").append(boundary).append("\r\n");
+                if (contentType != null) {
+                    partHeader.append(HttpHeaderNames.CONTENT_TYPE).append(": ").append(contentType).append("\r\n");
+                }
+                partHeader.append(HttpHeaderNames.CONTENT_RANGE).append(": ").append(range.toContentRange(length)).append("\r\n\r\n");
+                ByteBuf part = ByteBufUtil.writeAscii(context.alloc(), partHeader);
+                contentLength += part.readableBytes() + range.getLength();
+                contents.add(part);
+                contents.add(range);
+            }
+            ByteBuf end = ByteBufUtil.writeAscii(context.alloc(), "\r\n--" + boundary + "--\r\n");
+            contentLength += end.readableBytes();
+            contents.add(end);
+            headers.set(HttpHeaderNames.CONTENT_TYPE, MULTIPART_BYTERANGES + "; boundary=" + boundary);
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        }
+
+        //The streams codec prevents non full responses from being written
+        Optional
+            .ofNullable(context.pipeline().get(NettyHttpServer.HTTP_STREAMS_CODEC))
+            .ifPresent(handler -> context.pipeline().replace(handler, "chunked-handler", new ChunkedWriteHandler()));
+        // A range is a range of the bytes of this file, which are already encoded for a compressed representation,
+        // so the response must not be compressed again
+        removeCompressor(context);
+
+        context.write(new DefaultHttpResponse(nettyResponse.protocolVersion(), HttpResponseStatus.PARTIAL_CONTENT, headers), context.voidPromise());
+
+        boolean zeroCopy = context.pipeline().get(SslHandler.class) == null;
+        try {
+            for (Object content : contents) {
+                if (content instanceof ByteRange) {
+                    ByteRange range = (ByteRange) content;
+                    if (zeroCopy) {
+                        // each region opens its own channel, which is closed once the region has been transferred
+                        context.write(new DefaultFileRegion(getFile(), range.getStart(), range.getLength()), context.newProgressivePromise());
+                    } else {
+                        context.write(new ChunkedFile(new RandomAccessFile(getFile(), "r"), range.getStart(), range.getLength(), LENGTH_8K), context.newProgressivePromise());
+                    }
+                } else {
+                    context.write(content, context.voidPromise());
+                }
+            }
+        } catch (IOException e) {
+            throw new CustomizableResponseTypeException("Could not read file", e);
+        } finally {
+            closeFile();
+        }
+        context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    /**
+     * Closes the file without writing it, for example if the response has no body.
+     */
+    void closeFile() {
+        try {
+            raf.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private void removeCompressor(ChannelHandlerContext context) {
+        HttpContentCompressor compressor = context.pipeline().get(HttpContentCompressor.class);
+        if (compressor != null) {
+            context.pipeline().remove(HttpContentCompressor.class);
+        }
+    }
 }
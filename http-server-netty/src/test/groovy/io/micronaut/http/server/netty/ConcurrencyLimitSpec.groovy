@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.0
+ */
+class ConcurrencyLimitSpec extends Specification {
+
+    void "test the limiter rejects requests beyond the share of their priority"() {
+        given:
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new NettyHttpServerConfiguration.ConcurrencyLimit(
+                initialLimit: 4,
+                minLimit: 1,
+                maxLimit: 10,
+                normalRatio: 0.5,
+                sheddableRatio: 0.25,
+                criticalPaths: ['/health/**'],
+                sheddablePaths: ['/reports/**']
+        ))
+
+        when:
+        def sheddable = limiter.tryAcquire('/reports/daily')
+
+        then:
+        sheddable != null
+        limiter.tryAcquire('/reports/weekly') == null
+
+        when:
+        def normal = limiter.tryAcquire('/books')
+
+        then:
+        normal != null
+        limiter.tryAcquire('/books') == null
+        limiter.tryAcquire('/health/liveness') != null
+        limiter.inFlight == 3
+
+        when:
+        limiter.release(normal, false)
+
+        then:
+        limiter.inFlight == 2
+        limiter.tryAcquire('/books') != null
+    }
+
+    void "test the limit shrinks when latency rises"() {
+        given:
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new NettyHttpServerConfiguration.ConcurrencyLimit(
+                initialLimit: 100,
+                minLimit: 10,
+                maxLimit: 1000
+        ))
+
+        when:"requests are fast"
+        100.times {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100)
+        }
+        int stableLimit = limiter.limit
+
+        and:"requests start to queue up"
+        100.times {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), 100)
+        }
+
+        then:
+        stableLimit > 100
+        limiter.limit < stableLimit
+        limiter.limit >= 10
+    }
+
+    void "test requests beyond the limit are rejected with 503"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.server.netty.concurrency-limit.enabled': true,
+                'micronaut.server.netty.concurrency-limit.initial-limit': 2,
+                'micronaut.server.netty.concurrency-limit.min-limit': 2,
+                'micronaut.server.netty.concurrency-limit.max-limit': 2,
+                'micronaut.server.netty.concurrency-limit.normal-ratio': 0.5,
+                'micronaut.server.netty.concurrency-limit.critical-paths': ['/limit/health']
+        ])
+        RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        LimitController.entered = new CountDownLatch(1)
+        LimitController.release = new CountDownLatch(1)
+
+        when:"a request occupies the share of normal requests"
+        def slow = client.retrieve(HttpRequest.GET('/limit/slow')).firstOrError().toFuture()
+        LimitController.entered.await(5, TimeUnit.SECONDS)
+        client.exchange(HttpRequest.GET('/limit/slow'), String).blockingFirst()
+
+        then:"further normal requests are rejected"
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+
+        when:"a critical request is received"
+        def response = client.exchange(HttpRequest.GET('/limit/health'), String).blockingFirst()
+
+        then:"it is still processed"
+        response.status == HttpStatus.OK
+
+        when:"the slow request completes"
+        LimitController.release.countDown()
+
+        then:"the permit of the slow request is returned and normal requests are accepted again"
+        slow.get(5, TimeUnit.SECONDS) == "slow"
+        new PollingConditions(timeout: 5).eventually {
+            assert client.retrieve(HttpRequest.GET('/limit/slow')).blockingFirst() == "slow"
+        }
+
+        cleanup:
+        LimitController.release?.countDown()
+        client.stop()
+        embeddedServer.stop()
+    }
+
+    @Controller('/limit')
+    static class LimitController {
+        static CountDownLatch entered
+        static CountDownLatch release
+
+        @Get('/slow')
+        String slow() {
+            entered.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            return "slow"
+        }
+
+        @Get('/health')
+        String health() {
+            return "ok"
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty
+
+import io.micronaut.http.server.HttpServerConfiguration
+import io.netty.buffer.Unpooled
+import io.netty.handler.codec.http.DefaultHttpRequest
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpVersion
+import io.netty.handler.codec.http.multipart.DiskFileUpload
+import io.netty.handler.codec.http.multipart.FileUpload
+import io.netty.handler.codec.http.multipart.MemoryFileUpload
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicLong
+
+class FormDataHttpDataFactorySpec extends Specification {
+
+    void "test file uploads exceeding the memory of a request are written to disk"() {
+        given:
+        def multipart = new HttpServerConfiguration.MultipartConfiguration(maxFileSize: 1024, maxRequestMemory: 2048)
+        def inFlightMemory = new AtomicLong()
+        def factory = new FormDataHttpDataFactory(multipart, StandardCharsets.UTF_8, inFlightMemory)
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload")
+
+        when:
+        List<FileUpload> uploads = (1..3).collect { upload(factory, request, it) }
+
+        then:
+        !(uploads[0] instanceof DiskFileUpload)
+        !(uploads[1] instanceof DiskFileUpload)
+        uploads[2] instanceof DiskFileUpload
+
+        when:"the data of the request is cleaned while the uploads are still referenced"
+        factory.cleanRequestHttpData(request)
+
+        then:"their memory remains reserved"
+        upload(factory, request, 4) instanceof DiskFileUpload
+
+        when:"an upload kept in memory is released"
+        uploads[0].release()
+
+        then:"its memory is returned"
+        !(upload(factory, request, 5) instanceof DiskFileUpload)
+
+        cleanup:
+        factory.cleanAllHttpData()
+    }
+
+    void "test file uploads exceeding the memory of all requests are written to disk"() {
+        given:
+        def multipart = new HttpServerConfiguration.MultipartConfiguration(maxFileSize: 4096, mixed: true, threshold: 1024, maxMemory: 1024)
+        def inFlightMemory = new AtomicLong()
+        def first = new FormDataHttpDataFactory(multipart, StandardCharsets.UTF_8, inFlightMemory)
+        def second = new FormDataHttpDataFactory(multipart, StandardCharsets.UTF_8, inFlightMemory)
+        def firstRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload")
+        def secondRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload")
+
+        when:
+        FileUpload firstUpload = upload(first, firstRequest, 1)
+        FileUpload secondUpload = upload(second, secondRequest, 1)
+
+        then:
+        !(firstUpload instanceof DiskFileUpload)
+        secondUpload instanceof DiskFileUpload
+        inFlightMemory.get() == 1024
+
+        when:"the upload kept in memory exceeds the threshold"
+        firstUpload.addContent(Unpooled.wrappedBuffer(new byte[2048]), false)
+
+        then:"it is written to disk and its memory is returned"
+        !firstUpload.isInMemory()
+        inFlightMemory.get() == 0
+
+        when:"the upload is released afterwards"
+        firstUpload.release()
+
+        then:"its memory is only returned once"
+        inFlightMemory.get() == 0
+
+        cleanup:
+        first.cleanRequestHttpData(firstRequest)
+        second.cleanRequestHttpData(secondRequest)
+    }
+
+    void "test the memory of the file uploads is not tracked without limits"() {
+        given:
+        def multipart = new HttpServerConfiguration.MultipartConfiguration(maxFileSize: 1024)
+        def inFlightMemory = new AtomicLong()
+        def factory = new FormDataHttpDataFactory(multipart, StandardCharsets.UTF_8, inFlightMemory)
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload")
+
+        when:
+        FileUpload upload = upload(factory, request, 1)
+
+        then:
+        upload instanceof MemoryFileUpload
+        inFlightMemory.get() == 0
+
+        cleanup:
+        upload.release()
+        factory.cleanAllHttpData()
+    }
+
+    private FileUpload upload(FormDataHttpDataFactory factory, DefaultHttpRequest request, int index) {
+        factory.createFileUpload(request, "file$index", "file${index}.txt", "text/plain", null, StandardCharsets.UTF_8, 0)
+    }
+}
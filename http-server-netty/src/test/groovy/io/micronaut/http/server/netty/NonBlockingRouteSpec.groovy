@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.NonBlocking
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Produces
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.filter.FilterChain
+import io.micronaut.http.filter.HttpFilter
+import io.netty.channel.EventLoopGroup
+import io.netty.util.concurrent.EventExecutor
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+
+/**
+ * Tests the responses of non-blocking routes that are written directly from the event loop.
+ */
+class NonBlockingRouteSpec extends AbstractMicronautSpec {
+
+    static volatile Thread routeThread
+    static volatile boolean routedThroughPublisher
+
+    void "test a non-blocking route without filters is executed directly on the event loop"() {
+        when:
+        String body = rxClient.retrieve('/non-blocking/text').blockingFirst()
+
+        then:
+        body == 'hello'
+        isEventLoop(routeThread)
+        !routedThroughPublisher
+    }
+
+    void "test a non-blocking route with a filter is not executed directly"() {
+        when:
+        HttpResponse<String> response = rxClient.exchange('/non-blocking/filtered', String).blockingFirst()
+
+        then:
+        response.body() == 'filtered'
+        response.header('X-Filtered') == 'true'
+        isEventLoop(routeThread)
+        routedThroughPublisher
+    }
+
+    void "test a blocking route is not executed directly"() {
+        when:
+        String body = rxClient.retrieve('/blocking-route/text').blockingFirst()
+
+        then:
+        body == 'blocking'
+        !isEventLoop(routeThread)
+        routedThroughPublisher
+    }
+
+    void "test a non-blocking route returning a POJO"() {
+        when:
+        HttpResponse<Map> response = rxClient.exchange('/non-blocking/pojo', Map).blockingFirst()
+
+        then:
+        response.status() == HttpStatus.OK
+        response.contentType.get() == MediaType.APPLICATION_JSON_TYPE
+        response.body() == [name: 'Fred']
+    }
+
+    void "test a non-blocking route returning text"() {
+        when:
+        HttpResponse<String> response = rxClient.exchange('/non-blocking/text', String).blockingFirst()
+
+        then:
+        response.status() == HttpStatus.OK
+        response.contentType.get() == MediaType.TEXT_PLAIN_TYPE
+        response.header('Content-Length') == '5'
+        response.body() == 'hello'
+    }
+
+    void "test a non-blocking route returning a response with a status"() {
+        when:
+        HttpResponse<String> response = rxClient.exchange('/non-blocking/created', String).blockingFirst()
+
+        then:
+        response.status() == HttpStatus.CREATED
+        response.body() == 'created'
+    }
+
+    void "test a non-blocking route returning null"() {
+        when:
+        rxClient.exchange('/non-blocking/missing').blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.NOT_FOUND
+    }
+
+    void "test a non-blocking route returning an error status"() {
+        when:
+        rxClient.exchange('/non-blocking/bad').blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.BAD_REQUEST
+    }
+
+    void "test a non-blocking route that throws an exception"() {
+        when:
+        rxClient.exchange(HttpRequest.GET('/non-blocking/error')).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.INTERNAL_SERVER_ERROR
+        e.message == 'Internal Server Error: Bad things happened'
+    }
+
+    void "test multiple requests on the same connection"() {
+        expect:
+        (1..10).every {
+            rxClient.retrieve('/non-blocking/text').blockingFirst() == 'hello'
+        }
+    }
+
+    private boolean isEventLoop(Thread thread) {
+        EventLoopGroup workerGroup = ((NettyHttpServer) embeddedServer).workerGroup
+        workerGroup.any { EventExecutor executor -> executor.inEventLoop(thread) }
+    }
+
+    private static void recordRoute() {
+        routeThread = Thread.currentThread()
+        // the publisher path executes non-reactive routes from within the result emitter
+        routedThroughPublisher = routeThread.stackTrace.any {
+            it.className == RoutingInBoundHandler.name && it.methodName.contains('buildResultEmitter')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'NonBlockingRouteSpec')
+    @Controller('/non-blocking')
+    @NonBlocking
+    static class NonBlockingController {
+
+        @Get('/pojo')
+        Person pojo() {
+            new Person(name: 'Fred')
+        }
+
+        @Get('/text')
+        @Produces(MediaType.TEXT_PLAIN)
+        String text() {
+            recordRoute()
+            'hello'
+        }
+
+        @Get('/filtered')
+        @Produces(MediaType.TEXT_PLAIN)
+        String filtered() {
+            recordRoute()
+            'filtered'
+        }
+
+        @Get('/created')
+        @Produces(MediaType.TEXT_PLAIN)
+        HttpResponse<String> created() {
+            HttpResponse.created('created')
+        }
+
+        @Get('/missing')
+        Person missing() {
+            null
+        }
+
+        @Get('/bad')
+        HttpStatus bad() {
+            HttpStatus.BAD_REQUEST
+        }
+
+        @Get('/error')
+        String error() {
+            throw new RuntimeException('Bad things happened')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'NonBlockingRouteSpec')
+    @Controller('/blocking-route')
+    static class BlockingController {
+
+        @Get('/text')
+        @Produces(MediaType.TEXT_PLAIN)
+        String text() {
+            recordRoute()
+            'blocking'
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'NonBlockingRouteSpec')
+    @Filter('/non-blocking/filtered')
+    static class HeaderFilter implements HttpFilter {
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+            Flowable.fromPublisher(chain.proceed(request)).map({ HttpResponse<?> response ->
+                ((MutableHttpResponse<?>) response).header('X-Filtered', 'true')
+            })
+        }
+    }
+
+    static class Person {
+        String name
+    }
+}
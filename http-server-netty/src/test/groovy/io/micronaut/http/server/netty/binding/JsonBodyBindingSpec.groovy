@@ -169,6 +169,43 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
     }
 
 
+    void "test large POGO array body parsing"() {
+        when:
+        def json = '[' + (1..5000).collect { '{"name":"Fred' + it + '", "age":' + it + '}' }.join(',') + ']'
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/list', json), String
+        ).blockingFirst()
+
+        then:
+        response.body().startsWith("Body: Foo(Fred1, 1),Foo(Fred2, 2)")
+        response.body().endsWith("Foo(Fred5000, 5000)")
+    }
+
+    void "test POGO body parsing with invalid JSON"() {
+        when:
+        def json = '{"name":Fred}'
+        rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.status == HttpStatus.BAD_REQUEST
+        e.message.startsWith('Invalid JSON')
+    }
+
+    void "test POGO body parsing with a value that cannot be converted"() {
+        when:
+        def json = '{"name":"Fred", "age":"ten"}'
+        rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.status == HttpStatus.BAD_REQUEST
+    }
+
     void "test array POGO body parsing"() {
         when:
         def json = '[{"name":"Fred", "age":10},{"name":"Barney", "age":11}]'
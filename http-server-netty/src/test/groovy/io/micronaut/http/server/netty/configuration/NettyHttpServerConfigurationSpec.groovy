@@ -67,6 +67,38 @@ class NettyHttpServerConfigurationSpec extends Specification {
         beanContext.close()
     }
 
+    void "test netty server transport configuration"() {
+        given:
+        ApplicationContext beanContext = new DefaultApplicationContext("test")
+        beanContext.environment.addPropertySource(PropertySource.of("test",
+                ['micronaut.server.netty.useNativeTransport': false,
+                'micronaut.server.netty.reusePort': true,
+                'micronaut.server.netty.tcpFastOpen': 256,
+                'micronaut.server.netty.edgeTriggered': false]
+
+        ))
+        beanContext.start()
+
+        when:
+        NettyHttpServerConfiguration config = beanContext.getBean(NettyHttpServerConfiguration)
+
+        then:
+        !config.useNativeTransport
+        config.reusePort
+        config.tcpFastOpen == 256
+        !config.edgeTriggered
+
+        when:"the server is started with the nio transport"
+        NettyHttpServer server = beanContext.getBean(NettyHttpServer)
+        server.start()
+
+        then:"options not supported by the transport are ignored"
+        server.isRunning()
+
+        cleanup:
+        beanContext.close()
+    }
+
     void "test cors configuration"() {
         given:
         ApplicationContext beanContext = new DefaultApplicationContext("test")
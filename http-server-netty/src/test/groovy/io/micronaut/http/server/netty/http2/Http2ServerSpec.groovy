@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.http2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.socket.SocketUtils
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.bootstrap.Bootstrap
+import io.netty.buffer.ByteBufAllocator
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandler
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.SimpleChannelInboundHandler
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.nio.NioSocketChannel
+import io.netty.handler.codec.http.DefaultFullHttpRequest
+import io.netty.handler.codec.http.FullHttpRequest
+import io.netty.handler.codec.http.FullHttpResponse
+import io.netty.handler.codec.http.HttpClientCodec
+import io.netty.handler.codec.http.HttpClientUpgradeHandler
+import io.netty.handler.codec.http.HttpHeaderNames
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpScheme
+import io.netty.handler.codec.http.HttpVersion
+import io.netty.handler.codec.http2.DefaultHttp2Connection
+import io.netty.handler.codec.http2.Http2ClientUpgradeCodec
+import io.netty.handler.codec.http2.Http2Connection
+import io.netty.handler.codec.http2.Http2SecurityUtil
+import io.netty.handler.codec.http2.HttpConversionUtil
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler
+import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandlerBuilder
+import io.netty.handler.codec.http2.InboundHttp2ToHttpAdapterBuilder
+import io.netty.handler.ssl.ApplicationProtocolConfig
+import io.netty.handler.ssl.ApplicationProtocolNames
+import io.netty.handler.ssl.SslContext
+import io.netty.handler.ssl.SslContextBuilder
+import io.netty.handler.ssl.SslHandler
+import io.netty.handler.ssl.SslProvider
+import io.netty.handler.ssl.SupportedCipherSuiteFilter
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * @since 1.0
+ */
+class Http2ServerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'micronaut.server.netty.http2.enabled': true,
+            'micronaut.server.netty.http2.maxConcurrentStreams': 50
+    ])
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+    @Shared
+    @AutoCleanup('shutdownGracefully')
+    NioEventLoopGroup group = new NioEventLoopGroup(1)
+
+    void "test http2 configuration"() {
+        given:
+        NettyHttpServerConfiguration config = embeddedServer.applicationContext.getBean(NettyHttpServerConfiguration)
+
+        expect:
+        config.http2Enabled
+        config.http2.maxConcurrentStreams == 50
+    }
+
+    void "test HTTP/1.1 requests are served when HTTP/2 is enabled"() {
+        when:
+        String body = client.retrieve(HttpRequest.GET('/http2/hello'), String).blockingFirst()
+
+        then:
+        body == "Hello World"
+    }
+
+    void "test the request of a cleartext h2c upgrade is answered on stream 1"() {
+        given:
+        BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<>()
+        HttpToHttp2ConnectionHandler connectionHandler = newConnectionHandler()
+        HttpClientCodec sourceCodec = new HttpClientCodec()
+        Channel channel = connect(embeddedServer.port,
+                sourceCodec,
+                new HttpClientUpgradeHandler(sourceCodec, new Http2ClientUpgradeCodec(connectionHandler), 65536),
+                new ResponseCollector(responses))
+
+        when: "the request that carries the upgrade header is sent"
+        channel.writeAndFlush(newRequest('/http2/hello'))
+        FullHttpResponse response = responses.poll(10, TimeUnit.SECONDS)
+
+        then: "it is answered over HTTP/2 on stream 1"
+        response != null
+        response.status().code() == 200
+        response.headers().getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()) == 1
+        response.content().toString(StandardCharsets.UTF_8) == "Hello World"
+
+        and: "the HTTP/1.1 codec has been replaced"
+        channel.pipeline().get(HttpClientCodec) == null
+
+        when: "another request is sent on the upgraded connection"
+        response.release()
+        channel.writeAndFlush(newRequest('/http2/echo/second'))
+        response = responses.poll(10, TimeUnit.SECONDS)
+
+        then: "it is answered on a new stream"
+        response != null
+        response.status().code() == 200
+        response.headers().getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()) == 3
+        response.content().toString(StandardCharsets.UTF_8) == "second"
+
+        cleanup:
+        response?.release()
+        channel?.close()?.sync()
+    }
+
+    void "test HTTP/2 with prior knowledge is served"() {
+        given:
+        BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<>()
+        Channel channel = connect(embeddedServer.port, newConnectionHandler(), new ResponseCollector(responses))
+
+        when:
+        channel.writeAndFlush(newRequest('/http2/hello'))
+        FullHttpResponse response = responses.poll(10, TimeUnit.SECONDS)
+
+        then:
+        response != null
+        response.status().code() == 200
+        response.content().toString(StandardCharsets.UTF_8) == "Hello World"
+
+        cleanup:
+        response?.release()
+        channel?.close()?.sync()
+    }
+
+    @IgnoreIf({ !SslProvider.isAlpnSupported(SslProvider.JDK) && !SslProvider.isAlpnSupported(SslProvider.OPENSSL) })
+    void "test HTTP/2 is negotiated with ALPN over TLS"() {
+        given:
+        int port = SocketUtils.findAvailableTcpPort()
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.server.netty.http2.enabled': true,
+                'micronaut.ssl.enabled': true,
+                'micronaut.ssl.buildSelfSigned': true,
+                'micronaut.ssl.port': port
+        ])
+        SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK
+        SslContext sslContext = SslContextBuilder.forClient()
+                .sslProvider(provider)
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2,
+                        ApplicationProtocolNames.HTTP_1_1))
+                .build()
+        BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<>()
+        SslHandler sslHandler = sslContext.newHandler(ByteBufAllocator.DEFAULT, server.host, port)
+        Channel channel = connect(port, sslHandler, newConnectionHandler(), new ResponseCollector(responses))
+
+        when:
+        sslHandler.handshakeFuture().sync()
+        FullHttpRequest request = newRequest('/http2/hello')
+        request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), HttpScheme.HTTPS.name())
+        channel.writeAndFlush(request)
+        FullHttpResponse response = responses.poll(10, TimeUnit.SECONDS)
+
+        then:
+        sslHandler.applicationProtocol() == ApplicationProtocolNames.HTTP_2
+        response != null
+        response.status().code() == 200
+        response.content().toString(StandardCharsets.UTF_8) == "Hello World"
+
+        cleanup:
+        response?.release()
+        channel?.close()?.sync()
+        server?.stop()
+    }
+
+    private Channel connect(int port, ChannelHandler... handlers) {
+        new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(handlers)
+                    }
+                })
+                .connect(embeddedServer.host, port)
+                .sync()
+                .channel()
+    }
+
+    private static HttpToHttp2ConnectionHandler newConnectionHandler() {
+        Http2Connection connection = new DefaultHttp2Connection(false)
+        new HttpToHttp2ConnectionHandlerBuilder()
+                .connection(connection)
+                .frameListener(new InboundHttp2ToHttpAdapterBuilder(connection)
+                        .maxContentLength(65536)
+                        .propagateSettings(false)
+                        .build())
+                .build()
+    }
+
+    private FullHttpRequest newRequest(String uri) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri)
+        request.headers().set(HttpHeaderNames.HOST, "${embeddedServer.host}:${embeddedServer.port}".toString())
+        request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), HttpScheme.HTTP.name())
+        request
+    }
+
+    /**
+     * Collects the responses, which the HTTP/2 connection handler converts to HTTP/1.1 messages.
+     */
+    static class ResponseCollector extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+        private final BlockingQueue<FullHttpResponse> responses
+
+        ResponseCollector(BlockingQueue<FullHttpResponse> responses) {
+            this.responses = responses
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+            responses.add(msg.retain())
+        }
+    }
+
+    @Controller('/http2')
+    static class Http2Controller {
+
+        @Get(value = '/hello', produces = 'text/plain')
+        String hello() {
+            "Hello World"
+        }
+
+        @Get(value = '/echo/{text}', produces = 'text/plain')
+        String echo(String text) {
+            text
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.jackson
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.type.Argument
+import io.micronaut.jackson.codec.JsonMediaTypeCodec
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import io.netty.buffer.Unpooled
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class JsonMediaTypeCodecBufferSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared JsonMediaTypeCodec codec = context.getBean(JsonMediaTypeCodec)
+
+    void "test decode reads from the buffer without consuming it"() {
+        given:
+        ByteBuf byteBuf = Unpooled.copiedBuffer('{"name":"Fred","age":10}', StandardCharsets.UTF_8)
+        ByteBuffer buffer = NettyByteBufferFactory.DEFAULT.wrap(byteBuf)
+
+        when:
+        Map map = codec.decode(Argument.of(Map, String, Object), buffer)
+        Person person = codec.decode(Argument.of(Person), buffer)
+
+        then:
+        map == [name: 'Fred', age: 10]
+        person.name == 'Fred'
+        person.age == 10
+        byteBuf.readerIndex() == 0
+
+        cleanup:
+        byteBuf.release()
+    }
+
+    void "test encode writes into a buffer from the allocator"() {
+        given:
+        NettyByteBufferFactory factory = new NettyByteBufferFactory(PooledByteBufAllocator.DEFAULT)
+
+        when:
+        ByteBuffer buffer = codec.encode(new Person(name: 'Fred', age: 10), factory)
+        ByteBuf byteBuf = (ByteBuf) buffer.asNativeBuffer()
+
+        then:
+        byteBuf.alloc() == PooledByteBufAllocator.DEFAULT
+        byteBuf.toString(StandardCharsets.UTF_8) == '{"name":"Fred","age":10}'
+
+        cleanup:
+        byteBuf.release()
+    }
+
+    static class Person {
+        String name
+        Integer age
+    }
+}
@@ -22,18 +22,25 @@ import io.micronaut.http.client.RxHttpClient
 import io.micronaut.http.server.netty.AbstractMicronautSpec
 import io.micronaut.runtime.server.EmbeddedServer
 import spock.lang.Ignore
+import spock.util.concurrent.PollingConditions
 
+import java.nio.file.Files
 import java.nio.file.Paths
 import java.time.Instant
 import java.time.ZoneId
 import java.time.ZonedDateTime
+import java.util.zip.GZIPOutputStream
 
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING
 import static io.micronaut.http.HttpHeaders.CACHE_CONTROL
+import static io.micronaut.http.HttpHeaders.CONTENT_ENCODING
 import static io.micronaut.http.HttpHeaders.CONTENT_LENGTH
 import static io.micronaut.http.HttpHeaders.CONTENT_TYPE
 import static io.micronaut.http.HttpHeaders.DATE
+import static io.micronaut.http.HttpHeaders.ETAG
 import static io.micronaut.http.HttpHeaders.EXPIRES
 import static io.micronaut.http.HttpHeaders.LAST_MODIFIED
+import static io.micronaut.http.HttpHeaders.VARY
 
 class StaticResourceResolutionSpec extends AbstractMicronautSpec {
 
@@ -195,4 +202,100 @@ class StaticResourceResolutionSpec extends AbstractMicronautSpec {
         cleanup:
         embeddedServer.stop()
     }
+
+    void "test precompressed siblings are served to clients that accept them"() {
+        given:
+        File dir = Files.createTempDirectory("precompressed").toFile()
+        new File(dir, "app.js").text = "var app = 'original';"
+        new File(dir, "app.js.gz").withOutputStream { out ->
+            new GZIPOutputStream(out).withStream { it.write("var app = 'gzip';".bytes) }
+        }
+        new File(dir, "app.js.br").bytes = [1, 2, 3, 4] as byte[]
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.router.static.resources.paths': ['file:' + dir.absolutePath],
+                'micronaut.router.static.resources.enabled': true,
+                'micronaut.router.static.resources.precompressed': true], 'test')
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when: "the client accepts gzip"
+        def response = rxClient.exchange(
+                HttpRequest.GET("/app.js").header(ACCEPT_ENCODING, "gzip, deflate"), String
+        ).blockingFirst()
+
+        then: "the gzip sibling is served"
+        response.status == HttpStatus.OK
+        response.header(CONTENT_TYPE) == "application/javascript"
+        response.header(VARY) == ACCEPT_ENCODING
+        response.body() == "var app = 'gzip';"
+
+        when: "the client accepts brotli"
+        response = rxClient.exchange(
+                HttpRequest.GET("/app.js").header(ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.5"), byte[]
+        ).blockingFirst()
+
+        then: "the brotli sibling is served"
+        response.header(CONTENT_ENCODING) == "br"
+        response.header(CONTENT_LENGTH) == "4"
+
+        when: "the client does not accept compression"
+        response = rxClient.exchange(
+                HttpRequest.GET("/app.js").header(ACCEPT_ENCODING, "identity, gzip;q=0"), String
+        ).blockingFirst()
+
+        then: "the file itself is served"
+        response.header(CONTENT_ENCODING) == null
+        response.body() == "var app = 'original';"
+
+        cleanup:
+        embeddedServer.stop()
+        dir.deleteDir()
+    }
+
+    void "test text resources are compressed once and served from the cache"() {
+        given:
+        File dir = Files.createTempDirectory("compress").toFile()
+        String content = "<html><body>${'Compressible content. ' * 200}</body></html>"
+        new File(dir, "large.html").text = content
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.router.static.resources.paths': ['file:' + dir.absolutePath],
+                'micronaut.router.static.resources.enabled': true,
+                'micronaut.router.static.resources.compress': true], 'test')
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        PollingConditions conditions = new PollingConditions(timeout: 5, delay: 0.1)
+
+        when: "the resource is requested before its compressed copy exists"
+        def first = rxClient.exchange(
+                HttpRequest.GET("/large.html").header(ACCEPT_ENCODING, "gzip"), String
+        ).blockingFirst()
+
+        then: "the uncompressed representation is served and varies by encoding"
+        first.header(VARY) == ACCEPT_ENCODING
+        first.header(CONTENT_TYPE) == "text/html"
+        first.body() == content
+
+        and: "later requests are served the compressed copy"
+        conditions.eventually {
+            def response = rxClient.exchange(
+                    HttpRequest.GET("/large.html").header(ACCEPT_ENCODING, "gzip"), String
+            ).blockingFirst()
+            assert response.header(ETAG).endsWith('-gzip"')
+            assert response.header(VARY) == ACCEPT_ENCODING
+            assert response.body() == content
+            // the compressed copy reports the last modified time of the original file
+            assert response.headers.getDate(LAST_MODIFIED).toEpochSecond() == new File(dir, "large.html").lastModified().intdiv(1000)
+        }
+        !dir.listFiles().any { it.name.endsWith(".gz") }
+
+        when: "a client that does not accept compression requests it"
+        def identity = rxClient.exchange(HttpRequest.GET("/large.html"), String).blockingFirst()
+
+        then: "the uncompressed representation still varies by encoding"
+        identity.header(VARY) == ACCEPT_ENCODING
+        !identity.header(ETAG).endsWith('-gzip"')
+        identity.body() == content
+
+        cleanup:
+        embeddedServer.stop()
+        dir.deleteDir()
+    }
 }
@@ -74,6 +74,89 @@ class FileTypeHandlerSpec extends AbstractMicronautSpec {
         response.header(DATE)
     }
 
+    void "test 304 is returned if the entity tag matches"() {
+        when:
+        def response = rxClient.exchange('/test/html', String).blockingFirst()
+        String etag = response.header(ETAG)
+
+        then:
+        etag
+        response.header(ACCEPT_RANGES) == "bytes"
+
+        when:
+        response = rxClient.exchange(HttpRequest.GET('/test/html').header(IF_NONE_MATCH, "W/$etag"), String).blockingFirst()
+
+        then:
+        response.code() == HttpStatus.NOT_MODIFIED.code
+        response.header(ETAG) == etag
+
+        when:
+        response = rxClient.exchange(HttpRequest.GET('/test/html').header(IF_NONE_MATCH, '"other"'), String).blockingFirst()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        response.body() == "<html><head></head><body>HTML Page</body></html>"
+    }
+
+    void "test a single byte range is returned"() {
+        when:
+        def response = rxClient.exchange(HttpRequest.GET('/test/html').header(RANGE, range), String).blockingFirst()
+
+        then:
+        response.code() == HttpStatus.PARTIAL_CONTENT.code
+        response.header(CONTENT_RANGE) == contentRange
+        response.header(CONTENT_LENGTH) == String.valueOf(body.length())
+        response.header(CONTENT_TYPE) == "text/html"
+        response.body() == body
+
+        where:
+        range          | contentRange     | body
+        "bytes=0-5"    | "bytes 0-5/48"   | "<html>"
+        "bytes=-7"     | "bytes 41-47/48" | "</html>"
+        "bytes=41-"    | "bytes 41-47/48" | "</html>"
+        "bytes=41-100" | "bytes 41-47/48" | "</html>"
+    }
+
+    void "test multiple byte ranges are returned as multipart"() {
+        when:
+        def response = rxClient.exchange(HttpRequest.GET('/test/html').header(RANGE, "bytes=0-5,-7"), String).blockingFirst()
+        String contentType = response.header(CONTENT_TYPE)
+        String boundary = contentType.substring(contentType.indexOf("boundary=") + 9)
+
+        then:
+        response.code() == HttpStatus.PARTIAL_CONTENT.code
+        contentType.startsWith("multipart/byteranges; boundary=")
+        response.header(CONTENT_LENGTH) == String.valueOf(response.body().length())
+        response.body() == "--$boundary\r\nContent-Type: text/html\r\nContent-Range: bytes 0-5/48\r\n\r\n<html>" +
+            "\r\n--$boundary\r\nContent-Type: text/html\r\nContent-Range: bytes 41-47/48\r\n\r\n</html>" +
+            "\r\n--$boundary--\r\n"
+    }
+
+    void "test 416 is returned for an unsatisfiable range"() {
+        when:
+        rxClient.exchange(HttpRequest.GET('/test/html').header(RANGE, "bytes=100-200"), String).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.code() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.code
+        e.response.header(CONTENT_RANGE) == "bytes */48"
+    }
+
+    void "test the whole file is returned if the range is invalid or If-Range does not match"() {
+        when:
+        def response = rxClient.exchange(HttpRequest.GET('/test/html').header(RANGE, range).header(IF_RANGE, ifRange), String).blockingFirst()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        response.body() == "<html><head></head><body>HTML Page</body></html>"
+
+        where:
+        range         | ifRange
+        "bytes=5-1"   | '"abc"'
+        "items=0-5"   | '"abc"'
+        "bytes=0-5"   | '"abc"'
+    }
+
     void "test what happens when a file isn't found"() {
         when:
         rxClient.exchange('/test/not-found', String).blockingFirst()
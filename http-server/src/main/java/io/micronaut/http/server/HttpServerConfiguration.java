@@ -190,6 +190,13 @@ public class HttpServerConfiguration {
         protected long maxFileSize = 1024 * 1024; // 1MB
         protected boolean enabled = true;
         protected boolean disk = false;
+        protected boolean mixed = false;
+        @ReadableBytes
+        protected long threshold = 1024 * 16; // 16KB
+        @ReadableBytes
+        protected long maxMemory = -1;
+        @ReadableBytes
+        protected long maxRequestMemory = -1;
 
         /**
          * @return The location to store temporary files
@@ -219,6 +226,38 @@ public class HttpServerConfiguration {
         public boolean isDisk() {
             return disk;
         }
+
+        /**
+         * @return Whether to keep parts in memory until they exceed the {@link #getThreshold() threshold} and
+         * write them to disk afterwards. Defaults to false.
+         */
+        public boolean isMixed() {
+            return mixed;
+        }
+
+        /**
+         * @return The size in bytes beyond which a part is written to disk if {@link #isMixed() mixed} is enabled.
+         * Defaults to 16KB
+         */
+        public long getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * @return The maximum memory in bytes that file uploads of all requests may hold at once. Uploads that
+         * would exceed it are written to disk. Defaults to -1, which means no limit
+         */
+        public long getMaxMemory() {
+            return maxMemory;
+        }
+
+        /**
+         * @return The maximum memory in bytes that the file uploads of a single request may hold at once. Uploads
+         * that would exceed it are written to disk. Defaults to -1, which means no limit
+         */
+        public long getMaxRequestMemory() {
+            return maxRequestMemory;
+        }
     }
 
     /**
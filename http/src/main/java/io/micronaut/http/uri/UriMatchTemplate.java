@@ -38,8 +38,12 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
     protected static final String VARIABLE_MATCH_PATTERN = "([^\\/\\?#&;\\+]";
     protected StringBuilder pattern;
     protected List<String> variableList;
+    protected List<String> literalList;
+    protected boolean regexRequired;
     private final Pattern matchPattern;
     private final String[] variables;
+    private final String[] literals;
+    private final boolean exactMatch;
     private final boolean isRoot;
 
     /**
@@ -62,12 +66,15 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
         this.matchPattern = Pattern.compile(pattern.toString());
         this.variables = variableList.toArray(new String[variableList.size()]);
+        this.literals = literalList.toArray(new String[literalList.size()]);
+        this.exactMatch = !regexRequired && isExactMatchable(literals);
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
         // cleanup / reduce memory consumption
         this.pattern = null;
         this.variableList = null;
+        this.literalList = null;
     }
 
     /**
@@ -77,9 +84,23 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
      * @param variables      The variables
      */
     protected UriMatchTemplate(CharSequence templateString, List<PathSegment> segments, Pattern matchPattern, String... variables) {
+        this(templateString, segments, matchPattern, null, false, variables);
+    }
+
+    /**
+     * @param templateString The template
+     * @param segments       The list of segments
+     * @param matchPattern   The match pattern
+     * @param literals       The literal text before, between and after the variables
+     * @param exactMatch     Whether the template can be matched without the match pattern
+     * @param variables      The variables
+     */
+    protected UriMatchTemplate(CharSequence templateString, List<PathSegment> segments, Pattern matchPattern, String[] literals, boolean exactMatch, String... variables) {
         super(templateString.toString(), segments);
         this.matchPattern = matchPattern;
         this.variables = variables;
+        this.literals = literals;
+        this.exactMatch = exactMatch && literals != null && literals.length == variables.length + 1;
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
@@ -89,11 +110,13 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
      * @param uriTemplate The template
      * @param newSegments The list of new segments
      * @param newPattern  The list of new patters
+     * @param literals    The literal text before, between and after the variables
+     * @param exactMatch  Whether the template can be matched without the match pattern
      * @param variables   The variables
      * @return An instance of {@link UriMatchTemplate}
      */
-    protected UriMatchTemplate newUriMatchTemplate(CharSequence uriTemplate, List<PathSegment> newSegments, Pattern newPattern, String[] variables) {
-        return new UriMatchTemplate(uriTemplate, newSegments, newPattern, variables);
+    protected UriMatchTemplate newUriMatchTemplate(CharSequence uriTemplate, List<PathSegment> newSegments, Pattern newPattern, String[] literals, boolean exactMatch, String[] variables) {
+        return new UriMatchTemplate(uriTemplate, newSegments, newPattern, literals, exactMatch, variables);
     }
 
     /**
@@ -103,6 +126,19 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return Arrays.asList(variables);
     }
 
+    /**
+     * Returns the literal text that any URI matched by this template starts with. Used to index templates by prefix
+     * so that only the templates that can possibly match a URI are evaluated.
+     *
+     * @return The literal prefix, never null
+     */
+    public String getLiteralPrefix() {
+        if (isRoot || literals == null) {
+            return "";
+        }
+        return literals[0];
+    }
+
     /**
      * Match the given URI string.
      *
@@ -127,6 +163,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         if (parameterIndex > -1) {
             uri = uri.substring(0, parameterIndex);
         }
+        if (exactMatch) {
+            return matchExact(uri);
+        }
         Matcher matcher = matchPattern.matcher(uri);
         if (matcher.matches()) {
             if (variables.length == 0) {
@@ -149,6 +188,46 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return Optional.empty();
     }
 
+    /**
+     * Matches the URI without the regular expression. Only used for templates consisting of literal text and
+     * simple variables that are each followed by a forward slash or the end of the template, in which case each
+     * variable extends to the next reserved character and the result is identical to the pattern.
+     *
+     * @param uri The normalized URI
+     * @return The match info
+     */
+    private Optional<UriMatchInfo> matchExact(String uri) {
+        String prefix = literals[0];
+        if (!uri.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        int len = uri.length();
+        int pos = prefix.length();
+        if (variables.length == 0) {
+            return pos == len ? Optional.of(new DefaultUriMatchInfo(uri, Collections.emptyMap())) : Optional.empty();
+        }
+        Map<String, Object> variableMap = new LinkedHashMap<>();
+        for (int i = 0; i < variables.length; i++) {
+            int end = pos;
+            while (end < len && !isReservedCharacter(uri.charAt(end))) {
+                end++;
+            }
+            if (end == pos) {
+                return Optional.empty();
+            }
+            String next = literals[i + 1];
+            if (!uri.startsWith(next, end)) {
+                return Optional.empty();
+            }
+            variableMap.put(variables[i], uri.substring(pos, end));
+            pos = end + next.length();
+        }
+        if (pos != len) {
+            return Optional.empty();
+        }
+        return Optional.of(new DefaultUriMatchInfo(uri, variableMap));
+    }
+
     @Override
     public UriMatchTemplate nest(CharSequence uriTemplate) {
         return (UriMatchTemplate) super.nest(uriTemplate);
@@ -170,20 +249,59 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         List<String> newList = new ArrayList<>();
         newList.addAll(Arrays.asList(variables));
         newList.addAll(variableList);
+        String[] newLiterals = null;
+        boolean newExactMatch = false;
+        if (literals != null) {
+            List<String> literalParts = new ArrayList<>(Arrays.asList(literals));
+            int last = literalParts.size() - 1;
+            literalParts.set(last, literalParts.get(last) + literalList.get(0));
+            literalParts.addAll(literalList.subList(1, literalList.size()));
+            newLiterals = literalParts.toArray(new String[literalParts.size()]);
+            newExactMatch = exactMatch && !regexRequired && isExactMatchable(newLiterals);
+        }
         pattern = null;
         variableList = null;
+        literalList = null;
         String[] variables = newList.toArray(new String[newList.size()]);
-        return newUriMatchTemplate(uriTemplate, newSegments, newPattern, variables);
+        return newUriMatchTemplate(uriTemplate, newSegments, newPattern, newLiterals, newExactMatch, variables);
     }
 
     @Override
     protected UriTemplateParser createParser(String templateString, Object... parserArguments) {
         this.pattern = new StringBuilder();
         this.variableList = new ArrayList<>();
+        this.literalList = new ArrayList<>();
+        this.literalList.add("");
+        this.regexRequired = false;
         return new UriMatchTemplateParser(templateString, this);
 
     }
 
+    private static boolean isExactMatchable(String[] literals) {
+        for (int i = 1; i < literals.length; i++) {
+            String literal = literals[i];
+            boolean isLast = i == literals.length - 1;
+            if (literal.length() == 0 ? !isLast : literal.charAt(0) != '/') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReservedCharacter(char c) {
+        switch (c) {
+            case '/':
+            case '?':
+            case '#':
+            case '&':
+            case ';':
+            case '+':
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      * The default {@link UriMatchInfo} implementation.
      */
@@ -264,6 +382,12 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         @Override
         protected void addRawContentSegment(List<PathSegment> segments, String value, boolean isQuerySegment) {
             matchTemplate.pattern.append(Pattern.quote(value));
+            List<String> literalList = matchTemplate.literalList;
+            int last = literalList.size() - 1;
+            literalList.set(last, literalList.get(last) + value);
+            if (isQuerySegment) {
+                matchTemplate.regexRequired = true;
+            }
             super.addRawContentSegment(segments, value, isQuerySegment);
         }
 
@@ -335,6 +459,10 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             if (operator == '/' || modifierStr.equals("?")) {
                 pattern.append("?");
             }
+            matchTemplate.literalList.add("");
+            if (operator != '0' || modLen > 0 || isQuerySegment || !VARIABLE_MATCH_PATTERN.equals(variablePattern)) {
+                matchTemplate.regexRequired = true;
+            }
             super.addVariableSegment(segments, variable, prefix, delimiter, encode, repeatPrefix, modifierStr, modifierChar, operator, previousDelimiter, isQuerySegment);
         }
 
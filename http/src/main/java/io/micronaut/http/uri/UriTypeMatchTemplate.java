@@ -55,6 +55,20 @@ public class UriTypeMatchTemplate extends UriMatchTemplate {
         this.variableTypes = variableTypes;
     }
 
+    /**
+     * @param templateString The template
+     * @param segments       The segments
+     * @param matchPattern   The match pattern
+     * @param literals       The literal text before, between and after the variables
+     * @param exactMatch     Whether the template can be matched without the match pattern
+     * @param variableTypes  The variable types
+     * @param variables      The variables
+     */
+    protected UriTypeMatchTemplate(CharSequence templateString, List<PathSegment> segments, Pattern matchPattern, String[] literals, boolean exactMatch, Class[] variableTypes, String... variables) {
+        super(templateString, segments, matchPattern, literals, exactMatch, variables);
+        this.variableTypes = variableTypes;
+    }
+
     @Override
     public UriTypeMatchTemplate nest(CharSequence uriTemplate) {
         return (UriTypeMatchTemplate) super.nest(uriTemplate);
@@ -83,8 +97,8 @@ public class UriTypeMatchTemplate extends UriMatchTemplate {
     }
 
     @Override
-    protected UriMatchTemplate newUriMatchTemplate(CharSequence uriTemplate, List<PathSegment> newSegments, Pattern newPattern, String[] variables) {
-        return new UriTypeMatchTemplate(uriTemplate, newSegments, newPattern, variableTypes, variables);
+    protected UriMatchTemplate newUriMatchTemplate(CharSequence uriTemplate, List<PathSegment> newSegments, Pattern newPattern, String[] literals, boolean exactMatch, String[] variables) {
+        return new UriTypeMatchTemplate(uriTemplate, newSegments, newPattern, literals, exactMatch, variableTypes, variables);
     }
 
     /**
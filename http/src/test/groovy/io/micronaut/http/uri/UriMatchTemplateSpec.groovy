@@ -100,6 +100,13 @@ class UriMatchTemplateSpec extends Specification {
         "/books/{id}"                    | '/books'                   | false   | null
         "/books/{id}"                    | '/books/1'                 | true    | [id: '1']
         "/books/{id}"                    | '/books/test'              | true    | [id: 'test']
+        "/books/{id}"                    | '/books/test/authors'      | false   | null
+        "/books/{id}"                    | '/books/a+b'               | false   | null
+        "/books/{id}/authors/{authorId}" | '/books/1/authors/2'       | true    | [id: '1', authorId: '2']
+        "/books/{id}/authors/{authorId}" | '/books/1/authors'         | false   | null
+        "/books/{id}/authors/{authorId}" | '/books//authors/2'        | false   | null
+        "/books/{id}.json"               | '/books/1.json'            | true    | [id: '1']
+        "/books/{id}.json"               | '/books/1.xml'             | false   | null
         "/books/{id:2}"                  | '/books/1'                 | true    | [id: '1']
         "/books/{id:2}"                  | '/books/100'               | false   | null
         "/books{/id:?}"                  | '/books'                   | true    | [id: null]
@@ -176,4 +183,25 @@ class UriMatchTemplateSpec extends Specification {
         "/books{?max,offset}"            | "/books/"             | true    | [:]
         "/books{#hashtag}"               | "/books/"             | true    | [:]
     }
+
+    @Unroll
+    void "test literal prefix of #template"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+        if (nested != null) {
+            matchTemplate = matchTemplate.nest(nested)
+        }
+
+        expect:
+        matchTemplate.literalPrefix == prefix
+
+        where:
+        template              | nested       | prefix
+        "/books"              | null         | "/books"
+        "/books/{id}"         | null         | "/books/"
+        "/books{/id}"         | null         | "/books"
+        "/books"              | "/authors"   | "/books/authors"
+        "/books"              | "authors"    | "/books/authors"
+        "/books/{id}"         | "/authors"   | "/books/"
+    }
 }
@@ -21,6 +21,10 @@ import spock.lang.Specification
 
 import javax.inject.Singleton
 import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Created by graemerocher on 17/05/2017.
@@ -49,8 +53,142 @@ class ConcurrentSingleAccessSpec extends Specification {
         beans.unique().size() == 1
     }
 
+    void "test that a slow singleton does not block the creation of unrelated singletons"() {
+        given:
+        BeanContext context = new DefaultBeanContext()
+        context.start()
+        SlowBean.latch = new CountDownLatch(1)
+
+        when:"a thread starts creating the slow bean"
+        Thread slow = Thread.start {
+            context.getBean(SlowBean)
+        }
+        while (!SlowBean.creating) {
+            Thread.sleep(10)
+        }
+
+        and:"another thread resolves an unrelated singleton"
+        def threads = []
+        Collection beans = new ConcurrentLinkedQueue<>()
+        10.times {
+            threads << Thread.start {
+                beans.add(context.getBean(C))
+            }
+        }
+        for(Thread t in threads) {
+            t.join(5000)
+        }
+
+        then:"the unrelated singleton is created once without waiting for the slow bean"
+        beans.size() == 10
+        beans.unique().size() == 1
+        C.instances.get() == 1
+
+        cleanup:
+        SlowBean.latch.countDown()
+        slow?.join()
+        context.close()
+    }
+
+    void "test that two threads creating mutually dependent singletons do not deadlock"() {
+        given:
+        BeanContext context = new DefaultBeanContext()
+        context.start()
+        MutualX.reset()
+        MutualY.reset()
+
+        when:"one thread creates X which needs Y while another creates Y which needs X"
+        MutualX x
+        MutualY y
+        Thread first = Thread.start {
+            x = context.getBean(MutualX)
+        }
+        Thread second = Thread.start {
+            y = context.getBean(MutualY)
+        }
+        first.join(10000)
+        second.join(10000)
+
+        then:"both threads complete"
+        !first.isAlive()
+        !second.isAlive()
+        x != null
+        y != null
+
+        and:"both threads see the registered singletons"
+        x.is(context.getBean(MutualX))
+        y.is(context.getBean(MutualY))
+
+        cleanup:
+        context.close()
+    }
+
+    @Singleton
+    static class MutualX {
+        static CountDownLatch creating
+        static AtomicBoolean first
+
+        MutualY y
+
+        MutualX(BeanContext context) {
+            if (first.compareAndSet(true, false)) {
+                // wait until the other thread holds the lock for Y before resolving it
+                creating.countDown()
+                creating.await(5, TimeUnit.SECONDS)
+                y = context.getBean(MutualY)
+            }
+        }
+
+        static void reset() {
+            creating = new CountDownLatch(2)
+            first = new AtomicBoolean(true)
+            MutualY.creating = creating
+        }
+    }
+
+    @Singleton
+    static class MutualY {
+        static CountDownLatch creating
+        static AtomicBoolean first
+
+        MutualX x
+
+        MutualY(BeanContext context) {
+            if (first.compareAndSet(true, false)) {
+                // wait until the other thread holds the lock for X before resolving it
+                creating.countDown()
+                creating.await(5, TimeUnit.SECONDS)
+                x = context.getBean(MutualX)
+            }
+        }
+
+        static void reset() {
+            first = new AtomicBoolean(true)
+        }
+    }
+
     @Singleton
     static class B {
 
     }
+
+    @Singleton
+    static class C {
+        static AtomicInteger instances = new AtomicInteger()
+
+        C() {
+            instances.incrementAndGet()
+        }
+    }
+
+    @Singleton
+    static class SlowBean {
+        static volatile boolean creating
+        static CountDownLatch latch
+
+        SlowBean() {
+            creating = true
+            latch.await()
+        }
+    }
 }
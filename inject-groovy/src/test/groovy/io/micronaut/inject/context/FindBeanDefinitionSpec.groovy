@@ -16,6 +16,8 @@
 package io.micronaut.inject.context
 
 import io.micronaut.context.BeanContext
+import io.micronaut.context.annotation.Bean
+import io.micronaut.context.annotation.Factory
 import io.micronaut.context.annotation.Primary
 import io.micronaut.inject.qualifiers.Qualifiers
 import spock.lang.Specification
@@ -48,6 +50,109 @@ class FindBeanDefinitionSpec extends Specification {
         beanContext.getBean(B) instanceof B
     }
 
+    void 'test find bean definitions for every type in the hierarchy'() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+
+        expect:
+        beanContext.getBeanDefinitions(Ab).size() == 2
+        beanContext.getBeanDefinitions(IA).size() == 2
+        beanContext.getBeanDefinitions(IB).size() == 1
+        beanContext.getBeansOfType(IA).size() == 2
+
+        when:"a singleton is registered that has no bean definition"
+        beanContext.registerSingleton(new C())
+
+        then:"it can be found by the interfaces it implements"
+        beanContext.findBeanDefinition(IC).isPresent()
+        beanContext.getBean(IC) instanceof C
+
+        cleanup:
+        beanContext.close()
+    }
+
+    void 'test find bean definition of a primitive factory bean'() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+
+        expect:
+        beanContext.findBeanDefinition(int, Qualifiers.byName("answer")).isPresent()
+        beanContext.getBean(int, Qualifiers.byName("answer")) == 42
+
+        cleanup:
+        beanContext.close()
+    }
+
+    void 'test find bean definitions by a super interface'() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+
+        expect:
+        beanContext.getBeanDefinitions(IE).size() == 1
+        beanContext.getBean(IE) instanceof D
+        beanContext.getBean(ID).is(beanContext.getBean(IE))
+
+        cleanup:
+        beanContext.close()
+    }
+
+    void 'test find bean definition of an array factory bean'() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+
+        expect:"the array can be found by its own type and the types it is assignable to"
+        beanContext.findBeanDefinition(String[], Qualifiers.byName("names")).isPresent()
+        beanContext.getBean(String[], Qualifiers.byName("names")) == ["a", "b"] as String[]
+        beanContext.getBean(CharSequence[], Qualifiers.byName("names")) == ["a", "b"] as String[]
+        beanContext.getBean(Object[], Qualifiers.byName("names")) == ["a", "b"] as String[]
+        beanContext.getBean(Object, Qualifiers.byName("names")) == ["a", "b"] as String[]
+
+        and:"a primitive array is found by its own type"
+        beanContext.getBean(int[], Qualifiers.byName("numbers")) == [1, 2] as int[]
+        !beanContext.findBeanDefinition(Object[], Qualifiers.byName("numbers")).isPresent()
+
+        cleanup:
+        beanContext.close()
+    }
+
+    @Factory
+    static class ArrayFactory {
+
+        @Bean
+        @Named("names")
+        String[] names() {
+            ["a", "b"] as String[]
+        }
+
+        @Bean
+        @Named("numbers")
+        int[] numbers() {
+            [1, 2] as int[]
+        }
+    }
+
+    static interface IE {
+
+    }
+
+    static interface ID extends IE {
+
+    }
+
+    @Singleton
+    static class D implements ID {
+
+    }
+
+    @Factory
+    static class PrimitiveFactory {
+
+        @Bean
+        @Named("answer")
+        int answer() {
+            42
+        }
+    }
 
     static abstract class Ab {}
 
@@ -69,4 +174,12 @@ class FindBeanDefinitionSpec extends Specification {
     static class B extends A implements IB{
 
     }
+
+    static interface IC {
+
+    }
+
+    static class C implements IC {
+
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.annotation.processing;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.inject.processing.JavaModelUtils;
+import io.micronaut.inject.writer.BeanIntrospectionWriter;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates {@link io.micronaut.core.beans.BeanIntrospection} implementations for
+ * each class annotated with {@link Introspected}. The properties of the class are the public getters and setters
+ * that follow the JavaBean conventions.
+ *
+ * @since 1.0
+ */
+@SupportedAnnotationTypes({
+    "io.micronaut.core.annotation.Introspected"
+})
+@SupportedSourceVersion(SourceVersion.RELEASE_8)
+@Internal
+public class BeanIntrospectionInjectProcessor extends AbstractInjectAnnotationProcessor {
+
+    private static final String GETTER_PREFIX = "get";
+    private static final String BOOLEAN_GETTER_PREFIX = "is";
+
+    @Override
+    public final synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+    }
+
+    @Override
+    public final boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(Introspected.class);
+        for (TypeElement typeElement : ElementFilter.typesIn(elements)) {
+            if (typeElement.getKind() == ElementKind.CLASS) {
+                writeIntrospection(typeElement);
+            } else {
+                warning(typeElement, "Only classes can be annotated with @Introspected");
+            }
+        }
+        try {
+            classWriterOutputVisitor.finish();
+        } catch (Exception e) {
+            error("I/O error occurred writing META-INF services information: %s", e);
+        }
+        return false;
+    }
+
+    private void writeIntrospection(TypeElement typeElement) {
+        BeanIntrospectionWriter writer = new BeanIntrospectionWriter(JavaModelUtils.getClassName(typeElement));
+        Map<String, PropertyMethods> properties = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(typeElement))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            TypeMirror returnType = method.getReturnType();
+            int parameterCount = method.getParameters().size();
+            if (parameterCount == 0 && returnType.getKind() != TypeKind.VOID && !methodName.equals("getClass")) {
+                String propertyName = null;
+                if (isPropertyMethod(methodName, GETTER_PREFIX)) {
+                    propertyName = NameUtils.decapitalize(methodName.substring(GETTER_PREFIX.length()));
+                } else if (returnType.getKind() == TypeKind.BOOLEAN && isPropertyMethod(methodName, BOOLEAN_GETTER_PREFIX)) {
+                    propertyName = NameUtils.decapitalize(methodName.substring(BOOLEAN_GETTER_PREFIX.length()));
+                }
+                if (propertyName != null) {
+                    PropertyMethods property = properties.computeIfAbsent(propertyName, name -> new PropertyMethods());
+                    if (property.getter == null) {
+                        property.getter = method;
+                    }
+                }
+            } else if (parameterCount == 1 && returnType.getKind() == TypeKind.VOID && NameUtils.isSetterName(methodName)) {
+                String propertyName = NameUtils.getPropertyNameForSetter(methodName);
+                PropertyMethods property = properties.computeIfAbsent(propertyName, name -> new PropertyMethods());
+                if (property.setter == null) {
+                    property.setter = method;
+                }
+            }
+        }
+
+        for (Map.Entry<String, PropertyMethods> entry : properties.entrySet()) {
+            ExecutableElement getter = entry.getValue().getter;
+            ExecutableElement setter = entry.getValue().setter;
+            if (getter != null) {
+                Object type = modelUtils.resolveTypeReference(getter.getReturnType());
+                // a setter only belongs to the property if it accepts the type returned by the getter
+                String writeMethod = null;
+                if (setter != null && type.equals(modelUtils.resolveTypeReference(setter.getParameters().get(0).asType()))) {
+                    writeMethod = setter.getSimpleName().toString();
+                }
+                writer.visitProperty(entry.getKey(), type, getter.getSimpleName().toString(), writeMethod);
+            } else if (setter != null) {
+                Object type = modelUtils.resolveTypeReference(setter.getParameters().get(0).asType());
+                writer.visitProperty(entry.getKey(), type, null, setter.getSimpleName().toString());
+            }
+        }
+
+        if (!typeElement.getModifiers().contains(Modifier.ABSTRACT) && modelUtils.isPublic(typeElement) && hasPublicNoArgsConstructor(typeElement)) {
+            writer.visitDefaultConstructor();
+        }
+
+        try {
+            writer.accept(classWriterOutputVisitor);
+        } catch (IOException e) {
+            error("I/O error occurred writing introspection for class [%s]: %s", typeElement, e);
+        }
+    }
+
+    private boolean hasPublicNoArgsConstructor(TypeElement typeElement) {
+        if (typeElement.getNestingKind().isNested() && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        return ElementFilter.constructorsIn(typeElement.getEnclosedElements())
+            .stream()
+            .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private static boolean isPropertyMethod(String methodName, String prefix) {
+        return methodName.length() > prefix.length() &&
+            methodName.startsWith(prefix) &&
+            Character.isUpperCase(methodName.charAt(prefix.length()));
+    }
+
+    /**
+     * The getter and setter of a property.
+     */
+    private static final class PropertyMethods {
+        ExecutableElement getter;
+        ExecutableElement setter;
+    }
+}
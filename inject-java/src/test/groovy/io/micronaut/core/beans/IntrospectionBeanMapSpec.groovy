@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.beans
+
+import spock.lang.Specification
+
+class IntrospectionBeanMapSpec extends Specification {
+
+    void "test the bean map of an introspected bean is backed by its introspection"() {
+        given:
+        IntrospectedPerson person = new IntrospectedPerson(name: 'Fred', age: 10, active: true)
+
+        when:
+        BeanMap<IntrospectedPerson> beanMap = BeanMap.of(person)
+        BeanMap<IntrospectedPerson> reflectionMap = new ReflectionBeanMap<>(person)
+
+        then:
+        beanMap instanceof IntrospectionBeanMap
+        beanMap.keySet() == reflectionMap.keySet()
+        beanMap.keySet() == ['name', 'age', 'active', 'id'] as Set
+        new HashMap<>(beanMap) == new HashMap<>(reflectionMap)
+        beanMap.get('name') == 'Fred'
+        beanMap.get('age') == 10
+        beanMap.get('active') == true
+        beanMap.get('id') == 'person'
+    }
+
+    void "test introspections are found through the class loader of the bean type"() {
+        when:
+        Optional<BeanIntrospection<IntrospectedPerson>> introspection = BeanIntrospector.SHARED.findIntrospection(IntrospectedPerson)
+
+        then:
+        introspection.isPresent()
+        introspection.get().beanType == IntrospectedPerson
+        !BeanIntrospector.SHARED.findIntrospection(String).isPresent()
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.beans
+
+import io.micronaut.core.beans.BeanIntrospection
+import io.micronaut.core.beans.BeanProperty
+import io.micronaut.core.reflect.exception.InstantiationException
+import io.micronaut.inject.AbstractTypeElementSpec
+import io.micronaut.inject.writer.BeanIntrospectionWriter
+
+class BeanIntrospectionSpec extends AbstractTypeElementSpec {
+
+    void "test generated introspection reads and writes properties"() {
+        given:
+        BeanIntrospection introspection = buildBeanIntrospection('test.Test', '''
+package test;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class Test {
+    private String name;
+    private int age;
+    private boolean active;
+    private String id = "foo";
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
+''')
+
+        when:
+        def bean = introspection.instantiate()
+        BeanProperty name = introspection.getProperty("name").get()
+        BeanProperty age = introspection.getProperty("age").get()
+        BeanProperty active = introspection.getProperty("active").get()
+        BeanProperty id = introspection.getProperty("id").get()
+        name.set(bean, "Fred")
+        age.set(bean, 10)
+        active.set(bean, true)
+
+        then:
+        introspection.beanType.name == 'test.Test'
+        introspection.instantiable
+        introspection.beanProperties*.name as Set == ['name', 'age', 'active', 'id'] as Set
+        !introspection.getProperty("class").isPresent()
+        age.type == int
+        bean.name == 'Fred'
+        bean.age == 10
+        bean.active
+        name.get(bean) == 'Fred'
+        age.get(bean) == 10
+        active.get(bean) == true
+        id.get(bean) == 'foo'
+        id.readable
+        !id.writable
+
+        when:
+        id.set(bean, "bar")
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        age.set(bean, null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "test introspection of a class without a public no argument constructor"() {
+        given:
+        BeanIntrospection introspection = buildBeanIntrospection('test.Test', '''
+package test;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class Test {
+    private final String name;
+
+    public Test(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
+''')
+
+        when:
+        introspection.instantiate()
+
+        then:
+        !introspection.instantiable
+        introspection.getProperty("name").isPresent()
+        thrown(InstantiationException)
+    }
+
+    private BeanIntrospection buildBeanIntrospection(String className, String cls) {
+        ClassLoader classLoader = buildClassLoader(className, cls)
+        return (BeanIntrospection) classLoader.loadClass(BeanIntrospectionWriter.getIntrospectionName(className)).newInstance()
+    }
+}
@@ -35,6 +35,7 @@ import com.sun.source.util.TreeScanner;
 import com.sun.source.util.Trees;
 import com.sun.tools.javac.api.JavacTool;
 import com.sun.tools.javac.util.Context;
+import io.micronaut.annotation.processing.BeanIntrospectionInjectProcessor;
 import io.micronaut.annotation.processing.PackageConfigurationInjectProcessor;
 import io.micronaut.annotation.processing.BeanDefinitionInjectProcessor;
 import io.micronaut.annotation.processing.TypeElementVisitorProcessor;
@@ -128,6 +129,7 @@ public final class Parser {
             List<Processor> processors = new ArrayList<>();
             processors.add(new TypeElementVisitorProcessor());
             processors.add(new PackageConfigurationInjectProcessor());
+            processors.add(new BeanIntrospectionInjectProcessor());
             processors.add(new BeanDefinitionInjectProcessor());
             task.setProcessors(processors);
             task.generate();
@@ -72,8 +72,10 @@ import javax.inject.Provider;
 import javax.inject.Scope;
 import javax.inject.Singleton;
 import java.io.Closeable;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -82,6 +84,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -92,7 +95,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -112,8 +117,11 @@ public class DefaultBeanContext implements BeanContext {
     protected final AtomicBoolean running = new AtomicBoolean(false);
 
     final Map<BeanKey, BeanRegistration> singletonObjects = new ConcurrentHashMap<>(100);
+    private final Map<BeanDefinition, ReentrantLock> singletonLocks = new ConcurrentHashMap<>(100);
+    private final ThreadLocal<int[]> heldSingletonLocks = ThreadLocal.withInitial(() -> new int[1]);
 
     private final Collection<BeanDefinitionReference> beanDefinitionsClasses = new ConcurrentLinkedQueue<>();
+    private final Map<Class, Collection<BeanDefinitionReference>> beanDefinitionsClassesByIndexedType = new ConcurrentHashMap<>(200);
     private final Map<String, BeanConfiguration> beanConfigurations = new ConcurrentHashMap<>(4);
     private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
 
@@ -421,19 +429,20 @@ public class DefaultBeanContext implements BeanContext {
             throw new IllegalArgumentException("Passed singleton cannot be null");
         }
         BeanKey<T> beanKey = new BeanKey<>(type, qualifier);
-        synchronized (singletonObjects) {
-            initializedObjectsByType.invalidateAll();
-
-            BeanDefinition<T> beanDefinition = inject ? findBeanCandidatesForInstance(singleton).stream().findFirst().orElse(null) : null;
-            if (beanDefinition != null && beanDefinition.getBeanType().isInstance(singleton)) {
+        BeanDefinition<T> beanDefinition = inject ? findBeanCandidatesForInstance(singleton).stream().findFirst().orElse(null) : null;
+        if (beanDefinition != null && beanDefinition.getBeanType().isInstance(singleton)) {
+            withSingletonLock(beanDefinition, () -> {
                 doInject(new DefaultBeanResolutionContext(this, beanDefinition), singleton, beanDefinition);
                 singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, beanDefinition, singleton));
-            } else {
-                NoInjectionBeanDefinition<T> dynamicRegistration = new NoInjectionBeanDefinition<>(type);
-                beanDefinitionsClasses.add(dynamicRegistration);
-                singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, dynamicRegistration, singleton));
-            }
+                return singleton;
+            });
+        } else {
+            NoInjectionBeanDefinition<T> dynamicRegistration = new NoInjectionBeanDefinition<>(type);
+            addBeanDefinitionReference(dynamicRegistration);
+            singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, dynamicRegistration, singleton));
         }
+        // invalidate once the registration is visible so that lookups in progress cannot cache a stale result
+        initializedObjectsByType.invalidateAll();
         return this;
     }
 
@@ -653,14 +662,9 @@ public class DefaultBeanContext implements BeanContext {
         T bean = null;
         BeanKey<T> beanKey = new BeanKey<>(beanType, null);
 
-        synchronized (singletonObjects) {
-            if (singletonObjects.containsKey(beanKey)) {
-                @SuppressWarnings("unchecked") BeanRegistration<T> beanRegistration = singletonObjects.get(beanKey);
-                bean = beanRegistration.bean;
-                if (bean != null) {
-                    singletonObjects.remove(beanKey);
-                }
-            }
+        @SuppressWarnings("unchecked") BeanRegistration<T> beanRegistration = singletonObjects.get(beanKey);
+        if (beanRegistration != null && beanRegistration.bean != null && singletonObjects.remove(beanKey, beanRegistration)) {
+            bean = beanRegistration.bean;
         }
 
         if (bean != null) {
@@ -1085,17 +1089,12 @@ public class DefaultBeanContext implements BeanContext {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Finding candidate beans for type: {}", beanType);
         }
-        // first traverse component definition classes and load candidates
-
-        Collection<BeanDefinitionReference> beanDefinitionsClasses = this.beanDefinitionsClasses;
-        if (!beanDefinitionsClasses.isEmpty()) {
+        // the index holds the references assignable to each type so that only those need to be loaded
+        Collection<BeanDefinitionReference> beanDefinitionsClasses = beanDefinitionsClassesByIndexedType.get(beanType);
+        if (beanDefinitionsClasses != null && !beanDefinitionsClasses.isEmpty()) {
 
             Stream<BeanDefinition<T>> candidateStream = beanDefinitionsClasses
                 .stream()
-                .filter(reference -> {
-                    Class<?> candidateType = reference.getBeanType();
-                    return candidateType != null && (beanType.isAssignableFrom(candidateType) || beanType == candidateType);
-                })
                 .map(ref -> {
                     BeanDefinition<T> loadedBean;
                     try {
@@ -1342,9 +1341,7 @@ public class DefaultBeanContext implements BeanContext {
                 .forEach(beanDefinitionReference -> ForkJoinPool.commonPool().execute(() -> {
                     try {
                         if (isRunning()) {
-                            synchronized (singletonObjects) {
-                                loadContextScopeBean(beanDefinitionReference);
-                            }
+                            loadContextScopeBean(beanDefinitionReference);
                         }
                     } catch (Throwable e) {
                         LOG.error("Parallel Bean definition [" + beanDefinitionReference.getName() + "] could not be loaded: " + e.getMessage(), e);
@@ -1402,44 +1399,47 @@ public class DefaultBeanContext implements BeanContext {
             LOG.trace("No existing bean found for bean key: {}", beanKey);
         }
 
-        synchronized (singletonObjects) {
-
-            Optional<BeanDefinition<T>> concreteCandidate = findConcreteCandidate(beanType, qualifier, throwNonUnique, false);
-            T bean;
-
-            if (concreteCandidate.isPresent()) {
-                BeanDefinition<T> definition = concreteCandidate.get();
-
-                bean = findExistingCompatibleSingleton(beanType, qualifier, definition);
-                if (bean != null) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Resolved existing bean [{}] for type [{}] and qualifier [{}]", bean, beanType, qualifier);
-                    }
-                    return bean;
-                }
-
+        Optional<BeanDefinition<T>> concreteCandidate = findConcreteCandidate(beanType, qualifier, throwNonUnique, false);
+        if (concreteCandidate.isPresent()) {
+            BeanDefinition<T> definition = concreteCandidate.get();
+            if (definition.isSingleton()) {
+                // only threads resolving the same singleton wait for each other
+                return withSingletonLock(definition, () ->
+                    getBeanForCandidate(resolutionContext, beanType, qualifier, throwNoSuchBean, definition)
+                );
+            } else {
+                return getBeanForCandidate(resolutionContext, beanType, qualifier, throwNoSuchBean, definition);
+            }
+        } else {
+            T bean = findExistingCompatibleSingleton(beanType, qualifier, null);
+            if (bean == null && throwNoSuchBean) {
+                throw new NoSuchBeanException(beanType, qualifier);
+            } else {
+                return bean;
+            }
+        }
+    }
 
-                if (resolutionContext == null) {
-                    resolutionContext = new DefaultBeanResolutionContext(this, definition);
-                }
+    private <T> T getBeanForCandidate(BeanResolutionContext resolutionContext, Class<T> beanType, Qualifier<T> qualifier, boolean throwNoSuchBean, BeanDefinition<T> definition) {
+        T bean = findExistingCompatibleSingleton(beanType, qualifier, definition);
+        if (bean != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Resolved existing bean [{}] for type [{}] and qualifier [{}]", bean, beanType, qualifier);
+            }
+            return bean;
+        }
 
-                if (definition.isProvided() && beanType == definition.getBeanType()) {
-                    if (throwNoSuchBean) {
-                        throw new NoSuchBeanException(beanType, qualifier);
-                    }
-                    return null;
-                } else {
-                    return getBeanForDefinition(resolutionContext, beanType, qualifier, throwNoSuchBean, definition);
-                }
+        if (resolutionContext == null) {
+            resolutionContext = new DefaultBeanResolutionContext(this, definition);
+        }
 
-            } else {
-                bean = findExistingCompatibleSingleton(beanType, qualifier, null);
-                if (bean == null && throwNoSuchBean) {
-                    throw new NoSuchBeanException(beanType, qualifier);
-                } else {
-                    return bean;
-                }
+        if (definition.isProvided() && beanType == definition.getBeanType()) {
+            if (throwNoSuchBean) {
+                throw new NoSuchBeanException(beanType, qualifier);
             }
+            return null;
+        } else {
+            return getBeanForDefinition(resolutionContext, beanType, qualifier, throwNoSuchBean, definition);
         }
     }
 
@@ -1508,6 +1508,49 @@ public class DefaultBeanContext implements BeanContext {
         }
     }
 
+    /**
+     * Runs the given action whilst holding the lock that guards the creation of the singleton for the given
+     * definition. Locking per definition rather than on the whole context allows unrelated singletons to be created
+     * concurrently whilst each singleton is still created only once.
+     *
+     * <p>A thread that is already creating another singleton never waits for a definition lock, since the thread
+     * holding it may in turn be waiting for a singleton this thread is creating. If the lock is not free it falls
+     * back to the context wide lock instead, which a thread holding it never has to wait for again.</p>
+     *
+     * @param definition The bean definition
+     * @param action The action
+     * @param <R> The result type
+     * @return The result of the action
+     */
+    private <R> R withSingletonLock(BeanDefinition<?> definition, Supplier<R> action) {
+        ReentrantLock lock = singletonLocks.computeIfAbsent(definition, d -> new ReentrantLock());
+        int[] held = heldSingletonLocks.get();
+        if (held[0] == 0) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            synchronized (singletonObjects) {
+                return action.get();
+            }
+        }
+        held[0]++;
+        try {
+            return action.get();
+        } finally {
+            held[0]--;
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T findExistingSingleton(BeanDefinition<T> definition) {
+        for (BeanRegistration registration : singletonObjects.values()) {
+            if (definition.equals(registration.beanDefinition)) {
+                return (T) registration.bean;
+            }
+        }
+        return null;
+    }
+
     private <T> T findExistingCompatibleSingleton(Class<T> beanType, Qualifier<T> qualifier, BeanDefinition<T> definition) {
         T bean = null;
         for (Map.Entry<BeanKey, BeanRegistration> entry : singletonObjects.entrySet()) {
@@ -1521,10 +1564,8 @@ public class DefaultBeanContext implements BeanContext {
                             return null;
                         }
                     }
-                    synchronized (singletonObjects) {
-                        bean = (T) reg.bean;
-                        registerSingletonBean(reg.beanDefinition, beanType, bean, qualifier, true);
-                    }
+                    bean = (T) reg.bean;
+                    registerSingletonBean(reg.beanDefinition, beanType, bean, qualifier, true);
                 }
             } else if (key.qualifier == null) {
                 BeanRegistration registration = entry.getValue();
@@ -1532,10 +1573,8 @@ public class DefaultBeanContext implements BeanContext {
                 if (beanType.isInstance(existing)) {
                     Optional<BeanDefinition> candidate = qualifier.reduce(beanType, Stream.of(registration.beanDefinition)).findFirst();
                     if (candidate.isPresent()) {
-                        synchronized (singletonObjects) {
-                            bean = (T) existing;
-                            registerSingletonBean(candidate.get(), beanType, bean, qualifier, true);
-                        }
+                        bean = (T) existing;
+                        registerSingletonBean(candidate.get(), beanType, bean, qualifier, true);
                     }
                 }
             }
@@ -1678,11 +1717,10 @@ public class DefaultBeanContext implements BeanContext {
     }
 
     private <T> T createAndRegisterSingleton(BeanResolutionContext resolutionContext, BeanDefinition<T> definition, Class<T> beanType, Qualifier<T> qualifier) {
-        synchronized (singletonObjects) {
+        return withSingletonLock(definition, () -> {
             T createdBean = doCreateBean(resolutionContext, definition, qualifier, true, null);
-            registerSingletonBean(definition, beanType, createdBean, qualifier, true);
-            return createdBean;
-        }
+            return registerSingletonBean(definition, beanType, createdBean, qualifier, true);
+        });
     }
 
     private void readAllBeanConfigurations() {
@@ -1699,7 +1737,7 @@ public class DefaultBeanContext implements BeanContext {
         return filteredResults.collect(Collectors.toList());
     }
 
-    private <T> void registerSingletonBean(BeanDefinition<T> beanDefinition, Class<T> beanType, T createdBean, Qualifier<T> qualifier, boolean singleCandidate) {
+    private <T> T registerSingletonBean(BeanDefinition<T> beanDefinition, Class<T> beanType, T createdBean, Qualifier<T> qualifier, boolean singleCandidate) {
         // for only one candidate create link to bean type as singleton
         if (qualifier == null) {
             if (beanDefinition instanceof BeanDefinitionDelegate) {
@@ -1722,15 +1760,19 @@ public class DefaultBeanContext implements BeanContext {
             }
         }
         BeanRegistration<T> registration = new BeanRegistration<>(key, beanDefinition, createdBean);
-
-        if (singleCandidate) {
-            singletonObjects.put(key, registration);
-        }
-
         Class<?> createdType = createdBean.getClass();
         boolean createdTypeDiffers = !createdType.equals(beanType);
 
         BeanKey createdBeanKey = new BeanKey(createdType, qualifier);
+        @SuppressWarnings("unchecked") BeanRegistration<T> existing = singletonObjects.putIfAbsent(createdBeanKey, registration);
+        if (existing != null && existing.bean != createdBean && beanDefinition.equals(existing.beanDefinition)) {
+            // a thread that fell back to the context wide lock created the same singleton concurrently, keep the first
+            return existing.bean;
+        }
+
+        if (singleCandidate) {
+            singletonObjects.put(key, registration);
+        }
         Optional<Class<? extends Annotation>> qualifierAnn = beanDefinition.getAnnotationTypeByStereotype(javax.inject.Qualifier.class);
         if (qualifierAnn.isPresent()) {
             Class annotation = qualifierAnn.get();
@@ -1762,6 +1804,7 @@ public class DefaultBeanContext implements BeanContext {
             }
         }
         singletonObjects.put(createdBeanKey, registration);
+        return createdBean;
     }
 
     private void readAllBeanDefinitionClasses() {
@@ -1796,11 +1839,72 @@ public class DefaultBeanContext implements BeanContext {
             }
         }
 
-        this.beanDefinitionsClasses.addAll(beanDefinitionsClassesByDefinition.values());
+        for (BeanDefinitionReference beanDefinitionReference : beanDefinitionsClassesByDefinition.values()) {
+            addBeanDefinitionReference(beanDefinitionReference);
+        }
 
         initializeContext(contextScopeBeans, processedBeans);
     }
 
+    /**
+     * Adds a bean definition reference and indexes it by every type the bean type is assignable to, so that
+     * candidates for a type can be found without evaluating every reference.
+     *
+     * @param beanDefinitionReference The bean definition reference
+     */
+    private void addBeanDefinitionReference(BeanDefinitionReference beanDefinitionReference) {
+        beanDefinitionsClasses.add(beanDefinitionReference);
+        Class<?> beanType = beanDefinitionReference.getBeanType();
+        if (beanType != null) {
+            for (Class indexedType : resolveAssignableTypes(beanType)) {
+                beanDefinitionsClassesByIndexedType
+                    .computeIfAbsent(indexedType, type -> new ConcurrentLinkedQueue<>())
+                    .add(beanDefinitionReference);
+            }
+        }
+    }
+
+    /**
+     * Resolves every type that the given type is assignable to, matching {@link Class#isAssignableFrom(Class)}.
+     *
+     * @param type The type
+     * @return The assignable types
+     */
+    private static Set<Class> resolveAssignableTypes(Class<?> type) {
+        Set<Class> assignableTypes = new LinkedHashSet<>();
+        if (type.isPrimitive()) {
+            assignableTypes.add(type);
+            return assignableTypes;
+        }
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                assignableTypes.add(type);
+            } else {
+                // arrays are covariant so an array is assignable to an array of any type its component is
+                for (Class assignableComponentType : resolveAssignableTypes(componentType)) {
+                    assignableTypes.add(Array.newInstance(assignableComponentType, 0).getClass());
+                }
+            }
+            assignableTypes.add(Cloneable.class);
+            assignableTypes.add(Serializable.class);
+        } else {
+            for (Class<?> superType = type; superType != null; superType = superType.getSuperclass()) {
+                addAssignableInterfaces(superType, assignableTypes);
+            }
+        }
+        assignableTypes.add(Object.class);
+        return assignableTypes;
+    }
+
+    private static void addAssignableInterfaces(Class<?> type, Set<Class> assignableTypes) {
+        if (assignableTypes.add(type)) {
+            for (Class<?> interfaceType : type.getInterfaces()) {
+                addAssignableInterfaces(interfaceType, assignableTypes);
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Collection<BeanDefinition<T>> findBeanCandidatesInternal(Class<T> beanType) {
         return (Collection) beanCandidateCache.get(beanType, aClass -> (Collection) findBeanCandidates(beanType, null));
@@ -1831,130 +1935,122 @@ public class DefaultBeanContext implements BeanContext {
             LOG.trace("No beans found for key: {}", key);
         }
 
-        synchronized (singletonObjects) {
-            existing = (Collection<T>) initializedObjectsByType.getIfPresent(key);
-            if (existing != null) {
-                logResolvedExisting(beanType, qualifier, hasQualifier, existing);
-                return existing;
-            }
+        HashSet<T> beansOfTypeList = new HashSet<>();
+        Collection<BeanDefinition<T>> processedDefinitions = new ArrayList<>();
 
-            HashSet<T> beansOfTypeList = new HashSet<>();
-            Collection<BeanDefinition<T>> processedDefinitions = new ArrayList<>();
+        boolean allCandidatesAreSingleton = false;
+        Collection<T> beans;
+        for (Map.Entry<BeanKey, BeanRegistration> entry : singletonObjects.entrySet()) {
+            BeanRegistration reg = entry.getValue();
+            Object instance = reg.bean;
+            if (beanType.isInstance(instance)) {
+                if (!beansOfTypeList.contains(instance)) {
+                    if (!hasQualifier) {
+
+                        if (LOG.isTraceEnabled()) {
+                            Qualifier registeredQualifier = entry.getKey().qualifier;
+                            if (registeredQualifier != null) {
+                                LOG.trace("Found existing bean for type {} {}: {} ", beanType.getName(), instance);
+                            } else {
+                                LOG.trace("Found existing bean for type {}: {} ", beanType.getName(), instance);
+                            }
+                        }
 
-            boolean allCandidatesAreSingleton = false;
-            Collection<T> beans;
-            for (Map.Entry<BeanKey, BeanRegistration> entry : singletonObjects.entrySet()) {
-                BeanRegistration reg = entry.getValue();
-                Object instance = reg.bean;
-                if (beanType.isInstance(instance)) {
-                    if (!beansOfTypeList.contains(instance)) {
-                        if (!hasQualifier) {
+                        beansOfTypeList.add((T) instance);
+                        processedDefinitions.add(reg.beanDefinition);
+                    } else {
 
+                        Optional result = qualifier.reduce(beanType, Stream.of(reg.beanDefinition)).findFirst();
+                        if (result.isPresent()) {
                             if (LOG.isTraceEnabled()) {
-                                Qualifier registeredQualifier = entry.getKey().qualifier;
-                                if (registeredQualifier != null) {
-                                    LOG.trace("Found existing bean for type {} {}: {} ", beanType.getName(), instance);
-                                } else {
-                                    LOG.trace("Found existing bean for type {}: {} ", beanType.getName(), instance);
-                                }
+                                LOG.trace("Found existing bean for type {} {}: {} ", qualifier, beanType.getName(), instance);
                             }
 
                             beansOfTypeList.add((T) instance);
                             processedDefinitions.add(reg.beanDefinition);
-                        } else {
-
-                            Optional result = qualifier.reduce(beanType, Stream.of(reg.beanDefinition)).findFirst();
-                            if (result.isPresent()) {
-                                if (LOG.isTraceEnabled()) {
-                                    LOG.trace("Found existing bean for type {} {}: {} ", qualifier, beanType.getName(), instance);
-                                }
-
-                                beansOfTypeList.add((T) instance);
-                                processedDefinitions.add(reg.beanDefinition);
-                            } else if (LOG.isTraceEnabled()) {
-                                if (LOG.isTraceEnabled()) {
-                                    LOG.trace("Existing bean {} does not match qualifier {} for type {}", instance, qualifier, beanType.getName());
-                                }
+                        } else if (LOG.isTraceEnabled()) {
+                            if (LOG.isTraceEnabled()) {
+                                LOG.trace("Existing bean {} does not match qualifier {} for type {}", instance, qualifier, beanType.getName());
                             }
                         }
                     }
                 }
             }
-            Collection<BeanDefinition<T>> candidates = findBeanCandidatesInternal(beanType);
-            boolean hasCandiates = !candidates.isEmpty();
-            if (hasQualifier && hasCandiates) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Qualifying bean [{}] from candidates {} for qualifier: {} ", beanType.getName(), candidates, qualifier);
-                }
-                Stream<BeanDefinition<T>> candidateStream = candidates.stream();
-                candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
-
-                List<BeanDefinition<T>> reduced = qualifier.reduce(beanType, candidateStream)
-                        .collect(Collectors.toList());
-                if (!reduced.isEmpty()) {
-                    for (BeanDefinition<T> definition : reduced) {
-                        if (processedDefinitions.contains(definition)) {
-                            continue;
-                        }
-                        if (definition.isSingleton()) {
-                            allCandidatesAreSingleton = true;
-                        }
-                        addCandidateToList(resolutionContext, beanType, definition, beansOfTypeList, qualifier, reduced.size() == 1);
-                    }
-                    beans = beansOfTypeList;
-                } else {
+        }
+        Collection<BeanDefinition<T>> candidates = findBeanCandidatesInternal(beanType);
+        boolean hasCandiates = !candidates.isEmpty();
+        if (hasQualifier && hasCandiates) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Qualifying bean [{}] from candidates {} for qualifier: {} ", beanType.getName(), candidates, qualifier);
+            }
+            Stream<BeanDefinition<T>> candidateStream = candidates.stream();
+            candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
 
-                    if (LOG.isDebugEnabled() && beansOfTypeList.isEmpty()) {
-                        LOG.debug("Found no matching beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
+            List<BeanDefinition<T>> reduced = qualifier.reduce(beanType, candidateStream)
+                    .collect(Collectors.toList());
+            if (!reduced.isEmpty()) {
+                for (BeanDefinition<T> definition : reduced) {
+                    if (processedDefinitions.contains(definition)) {
+                        continue;
                     }
-                    allCandidatesAreSingleton = true;
-                    beans = beansOfTypeList;
-                }
-            } else if (hasCandiates) {
-                boolean hasNonSingletonCandidate = false;
-                int candidateCount = candidates.size();
-                Stream<BeanDefinition<T>> candidateStream = candidates.stream();
-                candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream)
-                        .filter(c -> !processedDefinitions.contains(c));
-
-                List<BeanDefinition<T>> candidateList = candidateStream.collect(Collectors.toList());
-                for (BeanDefinition<T> candidate : candidateList) {
-                    if (!hasNonSingletonCandidate && !candidate.isSingleton()) {
-                        hasNonSingletonCandidate = true;
+                    if (definition.isSingleton()) {
+                        allCandidatesAreSingleton = true;
                     }
-                    addCandidateToList(resolutionContext, beanType, candidate, beansOfTypeList, qualifier, candidateCount == 1);
-                }
-                if (!hasNonSingletonCandidate) {
-                    allCandidatesAreSingleton = true;
+                    addCandidateToList(resolutionContext, beanType, definition, beansOfTypeList, qualifier, reduced.size() == 1);
                 }
                 beans = beansOfTypeList;
             } else {
+
                 if (LOG.isDebugEnabled() && beansOfTypeList.isEmpty()) {
-                    LOG.debug("Found no possible candidate beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
+                    LOG.debug("Found no matching beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
                 }
                 allCandidatesAreSingleton = true;
                 beans = beansOfTypeList;
             }
-
-            if (Ordered.class.isAssignableFrom(beanType)) {
-                beans = beans.stream().sorted(OrderUtil.COMPARATOR).collect(StreamUtils.toImmutableCollection());
-            } else {
-                beans = Collections.unmodifiableCollection(beans);
+        } else if (hasCandiates) {
+            boolean hasNonSingletonCandidate = false;
+            int candidateCount = candidates.size();
+            Stream<BeanDefinition<T>> candidateStream = candidates.stream();
+            candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream)
+                    .filter(c -> !processedDefinitions.contains(c));
+
+            List<BeanDefinition<T>> candidateList = candidateStream.collect(Collectors.toList());
+            for (BeanDefinition<T> candidate : candidateList) {
+                if (!hasNonSingletonCandidate && !candidate.isSingleton()) {
+                    hasNonSingletonCandidate = true;
+                }
+                addCandidateToList(resolutionContext, beanType, candidate, beansOfTypeList, qualifier, candidateCount == 1);
             }
-
-            if (allCandidatesAreSingleton) {
-                initializedObjectsByType.put(key, (Collection<Object>) beans);
+            if (!hasNonSingletonCandidate) {
+                allCandidatesAreSingleton = true;
             }
-            if (LOG.isDebugEnabled() && !beans.isEmpty()) {
-                if (hasQualifier) {
-                    LOG.debug("Found {} beans for type [{} {}]: {} ", beans.size(), qualifier, beanType.getName(), beans);
-                } else {
-                    LOG.debug("Found {} beans for type [{}]: {} ", beans.size(), beanType.getName(), beans);
-                }
+            beans = beansOfTypeList;
+        } else {
+            if (LOG.isDebugEnabled() && beansOfTypeList.isEmpty()) {
+                LOG.debug("Found no possible candidate beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
             }
+            allCandidatesAreSingleton = true;
+            beans = beansOfTypeList;
+        }
+
+        if (Ordered.class.isAssignableFrom(beanType)) {
+            beans = beans.stream().sorted(OrderUtil.COMPARATOR).collect(StreamUtils.toImmutableCollection());
+        } else {
+            beans = Collections.unmodifiableCollection(beans);
+        }
 
-            return beans;
+        if (allCandidatesAreSingleton) {
+            initializedObjectsByType.put(key, (Collection<Object>) beans);
         }
+        if (LOG.isDebugEnabled() && !beans.isEmpty()) {
+            if (hasQualifier) {
+                LOG.debug("Found {} beans for type [{} {}]: {} ", beans.size(), qualifier, beanType.getName(), beans);
+            } else {
+                LOG.debug("Found {} beans for type [{}]: {} ", beans.size(), beanType.getName(), beans);
+            }
+        }
+
+        return beans;
     }
 
     private <T> void logResolvedExisting(Class<T> beanType, Qualifier<T> qualifier, boolean hasQualifier, Collection<T> existing) {
@@ -1990,10 +2086,15 @@ public class DefaultBeanContext implements BeanContext {
     private <T> void addCandidateToList(BeanResolutionContext resolutionContext, Class<T> beanType, BeanDefinition<T> candidate, Collection<T> beansOfTypeList, Qualifier<T> qualifier, boolean singleCandidate) {
         T bean;
         if (candidate.isSingleton()) {
-            synchronized (singletonObjects) {
-                bean = doCreateBean(resolutionContext, candidate, qualifier, true, null);
-                registerSingletonBean(candidate, beanType, bean, qualifier, singleCandidate);
-            }
+            bean = withSingletonLock(candidate, () -> {
+                // another thread may have created the singleton while this thread was waiting for the lock
+                T existing = findExistingSingleton(candidate);
+                if (existing != null) {
+                    return existing;
+                }
+                T created = doCreateBean(resolutionContext, candidate, qualifier, true, null);
+                return registerSingletonBean(candidate, beanType, created, qualifier, singleCandidate);
+            });
         } else {
             bean = getScopedBeanForDefinition(resolutionContext, beanType, qualifier, true, candidate);
         }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.inject.writer;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.beans.AbstractBeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.reflect.ReflectionUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.commons.TableSwitchGenerator;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link BeanIntrospection} implementations for types annotated with
+ * {@link io.micronaut.core.annotation.Introspected} using ASM. The generated class invokes the getters, setters and
+ * the no argument constructor of the type directly.
+ *
+ * @see AbstractBeanIntrospection
+ * @since 1.0
+ */
+@Internal
+public class BeanIntrospectionWriter extends AbstractClassFileWriter {
+
+    /**
+     * Suffix for generated introspection classes.
+     */
+    public static final String CLASS_SUFFIX = "Introspection";
+
+    private static final Method METHOD_ADD_PROPERTY = Method.getMethod(ReflectionUtils.getRequiredInternalMethod(
+        AbstractBeanIntrospection.class, "addProperty", String.class, Class.class, boolean.class, boolean.class));
+    private static final Method METHOD_READ_INTERNAL = Method.getMethod(ReflectionUtils.getRequiredInternalMethod(
+        AbstractBeanIntrospection.class, "readInternal", int.class, Object.class));
+    private static final Method METHOD_WRITE_INTERNAL = Method.getMethod(ReflectionUtils.getRequiredInternalMethod(
+        AbstractBeanIntrospection.class, "writeInternal", int.class, Object.class, Object.class));
+    private static final Method METHOD_INSTANTIATE = Method.getMethod(ReflectionUtils.getRequiredInternalMethod(
+        AbstractBeanIntrospection.class, "instantiate"));
+    private static final Method METHOD_IS_INSTANTIABLE = Method.getMethod(ReflectionUtils.getRequiredInternalMethod(
+        AbstractBeanIntrospection.class, "isInstantiable"));
+
+    private final Type beanType;
+    private final String introspectionName;
+    private final Type introspectionType;
+    private final Type superType = Type.getType(AbstractBeanIntrospection.class);
+    private final List<PropertyInfo> properties = new ArrayList<>();
+    private boolean instantiable = false;
+
+    /**
+     * @param beanClassName The name of the introspected type
+     */
+    public BeanIntrospectionWriter(String beanClassName) {
+        this.beanType = getTypeReference(beanClassName);
+        this.introspectionName = getIntrospectionName(beanClassName);
+        this.introspectionType = getTypeReference(introspectionName);
+    }
+
+    /**
+     * @return The name of the generated introspection class
+     */
+    public String getIntrospectionName() {
+        return introspectionName;
+    }
+
+    /**
+     * Visits a property of the introspected type.
+     *
+     * @param name        The name of the property
+     * @param type        The type of the property, a {@link Class} for primitive types or the class name
+     * @param readMethod  The name of the getter or null if the property is not readable
+     * @param writeMethod The name of the setter or null if the property is not writable
+     */
+    public void visitProperty(String name, Object type, @Nullable String readMethod, @Nullable String writeMethod) {
+        properties.add(new PropertyInfo(name, type, readMethod, writeMethod));
+    }
+
+    /**
+     * Visits the public no argument constructor of the introspected type.
+     */
+    public void visitDefaultConstructor() {
+        this.instantiable = true;
+    }
+
+    @Override
+    public void accept(ClassWriterOutputVisitor classWriterOutputVisitor) throws IOException {
+        try (OutputStream outputStream = classWriterOutputVisitor.visitClass(introspectionName)) {
+            ClassWriter classWriter = generateClassBytes();
+            outputStream.write(classWriter.toByteArray());
+        }
+        classWriterOutputVisitor.visitServiceDescriptor(BeanIntrospection.class, introspectionName);
+    }
+
+    /**
+     * @param beanClassName The name of the introspected type
+     * @return The name of the introspection class generated for the type
+     */
+    public static String getIntrospectionName(String beanClassName) {
+        String packageName = NameUtils.getPackageName(beanClassName);
+        String simpleName = NameUtils.getSimpleName(beanClassName);
+        String introspectionSimpleName = '$' + simpleName + CLASS_SUFFIX;
+        return packageName.isEmpty() ? introspectionSimpleName : packageName + '.' + introspectionSimpleName;
+    }
+
+    private ClassWriter generateClassBytes() {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        startClass(classWriter, introspectionType.getInternalName(), superType);
+        writeConstructor(classWriter);
+        writeReadInternal(classWriter);
+        writeWriteInternal(classWriter);
+        if (instantiable) {
+            writeInstantiate(classWriter);
+        }
+        classWriter.visitEnd();
+        return classWriter;
+    }
+
+    private void writeConstructor(ClassWriter classWriter) {
+        GeneratorAdapter constructor = startConstructor(classWriter);
+        constructor.loadThis();
+        constructor.push(beanType);
+        invokeConstructor(constructor, AbstractBeanIntrospection.class, Class.class);
+
+        for (PropertyInfo property : properties) {
+            constructor.loadThis();
+            constructor.push(property.name);
+            pushType(constructor, property.type);
+            constructor.push(property.readMethod != null);
+            constructor.push(property.writeMethod != null);
+            constructor.invokeVirtual(introspectionType, METHOD_ADD_PROPERTY);
+        }
+
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(DEFAULT_MAX_STACK, 1);
+        constructor.visitEnd();
+    }
+
+    private void writeReadInternal(ClassWriter classWriter) {
+        GeneratorAdapter readMethod = newProtectedMethod(classWriter, METHOD_READ_INTERNAL);
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).readMethod != null) {
+                indexes.add(i);
+            }
+        }
+        writeSwitch(readMethod, indexes, index -> {
+            PropertyInfo property = properties.get(index);
+            readMethod.loadArg(1);
+            readMethod.checkCast(beanType);
+            readMethod.invokeVirtual(beanType, new Method(property.readMethod, getTypeReference(property.type), new Type[0]));
+            pushBoxPrimitiveIfNecessary(property.type, readMethod);
+            readMethod.returnValue();
+        });
+
+        // delegate to the super implementation for properties that are not readable
+        readMethod.loadThis();
+        readMethod.loadArgs();
+        invokeSuper(readMethod, METHOD_READ_INTERNAL);
+        readMethod.returnValue();
+        readMethod.visitMaxs(DEFAULT_MAX_STACK, 3);
+        readMethod.visitEnd();
+    }
+
+    private void writeWriteInternal(ClassWriter classWriter) {
+        GeneratorAdapter writeMethod = newProtectedMethod(classWriter, METHOD_WRITE_INTERNAL);
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).writeMethod != null) {
+                indexes.add(i);
+            }
+        }
+        writeSwitch(writeMethod, indexes, index -> {
+            PropertyInfo property = properties.get(index);
+            writeMethod.loadArg(1);
+            writeMethod.checkCast(beanType);
+            writeMethod.loadArg(2);
+            pushCastToType(writeMethod, property.type);
+            writeMethod.invokeVirtual(beanType, new Method(property.writeMethod, Type.VOID_TYPE, new Type[]{getTypeReference(property.type)}));
+            writeMethod.returnValue();
+        });
+
+        // delegate to the super implementation for properties that are not writable
+        writeMethod.loadThis();
+        writeMethod.loadArgs();
+        invokeSuper(writeMethod, METHOD_WRITE_INTERNAL);
+        writeMethod.returnValue();
+        writeMethod.visitMaxs(DEFAULT_MAX_STACK, 4);
+        writeMethod.visitEnd();
+    }
+
+    private void writeInstantiate(ClassWriter classWriter) {
+        GeneratorAdapter instantiateMethod = new GeneratorAdapter(ACC_PUBLIC, METHOD_INSTANTIATE, null, null, classWriter);
+        instantiateMethod.newInstance(beanType);
+        instantiateMethod.dup();
+        instantiateMethod.invokeConstructor(beanType, METHOD_DEFAULT_CONSTRUCTOR);
+        instantiateMethod.returnValue();
+        instantiateMethod.visitMaxs(2, 1);
+        instantiateMethod.visitEnd();
+
+        GeneratorAdapter isInstantiableMethod = new GeneratorAdapter(ACC_PUBLIC, METHOD_IS_INSTANTIABLE, null, null, classWriter);
+        isInstantiableMethod.push(true);
+        isInstantiableMethod.returnValue();
+        isInstantiableMethod.visitMaxs(1, 1);
+        isInstantiableMethod.visitEnd();
+    }
+
+    private static GeneratorAdapter newProtectedMethod(ClassWriter classWriter, Method method) {
+        return new GeneratorAdapter(ACC_PROTECTED, method, null, null, classWriter);
+    }
+
+    /**
+     * Writes a switch over the index of the property, the first argument of the method. Each case has to return,
+     * indexes without a case fall through to the code written after the switch.
+     *
+     * @param method     The method
+     * @param indexes    The indexes of the properties with a case
+     * @param caseWriter Writes the case for the index of a property
+     */
+    private void writeSwitch(GeneratorAdapter method, List<Integer> indexes, CaseWriter caseWriter) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        int[] keys = new int[indexes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = indexes.get(i);
+        }
+        method.loadArg(0);
+        method.tableSwitch(keys, new TableSwitchGenerator() {
+            @Override
+            public void generateCase(int key, Label end) {
+                caseWriter.write(key);
+            }
+
+            @Override
+            public void generateDefault() {
+                // fall through to the code after the switch
+            }
+        });
+    }
+
+    private void invokeSuper(GeneratorAdapter method, Method superMethod) {
+        method.visitMethodInsn(INVOKESPECIAL, superType.getInternalName(), superMethod.getName(), superMethod.getDescriptor(), false);
+    }
+
+    private static void pushType(GeneratorAdapter method, Object type) {
+        if (type instanceof Class && ((Class) type).isPrimitive()) {
+            Type wrapperType = Type.getType(ReflectionUtils.getWrapperType((Class) type));
+            method.visitFieldInsn(GETSTATIC, wrapperType.getInternalName(), "TYPE", Type.getDescriptor(Class.class));
+        } else {
+            method.push(getObjectType(type));
+        }
+    }
+
+    /**
+     * Writes the case of a switch.
+     */
+    @FunctionalInterface
+    private interface CaseWriter {
+        /**
+         * @param index The index of the property
+         */
+        void write(int index);
+    }
+
+    /**
+     * A property of the introspected type.
+     */
+    private static final class PropertyInfo {
+        final String name;
+        final Object type;
+        final String readMethod;
+        final String writeMethod;
+
+        PropertyInfo(String name, Object type, String readMethod, String writeMethod) {
+            this.name = name;
+            this.type = type;
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+        }
+    }
+}
@@ -41,10 +41,13 @@ import java.util.function.Supplier;
  */
 class DefaultFilterRoute implements FilterRoute {
 
+    private static final String PATH_SEPARATOR = "/";
+
     final List<String> patterns = new ArrayList<>(1);
     final Supplier<HttpFilter> filterSupplier;
     Set<HttpMethod> httpMethods;
     private HttpFilter filter;
+    private volatile String[] literalPrefixes;
 
     /**
      * @param pattern A pattern
@@ -75,7 +78,14 @@ class DefaultFilterRoute implements FilterRoute {
     @Override
     public Optional<HttpFilter> match(HttpMethod method, URI uri) {
         String uriStr = uri.toString();
-        for (String pattern : patterns) {
+        String[] literalPrefixes = getLiteralPrefixes();
+        // the literal prefix check is only valid for a URI without empty path segments
+        boolean checkPrefix = uriStr.indexOf("//") == -1;
+        for (int i = 0; i < literalPrefixes.length; i++) {
+            if (checkPrefix && !uriStr.startsWith(literalPrefixes[i])) {
+                continue;
+            }
+            String pattern = patterns.get(i);
             if (PathMatcher.ANT.matches(pattern, uriStr)) {
                 HttpFilter filter = getFilter();
                 if (filter instanceof Toggleable && !((Toggleable) filter).isEnabled()) {
@@ -91,6 +101,7 @@ class DefaultFilterRoute implements FilterRoute {
     public FilterRoute pattern(String pattern) {
         if (StringUtils.isNotEmpty(pattern)) {
             this.patterns.add(pattern);
+            this.literalPrefixes = null;
         }
         return this;
     }
@@ -105,4 +116,43 @@ class DefaultFilterRoute implements FilterRoute {
         }
         return this;
     }
+
+    private String[] getLiteralPrefixes() {
+        String[] literalPrefixes = this.literalPrefixes;
+        if (literalPrefixes == null) {
+            literalPrefixes = new String[patterns.size()];
+            for (int i = 0; i < literalPrefixes.length; i++) {
+                literalPrefixes[i] = literalPrefix(patterns.get(i));
+            }
+            this.literalPrefixes = literalPrefixes;
+        }
+        return literalPrefixes;
+    }
+
+    /**
+     * Computes the path segments of a pattern that precede the first wildcard. Any URI matched by the pattern
+     * starts with them, which allows most patterns to be rejected without evaluating them.
+     *
+     * @param pattern The pattern
+     * @return The literal prefix, empty if the pattern has no literal segments
+     */
+    private static String literalPrefix(String pattern) {
+        if (!pattern.startsWith(PATH_SEPARATOR) || pattern.contains("//")) {
+            return "";
+        }
+        int end = pattern.length();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || Character.isWhitespace(c)) {
+                end = i;
+                break;
+            }
+        }
+        int lastSeparator = pattern.lastIndexOf('/', end == pattern.length() ? end - 1 : end);
+        if (end == pattern.length() && !pattern.endsWith(PATH_SEPARATOR)) {
+            // a pattern without a wildcard only matches a URI starting with the whole pattern
+            return pattern;
+        }
+        return lastSeparator > 0 ? pattern.substring(0, lastSeparator) : "";
+    }
 }
@@ -26,12 +26,17 @@ import io.micronaut.http.filter.HttpFilter;
 import javax.inject.Singleton;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * route discovery, however the {@link UriRoute} instances for each {@link HttpMethod} are indexed by the literal
+ * prefix of their URI template so that only the routes that can possibly match a URI are evaluated.</p>
+ *
+ * <p>The sorted chain of filters for each distinct combination of matching {@link FilterRoute} instances is
+ * computed once, so requests that match the same filters share the same immutable list.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -39,9 +44,13 @@ import java.util.stream.Stream;
 @Singleton
 public class DefaultRouter implements Router {
 
+    private static final int MAX_FILTER_CHAINS = 1024;
+
     private final UriRoute[][] routesByMethod = new UriRoute[HttpMethod.values().length][];
+    private final UriRouteIndex[] indexesByMethod = new UriRouteIndex[HttpMethod.values().length];
     private final SortedSet<StatusRoute> routesByStatus = new TreeSet<>();
-    private final Collection<FilterRoute> filterRoutes = new ArrayList<>();
+    private final FilterRoute[] filterRoutes;
+    private final Map<Long, List<HttpFilter>> filterChains = new ConcurrentHashMap<>();
     private final SortedSet<ErrorRoute> errorRoutes = new TreeSet<>();
 
     /**
@@ -59,6 +68,7 @@ public class DefaultRouter implements Router {
         List<UriRoute> headRoutes = new ArrayList<>();
         List<UriRoute> connectRoutes = new ArrayList<>();
         List<UriRoute> traceRoutes = new ArrayList<>();
+        List<FilterRoute> filterRoutes = new ArrayList<>();
 
         for (RouteBuilder builder : builders) {
             List<UriRoute> constructedRoutes = builder.getUriRoutes();
@@ -98,8 +108,9 @@ public class DefaultRouter implements Router {
 
             this.routesByStatus.addAll(builder.getStatusRoutes());
             this.errorRoutes.addAll(builder.getErrorRoutes());
-            this.filterRoutes.addAll(builder.getFilterRoutes());
+            filterRoutes.addAll(builder.getFilterRoutes());
         }
+        this.filterRoutes = filterRoutes.toArray(new FilterRoute[filterRoutes.size()]);
 
         for (HttpMethod method : HttpMethod.values()) {
             switch (method) {
@@ -133,18 +144,22 @@ public class DefaultRouter implements Router {
                 default:
                     // no-op
             }
+            UriRoute[] routes = routesByMethod[method.ordinal()];
+            if (routes != null) {
+                indexesByMethod[method.ordinal()] = new UriRouteIndex(routes);
+            }
         }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> Stream<UriRouteMatch<T>> find(HttpMethod httpMethod, CharSequence uri) {
-        UriRoute[] routes = routesByMethod[httpMethod.ordinal()];
-        return Arrays
-            .stream(routes)
-            .map((route -> route.match(uri.toString())))
-            .filter(Optional::isPresent)
-            .map(Optional::get);
+        UriRouteIndex index = indexesByMethod[httpMethod.ordinal()];
+        if (index == null) {
+            return Stream.empty();
+        }
+        List<UriRouteMatch<T>> matches = index.all(uri.toString());
+        return matches.stream();
     }
 
     @Override
@@ -156,16 +171,11 @@ public class DefaultRouter implements Router {
 
     @Override
     public <T> Optional<UriRouteMatch<T>> route(HttpMethod httpMethod, CharSequence uri) {
-        UriRoute[] routes = routesByMethod[httpMethod.ordinal()];
-        Optional<UriRouteMatch> result = Arrays
-            .stream(routes)
-            .map((route -> route.match(uri.toString())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst();
-
-        UriRouteMatch match = result.orElse(null);
-        return Optional.ofNullable(match);
+        UriRouteIndex index = indexesByMethod[httpMethod.ordinal()];
+        if (index == null) {
+            return Optional.empty();
+        }
+        return index.first(uri.toString());
     }
 
     @Override
@@ -221,31 +231,64 @@ public class DefaultRouter implements Router {
 
     @Override
     public List<HttpFilter> findFilters(HttpRequest<?> request) {
-        List<HttpFilter> httpFilters = new ArrayList<>();
         HttpMethod method = request.getMethod();
         URI uri = request.getUri();
-        for (FilterRoute filterRoute : filterRoutes) {
-            Optional<HttpFilter> match = filterRoute.match(method, uri);
-            match.ifPresent(httpFilters::add);
+        FilterRoute[] filterRoutes = this.filterRoutes;
+        if (filterRoutes.length > Long.SIZE) {
+            List<HttpFilter> httpFilters = new ArrayList<>();
+            for (FilterRoute filterRoute : filterRoutes) {
+                Optional<HttpFilter> match = filterRoute.match(method, uri);
+                match.ifPresent(httpFilters::add);
+            }
+            return sortFilters(httpFilters);
         }
-        if (!httpFilters.isEmpty()) {
-            OrderUtil.sort(httpFilters);
-            return Collections.unmodifiableList(httpFilters);
-        } else {
+
+        // each bit represents a matching filter route
+        long matched = 0;
+        for (int i = 0; i < filterRoutes.length; i++) {
+            if (filterRoutes[i].match(method, uri).isPresent()) {
+                matched |= 1L << i;
+            }
+        }
+        if (matched == 0) {
             return Collections.emptyList();
         }
+        List<HttpFilter> filterChain = filterChains.get(matched);
+        if (filterChain == null) {
+            List<HttpFilter> httpFilters = new ArrayList<>(Long.bitCount(matched));
+            for (int i = 0; i < filterRoutes.length; i++) {
+                if ((matched & (1L << i)) != 0) {
+                    httpFilters.add(filterRoutes[i].getFilter());
+                }
+            }
+            filterChain = sortFilters(httpFilters);
+            if (filterChains.size() < MAX_FILTER_CHAINS) {
+                List<HttpFilter> existing = filterChains.putIfAbsent(matched, filterChain);
+                if (existing != null) {
+                    filterChain = existing;
+                }
+            }
+        }
+        return filterChain;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> Stream<UriRouteMatch<T>> findAny(CharSequence uri) {
+        String uriString = uri.toString();
         return Arrays
-            .stream(routesByMethod)
+            .stream(indexesByMethod)
             .filter(Objects::nonNull)
-            .flatMap(Arrays::stream)
-            .map(route -> route.match(uri.toString()))
-            .filter(Optional::isPresent)
-            .map(Optional::get);
+            .flatMap(index -> index.<T>all(uriString).stream());
+    }
+
+    private List<HttpFilter> sortFilters(List<HttpFilter> httpFilters) {
+        if (!httpFilters.isEmpty()) {
+            OrderUtil.sort(httpFilters);
+            return Collections.unmodifiableList(httpFilters);
+        } else {
+            return Collections.emptyList();
+        }
     }
 
     private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.web.router;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>A radix tree of {@link UriRoute} instances keyed by the literal prefix of each route's
+ * {@link io.micronaut.http.uri.UriMatchTemplate}. A lookup walks the tree using the characters of the URI and only
+ * the routes stored on the visited nodes are candidates for a match, which avoids evaluating every route.</p>
+ *
+ * <p>The routes are supplied in precedence order and candidates are always evaluated in that order, so the
+ * result is identical to evaluating each route in turn.</p>
+ *
+ * @since 1.0
+ */
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+
+    private final UriRoute[] routes;
+    private final Node root = new Node("");
+
+    /**
+     * @param routes The routes in precedence order
+     */
+    UriRouteIndex(UriRoute[] routes) {
+        this.routes = routes;
+        for (int i = 0; i < routes.length; i++) {
+            String prefix = routes[i].getUriMatchTemplate().getLiteralPrefix();
+            root.insert(prefix, 0, i);
+        }
+        root.seal();
+    }
+
+    /**
+     * Finds the first route that matches the given URI.
+     *
+     * @param uri The URI
+     * @param <T> The return type
+     * @return The route match
+     */
+    @SuppressWarnings("unchecked")
+    <T> Optional<UriRouteMatch<T>> first(String uri) {
+        for (int index : candidates(uri)) {
+            Optional<UriRouteMatch> match = routes[index].match(uri);
+            if (match.isPresent()) {
+                return (Optional) match;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds all of the routes that match the given URI in precedence order.
+     *
+     * @param uri The URI
+     * @param <T> The return type
+     * @return The route matches
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<UriRouteMatch<T>> all(String uri) {
+        int[] candidates = candidates(uri);
+        if (candidates.length == 0) {
+            return Collections.emptyList();
+        }
+        List<UriRouteMatch<T>> matches = new ArrayList<>(candidates.length);
+        for (int index : candidates) {
+            Optional<UriRouteMatch> match = routes[index].match(uri);
+            match.ifPresent(m -> matches.add(m));
+        }
+        return matches;
+    }
+
+    /**
+     * Collects the indices of the routes whose literal prefix is a prefix of the URI.
+     *
+     * @param uri The URI
+     * @return The sorted route indices
+     */
+    private int[] candidates(String uri) {
+        Node node = root;
+        int[] result = node.routes;
+        int pos = 0;
+        int len = uri.length();
+        boolean merged = false;
+        while (pos < len) {
+            Node child = node.child(uri.charAt(pos));
+            if (child == null || !uri.startsWith(child.label, pos)) {
+                break;
+            }
+            pos += child.label.length();
+            node = child;
+            int[] found = node.routes;
+            if (found.length > 0) {
+                if (result.length == 0) {
+                    result = found;
+                } else {
+                    int[] combined = Arrays.copyOf(result, result.length + found.length);
+                    System.arraycopy(found, 0, combined, result.length, found.length);
+                    result = combined;
+                    merged = true;
+                }
+            }
+        }
+        if (merged) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * A node within the tree. Each edge is labelled with a non-empty string and no two children of a node share
+     * a first character.
+     */
+    private static final class Node {
+        private String label;
+        private List<Node> childList = new ArrayList<>(2);
+        private List<Integer> routeList = new ArrayList<>(1);
+        private Node[] children;
+        private int[] routes;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void insert(String key, int pos, int route) {
+            if (pos == key.length()) {
+                routeList.add(route);
+                return;
+            }
+            char c = key.charAt(pos);
+            for (int i = 0; i < childList.size(); i++) {
+                Node child = childList.get(i);
+                String childLabel = child.label;
+                if (childLabel.charAt(0) != c) {
+                    continue;
+                }
+                int common = 1;
+                int max = Math.min(childLabel.length(), key.length() - pos);
+                while (common < max && childLabel.charAt(common) == key.charAt(pos + common)) {
+                    common++;
+                }
+                if (common < childLabel.length()) {
+                    // split the edge at the end of the common prefix
+                    Node split = new Node(childLabel.substring(0, common));
+                    child.label = childLabel.substring(common);
+                    split.childList.add(child);
+                    childList.set(i, split);
+                    child = split;
+                }
+                child.insert(key, pos + common, route);
+                return;
+            }
+            Node child = new Node(key.substring(pos));
+            child.routeList.add(route);
+            childList.add(child);
+        }
+
+        void seal() {
+            children = childList.toArray(new Node[childList.size()]);
+            if (routeList.isEmpty()) {
+                routes = NO_ROUTES;
+            } else {
+                routes = new int[routeList.size()];
+                for (int i = 0; i < routes.length; i++) {
+                    routes[i] = routeList.get(i);
+                }
+                Arrays.sort(routes);
+            }
+            childList = null;
+            routeList = null;
+            for (Node child : children) {
+                child.seal();
+            }
+        }
+    }
+}
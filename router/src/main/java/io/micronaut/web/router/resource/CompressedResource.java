@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.web.router.resource;
+
+import java.io.File;
+
+/**
+ * A compressed representation of a static resource.
+ *
+ * @since 1.0
+ */
+public final class CompressedResource {
+
+    /**
+     * The gzip content coding.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The brotli content coding.
+     */
+    public static final String BROTLI = "br";
+
+    private final File file;
+    private final String encoding;
+
+    /**
+     * @param file     The file containing the compressed resource
+     * @param encoding The content coding of the file
+     */
+    CompressedResource(File file, String encoding) {
+        this.file = file;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return The file containing the compressed resource
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The content coding of the file, for example {@link #GZIP}
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.web.router.resource;
+
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.http.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A cache of gzip compressed copies of static resources on disk. Each resource is compressed once on the given
+ * executor, the first time it is requested, and compressed again only if it changes. Until its copy is ready a
+ * resource is served uncompressed, so that requests never wait for the compression. The least recently used copies
+ * are deleted once the cache exceeds its maximum size.
+ *
+ * <p>Resources on the file system are checked for changes at most once per second, resources on the classpath
+ * cannot change and are never checked again.</p>
+ *
+ * @since 1.0
+ */
+class CompressedResourceCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompressedResourceCache.class);
+    private static final String FILE_PROTOCOL = "file";
+    private static final int MIN_LENGTH = 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final long maxSize;
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final Object directoryLock = new Object();
+    private final Object evictionLock = new Object();
+    private volatile Path directory;
+    private volatile boolean closed;
+
+    /**
+     * @param maxSize The maximum size in bytes of the compressed copies
+     */
+    CompressedResourceCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Whether the given resource may be served compressed. Resources that are not text based, or that turned out
+     * to be too small or not to compress, are always served as they are.
+     *
+     * @param resource The resource
+     * @return True if the representation of the resource depends on the accepted encodings
+     */
+    boolean isCompressible(URL resource) {
+        if (!isTextBased(resource)) {
+            return false;
+        }
+        CompletableFuture<Entry> future = entries.get(resource.toExternalForm());
+        Entry entry = future != null ? future.getNow(null) : null;
+        return entry == null || entry.file != null;
+    }
+
+    /**
+     * Returns the compressed copy of the given resource if an up to date copy exists. Otherwise the resource is
+     * compressed on the given executor and is served compressed by later requests.
+     *
+     * @param resource The resource
+     * @param executor The executor to compress the resource on
+     * @return The compressed copy
+     */
+    Optional<File> get(URL resource, Executor executor) {
+        if (closed || !isTextBased(resource)) {
+            return Optional.empty();
+        }
+        String key = resource.toExternalForm();
+        CompletableFuture<Entry> future = entries.get(key);
+        if (future != null) {
+            Entry entry = future.getNow(null);
+            if (entry == null) {
+                // being compressed
+                return Optional.empty();
+            }
+            if (isCurrent(resource, entry)) {
+                entry.lastAccess = System.nanoTime();
+                return Optional.ofNullable(entry.file);
+            }
+            CompletableFuture<Entry> replacement = new CompletableFuture<>();
+            if (entries.replace(key, future, replacement)) {
+                delete(entry);
+                compress(key, resource, replacement, executor);
+            }
+        } else {
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            if (entries.putIfAbsent(key, created) == null) {
+                compress(key, resource, created, executor);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes the compressed copies.
+     */
+    void close() {
+        closed = true;
+        for (String key : new ArrayList<>(entries.keySet())) {
+            remove(key);
+        }
+        Path directory = this.directory;
+        if (directory != null) {
+            directory.toFile().delete();
+        }
+    }
+
+    private static boolean isTextBased(URL resource) {
+        return MediaType.forExtension(NameUtils.extension(resource.getPath()))
+            .map(MediaType::isTextBased)
+            .orElse(false);
+    }
+
+    private boolean isCurrent(URL resource, Entry entry) {
+        if (!FILE_PROTOCOL.equals(resource.getProtocol())) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - entry.checkedAt < CHECK_INTERVAL) {
+            return true;
+        }
+        try {
+            File file = Paths.get(resource.toURI()).toFile();
+            if (file.lastModified() == entry.lastModified && file.length() == entry.length) {
+                entry.checkedAt = now;
+                return true;
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            // treat as changed
+        }
+        return false;
+    }
+
+    private void compress(String key, URL resource, CompletableFuture<Entry> future, Executor executor) {
+        try {
+            executor.execute(() -> {
+                try {
+                    Entry entry = compress(resource);
+                    size.addAndGet(entry.compressedLength);
+                    future.complete(entry);
+                    if (closed || entries.get(key) != future) {
+                        // closed or invalidated in the meantime
+                        delete(entry);
+                    } else {
+                        evict();
+                    }
+                } catch (Throwable e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Could not compress static resource [" + resource + "]: " + e.getMessage(), e);
+                    }
+                    // try again with a later request
+                    entries.remove(key, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entries.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Entry compress(URL resource) throws IOException, URISyntaxException {
+        long lastModified;
+        long length;
+        if (FILE_PROTOCOL.equals(resource.getProtocol())) {
+            File file = Paths.get(resource.toURI()).toFile();
+            lastModified = file.lastModified();
+            length = file.length();
+        } else {
+            URLConnection connection = resource.openConnection();
+            lastModified = connection.getLastModified();
+            length = connection.getContentLengthLong();
+        }
+        if (length >= 0 && length < MIN_LENGTH) {
+            return new Entry(null, 0, lastModified, length);
+        }
+
+        Path target = Files.createTempFile(getDirectory(), "resource", ".gz");
+        try (InputStream in = resource.openStream(); OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        File compressed = target.toFile();
+        long compressedLength = compressed.length();
+        if ((length >= 0 && compressedLength >= length) || compressedLength > maxSize) {
+            // not worth serving, remember that so the resource is not compressed again
+            Files.deleteIfExists(target);
+            return new Entry(null, 0, lastModified, length);
+        }
+        return new Entry(compressed, compressedLength, lastModified, length);
+    }
+
+    private Path getDirectory() throws IOException {
+        Path directory = this.directory;
+        if (directory == null) {
+            synchronized (directoryLock) {
+                directory = this.directory;
+                if (directory == null) {
+                    directory = Files.createTempDirectory("micronaut-static-resources");
+                    this.directory = directory;
+                }
+            }
+        }
+        return directory;
+    }
+
+    private void evict() {
+        if (size.get() <= maxSize) {
+            return;
+        }
+        // only runs on the executor, never on a request thread
+        synchronized (evictionLock) {
+            List<Map.Entry<String, Entry>> copies = new ArrayList<>();
+            entries.forEach((key, future) -> {
+                Entry entry = future.getNow(null);
+                if (entry != null && entry.file != null) {
+                    copies.add(new AbstractMap.SimpleImmutableEntry<>(key, entry));
+                }
+            });
+            copies.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<String, Entry> copy : copies) {
+                if (size.get() <= maxSize) {
+                    break;
+                }
+                CompletableFuture<Entry> future = entries.get(copy.getKey());
+                if (future != null && future.getNow(null) == copy.getValue() && entries.remove(copy.getKey(), future)) {
+                    delete(copy.getValue());
+                }
+            }
+        }
+    }
+
+    private void remove(String key) {
+        CompletableFuture<Entry> future = entries.remove(key);
+        if (future != null) {
+            Entry entry = future.getNow(null);
+            if (entry != null) {
+                delete(entry);
+            }
+        }
+    }
+
+    private void delete(Entry entry) {
+        if (entry.file != null && entry.deleted.compareAndSet(false, true)) {
+            size.addAndGet(-entry.compressedLength);
+            entry.file.delete();
+        }
+    }
+
+    /**
+     * A compressed copy and the state of the resource it was created from.
+     */
+    private static final class Entry {
+        final File file;
+        final long compressedLength;
+        final long lastModified;
+        final long length;
+        final AtomicBoolean deleted = new AtomicBoolean();
+        volatile long checkedAt = System.nanoTime();
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(File file, long compressedLength, long lastModified, long length) {
+            this.file = file;
+            this.compressedLength = compressedLength;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
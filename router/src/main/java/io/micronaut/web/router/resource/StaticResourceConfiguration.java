@@ -41,9 +41,23 @@ public class StaticResourceConfiguration implements Toggleable {
      */
     public static final String PREFIX = "micronaut.router.static.resources";
 
+    /**
+     * The default maximum number of resolved resources to cache.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    /**
+     * The default maximum size in bytes of the cache of compressed resources.
+     */
+    public static final long DEFAULT_COMPRESSION_CACHE_SIZE = 100L * 1024 * 1024;
+
     protected boolean enabled = false;
     protected List<String> paths = Collections.emptyList();
     protected String mapping = "/**";
+    protected int cacheSize = DEFAULT_CACHE_SIZE;
+    protected boolean precompressed = false;
+    protected boolean compress = false;
+    protected long compressionCacheSize = DEFAULT_COMPRESSION_CACHE_SIZE;
 
     private final ResourceResolver resourceResolver;
 
@@ -62,6 +76,35 @@ public class StaticResourceConfiguration implements Toggleable {
         return enabled;
     }
 
+    /**
+     * @return The maximum number of resolved resources to cache, 0 disables the cache
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return Whether precompressed {@code .br} and {@code .gz} siblings of file resources are served to clients
+     * that accept them
+     */
+    public boolean isPrecompressed() {
+        return precompressed;
+    }
+
+    /**
+     * @return Whether text based resources are compressed once and served from a cache on disk
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * @return The maximum size in bytes of the cache of compressed resources
+     */
+    public long getCompressionCacheSize() {
+        return compressionCacheSize;
+    }
+
     /**
      * @return The list of {@link ResourceLoader} available for the path
      */
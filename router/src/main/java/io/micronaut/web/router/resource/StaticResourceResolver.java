@@ -17,27 +17,72 @@
 package io.micronaut.web.router.resource;
 
 import io.micronaut.core.io.ResourceLoader;
+import io.micronaut.core.io.file.FileSystemResourceLoader;
 import io.micronaut.core.util.AntPathMatcher;
 import io.micronaut.core.util.PathMatcher;
 import io.micronaut.core.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Resolves resources from a set of resource loaders.
  *
+ * <p>Resolved resources are cached by path so that subsequent requests do not query each loader again. Resources
+ * on the file system are invalidated when their directory changes, resources on the classpath cannot change
+ * and remain cached. A resource found by a loader other than the first is only cached if the locations of the loaders
+ * that take precedence over it are watched as well, so a resource created there later is found. Since a classpath
+ * location cannot be watched, resources found after a classpath loader are not cached. Changes to the directories
+ * are polled while resolving resources, at most once per second, so no thread is needed to watch them.</p>
+ *
+ * <p>If enabled, compressed representations of resources are resolved with
+ * {@link #resolveCompressed(URL, String, Executor)}.</p>
+ *
  * @author James Kleeh
  * @since 1.0
  */
 @Singleton
-public class StaticResourceResolver {
+public class StaticResourceResolver implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticResourceResolver.class);
+    private static final String FILE_PROTOCOL = "file";
+    private static final String[] PRECOMPRESSED_ENCODINGS = {CompressedResource.BROTLI, CompressedResource.GZIP};
+    private static final String[] PRECOMPRESSED_EXTENSIONS = {".br", ".gz"};
+    private static final long WATCH_POLL_INTERVAL = TimeUnit.SECONDS.toNanos(1);
 
     private final String mapping;
     private final List<ResourceLoader> loaders;
     private final AntPathMatcher pathMatcher;
+    private final int cacheSize;
+    private final boolean precompressed;
+    private final CompressedResourceCache compressedResources;
+    private final Map<String, URL> resolvedResources = new ConcurrentHashMap<>();
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private volatile WatchService watchService;
+    private final AtomicLong lastWatchPoll = new AtomicLong(System.nanoTime());
+    private volatile boolean closed;
 
     /**
      * @param configuration The configuration as {@link StaticResourceConfiguration}
@@ -46,6 +91,9 @@ public class StaticResourceResolver {
         this.loaders = configuration.getResourceLoaders();
         this.pathMatcher = PathMatcher.ANT;
         this.mapping = configuration.mapping;
+        this.cacheSize = configuration.getCacheSize();
+        this.precompressed = configuration.isPrecompressed();
+        this.compressedResources = configuration.isCompress() ? new CompressedResourceCache(configuration.getCompressionCacheSize()) : null;
     }
 
     /**
@@ -64,13 +112,237 @@ public class StaticResourceResolver {
             if (path.startsWith("/")) {
                 path = path.substring(1);
             }
+            pollChanges();
+            URL cached = resolvedResources.get(path);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            boolean cacheable = true;
             for (ResourceLoader loader : loaders) {
                 Optional<URL> resource = loader.getResource(path);
                 if (resource.isPresent()) {
+                    if (cacheable) {
+                        cache(path, resource.get());
+                    }
                     return resource;
                 }
+                // a resource created in this location later would take precedence over one found after it
+                cacheable = cacheable && watchMissing(loader, path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves a compressed representation of a resource that is acceptable to the client. A precompressed
+     * {@code .br} or {@code .gz} sibling of a file resource is preferred, otherwise text based resources are
+     * compressed with gzip once and served from a cache on disk. Until the compressed copy of a resource is ready,
+     * no compressed representation is resolved.
+     *
+     * @param resource       The resource previously resolved with {@link #resolve(String)}
+     * @param acceptEncoding The value of the {@code Accept-Encoding} header of the request
+     * @param executor       The executor to compress resources on, which should allow blocking I/O
+     * @return The compressed resource
+     */
+    public Optional<CompressedResource> resolveCompressed(URL resource, String acceptEncoding, Executor executor) {
+        if (acceptEncoding == null || (!precompressed && compressedResources == null)) {
+            return Optional.empty();
+        }
+        if (precompressed && FILE_PROTOCOL.equals(resource.getProtocol())) {
+            try {
+                File file = Paths.get(resource.toURI()).toFile();
+                for (int i = 0; i < PRECOMPRESSED_ENCODINGS.length; i++) {
+                    if (accepts(acceptEncoding, PRECOMPRESSED_ENCODINGS[i])) {
+                        File sibling = new File(file.getPath() + PRECOMPRESSED_EXTENSIONS[i]);
+                        // a sibling older than the resource is stale
+                        if (sibling.isFile() && sibling.canRead() && sibling.lastModified() >= file.lastModified()) {
+                            return Optional.of(new CompressedResource(sibling, PRECOMPRESSED_ENCODINGS[i]));
+                        }
+                    }
+                }
+            } catch (URISyntaxException | RuntimeException e) {
+                // not a file on the default file system
             }
         }
+        if (compressedResources != null && accepts(acceptEncoding, CompressedResource.GZIP)) {
+            return compressedResources.get(resource, executor)
+                .map(file -> new CompressedResource(file, CompressedResource.GZIP));
+        }
         return Optional.empty();
     }
+
+    /**
+     * Whether a compressed representation of the given resource may be resolved, in which case responses that serve
+     * the resource should vary by {@code Accept-Encoding}.
+     *
+     * @param resource The resource previously resolved with {@link #resolve(String)}
+     * @return True if the resource may be served compressed
+     */
+    public boolean isCompressible(URL resource) {
+        if (compressedResources != null && compressedResources.isCompressible(resource)) {
+            return true;
+        }
+        if (precompressed && FILE_PROTOCOL.equals(resource.getProtocol())) {
+            try {
+                String path = Paths.get(resource.toURI()).toFile().getPath();
+                for (String extension : PRECOMPRESSED_EXTENSIONS) {
+                    if (new File(path + extension).isFile()) {
+                        return true;
+                    }
+                }
+            } catch (URISyntaxException | RuntimeException e) {
+                // not a file on the default file system
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops watching the directories of the cached resources and deletes the compressed copies of resources.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        closed = true;
+        resolvedResources.clear();
+        if (compressedResources != null) {
+            compressedResources.close();
+        }
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(encoding) || (name.equals("*") && CompressedResource.GZIP.equals(encoding))) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cache(String path, URL url) {
+        if (closed || resolvedResources.size() >= cacheSize) {
+            return;
+        }
+        if (FILE_PROTOCOL.equals(url.getProtocol())) {
+            // only cache files that can be invalidated when they change
+            if (!watch(url, false)) {
+                return;
+            }
+        }
+        resolvedResources.put(path, url);
+    }
+
+    /**
+     * Watches the location a loader would resolve a missing resource from, which is the nearest existing directory
+     * of the path. Creating the resource or any directory leading to it changes that directory.
+     *
+     * @param loader The loader that did not find the resource
+     * @param path   The path of the resource
+     * @return True if the location is watched
+     */
+    private boolean watchMissing(ResourceLoader loader, String path) {
+        if (closed || !(loader instanceof FileSystemResourceLoader)) {
+            return false;
+        }
+        String directory = path;
+        while (!directory.isEmpty()) {
+            int separator = directory.lastIndexOf('/');
+            directory = separator > 0 ? directory.substring(0, separator) : "";
+            Optional<URL> location = loader.getResource(directory);
+            if (location.isPresent()) {
+                URL url = location.get();
+                return FILE_PROTOCOL.equals(url.getProtocol()) && watch(url, true);
+            }
+        }
+        return false;
+    }
+
+    private boolean watch(URL url, boolean isDirectory) {
+        try {
+            Path file = Paths.get(url.toURI());
+            Path directory = isDirectory ? file : file.getParent();
+            if (directory == null) {
+                return false;
+            }
+            if (watchedDirectories.contains(directory)) {
+                return true;
+            }
+            synchronized (watchedDirectories) {
+                if (!watchedDirectories.contains(directory)) {
+                    directory.register(
+                        getWatchService(),
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY
+                    );
+                    watchedDirectories.add(directory);
+                }
+            }
+            return true;
+        } catch (URISyntaxException | IOException | RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot watch static resource [" + url + "] for changes, it will not be cached: " + e.getMessage(), e);
+            }
+            return false;
+        }
+    }
+
+    private WatchService getWatchService() throws IOException {
+        WatchService watchService = this.watchService;
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            this.watchService = watchService;
+        }
+        return watchService;
+    }
+
+    /**
+     * Invalidates the cache if a watched directory has changed. The watch service is polled at most once per
+     * interval and by one thread at a time.
+     */
+    private void pollChanges() {
+        WatchService watchService = this.watchService;
+        if (watchService == null || closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        long lastPoll = lastWatchPoll.get();
+        if (now - lastPoll < WATCH_POLL_INTERVAL || !lastWatchPoll.compareAndSet(lastPoll, now)) {
+            return;
+        }
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                // any change to a watched directory, including the creation of a file that could take precedence
+                // over a cached resource, invalidates the cache
+                key.pollEvents();
+                resolvedResources.clear();
+                if (!key.reset()) {
+                    watchedDirectories.remove((Path) key.watchable());
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the resolver has been closed
+        }
+    }
 }
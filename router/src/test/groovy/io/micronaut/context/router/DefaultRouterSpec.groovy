@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.DefaultApplicationContext
+import io.micronaut.core.util.PathMatcher
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.filter.FilterChain
+import io.micronaut.http.filter.HttpFilter
+import io.micronaut.web.router.GroovyRouteBuilder
+import io.micronaut.web.router.Router
+import io.micronaut.web.router.UriRoute
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * @since 1.0
+ */
+class DefaultRouterSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = new DefaultApplicationContext("test").start()
+    @Shared Router router = context.getBean(Router)
+
+    @Unroll
+    void "test indexed route lookup for #uri matches a linear scan"() {
+        given:
+        List<UriRoute> routes = router.uriRoutes()
+                                      .filter({ it.httpMethod == HttpMethod.GET })
+                                      .collect()
+        def expected = routes.findResult { it.match(uri).orElse(null) }
+        def match = router.GET(uri)
+
+        expect:
+        (expected != null) == found
+        match.orElse(null)?.route == expected?.route
+        match.orElse(null)?.variableValues == expected?.variableValues
+        match.isPresent() == found
+        router.find(HttpMethod.GET, uri).collect { it.route } == routes.findAll { it.match(uri).isPresent() }
+
+        where:
+        uri                          | found
+        '/pets'                      | true
+        '/pets/'                     | true
+        '/pets/fluffy'               | true
+        '/pets/fluffy?max=10'        | true
+        '/pets/fluffy/toys'          | true
+        '/pets/fluffy/toys/ball'     | true
+        '/pets/fluffy/toys/ball.xml' | true
+        '/pets/search'               | true
+        '/pets/search/dogs'          | true
+        '/petshop'                   | false
+        '/pet'                       | false
+        '/pets/fluffy/other'         | true
+        '/owners/1/pets'             | true
+        '/owners/abc/pets'           | false
+    }
+
+    @Unroll
+    void "test filters for #uri match the ant patterns in order"() {
+        given:
+        def expected = PetRoutes.FILTERS
+                .findAll { pattern, filter -> PathMatcher.ANT.matches(pattern, uri) }
+                .collect { pattern, filter -> filter }
+                .sort { it.order }
+        def filters = router.findFilters(HttpRequest.GET(uri))
+
+        expect:
+        filters == expected
+        filters*.name == names
+        router.findFilters(HttpRequest.GET(uri)).is(filters)
+
+        where:
+        uri                   | names
+        '/pets'               | ['all', 'pets-exact', 'pets']
+        '/pets/fluffy'        | ['all', 'pets']
+        '/pets/fluffy?max=10' | ['all', 'pets']
+        '/petshop'            | ['all']
+        '/owners/1/pets'      | ['all', 'owner-pets']
+        '//pets/fluffy'       | ['all', 'pets']
+    }
+
+    void "test requests matching different filters do not share a filter chain"() {
+        expect:
+        !router.findFilters(HttpRequest.GET('/pets')).is(router.findFilters(HttpRequest.GET('/pets/fluffy')))
+    }
+
+    @Singleton
+    static class PetRoutes extends GroovyRouteBuilder {
+
+        static final Map<String, HttpFilter> FILTERS = [
+                '/**'           : new NamedFilter('all', 0),
+                '/pets/**'      : new NamedFilter('pets', 20),
+                '/pets'         : new NamedFilter('pets-exact', 10),
+                '/owners/*/pets': new NamedFilter('owner-pets', 5)
+        ]
+
+        PetRoutes(ApplicationContext beanContext) {
+            super(beanContext)
+        }
+
+        @Inject
+        void petRoutes(PetController controller) {
+            GET("/pets", controller, "list")
+            GET("/pets/search", controller, "search")
+            GET("/pets/{name}", controller, "show", String)
+            GET("/pets/{+path}", controller, "path", String)
+            GET("/pets/{name}/toys", controller, "toys", String)
+            GET("/pets/{name}/toys/{toy}", controller, "toy", String, String)
+            GET("/owners/{id:[0-9]+}/pets", controller, "owner", String)
+
+            FILTERS.each { pattern, filter ->
+                addFilter(pattern, { -> filter })
+            }
+        }
+    }
+
+    static class NamedFilter implements HttpFilter {
+        final String name
+        final int order
+
+        NamedFilter(String name, int order) {
+            this.name = name
+            this.order = order
+        }
+
+        @Override
+        int getOrder() {
+            order
+        }
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+            chain.proceed(request)
+        }
+    }
+
+    @Controller
+    static class PetController {
+
+        String list() { "list" }
+
+        String search() { "search" }
+
+        String show(String name) { "show $name" }
+
+        String path(String path) { "path $path" }
+
+        String toys(String name) { "toys $name" }
+
+        String toy(String name, String toy) { "toy $name $toy" }
+
+        String owner(String id) { "owner $id" }
+    }
+}
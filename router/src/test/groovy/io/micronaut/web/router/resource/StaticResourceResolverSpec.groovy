@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router.resource
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class StaticResourceResolverSpec extends Specification {
+
+    void "test the cached resources are invalidated when a watched file changes"() {
+        given:
+        Path directory = Files.createTempDirectory("static-resources")
+        Path index = Files.write(directory.resolve("index.html"), "<html>one</html>".bytes)
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.router.static.resources.enabled': true,
+                'micronaut.router.static.resources.paths': ['file:' + directory.toString()]
+        )
+        StaticResourceResolver resolver = context.getBean(StaticResourceResolver)
+
+        expect:
+        resolver.resolve("/index.html").isPresent()
+
+        when:"the file is deleted"
+        Files.delete(index)
+
+        then:"the cached resource is invalidated"
+        new PollingConditions(timeout: 15, delay: 0.2).eventually {
+            assert !resolver.resolve("/index.html").isPresent()
+        }
+
+        when:"the file is created again"
+        Files.write(index, "<html>two</html>".bytes)
+
+        then:
+        new PollingConditions(timeout: 15, delay: 0.2).eventually {
+            assert resolver.resolve("/index.html").isPresent()
+        }
+
+        cleanup:
+        context.close()
+        Files.deleteIfExists(index)
+        Files.deleteIfExists(directory)
+    }
+
+    void "test a resource created in a location that takes precedence replaces the cached resource"() {
+        given:
+        Path first = Files.createTempDirectory("static-resources-first")
+        Path second = Files.createTempDirectory("static-resources-second")
+        Files.createDirectories(second.resolve("css"))
+        Path fallback = Files.write(second.resolve("css/app.css"), "second".bytes)
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.router.static.resources.enabled': true,
+                'micronaut.router.static.resources.paths': ['file:' + first.toString(), 'file:' + second.toString()]
+        )
+        StaticResourceResolver resolver = context.getBean(StaticResourceResolver)
+
+        expect:"the resource is resolved from the second location"
+        resolver.resolve("/css/app.css").get() == fallback.toUri().toURL()
+
+        when:"the resource is created in the first location"
+        Files.createDirectories(first.resolve("css"))
+        Path preferred = Files.write(first.resolve("css/app.css"), "first".bytes)
+
+        then:"the resource is resolved from the first location"
+        new PollingConditions(timeout: 15, delay: 0.2).eventually {
+            assert resolver.resolve("/css/app.css").get() == preferred.toUri().toURL()
+        }
+
+        cleanup:
+        context.close()
+        first.toFile().deleteDir()
+        second.toFile().deleteDir()
+    }
+}
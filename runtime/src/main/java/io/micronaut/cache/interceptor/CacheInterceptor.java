@@ -36,9 +36,9 @@ import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.scheduling.TaskExecutors;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -76,6 +76,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
 
     private final CacheManager cacheManager;
     private final Map<Class<? extends CacheKeyGenerator>, CacheKeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod<?, ?>, CacheOperation> cacheOperations = new ConcurrentHashMap<>();
     private final BeanContext beanContext;
     private final ExecutorService ioExecutor;
     private final CacheErrorHandler errorHandler;
@@ -134,16 +135,15 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
      */
     protected Object interceptSync(MethodInvocationContext context, ReturnType returnTypeObject, Class returnType) {
         final ValueWrapper wrapper = new ValueWrapper();
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
 
         Cacheable cacheConfig = cacheOperation.cacheable;
         if (cacheConfig != null) {
-            CacheKeyGenerator defaultKeyGenerator = cacheOperation.defaultKeyGenerator;
-            CacheKeyGenerator keyGenerator = resolveKeyGenerator(defaultKeyGenerator, cacheConfig);
-            Object[] parameterValues = resolveParams(context, cacheConfig.parameters());
+            CacheKeyGenerator keyGenerator = cacheOperation.cacheableKeyGenerator;
+            Object[] parameterValues = resolveParams(context, cacheOperation.cacheableParameters);
             Object key = keyGenerator.generateKey(context, parameterValues);
             Argument returnArgument = returnTypeObject.asArgument();
-            if (cacheConfig.atomic()) {
+            if (cacheOperation.cacheableAtomic) {
                 SyncCache syncCache = cacheManager.getCache(cacheOperation.cacheableCacheName);
 
                 try {
@@ -162,7 +162,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     throw e;
                 }
             } else {
-                String[] cacheNames = resolveCacheNames(cacheOperation.defaultConfig, cacheConfig);
+                String[] cacheNames = cacheOperation.cacheableCacheNames;
                 boolean cacheHit = false;
                 for (String cacheName : cacheNames) {
                     SyncCache syncCache = cacheManager.getCache(cacheName);
@@ -198,36 +198,35 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             }
         }
 
-        CachePut[] cachePuts = cacheOperation.putOperations;
+        CachePutOperation[] cachePuts = cacheOperation.putOperations;
         if (cachePuts != null) {
 
-            for (CachePut cachePut : cachePuts) {
-                boolean async = cachePut.async();
-                if (async) {
+            for (CachePutOperation cachePut : cachePuts) {
+                if (cachePut.async) {
                     ioExecutor.submit(() ->
-                        processCachePut(context, wrapper, cachePut, cacheOperation)
+                        processCachePut(context, wrapper, cachePut)
                     );
                 } else {
-                    processCachePut(context, wrapper, cachePut, cacheOperation);
+                    processCachePut(context, wrapper, cachePut);
                 }
             }
         }
 
-        CacheInvalidate[] cacheInvalidates = cacheOperation.invalidateOperations;
+        CacheInvalidateOperation[] cacheInvalidates = cacheOperation.invalidateOperations;
         if (cacheInvalidates != null) {
-            for (CacheInvalidate cacheInvalidate : cacheInvalidates) {
-                boolean async = cacheInvalidate.async();
+            for (CacheInvalidateOperation cacheInvalidate : cacheInvalidates) {
+                boolean async = cacheInvalidate.async;
                 if (async) {
                     ioExecutor.submit(() -> {
                             try {
-                                processCacheEvict(context, cacheInvalidate, cacheOperation, async);
+                                processCacheEvict(context, cacheInvalidate, async);
                             } catch (Exception e) {
                                 throw new CacheSystemException("Cache invalidate operation failed: " + e.getMessage(), e);
                             }
                         }
                     );
                 } else {
-                    processCacheEvict(context, cacheInvalidate, cacheOperation, async);
+                    processCacheEvict(context, cacheInvalidate, async);
                 }
             }
         }
@@ -244,13 +243,13 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
      * @return The value from the cache
      */
     protected Object interceptCompletableFuture(MethodInvocationContext<Object, Object> context, ReturnType<?> returnTypeObject, Class returnType) {
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
         Cacheable cacheable = cacheOperation.cacheable;
         CompletableFuture<Object> returnFuture;
         if (cacheable != null) {
             AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
-            CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, cacheable);
-            Object[] params = resolveParams(context, cacheable.parameters());
+            CacheKeyGenerator keyGenerator = cacheOperation.cacheableKeyGenerator;
+            Object[] params = resolveParams(context, cacheOperation.cacheableParameters);
             Object key = keyGenerator.generateKey(context, params);
             CompletableFuture<Object> thisFuture = new CompletableFuture<>();
             Argument<?> firstTypeVariable = returnTypeObject.getFirstTypeVariable().orElse(Argument.of(Object.class));
@@ -326,7 +325,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     }
 
     private Object interceptPublisher(MethodInvocationContext<Object, Object> context, ReturnType returnTypeObject, Class returnType) {
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
         Cacheable cacheable = cacheOperation.cacheable;
         if (cacheable != null) {
 
@@ -354,8 +353,8 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     public void request(long n) {
                         if (n > 0) {
                             AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
-                            CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, cacheable);
-                            Object[] params = resolveParams(context, cacheable.parameters());
+                            CacheKeyGenerator keyGenerator = cacheOperation.cacheableKeyGenerator;
+                            Object[] params = resolveParams(context, cacheOperation.cacheableParameters);
                             Object key = keyGenerator.generateKey(context, params);
                             Argument<?> firstTypeVariable = returnTypeObject.getFirstTypeVariable().orElse(Argument.of(Object.class));
                             future = asyncCache.get(key, firstTypeVariable).whenComplete((BiConsumer<Optional<?>, Throwable>) (o, throwable) -> {
@@ -432,20 +431,20 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     }
 
     private CompletableFuture<Object> processFuturePutOperations(MethodInvocationContext<Object, Object> context, CacheOperation cacheOperation, CompletableFuture<Object> returnFuture) {
-        CachePut[] putOperations = cacheOperation.putOperations;
+        CachePutOperation[] putOperations = cacheOperation.putOperations;
         if (putOperations != null) {
-            for (CachePut putOperation : putOperations) {
-                String[] cacheNames = cacheOperation.getCacheNames(putOperation);
+            for (CachePutOperation putOperation : putOperations) {
+                String[] cacheNames = putOperation.cacheNames;
 
                 if (ArrayUtils.isNotEmpty(cacheNames)) {
-                    boolean isAsync = putOperation.async();
+                    boolean isAsync = putOperation.async;
                     if (!isAsync) {
                         CompletableFuture<Object> newFuture = new CompletableFuture<>();
                         returnFuture.whenComplete((result, throwable) -> {
                             if (throwable == null) {
                                 try {
-                                    CacheKeyGenerator keyGenerator = cacheOperation.getKeyGenerator(putOperation);
-                                    Object[] parameterValues = resolveParams(context, putOperation.parameters());
+                                    CacheKeyGenerator keyGenerator = putOperation.keyGenerator;
+                                    Object[] parameterValues = resolveParams(context, putOperation.parameters);
                                     Object key = keyGenerator.generateKey(context, parameterValues);
                                     CompletableFuture<Void> putOperationFuture = buildPutFutures(cacheNames, result, key);
 
@@ -473,8 +472,8 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                         returnFuture.whenCompleteAsync((result, throwable) -> {
                             if (throwable == null) {
                                 try {
-                                    CacheKeyGenerator keyGenerator = cacheOperation.getKeyGenerator(putOperation);
-                                    Object[] parameterValues = resolveParams(context, putOperation.parameters());
+                                    CacheKeyGenerator keyGenerator = putOperation.keyGenerator;
+                                    Object[] parameterValues = resolveParams(context, putOperation.parameters);
                                     Object key = keyGenerator.generateKey(context, parameterValues);
                                     CompletableFuture<Void> putOperationFuture = buildPutFutures(cacheNames, result, key);
 
@@ -553,15 +552,9 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         }
     }
 
-    private void processCachePut(MethodInvocationContext<?, ?> context, ValueWrapper wrapper, CachePut cacheConfig, CacheOperation cacheOperation) {
-        String[] cacheNames = cacheOperation.getCacheNames(cacheConfig);
-        CacheKeyGenerator keyGenerator = cacheOperation.getKeyGenerator(cacheConfig);
-        String[] parameterNames = cacheConfig.parameters();
-        Object[] parameterValues = resolveParams(context, parameterNames);
-        boolean isAsync = cacheConfig.async();
-
-
-        processCachePut(context, wrapper, cacheNames, keyGenerator, parameterValues, isAsync);
+    private void processCachePut(MethodInvocationContext<?, ?> context, ValueWrapper wrapper, CachePutOperation cacheConfig) {
+        Object[] parameterValues = resolveParams(context, cacheConfig.parameters);
+        processCachePut(context, wrapper, cacheConfig.cacheNames, cacheConfig.keyGenerator, parameterValues, cacheConfig.async);
     }
 
     private void processCachePut(MethodInvocationContext<?, ?> context, ValueWrapper wrapper, String[] cacheNames, CacheKeyGenerator keyGenerator, Object[] parameterValues, boolean isAsync) {
@@ -607,23 +600,16 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
 
     private void processCacheEvict(
         MethodInvocationContext context,
-        CacheInvalidate cacheConfig,
-        CacheOperation cacheOperation,
+        CacheInvalidateOperation cacheConfig,
         boolean async) {
 
-        String[] cacheNames = cacheOperation.getCacheNames(cacheConfig);
-        CacheKeyGenerator keyGenerator = cacheOperation.getKeyGenerator(cacheConfig);
-        boolean invalidateAll = cacheConfig.all();
+        String[] cacheNames = cacheConfig.cacheNames;
+        boolean invalidateAll = cacheConfig.all;
         Object key = null;
-        String[] parameterNames = cacheConfig.parameters();
-        Object[] parameterValues = resolveParams(context, parameterNames);
 
         if (!invalidateAll) {
-            Class<? extends CacheKeyGenerator> alternateKeyGen = cacheConfig.keyGenerator();
-            if (keyGenerator.getClass() != alternateKeyGen) {
-                keyGenerator = resolveKeyGenerator(alternateKeyGen);
-            }
-            key = keyGenerator.generateKey(context, parameterValues);
+            Object[] parameterValues = resolveParams(context, cacheConfig.parameters);
+            key = cacheConfig.keyGenerator.generateKey(context, parameterValues);
         }
 
         if (!ArrayUtils.isEmpty(cacheNames)) {
@@ -678,49 +664,117 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         }
     }
 
-    private Object[] resolveParams(MethodInvocationContext<?, ?> context, String[] parameterNames) {
-        Object[] parameterValues;
+    private Object[] resolveParams(MethodInvocationContext<?, ?> context, int[] parameterIndexes) {
+        Object[] parameterValues = context.getParameterValues();
+        if (parameterIndexes == null) {
+            return parameterValues;
+        }
+        Object[] values = new Object[parameterIndexes.length];
+        for (int i = 0; i < parameterIndexes.length; i++) {
+            values[i] = parameterValues[parameterIndexes[i]];
+        }
+        return values;
+    }
+
+    /**
+     * Resolves the positions of the named parameters of the method so that the values used to generate cache keys
+     * can be looked up without building the parameter map on each invocation.
+     */
+    private int[] resolveParameterIndexes(MethodInvocationContext<?, ?> context, String[] parameterNames) {
         if (ArrayUtils.isEmpty(parameterNames)) {
-            parameterValues = context.getParameterValues();
-        } else {
-            List list = new ArrayList();
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-            for (String name : parameterNames) {
-                list.add(parameters.get(name).getValue());
+            return null;
+        }
+        Argument[] arguments = context.getArguments();
+        int[] indexes = new int[parameterNames.length];
+        for (int i = 0; i < parameterNames.length; i++) {
+            String name = parameterNames[i];
+            int index = -1;
+            for (int j = 0; j < arguments.length; j++) {
+                if (arguments[j].getName().equals(name)) {
+                    index = j;
+                    break;
+                }
             }
-            parameterValues = list.toArray();
+            if (index == -1) {
+                throw new IllegalStateException("No parameter named [" + name + "] found for cache operation on method: " + context);
+            }
+            indexes[i] = index;
         }
-        return parameterValues;
+        return indexes;
+    }
+
+    private CacheOperation resolveCacheOperation(MethodInvocationContext<?, ?> context, Class returnType) {
+        ExecutableMethod<?, ?> method = context.getExecutableMethod();
+        CacheOperation cacheOperation = cacheOperations.get(method);
+        if (cacheOperation == null) {
+            cacheOperation = new CacheOperation(context, returnType);
+            CacheOperation existing = cacheOperations.putIfAbsent(method, cacheOperation);
+            if (existing != null) {
+                cacheOperation = existing;
+            }
+        }
+        return cacheOperation;
     }
 
     /**
-     *
+     * The cache operations of a method, resolved from the annotation metadata on the first invocation.
      */
     private class CacheOperation {
         final Class returnType;
-        final MethodInvocationContext<?, ?> context;
         final CacheKeyGenerator defaultKeyGenerator;
         final CacheConfig defaultConfig;
         String cacheableCacheName;
+        String[] cacheableCacheNames;
         Cacheable cacheable;
-        CachePut[] putOperations;
-        CacheInvalidate[] invalidateOperations;
+        CacheKeyGenerator cacheableKeyGenerator;
+        int[] cacheableParameters;
+        boolean cacheableAtomic;
+        CachePutOperation[] putOperations;
+        CacheInvalidateOperation[] invalidateOperations;
 
         CacheOperation(MethodInvocationContext<?, ?> context, Class returnType) {
-            this.context = context;
             this.returnType = returnType;
 
             this.defaultConfig = context.getAnnotation(CacheConfig.class);
             this.defaultKeyGenerator = resolveKeyGenerator(defaultConfig.keyGenerator());
             boolean isVoid = isVoid();
-            this.putOperations = isVoid ? null : putOperations(context);
-            this.invalidateOperations = invalidateOperations(context);
+            CachePut[] cachePuts = isVoid ? null : putOperations(context);
+            if (cachePuts != null) {
+                this.putOperations = new CachePutOperation[cachePuts.length];
+                for (int i = 0; i < cachePuts.length; i++) {
+                    CachePut cachePut = cachePuts[i];
+                    this.putOperations[i] = new CachePutOperation(
+                        getCacheNames(cachePut.cacheNames()),
+                        getKeyGenerator(cachePut.keyGenerator()),
+                        resolveParameterIndexes(context, cachePut.parameters()),
+                        cachePut.async()
+                    );
+                }
+            }
+            CacheInvalidate[] cacheInvalidates = invalidateOperations(context);
+            if (cacheInvalidates != null) {
+                this.invalidateOperations = new CacheInvalidateOperation[cacheInvalidates.length];
+                for (int i = 0; i < cacheInvalidates.length; i++) {
+                    CacheInvalidate cacheInvalidate = cacheInvalidates[i];
+                    this.invalidateOperations[i] = new CacheInvalidateOperation(
+                        getCacheNames(cacheInvalidate.cacheNames()),
+                        getKeyGenerator(cacheInvalidate.keyGenerator()),
+                        resolveParameterIndexes(context, cacheInvalidate.parameters()),
+                        cacheInvalidate.async(),
+                        cacheInvalidate.all()
+                    );
+                }
+            }
             if (!isVoid && context.hasStereotype(Cacheable.class)) {
                 Cacheable cacheable = context.getAnnotation(Cacheable.class);
                 String[] names = resolveCacheNames(defaultConfig, cacheable);
                 if (ArrayUtils.isNotEmpty(names)) {
                     this.cacheableCacheName = names[0];
+                    this.cacheableCacheNames = names;
                     this.cacheable = cacheable;
+                    this.cacheableKeyGenerator = resolveKeyGenerator(defaultKeyGenerator, cacheable);
+                    this.cacheableParameters = resolveParameterIndexes(context, cacheable.parameters());
+                    this.cacheableAtomic = cacheable.atomic();
                 }
             }
         }
@@ -733,26 +787,6 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             return void.class == returnType;
         }
 
-        String[] getCacheNames(CachePut cacheConfig) {
-            String[] cacheNames = cacheConfig.cacheNames();
-            return getCacheNames(cacheNames);
-        }
-
-        String[] getCacheNames(CacheInvalidate cacheConfig) {
-            String[] cacheNames = cacheConfig.cacheNames();
-            return getCacheNames(cacheNames);
-        }
-
-        CacheKeyGenerator getKeyGenerator(CacheInvalidate cacheConfig) {
-            Class<? extends CacheKeyGenerator> alternateKeyGen = cacheConfig.keyGenerator();
-            return getKeyGenerator(alternateKeyGen);
-        }
-
-        CacheKeyGenerator getKeyGenerator(CachePut cacheConfig) {
-            Class<? extends CacheKeyGenerator> alternateKeyGen = cacheConfig.keyGenerator();
-            return getKeyGenerator(alternateKeyGen);
-        }
-
         private String[] getCacheNames(String[] cacheNames) {
             if (ArrayUtils.isEmpty(cacheNames)) {
                 cacheNames = defaultConfig.cacheNames();
@@ -769,6 +803,42 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         }
     }
 
+    /**
+     * A resolved {@link CachePut} operation.
+     */
+    private static class CachePutOperation {
+        final String[] cacheNames;
+        final CacheKeyGenerator keyGenerator;
+        final int[] parameters;
+        final boolean async;
+
+        CachePutOperation(String[] cacheNames, CacheKeyGenerator keyGenerator, int[] parameters, boolean async) {
+            this.cacheNames = cacheNames;
+            this.keyGenerator = keyGenerator;
+            this.parameters = parameters;
+            this.async = async;
+        }
+    }
+
+    /**
+     * A resolved {@link CacheInvalidate} operation.
+     */
+    private static class CacheInvalidateOperation {
+        final String[] cacheNames;
+        final CacheKeyGenerator keyGenerator;
+        final int[] parameters;
+        final boolean async;
+        final boolean all;
+
+        CacheInvalidateOperation(String[] cacheNames, CacheKeyGenerator keyGenerator, int[] parameters, boolean async, boolean all) {
+            this.cacheNames = cacheNames;
+            this.keyGenerator = keyGenerator;
+            this.parameters = parameters;
+            this.async = async;
+            this.all = all;
+        }
+    }
+
     /**
      * The value wrapper.
      */
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.micronaut.discovery.event;
+
+import io.micronaut.context.event.ApplicationEvent;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An event fired when a {@link io.micronaut.discovery.DiscoveryClient} that watches a service observes a change to
+ * the instances of the service.
+ *
+ * @since 1.0
+ */
+public class ServiceInstancesChangedEvent extends ApplicationEvent {
+
+    private final List<ServiceInstance> instances;
+
+    /**
+     * @param serviceId The ID of the service that changed
+     * @param instances The current instances of the service
+     * @throws IllegalArgumentException if the service ID is null.
+     */
+    public ServiceInstancesChangedEvent(String serviceId, List<ServiceInstance> instances) {
+        super(serviceId);
+        this.instances = Collections.unmodifiableList(instances);
+    }
+
+    @Override
+    public String getSource() {
+        return (String) super.getSource();
+    }
+
+    /**
+     * @return The ID of the service that changed
+     */
+    public String getServiceId() {
+        return getSource();
+    }
+
+    /**
+     * @return The current instances of the service
+     */
+    public List<ServiceInstance> getInstances() {
+        return instances;
+    }
+}
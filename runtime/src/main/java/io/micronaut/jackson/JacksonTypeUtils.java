@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.jackson;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.type.Argument;
+
+import java.util.Map;
+
+/**
+ * Utility methods to construct Jackson types from an {@link Argument}. For internal use by the JSON codec and
+ * the JSON binding of the HTTP server.
+ *
+ * @since 1.0
+ */
+@Internal
+public final class JacksonTypeUtils {
+
+    private JacksonTypeUtils() {
+    }
+
+    /**
+     * Constructs a {@link JavaType} for the given argument, including any generic type variables.
+     *
+     * @param type        The argument
+     * @param typeFactory The type factory
+     * @param <T>         The generic type
+     * @return The {@link JavaType}
+     */
+    public static <T> JavaType constructType(Argument<T> type, TypeFactory typeFactory) {
+        if (type.hasTypeVariables()) {
+            return typeFactory.constructParametricType(
+                type.getType(),
+                toJavaTypeArray(typeFactory, type.getTypeVariables())
+            );
+        } else {
+            return typeFactory.constructType(type.getType());
+        }
+    }
+
+    private static JavaType[] toJavaTypeArray(TypeFactory typeFactory, Map<String, Argument<?>> typeVariables) {
+        JavaType[] javaTypes = new JavaType[typeVariables.size()];
+        int i = 0;
+        for (Argument<?> argument : typeVariables.values()) {
+            javaTypes[i++] = constructType(argument, typeFactory);
+        }
+        return javaTypes;
+    }
+}
@@ -20,14 +20,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.micronaut.codec.CodecConfiguration;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecException;
 import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.jackson.JacksonTypeUtils;
 import io.micronaut.runtime.ApplicationConfiguration;
 
 import javax.annotation.Nullable;
@@ -127,11 +128,20 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
         try {
             if (CharSequence.class.isAssignableFrom(type.getType())) {
                 return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
-            } else if (type.hasTypeVariables()) {
-                JavaType javaType = constructJavaType(type);
-                return objectMapper.readValue(buffer.toByteArray(), javaType);
             } else {
-                return objectMapper.readValue(buffer.toByteArray(), type.getType());
+                // read through a stream view of the buffer to avoid copying it, restoring the reader index so that
+                // the buffer can be decoded again
+                int readerIndex = buffer.readerIndex();
+                try (InputStream inputStream = buffer.toInputStream()) {
+                    if (type.hasTypeVariables()) {
+                        JavaType javaType = constructJavaType(type);
+                        return objectMapper.readValue(inputStream, javaType);
+                    } else {
+                        return objectMapper.readValue(inputStream, type.getType());
+                    }
+                } finally {
+                    buffer.readerIndex(readerIndex);
+                }
             }
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getType() + "]: " + e.getMessage());
@@ -177,29 +187,23 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T> ByteBuffer encode(T object, ByteBufferFactory allocator) throws CodecException {
-        byte[] bytes = encode(object);
-        return allocator.copiedBuffer(bytes);
+        if (object instanceof byte[]) {
+            return allocator.copiedBuffer((byte[]) object);
+        }
+        // serialize straight into a buffer from the allocator rather than into an intermediate byte array
+        ByteBuffer buffer = allocator.buffer();
+        try (OutputStream outputStream = buffer.toOutputStream()) {
+            objectMapper.writeValue(outputStream, object);
+            return buffer;
+        } catch (IOException e) {
+            if (buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+            throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage());
+        }
     }
 
     private <T> JavaType constructJavaType(Argument<T> type) {
-        Map<String, Argument<?>> typeVariables = type.getTypeVariables();
-        TypeFactory typeFactory = objectMapper.getTypeFactory();
-        JavaType[] objects = toJavaTypeArray(typeFactory, typeVariables);
-        return typeFactory.constructParametricType(
-            type.getType(),
-            objects
-        );
-    }
-
-    private JavaType[] toJavaTypeArray(TypeFactory typeFactory, Map<String, Argument<?>> typeVariables) {
-        List<JavaType> javaTypes = new ArrayList<>();
-        for (Argument<?> argument : typeVariables.values()) {
-            if (argument.hasTypeVariables()) {
-                javaTypes.add(typeFactory.constructParametricType(argument.getType(), toJavaTypeArray(typeFactory, argument.getTypeVariables())));
-            } else {
-                javaTypes.add(typeFactory.constructType(argument.getType()));
-            }
-        }
-        return javaTypes.toArray(new JavaType[javaTypes.size()]);
+        return JacksonTypeUtils.constructType(type, objectMapper.getTypeFactory());
     }
 }
@@ -20,6 +20,7 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.TypeConverterRegistrar;
 import io.reactivex.BackpressureStrategy;
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
@@ -67,7 +68,11 @@ public class RxJavaConverterRegistrar implements TypeConverterRegistrar {
         conversionService.addConverter(Single.class, Observable.class, (Function<Single, Observable>) Single::toObservable);
         conversionService.addConverter(Object.class, Single.class, (Function<Object, Single>) Single::just);
 
+        // Completable
+        conversionService.addConverter(Completable.class, Publisher.class, (Function<Completable, Publisher>) Completable::toFlowable);
+
         // Flowable
+        conversionService.addConverter(Flowable.class, Completable.class, (Function<Flowable, Completable>) Flowable::ignoreElements);
         conversionService.addConverter(Flowable.class, Single.class, (Function<Flowable, Single>) Flowable::firstOrError);
         conversionService.addConverter(Flowable.class, Maybe.class, (Function<Flowable, Maybe>) Flowable::firstElement);
         conversionService.addConverter(Flowable.class, Observable.class, (Function<Flowable, Observable>) Flowable::toObservable);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry;
+
+/**
+ * Exposes the current state of a circuit breaker that tracks the outcome of calls over a sliding window, for
+ * example to publish it as gauges.
+ *
+ * @since 1.0
+ */
+public interface CircuitMetrics {
+
+    /**
+     * @return The current state of the circuit
+     */
+    CircuitState getState();
+
+    /**
+     * @return The number of calls in the sliding window
+     */
+    int getNumberOfCalls();
+
+    /**
+     * @return The percentage of failed calls in the sliding window
+     */
+    float getFailureRate();
+
+    /**
+     * @return The percentage of slow calls in the sliding window
+     */
+    float getSlowCallRate();
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * AOP Advice that limits the number of concurrent executions of a method, so that a slow dependency cannot
+ * exhaust the threads shared by the rest of the application. Calls that exceed the limit wait in a bounded queue
+ * and are rejected with a {@link io.micronaut.retry.exception.BulkheadRejectedException} once the queue is full.
+ *
+ * @since 1.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    int MAX_INTEGRAL_DIGITS = 4;
+
+    /**
+     * The name of the bulkhead. Methods with the same name share the same limits, by default each method has its
+     * own bulkhead.
+     *
+     * @return The name of the bulkhead
+     */
+    String value() default "";
+
+    /**
+     * @return The type of isolation
+     */
+    IsolationType type() default IsolationType.SEMAPHORE;
+
+    /**
+     * @return The maximum number of concurrent executions
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxConcurrentCalls() default "25";
+
+    /**
+     * The maximum number of calls that wait for an execution slot. Further calls are rejected immediately.
+     * Defaults to no waiting calls.
+     *
+     * @return The maximum number of waiting calls
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxWaitingCalls() default "0";
+
+    /**
+     * The maximum time a blocking call waits for an execution slot with {@link IsolationType#SEMAPHORE} isolation.
+     * Calls that return a reactive type or a {@link java.util.concurrent.CompletionStage} never block, they are
+     * executed once a slot is released.
+     *
+     * @return The maximum wait duration
+     */
+    String maxWaitDuration() default "0s";
+
+    /**
+     * The name of the executor used with {@link IsolationType#THREAD_POOL} isolation. If an executor with the name
+     * is configured under {@code micronaut.executors} it is used, otherwise a dedicated fixed thread pool with
+     * {@link #maxConcurrentCalls()} threads is created. Defaults to the name of the bulkhead.
+     *
+     * @return The name of the executor
+     */
+    String executor() default "";
+
+    /**
+     * The type of isolation of a bulkhead.
+     */
+    enum IsolationType {
+
+        /**
+         * Executions happen on the calling thread and are limited by a semaphore.
+         */
+        SEMAPHORE,
+
+        /**
+         * Executions happen on a dedicated thread pool.
+         */
+        THREAD_POOL
+    }
+}
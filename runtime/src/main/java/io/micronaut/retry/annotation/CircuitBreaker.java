@@ -93,4 +93,76 @@ public @interface CircuitBreaker {
      * @return The {@link java.time.Duration} of time before reset
      */
     String reset() default "20s";
+
+    /**
+     * The percentage of failed calls in the sliding window at or above which the circuit is opened. If neither
+     * this nor {@link #slowCallRateThreshold()} is set the circuit is opened as soon as a single invocation fails
+     * after exhausting its retries.
+     *
+     * @return The failure rate threshold as a percentage between 1 and 100
+     */
+    @Digits(integer = 3, fraction = 2)
+    String failureRateThreshold() default "";
+
+    /**
+     * The percentage of calls in the sliding window that take longer than {@link #slowCallDuration()} at or above
+     * which the circuit is opened.
+     *
+     * @return The slow call rate threshold as a percentage between 1 and 100
+     */
+    @Digits(integer = 3, fraction = 2)
+    String slowCallRateThreshold() default "";
+
+    /**
+     * @return The duration above which a call is considered slow
+     */
+    String slowCallDuration() default "5s";
+
+    /**
+     * @return The type of the sliding window that records the outcome of calls
+     */
+    SlidingWindowType slidingWindowType() default SlidingWindowType.COUNT_BASED;
+
+    /**
+     * The size of the sliding window, the number of calls for a {@link SlidingWindowType#COUNT_BASED} window or the
+     * number of seconds for a {@link SlidingWindowType#TIME_BASED} window.
+     *
+     * @return The size of the sliding window
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String slidingWindowSize() default "100";
+
+    /**
+     * The minimum number of calls in the sliding window before the failure and slow call rates are evaluated, so
+     * that a few failures right after startup or a reset do not open the circuit.
+     *
+     * @return The minimum number of calls
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String minimumNumberOfCalls() default "10";
+
+    /**
+     * The number of trial calls permitted while the circuit is {@link io.micronaut.retry.CircuitState#HALF_OPEN}.
+     * Further calls are rejected until the trial calls complete and either close or open the circuit again.
+     *
+     * @return The number of trial calls
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String halfOpenCalls() default "1";
+
+    /**
+     * The type of a sliding window.
+     */
+    enum SlidingWindowType {
+
+        /**
+         * Records the outcome of the last N calls.
+         */
+        COUNT_BASED,
+
+        /**
+         * Records the outcome of the calls of the last N seconds.
+         */
+        TIME_BASED
+    }
 }
@@ -76,9 +76,59 @@ public @interface Retryable {
      */
     String maxDelay() default "";
 
+    /**
+     * @return The maximum delay before a single retry, which caps the delay computed by the {@link #backoff()}
+     */
+    String maxRetryDelay() default "";
+
     /**
      * @return The multiplier to use to calculate the delay
      */
     @Digits(integer = 2, fraction = 2)
     String multiplier() default "1.0";
+
+    /**
+     * How the delay grows with each retry. With {@link Backoff#LINEAR} the delay grows linearly with the number of
+     * the attempt. With {@link Backoff#EXPONENTIAL} the n-th retry waits {@code delay * multiplier^(n - 1)}. In
+     * both cases a retry never waits longer than the {@link #maxRetryDelay()}.
+     *
+     * @return The backoff policy
+     */
+    Backoff backoff() default Backoff.LINEAR;
+
+    /**
+     * The fraction of each delay that is randomized. With a jitter of {@code 0.5} a delay of 1 second becomes a
+     * random delay between 500 and 1500 milliseconds, which prevents concurrent callers that failed at the same
+     * time from retrying at the same time. The randomized delay does not exceed the {@link #maxRetryDelay()}.
+     *
+     * @return The jitter to apply to the delay between 0 and 1
+     */
+    @Digits(integer = 1, fraction = 2)
+    String jitter() default "0";
+
+    /**
+     * The maximum number of retries per second across all invocations of the annotated method. The budget is a
+     * token bucket that is shared by every caller, once it is empty failures are no longer retried and the
+     * original exception is thrown, so that retries cannot multiply the load on a failing downstream service.
+     * Defaults to no budget.
+     *
+     * @return The maximum number of retries per second
+     */
+    String budget() default "";
+
+    /**
+     * The policies to compute the delay between retry attempts.
+     */
+    enum Backoff {
+
+        /**
+         * The delay grows linearly with the number of the attempt.
+         */
+        LINEAR,
+
+        /**
+         * The delay is multiplied by the multiplier for every retry.
+         */
+        EXPONENTIAL
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.exception;
+
+/**
+ * Exception thrown when a call is rejected because a {@link io.micronaut.retry.annotation.Bulkhead} has reached its
+ * maximum number of concurrent and waiting calls.
+ *
+ * @since 1.0
+ */
+public class BulkheadRejectedException extends RetryException {
+
+    /**
+     * @param message The detail message
+     */
+    public BulkheadRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * @param message The detail message
+     * @param cause   The cause
+     */
+    public BulkheadRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -39,34 +39,52 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
     private static final String MULTIPLIER = "multiplier";
     private static final String DELAY = "delay";
     private static final String MAX_DELAY = "maxDelay";
+    private static final String MAX_RETRY_DELAY = "maxRetryDelay";
+    private static final String JITTER = "jitter";
+    private static final String BACKOFF = "backoff";
     private static final String INCLUDES = "value";
     private static final String EXCLUDES = "excludes";
     private static final int DEFAULT_RETRY_ATTEMPTS = 3;
 
-    private final AnnotationMetadata annotationMetadata;
+    private final int attempts;
+    private final double multiplier;
+    private final Duration delay;
+    private final Duration maxDelay;
+    private final Duration maxRetryDelay;
+    private final double jitter;
+    private final boolean exponential;
+    private final Set<Class<? extends Throwable>> includes;
+    private final Set<Class<? extends Throwable>> excludes;
 
     /**
-     * Build the meta data for the given element with retry.
+     * Build the meta data for the given element with retry. The values of the {@link Retryable} annotation are
+     * resolved once so that building a new {@link RetryState} does not read the annotation metadata again.
      *
      * @param annotationMetadata Allows the inspection of annotation metadata and stereotypes (meta-annotations)
      */
     AnnotationRetryStateBuilder(AnnotationMetadata annotationMetadata) {
-        this.annotationMetadata = annotationMetadata;
+        ConvertibleValues<?> retry = annotationMetadata.getValues(Retryable.class);
+        this.attempts = retry.get(ATTEMPTS, Integer.class).orElse(DEFAULT_RETRY_ATTEMPTS);
+        this.multiplier = retry.get(MULTIPLIER, Double.class).orElse(0d);
+        this.delay = retry.get(DELAY, Duration.class).orElse(Duration.ofSeconds(1));
+        this.maxDelay = retry.get(MAX_DELAY, Duration.class).orElse(null);
+        this.maxRetryDelay = retry.get(MAX_RETRY_DELAY, Duration.class).orElse(null);
+        this.jitter = retry.get(JITTER, Double.class).orElse(0d);
+        this.exponential = retry.get(BACKOFF, Retryable.Backoff.class).orElse(Retryable.Backoff.LINEAR) == Retryable.Backoff.EXPONENTIAL;
+        this.includes = resolveIncludes(retry, INCLUDES);
+        this.excludes = resolveIncludes(retry, EXCLUDES);
     }
 
     @Override
     public RetryState build() {
-        ConvertibleValues<?> retry = annotationMetadata.getValues(Retryable.class);
-        int attempts = retry.get(ATTEMPTS, Integer.class).orElse(DEFAULT_RETRY_ATTEMPTS);
-        Duration delay = retry.get(DELAY, Duration.class).orElse(Duration.ofSeconds(1));
-        Set<Class<? extends Throwable>> includes = resolveIncludes(retry, INCLUDES);
-        Set<Class<? extends Throwable>> excludes = resolveIncludes(retry, EXCLUDES);
-
         return new SimpleRetry(
             attempts,
-            retry.get(MULTIPLIER, Double.class).orElse(0d),
+            multiplier,
             delay,
-            retry.get(MAX_DELAY, Duration.class).orElse(null),
+            maxDelay,
+            maxRetryDelay,
+            jitter,
+            exponential,
             includes,
             excludes
         );
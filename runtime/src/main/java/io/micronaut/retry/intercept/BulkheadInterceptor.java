@@ -0,0 +1,370 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.executor.ExecutorFactory;
+import io.micronaut.scheduling.executor.ExecutorType;
+import io.micronaut.scheduling.executor.UserExecutorConfiguration;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link MethodInterceptor} that limits the number of concurrent executions of a method according to the
+ * {@link Bulkhead} annotation.
+ *
+ * <p>With {@link Bulkhead.IsolationType#SEMAPHORE} isolation the method is executed on the calling thread. Blocking
+ * methods wait for a permit up to the maximum wait duration, methods that return a reactive type or a
+ * {@link CompletionStage} are executed without blocking once a permit is released. Calls that had to wait for a
+ * permit are executed on the {@link TaskExecutors#IO} executor. Reactive methods are only invoked once the
+ * returned publisher has been subscribed to and a permit acquired. With
+ * {@link Bulkhead.IsolationType#THREAD_POOL} isolation the method is executed on a dedicated executor.</p>
+ *
+ * @since 1.0
+ */
+@Singleton
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * The position of the interceptor, bulkheads are applied to each attempt of a retried method.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() + 20;
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadInterceptor.class);
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 25;
+
+    private final BeanLocator beanLocator;
+    private final ExecutorFactory executorFactory;
+    private final ExecutorService ioExecutor;
+    private final Map<ExecutableMethod<?, ?>, BulkheadOperation> operations = new ConcurrentHashMap<>();
+    private final Map<String, Object> namedBulkheads = new ConcurrentHashMap<>();
+    private final List<ExecutorService> dedicatedExecutors = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param beanLocator     To look up configured executors
+     * @param executorFactory To create dedicated executors
+     * @param ioExecutor      To execute calls that waited for a permit of a semaphore bulkhead
+     */
+    public BulkheadInterceptor(BeanLocator beanLocator,
+                               ExecutorFactory executorFactory,
+                               @Named(TaskExecutors.IO) ExecutorService ioExecutor) {
+        this.beanLocator = beanLocator;
+        this.executorFactory = executorFactory;
+        this.ioExecutor = ioExecutor;
+    }
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        BulkheadOperation operation = resolveOperation(context);
+        if (operation.threadPool != null) {
+            return interceptThreadPool(context, operation);
+        } else {
+            return interceptSemaphore(context, operation);
+        }
+    }
+
+    /**
+     * Shuts down the executors created for bulkheads with thread pool isolation.
+     */
+    @PreDestroy
+    void shutdownExecutors() {
+        for (ExecutorService executor : dedicatedExecutors) {
+            executor.shutdown();
+        }
+        dedicatedExecutors.clear();
+    }
+
+    private Object interceptSemaphore(MethodInvocationContext<Object, Object> context, BulkheadOperation operation) {
+        SemaphoreBulkhead bulkhead = operation.semaphore;
+        if (operation.reactive) {
+            Flowable<Object> guarded = Flowable.defer(() -> {
+                AtomicBoolean acquired = new AtomicBoolean();
+                AtomicBoolean released = new AtomicBoolean();
+                Runnable release = () -> {
+                    if (acquired.get() && released.compareAndSet(false, true)) {
+                        bulkhead.release();
+                    }
+                };
+                Completable permit = Completable.create(emitter -> {
+                    boolean accepted = bulkhead.acquireAsync(() -> {
+                        acquired.set(true);
+                        if (emitter.isDisposed()) {
+                            release.run();
+                        } else {
+                            emitter.onComplete();
+                        }
+                    });
+                    if (!accepted) {
+                        emitter.onError(bulkhead.rejected());
+                    }
+                });
+                return permit.andThen(proceedReactive(context)).doFinally(release::run);
+            });
+            return fromFlowable(context, guarded);
+        } else if (operation.async) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            boolean accepted = bulkhead.acquireAsync(() ->
+                proceedAsync(context, bulkhead::release, future)
+            );
+            if (!accepted) {
+                future.completeExceptionally(bulkhead.rejected());
+            }
+            return future;
+        } else {
+            bulkhead.acquire();
+            try {
+                return context.proceed();
+            } finally {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private Object interceptThreadPool(MethodInvocationContext<Object, Object> context, BulkheadOperation operation) {
+        ThreadPoolBulkhead bulkhead = operation.threadPool;
+        if (operation.reactive) {
+            Flowable<Object> guarded = Flowable.defer(() -> {
+                if (!bulkhead.tryAcquire()) {
+                    return Flowable.error(bulkhead.rejected());
+                }
+                return proceedReactive(context)
+                    .subscribeOn(Schedulers.from(bulkhead.getExecutor()))
+                    .doFinally(bulkhead::release);
+            });
+            return fromFlowable(context, guarded);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (!bulkhead.tryAcquire()) {
+            future.completeExceptionally(bulkhead.rejected());
+        } else {
+            try {
+                bulkhead.getExecutor().execute(() -> {
+                    if (operation.async) {
+                        proceedAsync(context, bulkhead::release, future);
+                    } else {
+                        try {
+                            future.complete(context.proceed(this));
+                        } catch (Throwable e) {
+                            future.completeExceptionally(e);
+                        } finally {
+                            bulkhead.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                bulkhead.release();
+                future.completeExceptionally(bulkhead.rejected());
+            }
+        }
+
+        if (operation.async) {
+            return future;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw BulkheadInterceptor.<RuntimeException>sneakyThrow(cause);
+        }
+    }
+
+    /**
+     * Rethrows the given exception unchanged, including checked exceptions the target method declares.
+     *
+     * @param throwable The exception
+     * @param <T>       The type the compiler sees the exception as
+     * @return Never returns
+     * @throws T Always
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneakyThrow(Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void proceedAsync(MethodInvocationContext<Object, Object> context, Runnable release, CompletableFuture<Object> future) {
+        CompletionStage<Object> result;
+        try {
+            result = (CompletionStage<Object>) context.proceed(this);
+        } catch (Throwable e) {
+            release.run();
+            future.completeExceptionally(e);
+            return;
+        }
+        if (result == null) {
+            release.run();
+            future.complete(null);
+        } else {
+            result.whenComplete((value, throwable) -> {
+                release.run();
+                if (throwable != null) {
+                    future.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                } else {
+                    future.complete(value);
+                }
+            });
+        }
+    }
+
+    /**
+     * Defers the invocation of a reactive method until the publisher is subscribed to, which is after a permit or
+     * slot of the bulkhead has been acquired.
+     */
+    private Flowable<Object> proceedReactive(MethodInvocationContext<Object, Object> context) {
+        return Flowable.defer(() -> {
+            Object result = context.proceed(this);
+            if (result == null) {
+                return Flowable.empty();
+            }
+            return toFlowable(result);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flowable<Object> toFlowable(Object result) {
+        return ConversionService.SHARED
+            .convert(result, Flowable.class)
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+    }
+
+    private Object fromFlowable(MethodInvocationContext<Object, Object> context, Flowable<Object> flowable) {
+        return ConversionService.SHARED
+            .convert(flowable, context.getReturnType().asArgument())
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + context.getReturnType().getType()));
+    }
+
+    private BulkheadOperation resolveOperation(MethodInvocationContext<Object, Object> context) {
+        ExecutableMethod<?, ?> method = context.getExecutableMethod();
+        BulkheadOperation operation = operations.get(method);
+        if (operation == null) {
+            operation = newOperation(context);
+            BulkheadOperation existing = operations.putIfAbsent(method, operation);
+            if (existing != null) {
+                operation = existing;
+            }
+        }
+        return operation;
+    }
+
+    private BulkheadOperation newOperation(MethodInvocationContext<Object, Object> context) {
+        String name = context.getValue(Bulkhead.class, String.class).orElse(null);
+        Bulkhead.IsolationType type = context
+            .getValue(Bulkhead.class, "type", Bulkhead.IsolationType.class)
+            .orElse(Bulkhead.IsolationType.SEMAPHORE);
+        Class<Object> returnType = context.getReturnType().getType();
+        boolean reactive = Publishers.isConvertibleToPublisher(returnType);
+        boolean async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+
+        Object bulkhead;
+        if (StringUtils.isNotEmpty(name)) {
+            // bulkheads with the same name are shared, the first method to be invoked determines the limits
+            String key = type + ":" + name;
+            bulkhead = namedBulkheads.computeIfAbsent(key, k -> newBulkhead(context, name, type));
+        } else {
+            bulkhead = newBulkhead(context, context.getExecutableMethod().toString(), type);
+        }
+        if (bulkhead instanceof ThreadPoolBulkhead) {
+            return new BulkheadOperation(null, (ThreadPoolBulkhead) bulkhead, reactive, async);
+        }
+        return new BulkheadOperation((SemaphoreBulkhead) bulkhead, null, reactive, async);
+    }
+
+    private Object newBulkhead(MethodInvocationContext<Object, Object> context, String name, Bulkhead.IsolationType type) {
+        int maxConcurrentCalls = Math.max(1, context
+            .getValue(Bulkhead.class, "maxConcurrentCalls", Integer.class)
+            .orElse(DEFAULT_MAX_CONCURRENT_CALLS));
+        int maxWaitingCalls = Math.max(0, context
+            .getValue(Bulkhead.class, "maxWaitingCalls", Integer.class)
+            .orElse(0));
+
+        if (type == Bulkhead.IsolationType.THREAD_POOL) {
+            String executorName = context
+                .getValue(Bulkhead.class, "executor", String.class)
+                .filter(StringUtils::isNotEmpty)
+                .orElse(context.getValue(Bulkhead.class, String.class).orElse(null));
+            ExecutorService executor = null;
+            if (StringUtils.isNotEmpty(executorName)) {
+                executor = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(executorName)).orElse(null);
+            }
+            if (executor == null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Creating executor with {} threads for bulkhead [{}]", maxConcurrentCalls, name);
+                }
+                executor = executorFactory.executorService(UserExecutorConfiguration.of(ExecutorType.FIXED, maxConcurrentCalls));
+                dedicatedExecutors.add(executor);
+            }
+            return new ThreadPoolBulkhead(name, executor, maxConcurrentCalls + maxWaitingCalls);
+        }
+
+        long maxWaitMillis = context
+            .getValue(Bulkhead.class, "maxWaitDuration", Duration.class)
+            .map(Duration::toMillis)
+            .orElse(0L);
+        return new SemaphoreBulkhead(name, maxConcurrentCalls, maxWaitingCalls, maxWaitMillis, ioExecutor);
+    }
+
+    /**
+     * The bulkhead settings of a method, resolved from the annotation metadata on the first invocation.
+     */
+    private static final class BulkheadOperation {
+        final SemaphoreBulkhead semaphore;
+        final ThreadPoolBulkhead threadPool;
+        final boolean reactive;
+        final boolean async;
+
+        BulkheadOperation(SemaphoreBulkhead semaphore, ThreadPoolBulkhead threadPool, boolean reactive, boolean async) {
+            this.semaphore = semaphore;
+            this.threadPool = threadPool;
+            this.reactive = reactive;
+            this.async = async;
+        }
+    }
+}
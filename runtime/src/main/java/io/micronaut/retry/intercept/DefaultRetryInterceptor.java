@@ -25,26 +25,42 @@ import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.type.ReturnType;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitMetrics;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
 import io.micronaut.retry.event.RetryEvent;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.functions.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
-import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A {@link MethodInterceptor} that retries an operation according to the specified
  * {@link Retryable} annotation.
  *
+ * <p>Methods that return a {@link CompletionStage} are retried without blocking: each attempt is scheduled on the
+ * {@link TaskExecutors#SCHEDULED} scheduler once the delay has elapsed. Methods that return a blocking type have
+ * to produce their result on the calling thread and therefore wait for the delay on that thread.</p>
+ *
  * @author graemerocher
  * @since 1.0
  */
@@ -55,7 +71,8 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
     private static final int DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS = 20;
 
     private final ApplicationEventPublisher eventPublisher;
-    private final Map<Method, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
+    private final Provider<TaskScheduler> taskScheduler;
+    private final Map<ExecutableMethod<?, ?>, RetryOperation> retryOperations = new ConcurrentHashMap<>();
 
     /**
      * Construct a default retry method interceptor with the event publisher.
@@ -63,7 +80,22 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
      * @param eventPublisher The event publisher to publish retry events
      */
     public DefaultRetryInterceptor(ApplicationEventPublisher eventPublisher) {
+        this(eventPublisher, null);
+    }
+
+    /**
+     * Construct a default retry method interceptor with the event publisher and the scheduler used to schedule
+     * the retries of asynchronous methods.
+     *
+     * @param eventPublisher The event publisher to publish retry events
+     * @param taskScheduler  The scheduler for asynchronous retries
+     */
+    @Inject
+    public DefaultRetryInterceptor(
+            ApplicationEventPublisher eventPublisher,
+            @Named(TaskExecutors.SCHEDULED) Provider<TaskScheduler> taskScheduler) {
         this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
     }
 
     @Override
@@ -73,53 +105,23 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
-        ConvertibleValues<?> retry = context.getValues(Retryable.class);
-        boolean isCircuitBreaker = context.hasStereotype(CircuitBreaker.class);
+        RetryOperation retryOperation = resolveRetryOperation(context);
+        ConvertibleValues<?> retry = retryOperation.retry;
         if (retry != null) {
-            MutableRetryState retryState;
-            AnnotationRetryStateBuilder retryStateBuilder = new AnnotationRetryStateBuilder(
-                context
-            );
+            MutableConvertibleValues<Object> attrs = context.getAttributes();
+            attrs.put(RetryState.class.getName(), retry);
 
-            if (isCircuitBreaker) {
-                long timeout = context
-                    .getValue(CircuitBreaker.class, "reset", Duration.class)
-                    .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
-                retryState = circuitContexts.computeIfAbsent(
-                    context.getTargetMethod(),
-                    method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
-                );
-            } else {
-                retryState = (MutableRetryState) retryStateBuilder.build();
+            if (retryOperation.reactive) {
+                return interceptReactive(context, retryOperation);
             }
 
+            MutableRetryState retryState = newRetryState(retryOperation);
             retryState.open();
 
-            MutableConvertibleValues<Object> attrs = context.getAttributes();
-            attrs.put(RetryState.class.getName(), retry);
-
-            ReturnType<Object> returnType = context.getReturnType();
-            Class<Object> javaReturnType = returnType.getType();
-            if (Publishers.isConvertibleToPublisher(javaReturnType)) {
-                ConversionService<?> conversionService = ConversionService.SHARED;
-                Object result = context.proceed();
-                if (result == null) {
-                    return result;
-                } else {
-                    Flowable observable = conversionService
-                        .convert(result, Flowable.class)
-                        .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
-                    Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable))
-                        .map(o -> {
-                            retryState.close(null);
-                            return o;
-                        });
-
-                    return conversionService
-                        .convert(retryObservable, returnType.asArgument())
-                        .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
-                }
-
+            if (retryOperation.async && taskScheduler != null) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                retryAsync(context, retryOperation, retryState, future);
+                return future;
             } else {
                 while (true) {
                     try {
@@ -127,25 +129,13 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                         retryState.close(null);
                         return result;
                     } catch (RuntimeException e) {
-                        if (!retryState.canRetry(e)) {
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
-                            }
+                        if (!canRetry(context, retryOperation, retryState, e)) {
                             retryState.close(e);
                             throw e;
                         } else {
                             long delayMillis = retryState.nextDelay();
                             try {
-                                if (eventPublisher != null) {
-                                    try {
-                                        eventPublisher.publishEvent(new RetryEvent(context, retryState, e));
-                                    } catch (Exception e1) {
-                                        LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
-                                    }
-                                }
-                                if (LOG.isDebugEnabled()) {
-                                    LOG.debug("Retrying execution for method [{}] after delay of {}ms for exception: {}", context, delayMillis, e.getMessage());
-                                }
+                                publishRetryEvent(context, retryState, e, delayMillis);
                                 Thread.sleep(delayMillis);
                             } catch (InterruptedException e1) {
                                 throw e;
@@ -159,34 +149,272 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         }
     }
 
+    private MutableRetryState newRetryState(RetryOperation retryOperation) {
+        if (retryOperation.circuitBreaker != null) {
+            return retryOperation.circuitBreaker;
+        } else if (retryOperation.slidingWindowCircuitBreaker != null) {
+            return retryOperation.slidingWindowCircuitBreaker.newCall();
+        } else {
+            return (MutableRetryState) retryOperation.retryStateBuilder.build();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptReactive(MethodInvocationContext<Object, Object> context, RetryOperation retryOperation) {
+        SlidingWindowCircuitBreaker slidingWindowCircuitBreaker = retryOperation.slidingWindowCircuitBreaker;
+        ReturnType<Object> returnType = context.getReturnType();
+        ConversionService<?> conversionService = ConversionService.SHARED;
+        Flowable<Object> retryObservable;
+        if (slidingWindowCircuitBreaker == null) {
+            MutableRetryState retryState = newRetryState(retryOperation);
+            retryState.open();
+            Object result = context.proceed();
+            if (result == null) {
+                return result;
+            }
+            Flowable<Object> observable = toFlowable(result);
+            retryObservable = recordOutcome(
+                observable.onErrorResumeNext(retryFlowable(context, retryOperation, retryState, observable)),
+                retryState
+            );
+        } else {
+            // the calls of a sliding window circuit breaker are admitted and timed when the publisher is subscribed to,
+            // the method is only invoked once the call has been admitted
+            retryObservable = Flowable.defer(() -> {
+                MutableRetryState call = slidingWindowCircuitBreaker.newCall();
+                call.open();
+                Object result;
+                try {
+                    result = context.proceed(this);
+                } catch (RuntimeException e) {
+                    call.close(e);
+                    throw e;
+                }
+                if (result == null) {
+                    call.close(null);
+                    return Flowable.empty();
+                }
+                Flowable<Object> observable = toFlowable(result);
+                return recordOutcome(
+                    observable.onErrorResumeNext(retryFlowable(context, retryOperation, call, observable)),
+                    call
+                );
+            });
+        }
+        return conversionService
+            .convert(retryObservable, returnType.asArgument())
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + returnType.getType()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flowable<Object> toFlowable(Object result) {
+        return ConversionService.SHARED
+            .convert(result, Flowable.class)
+            .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+    }
+
+    /**
+     * Closes the retry state once the publisher completes, including publishers that complete without emitting an
+     * item. A subscriber that cancels after receiving an item, such as a {@code Single}, counts as a success, one that
+     * cancels before leaves the outcome unknown. Failures are recorded by {@link #retryFlowable} once no more retries
+     * are permitted.
+     *
+     * @param flowable   The flowable
+     * @param retryState The retry state
+     * @return The flowable that records its outcome
+     */
+    private Flowable<Object> recordOutcome(Flowable<Object> flowable, MutableRetryState retryState) {
+        return Flowable.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return flowable
+                .doOnNext(o -> emitted.set(true))
+                .doOnComplete(() -> retryState.close(null))
+                .doOnCancel(() -> {
+                    if (emitted.get()) {
+                        retryState.close(null);
+                    } else {
+                        retryState.cancel();
+                    }
+                });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void retryAsync(
+            MethodInvocationContext<Object, Object> context,
+            RetryOperation retryOperation,
+            MutableRetryState retryState,
+            CompletableFuture<Object> future) {
+        CompletionStage<Object> result;
+        try {
+            result = (CompletionStage<Object>) context.proceed(this);
+        } catch (RuntimeException e) {
+            onAsyncAttemptComplete(context, retryOperation, retryState, future, null, e);
+            return;
+        }
+        if (result == null) {
+            retryState.close(null);
+            future.complete(null);
+        } else {
+            result.whenComplete((value, throwable) ->
+                onAsyncAttemptComplete(context, retryOperation, retryState, future, value, throwable)
+            );
+        }
+    }
+
+    private void onAsyncAttemptComplete(
+            MethodInvocationContext<Object, Object> context,
+            RetryOperation retryOperation,
+            MutableRetryState retryState,
+            CompletableFuture<Object> future,
+            Object value,
+            Throwable throwable) {
+        if (throwable == null) {
+            retryState.close(null);
+            future.complete(value);
+            return;
+        }
+        Throwable exception = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (canRetry(context, retryOperation, retryState, exception)) {
+            long delayMillis = retryState.nextDelay();
+            publishRetryEvent(context, retryState, exception, delayMillis);
+            try {
+                taskScheduler.get().schedule(Duration.ofMillis(delayMillis), () ->
+                    retryAsync(context, retryOperation, retryState, future)
+                );
+            } catch (RuntimeException e) {
+                LOG.error("Error occurred scheduling retry: " + e.getMessage(), e);
+                retryState.close(exception);
+                future.completeExceptionally(exception);
+            }
+        } else {
+            retryState.close(exception);
+            future.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Returns the metrics of the circuit breaker of the given method. Metrics are only available for circuit breakers
+     * that are configured with a failure or slow call rate threshold and that have been invoked at least once.
+     *
+     * @param method The method
+     * @return The metrics of the circuit
+     */
+    public Optional<CircuitMetrics> findCircuitMetrics(ExecutableMethod<?, ?> method) {
+        RetryOperation retryOperation = retryOperations.get(method);
+        if (retryOperation == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(retryOperation.slidingWindowCircuitBreaker);
+    }
+
+    private boolean canRetry(
+            MethodInvocationContext<Object, Object> context,
+            RetryOperation retryOperation,
+            MutableRetryState retryState,
+            Throwable exception) {
+        if (!retryState.canRetry(exception)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
+            }
+            return false;
+        }
+        RetryBudget budget = retryOperation.budget;
+        if (budget != null && !budget.tryAcquire()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Retry budget of {} retries per second exhausted. Rethrowing original exception for method: {}", budget.getRetriesPerSecond(), context);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void publishRetryEvent(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Throwable exception, long delayMillis) {
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new RetryEvent(context, retryState, exception));
+            } catch (Exception e1) {
+                LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Retrying execution for method [{}] after delay of {}ms for exception: {}", context, delayMillis, exception.getMessage());
+        }
+    }
+
+    private RetryOperation resolveRetryOperation(MethodInvocationContext<Object, Object> context) {
+        ExecutableMethod<?, ?> method = context.getExecutableMethod();
+        RetryOperation retryOperation = retryOperations.get(method);
+        if (retryOperation == null) {
+            retryOperation = new RetryOperation(context, eventPublisher);
+            RetryOperation existing = retryOperations.putIfAbsent(method, retryOperation);
+            if (existing != null) {
+                retryOperation = existing;
+            }
+        }
+        return retryOperation;
+    }
+
     @SuppressWarnings("unchecked")
-    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable) {
+    private Function retryFlowable(MethodInvocationContext<Object, Object> context, RetryOperation retryOperation, MutableRetryState retryState, Flowable observable) {
         return throwable -> {
             Throwable exception = (Throwable) throwable;
-            if (retryState.canRetry(exception)) {
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable));
+            if (canRetry(context, retryOperation, retryState, exception)) {
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryOperation, retryState, observable));
                 long delay = retryState.nextDelay();
-                if (eventPublisher != null) {
-                    try {
-                        eventPublisher.publishEvent(new RetryEvent(context, retryState, exception));
-                    } catch (Exception e1) {
-                        LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
-                    }
-                }
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Retrying execution for method [{}] after delay of {}ms for exception: {}",
-                        context,
-                        delay,
-                        (exception).getMessage());
-                }
+                publishRetryEvent(context, retryState, exception, delay);
                 return retryObservable.delaySubscription(delay, TimeUnit.MILLISECONDS);
             } else {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
-                }
                 retryState.close(exception);
                 return Flowable.error(exception);
             }
         };
     }
+
+    /**
+     * The retry settings of a method, resolved from the annotation metadata on the first invocation.
+     */
+    private static final class RetryOperation {
+        final ConvertibleValues<?> retry;
+        final AnnotationRetryStateBuilder retryStateBuilder;
+        final CircuitBreakerRetry circuitBreaker;
+        final SlidingWindowCircuitBreaker slidingWindowCircuitBreaker;
+        final RetryBudget budget;
+        final boolean reactive;
+        final boolean async;
+
+        RetryOperation(MethodInvocationContext<Object, Object> context, ApplicationEventPublisher eventPublisher) {
+            this.retry = context.getValues(Retryable.class);
+            Class<Object> returnType = context.getReturnType().getType();
+            this.reactive = Publishers.isConvertibleToPublisher(returnType) || Completable.class.isAssignableFrom(returnType);
+            this.async = CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+            if (retry != null) {
+                this.retryStateBuilder = new AnnotationRetryStateBuilder(context);
+                this.budget = retry.get("budget", Integer.class)
+                    .filter(retriesPerSecond -> retriesPerSecond > 0)
+                    .map(RetryBudget::new)
+                    .orElse(null);
+                if (context.hasStereotype(CircuitBreaker.class)) {
+                    long timeout = context
+                        .getValue(CircuitBreaker.class, "reset", Duration.class)
+                        .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
+                    if (SlidingWindowCircuitBreaker.isConfigured(context)) {
+                        this.circuitBreaker = null;
+                        this.slidingWindowCircuitBreaker = new SlidingWindowCircuitBreaker(context, timeout, retryStateBuilder, context.getExecutableMethod(), eventPublisher);
+                    } else {
+                        this.circuitBreaker = new CircuitBreakerRetry(timeout, retryStateBuilder, context.getExecutableMethod(), eventPublisher);
+                        this.slidingWindowCircuitBreaker = null;
+                    }
+                } else {
+                    this.circuitBreaker = null;
+                    this.slidingWindowCircuitBreaker = null;
+                }
+            } else {
+                this.retryStateBuilder = null;
+                this.circuitBreaker = null;
+                this.slidingWindowCircuitBreaker = null;
+                this.budget = null;
+            }
+        }
+    }
 }
@@ -30,4 +30,11 @@ interface MutableRetryState extends RetryState {
      * @return Return the milli second value for the next delay
      */
     long nextDelay();
+
+    /**
+     * Invoked instead of {@link #close(Throwable)} when the operation is cancelled before its outcome is known.
+     */
+    default void cancel() {
+        // no-op
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that limits the rate of retries for a {@link io.micronaut.retry.annotation.Retryable} method.
+ * The bucket holds at most one second worth of tokens and is refilled continuously at the configured rate.
+ *
+ * @since 1.0
+ */
+class RetryBudget {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int retriesPerSecond;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param retriesPerSecond The maximum number of retries per second
+     */
+    RetryBudget(int retriesPerSecond) {
+        if (retriesPerSecond < 1) {
+            throw new IllegalArgumentException("Retry budget must be at least 1 retry per second");
+        }
+        this.retriesPerSecond = retriesPerSecond;
+        this.tokens = retriesPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * @return The maximum number of retries per second
+     */
+    int getRetriesPerSecond() {
+        return retriesPerSecond;
+    }
+
+    /**
+     * Attempts to take a token from the budget.
+     *
+     * @return True if a retry is permitted
+     */
+    synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(retriesPerSecond, tokens + (double) elapsed * retriesPerSecond / NANOS_PER_SECOND);
+            lastRefill = now;
+        }
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+}
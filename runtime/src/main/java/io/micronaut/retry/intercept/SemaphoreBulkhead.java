@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.retry.exception.BulkheadRejectedException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bulkhead that limits the number of concurrent executions with a semaphore. Blocking calls wait for a permit on
+ * the calling thread, asynchronous calls are queued and handed to an executor once a permit is released. Both kinds
+ * of waiting calls are bounded by the maximum number of waiting calls.
+ *
+ * @since 1.0
+ */
+class SemaphoreBulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxWaitingCalls;
+    private final long maxWaitMillis;
+    private final Executor executor;
+    private final AtomicInteger waitingCalls = new AtomicInteger();
+    private final Queue<Runnable> pendingCalls = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param name               The name of the bulkhead
+     * @param maxConcurrentCalls The maximum number of concurrent executions
+     * @param maxWaitingCalls    The maximum number of waiting calls
+     * @param maxWaitMillis      The maximum time in millis a blocking call waits for a permit
+     * @param executor           The executor to execute queued calls on
+     */
+    SemaphoreBulkhead(String name, int maxConcurrentCalls, int maxWaitingCalls, long maxWaitMillis, Executor executor) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.executor = executor;
+    }
+
+    /**
+     * Acquires a permit, waiting on the calling thread if necessary.
+     *
+     * @throws BulkheadRejectedException If no permit could be acquired
+     */
+    void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (maxWaitMillis <= 0) {
+            throw rejected();
+        }
+        if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+            waitingCalls.decrementAndGet();
+            throw rejected();
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw rejected();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadRejectedException("Interrupted while waiting for bulkhead [" + name + "]", e);
+        } finally {
+            waitingCalls.decrementAndGet();
+        }
+    }
+
+    /**
+     * Acquires a permit without blocking. If no permit is available the call is queued and executed on the executor
+     * once a permit is released.
+     *
+     * @param call The call to execute once a permit has been acquired, which has to release the permit
+     * @return False if the call was rejected because the maximum number of waiting calls was reached
+     */
+    boolean acquireAsync(Runnable call) {
+        if (permits.tryAcquire()) {
+            call.run();
+            return true;
+        }
+        if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+            waitingCalls.decrementAndGet();
+            return false;
+        }
+        pendingCalls.add(call);
+        // a permit may have been released before the call was queued
+        drain();
+        return true;
+    }
+
+    /**
+     * Releases a permit and hands the next queued call, if any, to the executor.
+     */
+    void release() {
+        permits.release();
+        drain();
+    }
+
+    /**
+     * @return The exception for a rejected call
+     */
+    BulkheadRejectedException rejected() {
+        return new BulkheadRejectedException("Bulkhead [" + name + "] is full");
+    }
+
+    private void drain() {
+        while (!pendingCalls.isEmpty() && permits.tryAcquire()) {
+            Runnable call = pendingCalls.poll();
+            if (call == null) {
+                // another thread took the call
+                permits.release();
+            } else {
+                waitingCalls.decrementAndGet();
+                // the call is not run on the releasing thread, which would otherwise execute the next call and
+                // recursively every call queued behind it from within its own release
+                try {
+                    executor.execute(call);
+                } catch (RejectedExecutionException e) {
+                    call.run();
+                }
+            }
+        }
+    }
+}
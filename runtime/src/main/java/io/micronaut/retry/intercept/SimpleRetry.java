@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -39,6 +40,9 @@ class SimpleRetry implements RetryState, MutableRetryState {
     private final double multiplier;
     private final Duration delay;
     private final Duration maxDelay;
+    private final Duration maxRetryDelay;
+    private final double jitter;
+    private final boolean exponential;
     private final boolean hasIncludes;
     private final boolean hasExcludes;
     private AtomicInteger attemptNumber = new AtomicInteger(0);
@@ -51,6 +55,9 @@ class SimpleRetry implements RetryState, MutableRetryState {
      * @param multiplier The multiplier to use between delays
      * @param delay The overall delay so far
      * @param maxDelay The maximum overall delay
+     * @param maxRetryDelay The maximum delay before a single retry
+     * @param jitter The fraction of each delay to randomize, between 0 and 1
+     * @param exponential Whether the delay is multiplied by the multiplier for every retry
      * @param includes Classes to include for retry
      * @param excludes Classes to exclude for retry
      */
@@ -59,6 +66,9 @@ class SimpleRetry implements RetryState, MutableRetryState {
         double multiplier,
         Duration delay,
         Duration maxDelay,
+        Duration maxRetryDelay,
+        double jitter,
+        boolean exponential,
         Set<Class<? extends Throwable>> includes,
         Set<Class<? extends Throwable>> excludes) {
 
@@ -66,12 +76,33 @@ class SimpleRetry implements RetryState, MutableRetryState {
         this.multiplier = multiplier;
         this.delay = delay;
         this.maxDelay = maxDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.jitter = Math.min(Math.max(jitter, 0d), 1d);
+        this.exponential = exponential;
         this.includes = includes == null ? Collections.emptySet() : includes;
         this.excludes = excludes == null ? Collections.emptySet() : excludes;
         this.hasIncludes = !this.includes.isEmpty();
         this.hasExcludes = !this.excludes.isEmpty();
     }
 
+    /**
+     * @param maxAttempts The maximum number of attemps
+     * @param multiplier The multiplier to use between delays
+     * @param delay The overall delay so far
+     * @param maxDelay The maximum overall delay
+     * @param includes Classes to include for retry
+     * @param excludes Classes to exclude for retry
+     */
+    SimpleRetry(
+        int maxAttempts,
+        double multiplier,
+        Duration delay,
+        Duration maxDelay,
+        Set<Class<? extends Throwable>> includes,
+        Set<Class<? extends Throwable>> excludes) {
+        this(maxAttempts, multiplier, delay, maxDelay, null, 0d, false, includes, excludes);
+    }
+
     /**
      * @param maxAttempts The maximum number of attemps
      * @param multiplier The multiplier to use between delays
@@ -161,14 +192,53 @@ class SimpleRetry implements RetryState, MutableRetryState {
     }
 
     /**
+     * @return The maximum delay before a single retry
+     */
+    Optional<Duration> getMaxRetryDelay() {
+        return Optional.ofNullable(maxRetryDelay);
+    }
+
+    /**
+     * @return The fraction of each delay that is randomized
+     */
+    double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * @return Whether the delay is multiplied by the multiplier for every retry
+     */
+    boolean isExponential() {
+        return exponential;
+    }
+
+    /**
+     * With an exponential backoff the n-th retry waits for the delay multiplied by the multiplier to the power of
+     * n - 1. The delay is capped by the maximum retry delay. If a jitter is configured the capped delay is then
+     * randomized within the range of the jitter, but not beyond the cap, so that the retries of concurrent
+     * operations that failed at the same time are spread out.
+     *
      * @return Return the milli second value for the next delay
      */
     @Override
     @Internal
     public long nextDelay() {
         double multiplier = getMultiplier().orElse(1.0);
-        int current = attemptNumber.get() + 1;
-        long delay = (long) (getDelay().toMillis() * multiplier) * current;
+        long delay;
+        if (exponential) {
+            int retry = Math.max(attemptNumber.get() - 1, 0);
+            delay = (long) (getDelay().toMillis() * Math.pow(multiplier, retry));
+        } else {
+            int current = attemptNumber.get() + 1;
+            delay = (long) (getDelay().toMillis() * multiplier) * current;
+        }
+        long cap = maxRetryDelay != null ? maxRetryDelay.toMillis() : Long.MAX_VALUE;
+        delay = Math.min(delay, cap);
+        if (jitter > 0 && delay > 0) {
+            double min = delay * (1 - jitter);
+            double max = Math.min(delay * (1 + jitter), cap);
+            delay = (long) (min + (max - min) * ThreadLocalRandom.current().nextDouble());
+        }
         overallDelay.addAndGet(delay);
         return delay;
     }
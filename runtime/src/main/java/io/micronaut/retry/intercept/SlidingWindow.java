@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the outcome of calls over a sliding window without locking. A count based window keeps the outcome of
+ * the last N calls in a ring buffer, a time based window aggregates the outcomes of the calls of the last N seconds
+ * in one bucket per second.
+ *
+ * @since 1.0
+ */
+abstract class SlidingWindow {
+
+    /**
+     * @param size The number of calls in the window
+     * @return A count based sliding window
+     */
+    static SlidingWindow countBased(int size) {
+        return new CountBasedWindow(size);
+    }
+
+    /**
+     * @param seconds The number of seconds in the window
+     * @return A time based sliding window
+     */
+    static SlidingWindow timeBased(int seconds) {
+        return new TimeBasedWindow(seconds);
+    }
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param failed Whether the call failed
+     * @param slow   Whether the call was slow
+     */
+    abstract void record(boolean failed, boolean slow);
+
+    /**
+     * @return The outcomes of the calls currently in the window
+     */
+    abstract Snapshot snapshot();
+
+    /**
+     * The aggregated outcomes of the calls in a window.
+     */
+    static final class Snapshot {
+        private static final float PERCENT = 100f;
+
+        final int calls;
+        final int failedCalls;
+        final int slowCalls;
+
+        /**
+         * @param calls       The number of calls
+         * @param failedCalls The number of failed calls
+         * @param slowCalls   The number of slow calls
+         */
+        Snapshot(int calls, int failedCalls, int slowCalls) {
+            this.calls = calls;
+            this.failedCalls = failedCalls;
+            this.slowCalls = slowCalls;
+        }
+
+        /**
+         * @return The percentage of failed calls
+         */
+        float getFailureRate() {
+            return calls == 0 ? 0f : failedCalls * PERCENT / calls;
+        }
+
+        /**
+         * @return The percentage of slow calls
+         */
+        float getSlowCallRate() {
+            return calls == 0 ? 0f : slowCalls * PERCENT / calls;
+        }
+    }
+
+    /**
+     * A window over the last N calls. Each slot of the ring buffer holds the outcome of a call, the counters are
+     * adjusted as outcomes are overwritten so that taking a snapshot does not have to scan the buffer.
+     */
+    private static final class CountBasedWindow extends SlidingWindow {
+        private static final int RECORDED = 1;
+        private static final int FAILED = 2;
+        private static final int SLOW = 4;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failedCalls = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        CountBasedWindow(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        @Override
+        void record(boolean failed, boolean slow) {
+            int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+            int index = (int) (cursor.getAndIncrement() % outcomes.length());
+            int evicted = outcomes.getAndSet(index, outcome);
+            count(evicted, -1);
+            count(outcome, 1);
+        }
+
+        @Override
+        Snapshot snapshot() {
+            return new Snapshot(calls.get(), failedCalls.get(), slowCalls.get());
+        }
+
+        private void count(int outcome, int delta) {
+            if ((outcome & RECORDED) != 0) {
+                calls.addAndGet(delta);
+            }
+            if ((outcome & FAILED) != 0) {
+                failedCalls.addAndGet(delta);
+            }
+            if ((outcome & SLOW) != 0) {
+                slowCalls.addAndGet(delta);
+            }
+        }
+    }
+
+    /**
+     * A window over the calls of the last N seconds. A bucket is replaced once the second it was created for has
+     * left the window.
+     */
+    private static final class TimeBasedWindow extends SlidingWindow {
+        private final AtomicReferenceArray<Bucket> buckets;
+        private final int seconds;
+
+        TimeBasedWindow(int seconds) {
+            this.seconds = seconds;
+            this.buckets = new AtomicReferenceArray<>(seconds);
+        }
+
+        @Override
+        void record(boolean failed, boolean slow) {
+            long second = currentSecond();
+            int index = (int) Math.floorMod(second, (long) seconds);
+            Bucket bucket = buckets.get(index);
+            while (bucket == null || bucket.second < second) {
+                Bucket current = new Bucket(second);
+                if (buckets.compareAndSet(index, bucket, current)) {
+                    bucket = current;
+                } else {
+                    bucket = buckets.get(index);
+                }
+            }
+            if (bucket.second == second) {
+                bucket.calls.incrementAndGet();
+                if (failed) {
+                    bucket.failedCalls.incrementAndGet();
+                }
+                if (slow) {
+                    bucket.slowCalls.incrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        Snapshot snapshot() {
+            long second = currentSecond();
+            int calls = 0;
+            int failedCalls = 0;
+            int slowCalls = 0;
+            for (int i = 0; i < seconds; i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && second - bucket.second < seconds) {
+                    calls += bucket.calls.get();
+                    failedCalls += bucket.failedCalls.get();
+                    slowCalls += bucket.slowCalls.get();
+                }
+            }
+            return new Snapshot(calls, failedCalls, slowCalls);
+        }
+
+        private static long currentSecond() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        }
+    }
+
+    /**
+     * The outcomes of the calls of a single second.
+     */
+    private static final class Bucket {
+        final long second;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failedCalls = new AtomicInteger();
+        final AtomicInteger slowCalls = new AtomicInteger();
+
+        Bucket(long second) {
+            this.second = second;
+        }
+    }
+}
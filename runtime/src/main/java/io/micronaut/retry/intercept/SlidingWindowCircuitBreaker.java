@@ -0,0 +1,432 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.context.event.ApplicationEvent;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitMetrics;
+import io.micronaut.retry.CircuitState;
+import io.micronaut.retry.RetryStateBuilder;
+import io.micronaut.retry.annotation.CircuitBreaker;
+import io.micronaut.retry.event.CircuitClosedEvent;
+import io.micronaut.retry.event.CircuitHalfOpenEvent;
+import io.micronaut.retry.event.CircuitOpenEvent;
+import io.micronaut.retry.exception.CircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A circuit breaker that opens the circuit once the failure rate or the slow call rate of the calls recorded in a
+ * {@link SlidingWindow} exceeds a threshold. Unlike {@link CircuitBreakerRetry} a single failing call does not open
+ * the circuit, and once the reset timeout has elapsed a bounded number of trial calls decide whether the circuit
+ * closes or opens again.
+ *
+ * <p>Each invocation is tracked by its own {@link Call}, which retries independently of concurrent invocations and
+ * records its outcome when it completes.</p>
+ *
+ * @since 1.0
+ */
+class SlidingWindowCircuitBreaker implements CircuitMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlidingWindowCircuitBreaker.class);
+    private static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    private static final String SLOW_CALL_RATE_THRESHOLD = "slowCallRateThreshold";
+    private static final String SLOW_CALL_DURATION = "slowCallDuration";
+    private static final String SLIDING_WINDOW_TYPE = "slidingWindowType";
+    private static final String SLIDING_WINDOW_SIZE = "slidingWindowSize";
+    private static final String MINIMUM_NUMBER_OF_CALLS = "minimumNumberOfCalls";
+    private static final String HALF_OPEN_CALLS = "halfOpenCalls";
+    private static final int DEFAULT_SLOW_CALL_DURATION_SECONDS = 5;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    private static final long NOT_A_TRIAL = -1;
+
+    private final ExecutableMethod<?, ?> method;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetryStateBuilder retryStateBuilder;
+    private final long openTimeout;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final CircuitBreaker.SlidingWindowType slidingWindowType;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final int halfOpenCalls;
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    // the generation of the half open state in the high and the remaining trial permits in the low 32 bits
+    private final AtomicLong halfOpenPermits = new AtomicLong();
+    private final AtomicInteger completedTrialCalls = new AtomicInteger();
+    private volatile SlidingWindow window;
+    private volatile SlidingWindow trialWindow;
+    private volatile Throwable lastError;
+    private volatile Throwable lastFailure;
+    private volatile long openedAt;
+
+    /**
+     * @param annotationMetadata The annotation metadata of the method
+     * @param openTimeout        The circuit open timeout in millis
+     * @param retryStateBuilder  The retry state builder
+     * @param method             A compile time produced invocation of a method call
+     * @param eventPublisher     To publish circuit events
+     */
+    SlidingWindowCircuitBreaker(
+        AnnotationMetadata annotationMetadata,
+        long openTimeout,
+        RetryStateBuilder retryStateBuilder,
+        ExecutableMethod<?, ?> method,
+        ApplicationEventPublisher eventPublisher) {
+
+        this.method = method;
+        this.eventPublisher = eventPublisher;
+        this.retryStateBuilder = retryStateBuilder;
+        this.openTimeout = openTimeout;
+        this.failureRateThreshold = annotationMetadata.getValue(CircuitBreaker.class, FAILURE_RATE_THRESHOLD, Float.class).orElse(0f);
+        this.slowCallRateThreshold = annotationMetadata.getValue(CircuitBreaker.class, SLOW_CALL_RATE_THRESHOLD, Float.class).orElse(0f);
+        this.slowCallDurationNanos = annotationMetadata.getValue(CircuitBreaker.class, SLOW_CALL_DURATION, Duration.class)
+            .orElse(Duration.ofSeconds(DEFAULT_SLOW_CALL_DURATION_SECONDS))
+            .toNanos();
+        this.slidingWindowType = annotationMetadata.getValue(CircuitBreaker.class, SLIDING_WINDOW_TYPE, CircuitBreaker.SlidingWindowType.class)
+            .orElse(CircuitBreaker.SlidingWindowType.COUNT_BASED);
+        this.slidingWindowSize = Math.max(1, annotationMetadata.getValue(CircuitBreaker.class, SLIDING_WINDOW_SIZE, Integer.class)
+            .orElse(DEFAULT_SLIDING_WINDOW_SIZE));
+        this.minimumNumberOfCalls = Math.max(1, annotationMetadata.getValue(CircuitBreaker.class, MINIMUM_NUMBER_OF_CALLS, Integer.class)
+            .orElse(DEFAULT_MINIMUM_NUMBER_OF_CALLS));
+        this.halfOpenCalls = Math.max(1, annotationMetadata.getValue(CircuitBreaker.class, HALF_OPEN_CALLS, Integer.class)
+            .orElse(1));
+        this.window = newWindow();
+    }
+
+    /**
+     * @param annotationMetadata The annotation metadata of the method
+     * @return Whether the circuit breaker of the method is configured with a failure or slow call rate threshold
+     */
+    static boolean isConfigured(AnnotationMetadata annotationMetadata) {
+        return annotationMetadata.getValue(CircuitBreaker.class, FAILURE_RATE_THRESHOLD, Float.class).filter(t -> t > 0).isPresent() ||
+            annotationMetadata.getValue(CircuitBreaker.class, SLOW_CALL_RATE_THRESHOLD, Float.class).filter(t -> t > 0).isPresent();
+    }
+
+    /**
+     * @return The state of a new invocation of the method
+     */
+    MutableRetryState newCall() {
+        return new Call();
+    }
+
+    @Override
+    public CircuitState getState() {
+        return currentState();
+    }
+
+    @Override
+    public int getNumberOfCalls() {
+        return window.snapshot().calls;
+    }
+
+    @Override
+    public float getFailureRate() {
+        return window.snapshot().getFailureRate();
+    }
+
+    @Override
+    public float getSlowCallRate() {
+        return window.snapshot().getSlowCallRate();
+    }
+
+    /**
+     * @return The current state, which transitions from open to half open once the reset timeout has elapsed
+     */
+    CircuitState currentState() {
+        CircuitState current = state.get();
+        if (current == CircuitState.OPEN && System.currentTimeMillis() - openedAt > openTimeout) {
+            if (state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+                // calls admitted before the permits are granted are rejected as if the circuit was still open
+                trialWindow = SlidingWindow.countBased(halfOpenCalls);
+                completedTrialCalls.set(0);
+                halfOpenPermits.updateAndGet(permits -> halfOpenPermits(generationOf(permits) + 1, halfOpenCalls));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Half Opening Circuit Breaker [{}]", method);
+                }
+                publishEvent(new CircuitHalfOpenEvent(method));
+            }
+            return state.get();
+        }
+        return current;
+    }
+
+    /**
+     * Admits a call.
+     *
+     * @return The generation of the half open state if the call is a trial call, otherwise {@link #NOT_A_TRIAL}
+     * @throws RuntimeException If the circuit is open or no more trial calls are permitted
+     */
+    private long acquirePermission() {
+        CircuitState current = currentState();
+        if (current == CircuitState.CLOSED) {
+            return NOT_A_TRIAL;
+        }
+        if (current == CircuitState.HALF_OPEN) {
+            long generation = tryAcquireTrialPermit();
+            if (generation != NOT_A_TRIAL) {
+                return generation;
+            }
+        }
+        Throwable error = lastError;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rejecting call to Circuit Breaker [{}] in state {}", method, current);
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error != null) {
+            throw new CircuitOpenException("Circuit Open: " + error.getMessage(), error);
+        } else {
+            throw new CircuitOpenException("Circuit Open: no more trial calls permitted");
+        }
+    }
+
+    /**
+     * Takes a trial permit and the generation it belongs to in a single update, so that a concurrent transition
+     * cannot attribute the call to another generation.
+     *
+     * @return The generation of the permit or {@link #NOT_A_TRIAL} if no permit is left
+     */
+    private long tryAcquireTrialPermit() {
+        while (true) {
+            long current = halfOpenPermits.get();
+            int permits = permitsOf(current);
+            if (permits <= 0) {
+                return NOT_A_TRIAL;
+            }
+            if (halfOpenPermits.compareAndSet(current, halfOpenPermits(generationOf(current), permits - 1))) {
+                return generationOf(current) & 0xFFFFFFFFL;
+            }
+        }
+    }
+
+    private static long halfOpenPermits(int generation, int permits) {
+        return ((long) generation << 32) | (permits & 0xFFFFFFFFL);
+    }
+
+    private static int generationOf(long halfOpenPermits) {
+        return (int) (halfOpenPermits >>> 32);
+    }
+
+    private static int permitsOf(long halfOpenPermits) {
+        return (int) halfOpenPermits;
+    }
+
+    /**
+     * Returns the permit of a trial call that was cancelled before its outcome was known, so that another trial call
+     * can take its place.
+     *
+     * @param call The call
+     */
+    private void onCancel(Call call) {
+        if (!call.trial) {
+            return;
+        }
+        while (true) {
+            long current = halfOpenPermits.get();
+            if (generationOf(current) != call.generation || state.get() != CircuitState.HALF_OPEN) {
+                return;
+            }
+            if (halfOpenPermits.compareAndSet(current, halfOpenPermits(call.generation, permitsOf(current) + 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a call and opens or closes the circuit if necessary.
+     *
+     * @param call      The call
+     * @param exception The exception the call failed with or null if it succeeded
+     * @param slow      Whether the call was slow
+     */
+    private void onComplete(Call call, @Nullable Throwable exception, boolean slow) {
+        boolean failed = exception != null;
+        if (failed) {
+            lastFailure = exception;
+        }
+        if (call.trial) {
+            if (call.generation != generationOf(halfOpenPermits.get()) || state.get() != CircuitState.HALF_OPEN) {
+                return;
+            }
+            SlidingWindow trialWindow = this.trialWindow;
+            trialWindow.record(failed, slow);
+            if (completedTrialCalls.incrementAndGet() >= halfOpenCalls) {
+                SlidingWindow.Snapshot snapshot = trialWindow.snapshot();
+                if (exceedsThresholds(snapshot)) {
+                    openCircuit(CircuitState.HALF_OPEN, call, exception, snapshot);
+                } else {
+                    closeCircuit();
+                }
+            }
+        } else if (state.get() == CircuitState.CLOSED) {
+            SlidingWindow window = this.window;
+            window.record(failed, slow);
+            SlidingWindow.Snapshot snapshot = window.snapshot();
+            if (snapshot.calls >= minimumNumberOfCalls && exceedsThresholds(snapshot)) {
+                openCircuit(CircuitState.CLOSED, call, exception, snapshot);
+            }
+        }
+    }
+
+    private boolean exceedsThresholds(SlidingWindow.Snapshot snapshot) {
+        return (failureRateThreshold > 0 && snapshot.getFailureRate() >= failureRateThreshold) ||
+            (slowCallRateThreshold > 0 && snapshot.getSlowCallRate() >= slowCallRateThreshold);
+    }
+
+    private void openCircuit(CircuitState expected, Call call, @Nullable Throwable exception, SlidingWindow.Snapshot snapshot) {
+        Throwable cause = exception;
+        if (cause == null) {
+            // the call that completed the window succeeded, report the failure or the slow call rate instead
+            boolean failureRateExceeded = failureRateThreshold > 0 && snapshot.getFailureRate() >= failureRateThreshold;
+            Throwable lastFailure = this.lastFailure;
+            if (failureRateExceeded && lastFailure != null) {
+                cause = lastFailure;
+            } else {
+                cause = new CircuitOpenException("Circuit Open: slow call rate of " + snapshot.getSlowCallRate() + "% exceeded the threshold of " + slowCallRateThreshold + "%");
+            }
+        }
+        lastError = cause;
+        openedAt = System.currentTimeMillis();
+        halfOpenPermits.updateAndGet(permits -> halfOpenPermits(generationOf(permits), 0));
+        if (state.compareAndSet(expected, CircuitState.OPEN)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Opening Circuit Breaker [{}] with a failure rate of {}% and a slow call rate of {}%: {}", method, snapshot.getFailureRate(), snapshot.getSlowCallRate(), cause.getMessage());
+            }
+            window = newWindow();
+            publishEvent(new CircuitOpenEvent(method, call, cause));
+        }
+    }
+
+    private void closeCircuit() {
+        window = newWindow();
+        if (state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.CLOSED)) {
+            lastError = null;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Closing Circuit Breaker [{}]", method);
+            }
+            publishEvent(new CircuitClosedEvent(method));
+        }
+    }
+
+    private SlidingWindow newWindow() {
+        if (slidingWindowType == CircuitBreaker.SlidingWindowType.TIME_BASED) {
+            return SlidingWindow.timeBased(slidingWindowSize);
+        }
+        return SlidingWindow.countBased(slidingWindowSize);
+    }
+
+    private void publishEvent(ApplicationEvent event) {
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing " + event.getClass().getSimpleName() + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of a single invocation. The outcome is recorded once when the invocation completes, after any
+     * retries. The duration of the call is measured from the time it is opened.
+     */
+    private final class Call implements MutableRetryState {
+        private final MutableRetryState childState = (MutableRetryState) retryStateBuilder.build();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile long startTime;
+        private volatile boolean trial;
+        private volatile int generation;
+
+        @Override
+        public void open() {
+            startTime = System.nanoTime();
+            long trialGeneration = acquirePermission();
+            trial = trialGeneration != NOT_A_TRIAL;
+            generation = (int) trialGeneration;
+        }
+
+        @Override
+        public void close(@Nullable Throwable exception) {
+            if (completed.compareAndSet(false, true)) {
+                onComplete(this, exception, System.nanoTime() - startTime > slowCallDurationNanos);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (completed.compareAndSet(false, true)) {
+                onCancel(this);
+            }
+        }
+
+        @Override
+        public boolean canRetry(Throwable exception) {
+            // a trial call decides the state of the circuit so it is not retried
+            return !trial && currentState() == CircuitState.CLOSED && childState.canRetry(exception);
+        }
+
+        @Override
+        public long nextDelay() {
+            return childState.nextDelay();
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return childState.getMaxAttempts();
+        }
+
+        @Override
+        public int currentAttempt() {
+            return childState.currentAttempt();
+        }
+
+        @Override
+        public OptionalDouble getMultiplier() {
+            return childState.getMultiplier();
+        }
+
+        @Override
+        public Duration getDelay() {
+            return childState.getDelay();
+        }
+
+        @Override
+        public Duration getOverallDelay() {
+            return childState.getOverallDelay();
+        }
+
+        @Override
+        public Optional<Duration> getMaxDelay() {
+            return childState.getMaxDelay();
+        }
+    }
+}
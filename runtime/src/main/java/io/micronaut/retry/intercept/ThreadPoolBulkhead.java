@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.retry.exception.BulkheadRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A bulkhead that executes calls on a dedicated {@link ExecutorService}. The number of calls that are executing or
+ * queued on the executor is bounded, further calls are rejected without being submitted.
+ *
+ * @since 1.0
+ */
+class ThreadPoolBulkhead {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final Semaphore slots;
+
+    /**
+     * @param name     The name of the bulkhead
+     * @param executor The executor to execute calls on
+     * @param capacity The maximum number of executing and queued calls
+     */
+    ThreadPoolBulkhead(String name, ExecutorService executor, int capacity) {
+        this.name = name;
+        this.executor = executor;
+        this.slots = new Semaphore(capacity);
+    }
+
+    /**
+     * @return The executor to execute calls on
+     */
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return Whether a slot was acquired
+     */
+    boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * Releases a slot.
+     */
+    void release() {
+        slots.release();
+    }
+
+    /**
+     * @return The exception for a rejected call
+     */
+    BulkheadRejectedException rejected() {
+        return new BulkheadRejectedException("Bulkhead [" + name + "] is full");
+    }
+}
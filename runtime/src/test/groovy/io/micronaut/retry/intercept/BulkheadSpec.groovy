@@ -0,0 +1,348 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.exception.BulkheadRejectedException
+import io.reactivex.Flowable
+import io.reactivex.processors.PublishProcessor
+import io.reactivex.subscribers.TestSubscriber
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @since 1.0
+ */
+class BulkheadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    void "test semaphore bulkhead rejects blocking calls once full"() {
+        given:
+        BlockingService service = context.getBean(BlockingService)
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:"a call occupies the only permit"
+        Thread thread = Thread.start { service.await(latch) }
+        waitFor { service.running.get() == 1 }
+        service.await(new CountDownLatch(0))
+
+        then:"further calls are rejected"
+        thrown(BulkheadRejectedException)
+
+        when:"the permit is released"
+        latch.countDown()
+        thread.join()
+
+        then:"calls are accepted again"
+        service.await(new CountDownLatch(0)) == "done"
+    }
+
+    void "test semaphore bulkhead queues asynchronous calls"() {
+        given:
+        AsyncService service = context.getBean(AsyncService)
+        CompletableFuture<String> first = new CompletableFuture<>()
+        CompletableFuture<String> second = new CompletableFuture<>()
+
+        when:"a call occupies the only permit and another waits"
+        CompletableFuture<String> firstResult = service.call(first)
+        CompletableFuture<String> secondResult = service.call(second)
+        CompletableFuture<String> thirdResult = service.call(new CompletableFuture<String>())
+
+        then:"the waiting call is not executed and calls beyond the queue are rejected"
+        service.invocations.get() == 1
+        thirdResult.isCompletedExceptionally()
+
+        when:
+        thirdResult.get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof BulkheadRejectedException
+
+        when:"the first call completes"
+        first.complete("one")
+        second.complete("two")
+
+        then:"the waiting call is executed"
+        firstResult.get(1, TimeUnit.SECONDS) == "one"
+        secondResult.get(1, TimeUnit.SECONDS) == "two"
+        service.invocations.get() == 2
+    }
+
+    void "test semaphore bulkhead limits reactive subscriptions"() {
+        given:
+        ReactiveService service = context.getBean(ReactiveService)
+
+        expect:
+        service.numbers().toList().blockingGet() == [1, 2, 3]
+        service.numbers().toList().blockingGet() == [1, 2, 3]
+    }
+
+    void "test thread pool bulkhead executes calls on a dedicated executor"() {
+        given:
+        ThreadPoolService service = context.getBean(ThreadPoolService)
+
+        expect:
+        service.threadName() != Thread.currentThread().name
+        service.threadNameAsync().get(1, TimeUnit.SECONDS) != Thread.currentThread().name
+    }
+
+    void "test semaphore bulkhead rejects reactive subscriptions once full and defers the invocation"() {
+        given:
+        HoldingReactiveService service = context.getBean(HoldingReactiveService)
+        PublishProcessor<Integer> processor = PublishProcessor.create()
+
+        when:"a subscription occupies the only permit"
+        TestSubscriber<Integer> first = service.hold(processor).test()
+        Flowable<Integer> second = service.hold(Flowable.just(1))
+
+        then:"the method is only invoked for the subscribed publisher"
+        service.invocations.get() == 1
+
+        when:"the second publisher is subscribed to"
+        TestSubscriber<Integer> rejected = second.test()
+
+        then:"it is rejected without invoking the method"
+        rejected.assertError(BulkheadRejectedException)
+        service.invocations.get() == 1
+
+        when:"the first subscription completes"
+        processor.onNext(1)
+        processor.onComplete()
+
+        then:"subscriptions are accepted again"
+        first.assertValues(1).assertComplete()
+        service.hold(Flowable.just(2)).toList().blockingGet() == [2]
+        service.invocations.get() == 2
+    }
+
+    void "test semaphore bulkhead blocking calls wait up to the max wait duration"() {
+        given:
+        WaitingService service = context.getBean(WaitingService)
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:"a call occupies the only permit"
+        Thread thread = Thread.start { service.await(latch) }
+        waitFor { service.running.get() == 1 }
+        long start = System.currentTimeMillis()
+        service.await(new CountDownLatch(0))
+
+        then:"a waiting call is rejected once the max wait duration elapses"
+        thrown(BulkheadRejectedException)
+        System.currentTimeMillis() - start >= 400
+
+        when:"the permit is released while a call waits"
+        Thread.start {
+            Thread.sleep(100)
+            latch.countDown()
+        }
+        String result = service.await(new CountDownLatch(0))
+        thread.join()
+
+        then:"the waiting call is executed"
+        result == "done"
+    }
+
+    void "test methods with the same bulkhead name share the bulkhead"() {
+        given:
+        SharedBulkheadService service = context.getBean(SharedBulkheadService)
+        OtherSharedBulkheadService other = context.getBean(OtherSharedBulkheadService)
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:"a call to one method occupies the only permit"
+        Thread thread = Thread.start { service.await(latch) }
+        waitFor { service.running.get() == 1 }
+        other.call()
+
+        then:"calls to the other method are rejected"
+        thrown(BulkheadRejectedException)
+
+        when:
+        latch.countDown()
+        thread.join()
+
+        then:
+        other.call() == "done"
+    }
+
+    void "test thread pool bulkhead rejects calls beyond its capacity"() {
+        given:
+        BoundedThreadPoolService service = context.getBean(BoundedThreadPoolService)
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:"a call occupies the only thread"
+        Thread thread = Thread.start { service.await(latch) }
+        waitFor { service.running.get() == 1 }
+        service.await(new CountDownLatch(0))
+
+        then:"further calls are rejected"
+        thrown(BulkheadRejectedException)
+
+        when:
+        latch.countDown()
+        thread.join()
+
+        then:
+        service.await(new CountDownLatch(0)) == "done"
+    }
+
+    void "test thread pool bulkhead rethrows checked exceptions unchanged"() {
+        given:
+        ThreadPoolService service = context.getBean(ThreadPoolService)
+
+        when:
+        service.failChecked()
+
+        then:
+        def e = thrown(IOException)
+        e.message == "bad things"
+    }
+
+    private static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 3000
+        while (!condition.call() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    @Singleton
+    @Bulkhead(maxConcurrentCalls = '1')
+    static class BlockingService {
+        AtomicInteger running = new AtomicInteger()
+
+        String await(CountDownLatch latch) {
+            running.incrementAndGet()
+            try {
+                latch.await()
+            } finally {
+                running.decrementAndGet()
+            }
+            return "done"
+        }
+    }
+
+    @Singleton
+    @Bulkhead(maxConcurrentCalls = '1', maxWaitingCalls = '1')
+    static class AsyncService {
+        AtomicInteger invocations = new AtomicInteger()
+
+        CompletableFuture<String> call(CompletableFuture<String> result) {
+            invocations.incrementAndGet()
+            return result
+        }
+    }
+
+    @Singleton
+    @Bulkhead(maxConcurrentCalls = '1')
+    static class ReactiveService {
+        Flowable<Integer> numbers() {
+            return Flowable.just(1, 2, 3)
+        }
+    }
+
+    @Singleton
+    @Bulkhead(value = 'thread-pool-test', type = Bulkhead.IsolationType.THREAD_POOL, maxConcurrentCalls = '2')
+    static class ThreadPoolService {
+        String threadName() {
+            return Thread.currentThread().name
+        }
+
+        CompletableFuture<String> threadNameAsync() {
+            return CompletableFuture.completedFuture(Thread.currentThread().name)
+        }
+
+        String failChecked() throws IOException {
+            throw new IOException("bad things")
+        }
+    }
+
+    @Singleton
+    @Bulkhead(maxConcurrentCalls = '1')
+    static class HoldingReactiveService {
+        AtomicInteger invocations = new AtomicInteger()
+
+        Flowable<Integer> hold(Flowable<Integer> numbers) {
+            invocations.incrementAndGet()
+            return numbers
+        }
+    }
+
+    @Singleton
+    @Bulkhead(maxConcurrentCalls = '1', maxWaitingCalls = '1', maxWaitDuration = '500ms')
+    static class WaitingService {
+        AtomicInteger running = new AtomicInteger()
+
+        String await(CountDownLatch latch) {
+            running.incrementAndGet()
+            try {
+                latch.await()
+            } finally {
+                running.decrementAndGet()
+            }
+            return "done"
+        }
+    }
+
+    @Singleton
+    @Bulkhead(value = 'shared-test', maxConcurrentCalls = '1')
+    static class SharedBulkheadService {
+        AtomicInteger running = new AtomicInteger()
+
+        String await(CountDownLatch latch) {
+            running.incrementAndGet()
+            try {
+                latch.await()
+            } finally {
+                running.decrementAndGet()
+            }
+            return "done"
+        }
+    }
+
+    @Singleton
+    @Bulkhead(value = 'shared-test', maxConcurrentCalls = '1')
+    static class OtherSharedBulkheadService {
+        String call() {
+            return "done"
+        }
+    }
+
+    @Singleton
+    @Bulkhead(value = 'bounded-thread-pool-test', type = Bulkhead.IsolationType.THREAD_POOL, maxConcurrentCalls = '1')
+    static class BoundedThreadPoolService {
+        AtomicInteger running = new AtomicInteger()
+
+        String await(CountDownLatch latch) {
+            running.incrementAndGet()
+            try {
+                latch.await()
+            } finally {
+                running.decrementAndGet()
+            }
+            return "done"
+        }
+    }
+}
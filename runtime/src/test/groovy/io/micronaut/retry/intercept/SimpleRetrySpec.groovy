@@ -24,6 +24,9 @@ import reactor.core.publisher.Mono
 import spock.lang.Specification
 
 import javax.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
 
 /**
  * @author graemerocher
@@ -114,6 +117,140 @@ class SimpleRetrySpec extends Specification {
         context.stop()
     }
 
+    void "test simple retry with completable future"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        CounterService counterService = context.getBean(CounterService)
+        MyRetryListener listener = context.getBean(MyRetryListener)
+
+        when:"A method is annotated retry"
+        int result = counterService.getCountFuture().get()
+
+        then:"It executes until successful"
+        listener.events.size() == 2
+        result == 3
+
+        when:"The threshold can never be met"
+        listener.reset()
+        counterService.countThreshold = 10
+        counterService.countFuture = 0
+        counterService.getCountFuture().get()
+
+        then:"The original exception is thrown"
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+        e.cause.message == "Bad count"
+        counterService.countFuture == 6
+
+        cleanup:
+        context.stop()
+    }
+
+    void "test retries are limited by the retry budget"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        CounterService counterService = context.getBean(CounterService)
+        MyRetryListener listener = context.getBean(MyRetryListener)
+
+        when:"The threshold can never be met"
+        counterService.countThreshold = 100
+        counterService.getCountBudget()
+
+        then:"Only the retries permitted by the budget are attempted"
+        def e = thrown(IllegalStateException)
+        e.message == "Bad count"
+        counterService.countBudget == 3
+        listener.events.size() == 2
+
+        when:"The budget is exhausted"
+        listener.reset()
+        counterService.countBudget = 0
+        counterService.getCountBudget()
+
+        then:"The original exception is thrown without retrying"
+        thrown(IllegalStateException)
+        counterService.countBudget == 1
+        listener.events.size() == 0
+
+        cleanup:
+        context.stop()
+    }
+
+    void "test jitter randomizes the delay within its range"() {
+        given:
+        SimpleRetry retry = new SimpleRetry(100, 1.0, Duration.ofMillis(1000), null, null, 0.5d, false, null, null)
+
+        expect:
+        (1..100).every {
+            retry.canRetry(new RuntimeException())
+            long attempt = retry.currentAttempt() + 1
+            long delay = retry.nextDelay()
+            delay >= 500 * attempt && delay <= 1500 * attempt
+        }
+    }
+
+    void "test exponential backoff multiplies the delay for every retry up to the max retry delay"() {
+        given:
+        SimpleRetry retry = new SimpleRetry(10, 2.0, Duration.ofMillis(100), null, Duration.ofMillis(1000), 0d, true, null, null)
+
+        when:
+        List<Long> delays = (1..6).collect {
+            retry.canRetry(new RuntimeException())
+            retry.nextDelay()
+        }
+
+        then:
+        delays == [100L, 200L, 400L, 800L, 1000L, 1000L]
+    }
+
+    void "test the max retry delay caps a linear backoff"() {
+        given:
+        SimpleRetry retry = new SimpleRetry(10, 1.0, Duration.ofMillis(100), null, Duration.ofMillis(250), 0d, false, null, null)
+
+        when:
+        List<Long> delays = (1..4).collect {
+            retry.canRetry(new RuntimeException())
+            retry.nextDelay()
+        }
+
+        then:
+        delays == [200L, 250L, 250L, 250L]
+    }
+
+    void "test jitter spreads capped delays below the max retry delay"() {
+        given:
+        SimpleRetry retry = new SimpleRetry(100, 2.0, Duration.ofMillis(1000), null, Duration.ofMillis(1000), 0.5d, true, null, null)
+
+        when:
+        List<Long> delays = (1..50).collect {
+            retry.canRetry(new RuntimeException())
+            retry.nextDelay()
+        }
+
+        then:
+        delays.every { it >= 500 && it <= 1000 }
+        delays.unique(false).size() > 1
+    }
+
+    void "test the backoff is read from the annotation"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        def method = context.getBeanDefinition(CounterService).findMethod("getCountExponential").get()
+
+        when:
+        SimpleRetry retry = (SimpleRetry) new AnnotationRetryStateBuilder(method).build()
+
+        then:
+        retry.exponential
+        retry.maxRetryDelay.get() == Duration.ofMillis(20)
+        !retry.maxDelay.isPresent()
+        context.getBean(CounterService).getCountExponential() == 3
+        !((SimpleRetry) new AnnotationRetryStateBuilder(context.getBeanDefinition(CounterService).findMethod("getCount").get()).build()).exponential
+
+        cleanup:
+        context.stop()
+    }
+
     @Singleton
     static class MyRetryListener implements RetryEventListener {
 
@@ -132,6 +269,9 @@ class SimpleRetrySpec extends Specification {
         int count = 0
         int countRx = 0
         int countReact = 0
+        int countFuture = 0
+        int countBudget = 0
+        int countExponential = 0
         int countThreshold = 3
 
         @Retryable(attempts = '5', delay = '5ms')
@@ -164,5 +304,34 @@ class SimpleRetrySpec extends Specification {
                 return countReact
             })
         }
+
+        @Retryable(attempts = '5', delay = '5ms')
+        CompletableFuture<Integer> getCountFuture() {
+            CompletableFuture.supplyAsync({->
+                countFuture++
+                if(countFuture < countThreshold) {
+                    throw new IllegalStateException("Bad count")
+                }
+                return countFuture
+            })
+        }
+
+        @Retryable(attempts = '5', delay = '5ms', budget = '2')
+        int getCountBudget() {
+            countBudget++
+            if(countBudget < countThreshold) {
+                throw new IllegalStateException("Bad count")
+            }
+            return countBudget
+        }
+
+        @Retryable(attempts = '5', delay = '5ms', multiplier = '2', maxRetryDelay = '20ms', backoff = Retryable.Backoff.EXPONENTIAL)
+        int getCountExponential() {
+            countExponential++
+            if(countExponential < countThreshold) {
+                throw new IllegalStateException("Bad count")
+            }
+            return countExponential
+        }
     }
 }
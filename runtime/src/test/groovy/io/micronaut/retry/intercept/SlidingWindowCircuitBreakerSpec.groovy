@@ -0,0 +1,297 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEvent
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.retry.CircuitMetrics
+import io.micronaut.retry.CircuitState
+import io.micronaut.retry.annotation.CircuitBreaker
+import io.micronaut.retry.event.CircuitClosedEvent
+import io.micronaut.retry.event.CircuitHalfOpenEvent
+import io.micronaut.retry.event.CircuitOpenEvent
+import io.reactivex.Completable
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+
+/**
+ * @since 1.0
+ */
+class SlidingWindowCircuitBreakerSpec extends Specification {
+
+    void "test count based window records the last calls"() {
+        given:
+        SlidingWindow window = SlidingWindow.countBased(4)
+
+        when:
+        window.record(true, false)
+        window.record(false, true)
+
+        then:
+        window.snapshot().calls == 2
+        window.snapshot().failureRate == 50f
+        window.snapshot().slowCallRate == 50f
+
+        when:"older outcomes are evicted"
+        4.times { window.record(false, false) }
+
+        then:
+        window.snapshot().calls == 4
+        window.snapshot().failedCalls == 0
+        window.snapshot().slowCalls == 0
+    }
+
+    void "test time based window aggregates the calls of the last seconds"() {
+        given:
+        SlidingWindow window = SlidingWindow.timeBased(10)
+
+        when:
+        window.record(true, false)
+        window.record(false, false)
+        window.record(false, true)
+
+        then:
+        window.snapshot().calls == 3
+        window.snapshot().failedCalls == 1
+        window.snapshot().slowCalls == 1
+    }
+
+    void "test circuit opens once the failure rate exceeds the threshold"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        FlakyService flakyService = context.getBean(FlakyService)
+        CircuitEventListener listener = context.getBean(CircuitEventListener)
+        DefaultRetryInterceptor interceptor = context.getBean(DefaultRetryInterceptor)
+
+        when:"calls fail below the minimum number of calls"
+        flakyService.call()
+        flakyService.call()
+        flakyService.fail = true
+        flakyService.call()
+
+        then:"the circuit remains closed"
+        thrown(IllegalStateException)
+        listener.events.isEmpty()
+
+        when:"the failure rate reaches the threshold"
+        flakyService.call()
+
+        then:"the circuit opens"
+        thrown(IllegalStateException)
+        flakyService.invocations == 4
+        listener.events.size() == 1
+        listener.events[0] instanceof CircuitOpenEvent
+
+        when:"the circuit is open"
+        CircuitMetrics metrics = interceptor.findCircuitMetrics(listener.events[0].source).get()
+        flakyService.call()
+
+        then:"calls are rejected without invoking the method"
+        def e = thrown(IllegalStateException)
+        e.message == "Bad call"
+        flakyService.invocations == 4
+        metrics.state == CircuitState.OPEN
+
+        when:"the reset timeout elapses and the trial calls succeed"
+        flakyService.fail = false
+        new PollingConditions(timeout: 3).eventually {
+            assert metrics.state == CircuitState.HALF_OPEN
+        }
+        flakyService.call()
+        flakyService.call()
+
+        then:"the circuit closes"
+        flakyService.invocations == 6
+        metrics.state == CircuitState.CLOSED
+        listener.events*.class == [CircuitOpenEvent, CircuitHalfOpenEvent, CircuitClosedEvent]
+
+        cleanup:
+        context.stop()
+    }
+
+    void "test a failing trial call opens the circuit again"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        FlakyService flakyService = context.getBean(FlakyService)
+        CircuitEventListener listener = context.getBean(CircuitEventListener)
+
+        when:"the circuit is opened"
+        flakyService.call()
+        flakyService.call()
+        flakyService.fail = true
+        2.times {
+            try {
+                flakyService.call()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        CircuitMetrics metrics = context.getBean(DefaultRetryInterceptor).findCircuitMetrics(listener.events[0].source).get()
+
+        then:
+        metrics.state == CircuitState.OPEN
+
+        when:"one of the trial calls fails"
+        new PollingConditions(timeout: 3).eventually {
+            assert metrics.state == CircuitState.HALF_OPEN
+        }
+        try {
+            flakyService.call()
+        } catch (IllegalStateException ignored) {
+        }
+        flakyService.fail = false
+        flakyService.call()
+
+        then:"the failure rate of the trial calls opens the circuit again"
+        flakyService.invocations == 6
+        metrics.state == CircuitState.OPEN
+        listener.events*.class == [CircuitOpenEvent, CircuitHalfOpenEvent, CircuitOpenEvent]
+
+        when:"the circuit is open"
+        flakyService.call()
+
+        then:"calls are rejected"
+        thrown(IllegalStateException)
+        flakyService.invocations == 6
+
+        cleanup:
+        context.stop()
+    }
+
+    void "test the trial calls of a method returning a Completable close the circuit"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        CompletableService service = context.getBean(CompletableService)
+        CircuitEventListener listener = context.getBean(CircuitEventListener)
+
+        when:"the circuit is opened"
+        service.call().blockingAwait()
+        service.call().blockingAwait()
+        service.fail = true
+        2.times {
+            try {
+                service.call().blockingAwait()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        CircuitMetrics metrics = context.getBean(DefaultRetryInterceptor).findCircuitMetrics(listener.events[0].source).get()
+
+        then:
+        metrics.state == CircuitState.OPEN
+        metrics.numberOfCalls == 0
+        service.invocations == 4
+
+        when:"a call is subscribed to while the circuit is open"
+        service.call().blockingAwait()
+
+        then:"it is rejected without invoking the method"
+        thrown(IllegalStateException)
+        service.invocations == 4
+
+        when:"a trial call is cancelled before it completes"
+        service.fail = false
+        new PollingConditions(timeout: 3).eventually {
+            assert metrics.state == CircuitState.HALF_OPEN
+        }
+        service.hang = true
+        service.call().subscribe().dispose()
+        service.hang = false
+
+        and:"the trial calls complete without emitting an item"
+        service.call().blockingAwait()
+        service.call().blockingAwait()
+
+        then:"the cancelled call does not use up a trial permit and the circuit closes"
+        metrics.state == CircuitState.CLOSED
+        listener.events*.class == [CircuitOpenEvent, CircuitHalfOpenEvent, CircuitClosedEvent]
+
+        when:"a Completable completes while the circuit is closed"
+        service.call().blockingAwait()
+
+        then:"the call is recorded"
+        metrics.numberOfCalls == 1
+
+        when:"a Completable is not subscribed to"
+        service.call()
+
+        then:"the method is not invoked and no call is recorded"
+        service.invocations == 8
+        metrics.numberOfCalls == 1
+
+        cleanup:
+        context.stop()
+    }
+
+    @Singleton
+    static class CircuitEventListener implements ApplicationEventListener<ApplicationEvent> {
+        List<ApplicationEvent> events = []
+
+        @Override
+        void onApplicationEvent(ApplicationEvent event) {
+            if (event instanceof CircuitOpenEvent || event instanceof CircuitHalfOpenEvent || event instanceof CircuitClosedEvent) {
+                events.add(event)
+            }
+        }
+    }
+
+    @Singleton
+    @CircuitBreaker(
+        attempts = '0',
+        delay = '5ms',
+        reset = '300ms',
+        failureRateThreshold = '50',
+        slidingWindowSize = '10',
+        minimumNumberOfCalls = '4',
+        halfOpenCalls = '2'
+    )
+    static class FlakyService {
+        int invocations = 0
+        boolean fail = false
+
+        void call() {
+            invocations++
+            if (fail) {
+                throw new IllegalStateException("Bad call")
+            }
+        }
+    }
+
+    @Singleton
+    @CircuitBreaker(
+        attempts = '0',
+        delay = '5ms',
+        reset = '300ms',
+        failureRateThreshold = '50',
+        slidingWindowSize = '10',
+        minimumNumberOfCalls = '4',
+        halfOpenCalls = '2'
+    )
+    static class CompletableService {
+        int invocations = 0
+        boolean fail = false
+        boolean hang = false
+
+        Completable call() {
+            invocations++
+            if (hang) {
+                return Completable.never()
+            }
+            fail ? Completable.error(new IllegalStateException("Bad call")) : Completable.complete()
+        }
+    }
+}
@@ -16,11 +16,15 @@
 
 package io.micronaut.security.token.jwt.validator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
 import com.nimbusds.jose.JWEHeader;
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.EncryptedJWT;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -36,11 +40,20 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @see <a href="https://connect2id.com/products/nimbus-jose-jwt/examples/validating-jwt-access-tokens">Validating JWT Access Tokens</a>
@@ -56,6 +69,10 @@ public class JwtTokenValidator implements TokenValidator {
     protected final List<SignatureConfiguration> signatureConfigurations = new ArrayList<>();
     protected final List<EncryptionConfiguration> encryptionConfigurations = new ArrayList<>();
 
+    private final Map<String, SignatureConfiguration> signatureConfigurationsByKeyId = new ConcurrentHashMap<>();
+    private final Map<String, EncryptionConfiguration> encryptionConfigurationsByKeyId = new ConcurrentHashMap<>();
+    private final Cache<String, VerifiedClaims> verifiedClaims;
+
     /**
      *
      * @param signatureConfigurations List of Signature configurations which are used to attempt validation.
@@ -63,11 +80,32 @@ public class JwtTokenValidator implements TokenValidator {
      */
     public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
                              Collection<EncryptionConfiguration> encryptionConfigurations) {
+        this(signatureConfigurations, encryptionConfigurations, null);
+    }
+
+    /**
+     *
+     * @param signatureConfigurations List of Signature configurations which are used to attempt validation.
+     * @param encryptionConfigurations List of Encryption configurations which are used to attempt validation.
+     * @param cacheConfiguration Configuration of the cache of verified tokens. Verified tokens are not cached if it is null or disabled.
+     */
+    @Inject
+    public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
+                             Collection<EncryptionConfiguration> encryptionConfigurations,
+                             @Nullable JwtValidationCacheConfiguration cacheConfiguration) {
         this.signatureConfigurations.addAll(signatureConfigurations);
         this.encryptionConfigurations.addAll(encryptionConfigurations);
+        if (cacheConfiguration != null && cacheConfiguration.isEnabled() && cacheConfiguration.getMaximumSize() > 0) {
+            this.verifiedClaims = Caffeine.newBuilder()
+                    .maximumSize(cacheConfiguration.getMaximumSize())
+                    .expireAfter(new TokenExpiry())
+                    .build();
+        } else {
+            this.verifiedClaims = null;
+        }
     }
 
-    private Publisher<Authentication> validatePlainJWT(JWT jwt) throws ParseException {
+    private JWT validatePlainJWT(JWT jwt) {
         if (signatureConfigurations.isEmpty()) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("JWT is not signed and no signature configurations -> verified");
@@ -76,48 +114,64 @@ public class JwtTokenValidator implements TokenValidator {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("A non-signed JWT cannot be accepted as signature configurations have been defined");
             }
-            return Flowable.empty();
+            return null;
         }
-        return createAuthentication(jwt);
+        return jwt;
     }
 
-    private Publisher<Authentication> validateSignedJWT(SignedJWT signedJWT) throws ParseException {
+    private JWT validateSignedJWT(SignedJWT signedJWT) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("JWT is signed");
         }
 
         final JWSAlgorithm algorithm = signedJWT.getHeader().getAlgorithm();
+        final String keyId = signedJWT.getHeader().getKeyID();
+        final SignatureConfiguration known = keyId != null ? signatureConfigurationsByKeyId.get(keyId) : null;
+        if (known != null && verify(signedJWT, algorithm, known, keyId)) {
+            return signedJWT;
+        }
         for (final SignatureConfiguration config : signatureConfigurations) {
-            if (config.supports(algorithm)) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Using signature configuration: {}", config.toString());
-                }
-                try {
-                    if (config.verify(signedJWT)) {
-                        return createAuthentication(signedJWT);
-                    } else {
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("JWT verification failed: {}", signedJWT.getParsedString());
-                        }
+            if (config != known && verify(signedJWT, algorithm, config, keyId)) {
+                return signedJWT;
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("No signature algorithm found for JWT: {}", signedJWT.getParsedString());
+        }
+        return null;
+    }
+
+    private boolean verify(SignedJWT signedJWT, JWSAlgorithm algorithm, SignatureConfiguration config, String keyId) {
+        if (config.supports(algorithm)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Using signature configuration: {}", config.toString());
+            }
+            try {
+                if (config.verify(signedJWT)) {
+                    if (keyId != null) {
+                        // remember the configuration so that it is tried first for this key next time
+                        signatureConfigurationsByKeyId.put(keyId, config);
                     }
-                } catch (final JOSEException e) {
+                    return true;
+                } else {
                     if (LOG.isDebugEnabled()) {
-                        LOG.debug("Verification fails with signature configuration: {}, passing to the next one", config);
+                        LOG.debug("JWT verification failed: {}", signedJWT.getParsedString());
                     }
                 }
-            } else {
+            } catch (final JOSEException e) {
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug("{}", config.supportedAlgorithmsMessage());
+                    LOG.debug("Verification fails with signature configuration: {}, passing to the next one", config);
                 }
             }
+        } else {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("{}", config.supportedAlgorithmsMessage());
+            }
         }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("No signature algorithm found for JWT: {}", signedJWT.getParsedString());
-        }
-        return Flowable.empty();
+        return false;
     }
 
-    private Publisher<Authentication> validateEncryptedJWT(JWT jwt, EncryptedJWT encryptedJWT, String token) throws ParseException  {
+    private JWT validateEncryptedJWT(EncryptedJWT encryptedJWT, String token) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("JWT is encrypted");
         }
@@ -125,19 +179,34 @@ public class JwtTokenValidator implements TokenValidator {
         final JWEHeader header = encryptedJWT.getHeader();
         final JWEAlgorithm algorithm = header.getAlgorithm();
         final EncryptionMethod method = header.getEncryptionMethod();
-        for (final EncryptionConfiguration config : encryptionConfigurations) {
+        final String keyId = header.getKeyID();
+        final EncryptionConfiguration known = keyId != null ? encryptionConfigurationsByKeyId.get(keyId) : null;
+        List<EncryptionConfiguration> configurations = encryptionConfigurations;
+        if (known != null) {
+            configurations = new ArrayList<>(encryptionConfigurations.size());
+            configurations.add(known);
+            for (EncryptionConfiguration config : encryptionConfigurations) {
+                if (config != known) {
+                    configurations.add(config);
+                }
+            }
+        }
+        for (final EncryptionConfiguration config : configurations) {
             if (config.supports(algorithm, method)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Using encryption configuration: {}", config.toString());
                 }
                 try {
                     config.decrypt(encryptedJWT);
+                    if (keyId != null) {
+                        encryptionConfigurationsByKeyId.put(keyId, config);
+                    }
                     SignedJWT signedJWT = encryptedJWT.getPayload().toSignedJWT();
                     if (signedJWT == null) {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("encrypted JWT could couldn't be converted to a signed JWT.");
                         }
-                        return Flowable.empty();
+                        return null;
                     }
                     return validateSignedJWT(signedJWT);
 
@@ -151,28 +220,37 @@ public class JwtTokenValidator implements TokenValidator {
         if (LOG.isDebugEnabled()) {
             LOG.debug("No encryption algorithm found for JWT: {}", token);
         }
-        return Flowable.empty();
+        return null;
     }
 
     @Override
     public Publisher<Authentication> validateToken(String token) {
+        final String cacheKey = verifiedClaims != null ? cacheKey(token) : null;
+        if (cacheKey != null) {
+            VerifiedClaims cached = verifiedClaims.getIfPresent(cacheKey);
+            if (cached != null) {
+                return Flowable.just(new AuthenticationJWTClaimsSetAdapter(cached.claimsSet));
+            }
+        }
         try {
             // Parse the token
             JWT jwt = JWTParser.parse(token);
 
+            JWT verified = null;
             if (jwt instanceof PlainJWT) {
-                return validatePlainJWT(jwt);
+                verified = validatePlainJWT(jwt);
 
             } else if (jwt instanceof EncryptedJWT) {
-                final EncryptedJWT encryptedJWT = (EncryptedJWT) jwt;
-                return validateEncryptedJWT(jwt, encryptedJWT, token);
+                verified = validateEncryptedJWT((EncryptedJWT) jwt, token);
 
             } else if (jwt instanceof SignedJWT) {
-                final SignedJWT signedJWT = (SignedJWT) jwt;
-                return validateSignedJWT(signedJWT);
+                verified = validateSignedJWT((SignedJWT) jwt);
             }
 
-            return Flowable.empty();
+            if (verified == null) {
+                return Flowable.empty();
+            }
+            return createAuthentication(verified, cacheKey);
 
         } catch (final ParseException e) {
             if (LOG.isDebugEnabled()) {
@@ -182,7 +260,7 @@ public class JwtTokenValidator implements TokenValidator {
         }
     }
 
-    private Publisher<Authentication> createAuthentication(final JWT jwt) throws ParseException {
+    private Publisher<Authentication> createAuthentication(final JWT jwt, final String cacheKey) throws ParseException {
         final JWTClaimsSet claimSet = jwt.getJWTClaimsSet();
         final String subject = claimSet.getSubject();
         if (subject == null) {
@@ -191,7 +269,70 @@ public class JwtTokenValidator implements TokenValidator {
             }
             return Flowable.empty();
         }
+        if (cacheKey != null) {
+            cache(cacheKey, claimSet);
+        }
 
         return Flowable.just(new AuthenticationJWTClaimsSetAdapter(claimSet));
     }
+
+    /**
+     * Caches the claims of a verified token until the token expires. Tokens without an expiration time are not
+     * cached. Once the cache is full the least recently used entries are evicted.
+     */
+    private void cache(String cacheKey, JWTClaimsSet claimSet) {
+        Date expirationTime = claimSet.getExpirationTime();
+        if (expirationTime == null) {
+            return;
+        }
+        if (expirationTime.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        verifiedClaims.put(cacheKey, new VerifiedClaims(claimSet, expirationTime.getTime()));
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64URL.encode(digest.digest(token.getBytes(StandardCharsets.UTF_8))).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256, fall back to not caching
+            return null;
+        }
+    }
+
+    /**
+     * The claims of a verified token and the time at which the token expires.
+     */
+    private static final class VerifiedClaims {
+        private final JWTClaimsSet claimsSet;
+        private final long expiresAt;
+
+        VerifiedClaims(JWTClaimsSet claimsSet, long expiresAt) {
+            this.claimsSet = claimsSet;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    /**
+     * Expires each cached entry at the expiration time of its token.
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
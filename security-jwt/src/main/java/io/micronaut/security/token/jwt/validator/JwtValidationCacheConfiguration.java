@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import io.micronaut.core.util.Toggleable;
+
+/**
+ * Configuration for the cache of verified tokens kept by {@link JwtTokenValidator}.
+ *
+ * @since 1.0
+ */
+public interface JwtValidationCacheConfiguration extends Toggleable {
+
+    /**
+     *
+     * @return a boolean flag indicating whether verified tokens should be cached
+     */
+    boolean isEnabled();
+
+    /**
+     *
+     * @return the maximum number of verified tokens to cache
+     */
+    int getMaximumSize();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.security.token.jwt.config.JwtConfigurationProperties;
+
+/**
+ * Default implementation of {@link JwtValidationCacheConfiguration}.
+ *
+ * @since 1.0
+ */
+@ConfigurationProperties(JwtValidationCacheConfigurationProperties.PREFIX)
+public class JwtValidationCacheConfigurationProperties implements JwtValidationCacheConfiguration {
+
+    public static final String PREFIX = JwtConfigurationProperties.PREFIX + ".validation-cache";
+
+    protected boolean enabled = false;
+    protected int maximumSize = 10000;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+}
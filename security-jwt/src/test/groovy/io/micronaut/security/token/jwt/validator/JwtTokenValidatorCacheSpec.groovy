@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.token.jwt.validator
+
+import com.nimbusds.jose.JWSAlgorithm
+import com.nimbusds.jose.JWSHeader
+import com.nimbusds.jose.crypto.MACSigner
+import com.nimbusds.jwt.JWTClaimsSet
+import com.nimbusds.jwt.SignedJWT
+import io.micronaut.security.authentication.Authentication
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+class JwtTokenValidatorCacheSpec extends Specification {
+
+    static final String SECRET = 'pleaseChangeThisSecretForANewOne'
+
+    void "test a verified token is served from the cache until it expires"() {
+        given:
+        SignatureConfiguration configuration = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([configuration], [], cacheConfiguration(true))
+        String token = sign('sherlock', new Date(System.currentTimeMillis() + 60000))
+
+        when:
+        Authentication first = Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        Authentication second = Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+
+        then:
+        1 * configuration.supports(JWSAlgorithm.HS256) >> true
+        1 * configuration.verify(_) >> true
+        first.name == 'sherlock'
+        second.name == 'sherlock'
+    }
+
+    void "test a cached token is verified again once it expires"() {
+        given:
+        SignatureConfiguration configuration = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([configuration], [], cacheConfiguration(true))
+        String token = sign('sherlock', new Date(System.currentTimeMillis() + 1500))
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        Thread.sleep(2500)
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+
+        then:
+        2 * configuration.supports(JWSAlgorithm.HS256) >> true
+        2 * configuration.verify(_) >> true
+    }
+
+    void "test tokens are verified every time when the cache is disabled"() {
+        given:
+        SignatureConfiguration configuration = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([configuration], [], cacheConfiguration(false))
+        String token = sign('sherlock', new Date(System.currentTimeMillis() + 60000))
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+
+        then:
+        2 * configuration.supports(JWSAlgorithm.HS256) >> true
+        2 * configuration.verify(_) >> true
+    }
+
+    void "test expired tokens are not cached"() {
+        given:
+        SignatureConfiguration configuration = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([configuration], [], cacheConfiguration(true))
+        String token = sign('sherlock', new Date(System.currentTimeMillis() - 1000))
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+
+        then:
+        2 * configuration.supports(JWSAlgorithm.HS256) >> true
+        2 * configuration.verify(_) >> true
+    }
+
+    void "test the configuration that verified a key id is tried first"() {
+        given:
+        SignatureConfiguration other = Mock(SignatureConfiguration)
+        SignatureConfiguration configuration = Mock(SignatureConfiguration)
+        JwtTokenValidator validator = new JwtTokenValidator([other, configuration], [], cacheConfiguration(false))
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(sign('sherlock', null))).blockingFirst()
+
+        then:
+        1 * other.supports(JWSAlgorithm.HS256) >> true
+        1 * other.verify(_) >> false
+        1 * configuration.supports(JWSAlgorithm.HS256) >> true
+        1 * configuration.verify(_) >> true
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(sign('watson', null))).blockingFirst()
+
+        then:
+        0 * other._
+        1 * configuration.supports(JWSAlgorithm.HS256) >> true
+        1 * configuration.verify(_) >> true
+    }
+
+    private JwtValidationCacheConfiguration cacheConfiguration(boolean enabled) {
+        new JwtValidationCacheConfiguration() {
+            @Override
+            boolean isEnabled() {
+                enabled
+            }
+
+            @Override
+            int getMaximumSize() {
+                100
+            }
+        }
+    }
+
+    private String sign(String subject, Date expirationTime) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .expirationTime(expirationTime)
+                .build()
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID('key-1').build(), claims)
+        jwt.sign(new MACSigner(SECRET))
+        jwt.serialize()
+    }
+}